@@ -0,0 +1,53 @@
+package br.com.occhi.suporte.carga;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Argumentos de linha de comando no formato --chave=valor.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+final class Argumentos {
+
+	private final Map<String, String> valores = new HashMap<>();
+
+	/**
+	 * Interpreta os argumentos recebidos pelo método main.
+	 * 
+	 * @param args argumentos no formato --chave=valor (ou --chave para true)
+	 */
+	Argumentos(String[] args) {
+		for (String arg : args) {
+			if (!arg.startsWith("--")) {
+				throw new IllegalArgumentException("Argumento inválido (use --chave=valor): " + arg);
+			}
+			int igual = arg.indexOf('=');
+			if (igual < 0) {
+				valores.put(arg.substring(2), "true");
+			} else {
+				valores.put(arg.substring(2, igual), arg.substring(igual + 1));
+			}
+		}
+	}
+
+	String texto(String chave, String padrao) {
+		return valores.getOrDefault(chave, padrao);
+	}
+
+	int inteiro(String chave, int padrao) {
+		String valor = valores.get(chave);
+		return valor == null ? padrao : Integer.parseInt(valor);
+	}
+
+	double decimal(String chave, double padrao) {
+		String valor = valores.get(chave);
+		return valor == null ? padrao : Double.parseDouble(valor);
+	}
+
+	boolean presente(String chave) {
+		return valores.containsKey(chave);
+	}
+}
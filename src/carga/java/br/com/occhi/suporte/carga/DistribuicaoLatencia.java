@@ -0,0 +1,83 @@
+package br.com.occhi.suporte.carga;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Distribuição de latência simulada pelo servidor OpenAI local.
+ * 
+ * Formatos aceitos (valores em milissegundos):
+ * - fixa:200
+ * - uniforme:100,400
+ * - normal:300,50 (média, desvio padrão)
+ * - lognormal:800,0.5 (mediana, sigma) — cauda longa, parecida com a de um LLM real
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+public final class DistribuicaoLatencia {
+
+	/**
+	 * Distribuição sem atraso.
+	 */
+	public static final DistribuicaoLatencia ZERO = new DistribuicaoLatencia("fixa", 0, 0);
+
+	private final String tipo;
+
+	private final double a;
+
+	private final double b;
+
+	private DistribuicaoLatencia(String tipo, double a, double b) {
+		this.tipo = tipo;
+		this.a = a;
+		this.b = b;
+	}
+
+	/**
+	 * Interpreta a descrição de uma distribuição.
+	 * 
+	 * @param descricao descrição no formato tipo:parametros
+	 * @return distribuição correspondente
+	 * @throws IllegalArgumentException se a descrição for inválida
+	 */
+	public static DistribuicaoLatencia de(String descricao) {
+		String[] partes = descricao.trim().split(":", 2);
+		String[] valores = partes.length > 1 ? partes[1].split(",") : new String[0];
+		String tipo = partes[0].toLowerCase();
+		return switch (tipo) {
+			case "fixa" -> new DistribuicaoLatencia(tipo, valor(valores, 0, descricao), 0);
+			case "uniforme", "normal", "lognormal" -> new DistribuicaoLatencia(tipo, valor(valores, 0, descricao), valor(valores, 1, descricao));
+			default -> throw new IllegalArgumentException("Distribuição de latência desconhecida: " + descricao);
+		};
+	}
+
+	/**
+	 * Sorteia uma latência.
+	 * 
+	 * @return latência sorteada (nunca negativa)
+	 */
+	public Duration sortear() {
+		ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+		double ms = switch (tipo) {
+			case "uniforme" -> a + aleatorio.nextDouble() * (b - a);
+			case "normal" -> a + aleatorio.nextGaussian() * b;
+			case "lognormal" -> a * Math.exp(aleatorio.nextGaussian() * b);
+			default -> a;
+		};
+		return Duration.ofNanos((long) (Math.max(0, ms) * 1_000_000));
+	}
+
+	@Override
+	public String toString() {
+		return tipo + ":" + a + ("fixa".equals(tipo) ? "" : "," + b);
+	}
+
+	private static double valor(String[] valores, int indice, String descricao) {
+		if (valores.length <= indice) {
+			throw new IllegalArgumentException("Parâmetros insuficientes para a distribuição: " + descricao);
+		}
+		return Double.parseDouble(valores[indice].trim());
+	}
+}
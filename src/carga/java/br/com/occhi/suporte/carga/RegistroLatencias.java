@@ -0,0 +1,111 @@
+package br.com.occhi.suporte.carga;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro das latências medidas pelo teste de carga, por endpoint.
+ * 
+ * Guarda todas as amostras (em nanossegundos) e calcula os percentis
+ * exatos no relatório final. Para as durações típicas de um teste (alguns
+ * minutos), o volume de amostras cabe com folga na memória.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+final class RegistroLatencias {
+
+	private static final double[] PERCENTIS = { 0.50, 0.90, 0.99, 0.999 };
+
+	private final Map<String, Amostras> porEndpoint = new ConcurrentHashMap<>();
+
+	/**
+	 * Registra uma requisição concluída.
+	 * 
+	 * @param endpoint nome do endpoint
+	 * @param latenciaNanos latência medida
+	 * @param sucesso se a resposta foi 2xx
+	 */
+	void registrar(String endpoint, long latenciaNanos, boolean sucesso) {
+		porEndpoint.computeIfAbsent(endpoint, nome -> new Amostras()).adicionar(latenciaNanos, sucesso);
+	}
+
+	/**
+	 * Imprime o relatório com vazão e percentis por endpoint e no total.
+	 * 
+	 * @param saida destino do relatório
+	 * @param duracaoSegundos duração da janela de medição
+	 */
+	void imprimir(PrintStream saida, double duracaoSegundos) {
+		saida.printf("%-22s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+				"endpoint", "requisições", "erros", "req/s", "p50 ms", "p90 ms", "p99 ms", "p999 ms", "máx ms");
+		Amostras total = new Amostras();
+		new TreeMap<>(porEndpoint).forEach((endpoint, amostras) -> {
+			imprimirLinha(saida, endpoint, amostras, duracaoSegundos);
+			total.juntar(amostras);
+		});
+		imprimirLinha(saida, "TOTAL", total, duracaoSegundos);
+	}
+
+	private static void imprimirLinha(PrintStream saida, String endpoint, Amostras amostras, double duracaoSegundos) {
+		long[] ordenadas = amostras.ordenadas();
+		StringBuilder percentis = new StringBuilder();
+		for (double percentil : PERCENTIS) {
+			percentis.append(String.format(" %9.1f", percentil(ordenadas, percentil) / 1e6));
+		}
+		saida.printf("%-22s %10d %8d %10.1f%s %9.1f%n", endpoint, ordenadas.length, amostras.erros(),
+				ordenadas.length / duracaoSegundos, percentis, ordenadas.length == 0 ? 0 : ordenadas[ordenadas.length - 1] / 1e6);
+	}
+
+	private static long percentil(long[] ordenadas, double percentil) {
+		if (ordenadas.length == 0) {
+			return 0;
+		}
+		int indice = (int) Math.ceil(percentil * ordenadas.length) - 1;
+		return ordenadas[Math.max(0, indice)];
+	}
+
+	/**
+	 * Amostras de um endpoint.
+	 */
+	private static final class Amostras {
+
+		private long[] latencias = new long[1024];
+
+		private int quantidade;
+
+		private long erros;
+
+		synchronized void adicionar(long latenciaNanos, boolean sucesso) {
+			if (quantidade == latencias.length) {
+				latencias = Arrays.copyOf(latencias, quantidade * 2);
+			}
+			latencias[quantidade++] = latenciaNanos;
+			if (!sucesso) {
+				erros++;
+			}
+		}
+
+		synchronized void juntar(Amostras outras) {
+			long[] copia = outras.ordenadas();
+			for (long latencia : copia) {
+				adicionar(latencia, true);
+			}
+			erros += outras.erros();
+		}
+
+		synchronized long[] ordenadas() {
+			long[] copia = Arrays.copyOf(latencias, quantidade);
+			Arrays.sort(copia);
+			return copia;
+		}
+
+		synchronized long erros() {
+			return erros;
+		}
+	}
+}
@@ -0,0 +1,154 @@
+package br.com.occhi.suporte.carga;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Roteiro de respostas do servidor OpenAI local.
+ * 
+ * O roteiro é uma lista de regras avaliadas em ordem contra a última
+ * mensagem do usuário. A primeira regra cujo padrão (regex, sem diferenciar
+ * maiúsculas) for encontrado define a resposta:
+ * - com "ferramenta": o modelo pede a execução da tool, com os argumentos
+ *   gerados a partir do modelo "argumentos" ($1, $2... são os grupos do padrão)
+ * - com "chamadas": o modelo pede várias tools na mesma resposta, cada uma
+ *   com o seu "ferramenta" e "argumentos"
+ * - sem "ferramenta": o modelo responde diretamente com o texto "resposta"
+ * 
+ * Depois que as tools são executadas, a resposta final usa o texto "resposta"
+ * da mesma regra, com {resultado} substituído pelos resultados das tools.
+ * 
+ * Formato (JSON):
+ * [ { "padrao": "pedido (\\d+).*sou (?:o|a) (\\w+) (\\w+)",
+ *     "ferramenta": "obterDetalhesPedidoPorIdEUsuario",
+ *     "argumentos": "{\"pedidoId\": $1, \"primeiroNome\": \"$2\", \"ultimoNome\": \"$3\"}",
+ *     "resposta": "Encontrei o pedido: {resultado}" } ]
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+public final class RoteiroRespostas {
+
+	/**
+	 * Roteiro padrão, distribuído junto com o servidor.
+	 */
+	private static final String ROTEIRO_PADRAO = "/carga/roteiro-padrao.json";
+
+	/**
+	 * Uma regra do roteiro, como lida do JSON.
+	 * 
+	 * @param padrao expressão regular procurada na mensagem do usuário
+	 * @param ferramenta nome da tool a executar, ou null para responder direto
+	 * @param argumentos modelo dos argumentos JSON da tool
+	 * @param chamadas tools pedidas na mesma resposta (alternativa a ferramenta/argumentos)
+	 * @param resposta texto da resposta final
+	 */
+	public record Regra(String padrao, String ferramenta, String argumentos, List<Chamada> chamadas, String resposta) {
+
+		List<Chamada> todasChamadas() {
+			if (chamadas != null && !chamadas.isEmpty()) {
+				return chamadas;
+			}
+			return ferramenta == null ? List.of() : List.of(new Chamada(ferramenta, argumentos));
+		}
+	}
+
+	/**
+	 * Chamada a uma tool pedida pelo modelo.
+	 * 
+	 * @param ferramenta nome da tool
+	 * @param argumentos argumentos JSON da tool (modelo, na regra)
+	 */
+	public record Chamada(String ferramenta, String argumentos) {}
+
+	/**
+	 * Decisão tomada para uma mensagem.
+	 * 
+	 * @param chamadas tools a executar, na ordem; vazia para responder direto
+	 * @param resposta texto da resposta (ou modelo, quando há tools)
+	 */
+	public record Decisao(List<Chamada> chamadas, String resposta) {}
+
+	private record RegraCompilada(Pattern padrao, Regra regra) {}
+
+	private final List<RegraCompilada> regras;
+
+	private RoteiroRespostas(List<Regra> regras) {
+		this.regras = regras.stream()
+				.map(regra -> new RegraCompilada(Pattern.compile(regra.padrao(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE), regra))
+				.toList();
+	}
+
+	/**
+	 * Carrega o roteiro padrão.
+	 * 
+	 * @return roteiro padrão
+	 * @throws IOException se o recurso não puder ser lido
+	 */
+	public static RoteiroRespostas padrao() throws IOException {
+		try (InputStream entrada = RoteiroRespostas.class.getResourceAsStream(ROTEIRO_PADRAO)) {
+			if (entrada == null) {
+				throw new IOException("Roteiro padrão não encontrado: " + ROTEIRO_PADRAO);
+			}
+			return new RoteiroRespostas(new ObjectMapper().readValue(entrada, new TypeReference<List<Regra>>() {}));
+		}
+	}
+
+	/**
+	 * Carrega um roteiro de um arquivo JSON.
+	 * 
+	 * @param arquivo caminho do arquivo
+	 * @return roteiro lido
+	 * @throws IOException se o arquivo não puder ser lido
+	 */
+	public static RoteiroRespostas de(Path arquivo) throws IOException {
+		return new RoteiroRespostas(new ObjectMapper().readValue(Files.readAllBytes(arquivo), new TypeReference<List<Regra>>() {}));
+	}
+
+	/**
+	 * Decide a resposta para a mensagem do usuário.
+	 * 
+	 * Regras com alguma tool não oferecida pelo cliente na requisição são
+	 * ignoradas.
+	 * 
+	 * @param mensagem última mensagem do usuário
+	 * @param ferramentasDisponiveis nomes das tools oferecidas na requisição
+	 * @return decisão tomada (a última regra deve ser um padrão genérico)
+	 */
+	public Decisao decidir(String mensagem, List<String> ferramentasDisponiveis) {
+		for (RegraCompilada compilada : regras) {
+			Regra regra = compilada.regra();
+			List<Chamada> chamadas = regra.todasChamadas();
+			if (!chamadas.stream().allMatch(chamada -> ferramentasDisponiveis.contains(chamada.ferramenta()))) {
+				continue;
+			}
+			Matcher correspondencia = compilada.padrao().matcher(mensagem);
+			if (correspondencia.find()) {
+				List<Chamada> decididas = chamadas.stream()
+						.map(chamada -> new Chamada(chamada.ferramenta(),
+								chamada.argumentos() == null ? "{}" : substituirGrupos(chamada.argumentos(), correspondencia)))
+						.toList();
+				return new Decisao(decididas, substituirGrupos(regra.resposta(), correspondencia));
+			}
+		}
+		return new Decisao(List.of(), "Desculpe, não entendi. Posso ajudar com seus pedidos?");
+	}
+
+	private static String substituirGrupos(String modelo, Matcher correspondencia) {
+		String resultado = modelo;
+		for (int grupo = correspondencia.groupCount(); grupo >= 1; grupo--) {
+			String valor = correspondencia.group(grupo);
+			resultado = resultado.replace("$" + grupo, valor == null ? "" : valor);
+		}
+		return resultado;
+	}
+}
@@ -0,0 +1,334 @@
+package br.com.occhi.suporte.carga;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Servidor local compatível com a API de chat completions da OpenAI.
+ * 
+ * Substitui a OpenAI nos testes de carga: responde segundo um roteiro
+ * (RoteiroRespostas), inclusive com chamadas às ferramentas do PedidoTool
+ * (uma ou várias na mesma resposta),
+ * e aplica uma latência sorteada de uma distribuição configurável. Não
+ * tem custo, não depende de rede e é repetível.
+ * 
+ * Atende POST /v1/chat/completions nos modos normal e streaming (SSE).
+ * No streaming, a latência sorteada é o tempo até o primeiro token e cada
+ * trecho seguinte espera o intervalo entre tokens.
+ * 
+ * Pode ser iniciado dentro de outro processo (iniciar/encerrar) ou como
+ * processo separado (main):
+ * mvn -Pcarga test-compile exec:exec -Dcarga.principal=br.com.occhi.suporte.carga.ServidorOpenAiSimulado
+ *     -Dcarga.args="--porta=8089 --latencia=lognormal:800,0.5 --intervalo-tokens=15"
+ * 
+ * A aplicação usa o servidor com o perfil Spring "carga" (application-carga.properties).
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+public final class ServidorOpenAiSimulado {
+
+	private static final ObjectMapper JSON = new ObjectMapper();
+
+	private final RoteiroRespostas roteiro;
+
+	private final DistribuicaoLatencia latencia;
+
+	private final Duration intervaloTokens;
+
+	private final AtomicLong sequencia = new AtomicLong();
+
+	private HttpServer servidor;
+
+	private ExecutorService executor;
+
+	/**
+	 * Cria o servidor.
+	 * 
+	 * @param roteiro roteiro de respostas
+	 * @param latencia distribuição da latência de cada resposta
+	 * @param intervaloTokens intervalo entre os trechos no modo streaming
+	 */
+	public ServidorOpenAiSimulado(RoteiroRespostas roteiro, DistribuicaoLatencia latencia, Duration intervaloTokens) {
+		this.roteiro = roteiro;
+		this.latencia = latencia;
+		this.intervaloTokens = intervaloTokens;
+	}
+
+	/**
+	 * Inicia o servidor na porta informada.
+	 * 
+	 * Cada requisição é atendida em uma virtual thread, de modo que a
+	 * latência simulada não limita a concorrência.
+	 * 
+	 * @param porta porta HTTP (0 para uma porta livre)
+	 * @return porta efetivamente usada
+	 * @throws IOException se a porta não puder ser aberta
+	 */
+	public int iniciar(int porta) throws IOException {
+		executor = Executors.newVirtualThreadPerTaskExecutor();
+		servidor = HttpServer.create(new InetSocketAddress(porta), 1024);
+		servidor.setExecutor(executor);
+		servidor.createContext("/v1/chat/completions", this::atender);
+		servidor.start();
+		return servidor.getAddress().getPort();
+	}
+
+	/**
+	 * Encerra o servidor.
+	 */
+	public void encerrar() {
+		if (servidor != null) {
+			servidor.stop(0);
+			executor.close();
+		}
+	}
+
+	/**
+	 * Inicia o servidor como processo separado.
+	 * 
+	 * Argumentos: --porta (8089), --latencia (fixa:0), --intervalo-tokens
+	 * em ms (0) e --roteiro (arquivo JSON; padrão: roteiro embutido).
+	 * 
+	 * @param args argumentos no formato --chave=valor
+	 * @throws Exception se o servidor não puder ser iniciado
+	 */
+	public static void main(String[] args) throws Exception {
+		Argumentos argumentos = new Argumentos(args);
+		RoteiroRespostas roteiro = argumentos.presente("roteiro")
+				? RoteiroRespostas.de(Path.of(argumentos.texto("roteiro", null)))
+				: RoteiroRespostas.padrao();
+		DistribuicaoLatencia latencia = DistribuicaoLatencia.de(argumentos.texto("latencia", "fixa:0"));
+		ServidorOpenAiSimulado servidor = new ServidorOpenAiSimulado(roteiro, latencia,
+				Duration.ofMillis(argumentos.inteiro("intervalo-tokens", 0)));
+		int porta = servidor.iniciar(argumentos.inteiro("porta", 8089));
+		System.out.printf("Servidor OpenAI simulado em http://localhost:%d/v1 (latência %s)%n", porta, latencia);
+		Runtime.getRuntime().addShutdownHook(new Thread(servidor::encerrar));
+		Thread.currentThread().join();
+	}
+
+	private void atender(HttpExchange troca) throws IOException {
+		try (troca) {
+			if (!"POST".equals(troca.getRequestMethod())) {
+				troca.sendResponseHeaders(405, -1);
+				return;
+			}
+			JsonNode requisicao = JSON.readTree(troca.getRequestBody());
+			Resposta resposta = responder(requisicao);
+			dormir(latencia.sortear());
+
+			if (requisicao.path("stream").asBoolean(false)) {
+				enviarStreaming(troca, requisicao, resposta);
+			} else {
+				enviarJson(troca, 200, completion(requisicao, resposta));
+			}
+		} catch (RuntimeException e) {
+			enviarJson(troca, 500, JSON.createObjectNode().put("error", String.valueOf(e.getMessage())));
+		}
+	}
+
+	/**
+	 * Resposta decidida para uma requisição.
+	 * 
+	 * @param texto conteúdo da resposta (null quando há chamada de tool)
+	 * @param chamadas tools chamadas, na ordem (vazia quando há texto)
+	 * @param tokensEntrada estimativa de tokens da requisição
+	 */
+	private record Resposta(String texto, List<RoteiroRespostas.Chamada> chamadas, int tokensEntrada) {
+
+		int tokensSaida() {
+			if (texto != null) {
+				return estimarTokens(texto);
+			}
+			return chamadas.stream().mapToInt(chamada -> estimarTokens(chamada.argumentos())).sum();
+		}
+	}
+
+	private Resposta responder(JsonNode requisicao) {
+		JsonNode mensagens = requisicao.path("messages");
+		List<String> ferramentas = new ArrayList<>();
+		requisicao.path("tools").forEach(tool -> ferramentas.add(tool.path("function").path("name").asText()));
+
+		String ultimaPergunta = "";
+		List<String> resultados = new ArrayList<>();
+		for (JsonNode mensagem : mensagens) {
+			String papel = mensagem.path("role").asText();
+			if ("user".equals(papel)) {
+				ultimaPergunta = conteudo(mensagem);
+				resultados.clear();
+			} else if ("tool".equals(papel)) {
+				resultados.add(conteudo(mensagem));
+			} else if ("assistant".equals(papel) && !mensagem.has("tool_calls")) {
+				resultados.clear();
+			}
+		}
+		int tokensEntrada = estimarTokens(mensagens.toString());
+		RoteiroRespostas.Decisao decisao = roteiro.decidir(ultimaPergunta, ferramentas);
+
+		JsonNode ultima = mensagens.size() > 0 ? mensagens.get(mensagens.size() - 1) : JSON.createObjectNode();
+		if ("tool".equals(ultima.path("role").asText()) || decisao.chamadas().isEmpty()) {
+			return new Resposta(decisao.resposta().replace("{resultado}", String.join("; ", resultados)), List.of(), tokensEntrada);
+		}
+		return new Resposta(null, decisao.chamadas(), tokensEntrada);
+	}
+
+	private ObjectNode completion(JsonNode requisicao, Resposta resposta) {
+		ObjectNode raiz = cabecalho(requisicao, "chat.completion");
+		ObjectNode escolha = raiz.putArray("choices").addObject();
+		escolha.put("index", 0);
+		ObjectNode mensagem = escolha.putObject("message");
+		mensagem.put("role", "assistant");
+		if (resposta.chamadas().isEmpty()) {
+			mensagem.put("content", resposta.texto());
+			escolha.put("finish_reason", "stop");
+		} else {
+			mensagem.putNull("content");
+			adicionarChamadas(mensagem.putArray("tool_calls"), resposta);
+			escolha.put("finish_reason", "tool_calls");
+		}
+		adicionarUso(raiz, resposta);
+		return raiz;
+	}
+
+	private void enviarStreaming(HttpExchange troca, JsonNode requisicao, Resposta resposta) throws IOException {
+		troca.getResponseHeaders().set("Content-Type", "text/event-stream");
+		troca.sendResponseHeaders(200, 0);
+		OutputStream saida = troca.getResponseBody();
+
+		if (resposta.chamadas().isEmpty()) {
+			for (String trecho : trechos(resposta.texto())) {
+				ObjectNode delta = JSON.createObjectNode().put("content", trecho);
+				enviarEvento(saida, chunk(requisicao, delta, null));
+				dormir(intervaloTokens);
+			}
+		} else {
+			// como na OpenAI, cada tool chamada vem em um chunk próprio, identificada pelo índice
+			ArrayNode chamadas = JSON.createArrayNode();
+			adicionarChamadas(chamadas, resposta);
+			for (int indice = 0; indice < chamadas.size(); indice++) {
+				ObjectNode delta = JSON.createObjectNode();
+				delta.putArray("tool_calls").add(((ObjectNode) chamadas.get(indice)).put("index", indice));
+				enviarEvento(saida, chunk(requisicao, delta, null));
+			}
+		}
+		enviarEvento(saida, chunk(requisicao, JSON.createObjectNode(), resposta.chamadas().isEmpty() ? "stop" : "tool_calls"));
+
+		if (requisicao.path("stream_options").path("include_usage").asBoolean(false)) {
+			ObjectNode uso = cabecalho(requisicao, "chat.completion.chunk");
+			uso.putArray("choices");
+			adicionarUso(uso, resposta);
+			enviarEvento(saida, uso);
+		}
+		saida.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+		saida.flush();
+	}
+
+	private ObjectNode chunk(JsonNode requisicao, ObjectNode delta, String motivoTermino) {
+		ObjectNode raiz = cabecalho(requisicao, "chat.completion.chunk");
+		ObjectNode escolha = raiz.putArray("choices").addObject();
+		escolha.put("index", 0);
+		escolha.set("delta", delta);
+		if (motivoTermino == null) {
+			escolha.putNull("finish_reason");
+		} else {
+			escolha.put("finish_reason", motivoTermino);
+		}
+		return raiz;
+	}
+
+	private ObjectNode cabecalho(JsonNode requisicao, String objeto) {
+		ObjectNode raiz = JSON.createObjectNode();
+		raiz.put("id", "chatcmpl-simulado-" + sequencia.incrementAndGet());
+		raiz.put("object", objeto);
+		raiz.put("created", System.currentTimeMillis() / 1000);
+		raiz.put("model", requisicao.path("model").asText("gpt-4o-mini"));
+		return raiz;
+	}
+
+	private void adicionarChamadas(ArrayNode chamadas, Resposta resposta) {
+		for (RoteiroRespostas.Chamada pedida : resposta.chamadas()) {
+			ObjectNode chamada = chamadas.addObject();
+			chamada.put("id", "call_" + sequencia.incrementAndGet());
+			chamada.put("type", "function");
+			chamada.putObject("function")
+					.put("name", pedida.ferramenta())
+					.put("arguments", pedida.argumentos());
+		}
+	}
+
+	private static void adicionarUso(ObjectNode raiz, Resposta resposta) {
+		raiz.putObject("usage")
+				.put("prompt_tokens", resposta.tokensEntrada())
+				.put("completion_tokens", resposta.tokensSaida())
+				.put("total_tokens", resposta.tokensEntrada() + resposta.tokensSaida());
+	}
+
+	private static String conteudo(JsonNode mensagem) {
+		JsonNode conteudo = mensagem.path("content");
+		if (conteudo.isArray()) {
+			StringBuilder texto = new StringBuilder();
+			conteudo.forEach(parte -> texto.append(parte.path("text").asText()));
+			return texto.toString();
+		}
+		return conteudo.asText("");
+	}
+
+	private static List<String> trechos(String texto) {
+		List<String> trechos = new ArrayList<>();
+		int inicio = 0;
+		for (int i = 1; i <= texto.length(); i++) {
+			if (i == texto.length() || texto.charAt(i) == ' ') {
+				trechos.add(texto.substring(inicio, i));
+				inicio = i;
+			}
+		}
+		return trechos;
+	}
+
+	/**
+	 * Estimativa simples de tokens (cerca de 4 caracteres por token).
+	 */
+	private static int estimarTokens(String texto) {
+		return texto == null ? 0 : Math.max(1, texto.length() / 4);
+	}
+
+	private static void enviarEvento(OutputStream saida, JsonNode evento) throws IOException {
+		saida.write(("data: " + JSON.writeValueAsString(evento) + "\n\n").getBytes(StandardCharsets.UTF_8));
+		saida.flush();
+	}
+
+	private static void enviarJson(HttpExchange troca, int status, JsonNode corpo) throws IOException {
+		byte[] bytes = JSON.writeValueAsBytes(corpo);
+		troca.getResponseHeaders().set("Content-Type", "application/json");
+		troca.sendResponseHeaders(status, bytes.length);
+		troca.getResponseBody().write(bytes);
+	}
+
+	private static void dormir(Duration duracao) {
+		if (duracao.isZero()) {
+			return;
+		}
+		try {
+			Thread.sleep(duracao);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,225 @@
+package br.com.occhi.suporte.carga;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Teste de carga de ponta a ponta dos endpoints /chat e /pedidos.
+ * 
+ * Dispara requisições contra uma instância já em execução da aplicação e,
+ * ao final, imprime a vazão e os percentis p50/p90/p99/p999 de latência
+ * por endpoint. Dois modos de geração de carga:
+ * - fechado (--concorrencia=N): N clientes enviam uma requisição após a outra
+ * - aberto (--taxa=R): R requisições por segundo, independentemente das
+ *   respostas; a latência é medida a partir do instante planejado de envio,
+ *   evitando a omissão coordenada quando a aplicação fica lenta
+ * 
+ * Uma requisição entra na medição pelo instante de envio (planejado, no
+ * modo aberto), e não pelo instante da resposta: as requisições enviadas na
+ * janela de medição são todas registradas, mesmo as que terminam depois
+ * dela. O resultado só é impresso após a conclusão de todas as requisições.
+ * 
+ * Para não depender da OpenAI, a aplicação deve rodar com o perfil
+ * "carga", apontando para o ServidorOpenAiSimulado. Com --stub, o
+ * servidor simulado é iniciado dentro do próprio teste.
+ * 
+ * Argumentos:
+ * --url (http://localhost:8080), --cenario (chat | pedidos | misto),
+ * --concorrencia (50) ou --taxa, --duracao em s (60), --aquecimento em s (10),
+ * --sessoes (1000), --stub, --porta-stub (8089), --latencia (lognormal:800,0.5),
+ * --intervalo-tokens em ms (0)
+ * 
+ * Exemplo:
+ * mvn -Pcarga test-compile exec:exec -Dcarga.args="--cenario=misto --taxa=200 --duracao=120 --stub"
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+public final class TesteCarga {
+
+	/**
+	 * Perguntas enviadas ao /chat, alinhadas ao roteiro padrão do servidor
+	 * simulado (cancelamentos ficam de fora para não alterar os dados).
+	 */
+	private static final List<String> PERGUNTAS = List.of(
+			"Olá!",
+			"Qual o status do pedido 3000? Sou a Ana Silva",
+			"Quero ver os pedidos 3000 e 3001, sou a Ana Silva",
+			"Qual o pedido mais caro?",
+			"Quantos pedidos estão EM_ANDAMENTO?");
+
+	/**
+	 * Requisições de /pedidos sobre os dados de exemplo (Ana Silva, usuário 1000).
+	 */
+	private static final List<Requisicao> REQUISICOES_PEDIDOS = List.of(
+			new Requisicao("pedidos/contagem", "/pedidos/?usuarioId=1000"),
+			new Requisicao("pedidos/detalhes", "/pedidos/3000?primeiroNome=Ana&ultimoNome=Silva"),
+			new Requisicao("pedidos/lote", "/pedidos/detalhes?ids=3000,3001&primeiroNome=Ana&ultimoNome=Silva"),
+			new Requisicao("pedidos/listagem", "/pedidos/usuario/1000?primeiroNome=Ana&ultimoNome=Silva"));
+
+	private record Requisicao(String endpoint, String caminho) {}
+
+	private final HttpClient cliente;
+
+	private final String url;
+
+	private final String cenario;
+
+	private final int sessoes;
+
+	private final RegistroLatencias registro = new RegistroLatencias();
+
+	/**
+	 * Janela de medição, em System.nanoTime(): requisições enviadas entre o
+	 * fim do aquecimento e o fim do teste.
+	 */
+	private long inicioMedicao;
+	private long fimMedicao;
+
+	private TesteCarga(String url, String cenario, int sessoes) {
+		this.url = url;
+		this.cenario = cenario;
+		this.sessoes = sessoes;
+		this.cliente = HttpClient.newBuilder()
+				.executor(Executors.newVirtualThreadPerTaskExecutor())
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+	}
+
+	/**
+	 * Executa o teste de carga.
+	 * 
+	 * @param args argumentos no formato --chave=valor
+	 * @throws Exception se o teste não puder ser executado
+	 */
+	public static void main(String[] args) throws Exception {
+		Argumentos argumentos = new Argumentos(args);
+		ServidorOpenAiSimulado stub = null;
+		if (argumentos.presente("stub")) {
+			stub = new ServidorOpenAiSimulado(RoteiroRespostas.padrao(),
+					DistribuicaoLatencia.de(argumentos.texto("latencia", "lognormal:800,0.5")),
+					Duration.ofMillis(argumentos.inteiro("intervalo-tokens", 0)));
+			int porta = stub.iniciar(argumentos.inteiro("porta-stub", 8089));
+			System.out.printf("Servidor OpenAI simulado em http://localhost:%d/v1%n", porta);
+		}
+
+		try {
+			TesteCarga teste = new TesteCarga(argumentos.texto("url", "http://localhost:8080"),
+					argumentos.texto("cenario", "misto"), argumentos.inteiro("sessoes", 1000));
+			Duration aquecimento = Duration.ofSeconds(argumentos.inteiro("aquecimento", 10));
+			Duration duracao = Duration.ofSeconds(argumentos.inteiro("duracao", 60));
+
+			if (argumentos.presente("taxa")) {
+				double taxa = argumentos.decimal("taxa", 0);
+				System.out.printf("Carga aberta: %.1f req/s, cenário %s%n", taxa, teste.cenario);
+				teste.executarAberto(taxa, aquecimento, duracao);
+			} else {
+				int concorrencia = argumentos.inteiro("concorrencia", 50);
+				System.out.printf("Carga fechada: %d clientes, cenário %s%n", concorrencia, teste.cenario);
+				teste.executarFechado(concorrencia, aquecimento, duracao);
+			}
+			teste.registro.imprimir(System.out, duracao.toMillis() / 1000.0);
+		} finally {
+			if (stub != null) {
+				stub.encerrar();
+			}
+		}
+	}
+
+	private void executarFechado(int concorrencia, Duration aquecimento, Duration duracao) {
+		long fim = definirMedicao(System.nanoTime(), aquecimento, duracao);
+		try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < concorrencia; i++) {
+				clientes.submit(() -> {
+					while (System.nanoTime() < fim) {
+						enviar(proximaRequisicao(), System.nanoTime());
+					}
+				});
+			}
+		}
+	}
+
+	private void executarAberto(double taxa, Duration aquecimento, Duration duracao) {
+		long intervalo = (long) (TimeUnit.SECONDS.toNanos(1) / taxa);
+		long inicio = System.nanoTime();
+		long fim = definirMedicao(inicio, aquecimento, duracao);
+		try (ExecutorService envios = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (long planejado = inicio; planejado < fim; planejado += intervalo) {
+				long espera = planejado - System.nanoTime();
+				if (espera > 0) {
+					LockSupport.parkNanos(espera);
+				}
+				long instante = planejado;
+				envios.submit(() -> enviar(proximaRequisicao(), instante));
+			}
+		}
+	}
+
+	/**
+	 * Define a janela de medição a partir do início do teste.
+	 * 
+	 * @param inicio instante de início do teste (System.nanoTime())
+	 * @param aquecimento duração do aquecimento, fora da medição
+	 * @param duracao duração da medição
+	 * @return instante de término do teste
+	 */
+	private long definirMedicao(long inicio, Duration aquecimento, Duration duracao) {
+		inicioMedicao = inicio + aquecimento.toNanos();
+		fimMedicao = inicioMedicao + duracao.toNanos();
+		return fimMedicao;
+	}
+
+	private Requisicao proximaRequisicao() {
+		ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+		boolean chat = switch (cenario) {
+			case "chat" -> true;
+			case "pedidos" -> false;
+			default -> aleatorio.nextBoolean();
+		};
+		if (!chat) {
+			return REQUISICOES_PEDIDOS.get(aleatorio.nextInt(REQUISICOES_PEDIDOS.size()));
+		}
+		String pergunta = PERGUNTAS.get(aleatorio.nextInt(PERGUNTAS.size()));
+		return new Requisicao("chat", "/chat?sessionId=carga-" + aleatorio.nextInt(sessoes)
+				+ "&message=" + URLEncoder.encode(pergunta, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Envia uma requisição e registra a latência, se o envio estiver na janela de medição.
+	 * 
+	 * @param requisicao requisição a enviar
+	 * @param inicioNanos instante de envio (planejado, no modo aberto), a partir do qual a latência é contada
+	 */
+	private void enviar(Requisicao requisicao, long inicioNanos) {
+		boolean registrar = inicioNanos - inicioMedicao >= 0 && inicioNanos - fimMedicao < 0;
+		boolean sucesso;
+		try {
+			HttpRequest http = HttpRequest.newBuilder(URI.create(url + requisicao.caminho()))
+					.timeout(Duration.ofMinutes(2))
+					.GET()
+					.build();
+			HttpResponse<Void> resposta = cliente.send(http, HttpResponse.BodyHandlers.discarding());
+			sucesso = resposta.statusCode() / 100 == 2;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+		} catch (Exception e) {
+			sucesso = false;
+		}
+		if (registrar) {
+			registro.registrar(requisicao.endpoint(), System.nanoTime() - inicioNanos, sucesso);
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package br.com.occhi.suporte.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import br.com.occhi.suporte.entities.Pedido;
+import br.com.occhi.suporte.entities.Produto;
+import br.com.occhi.suporte.entities.Usuario;
+import br.com.occhi.suporte.enums.StatusPedido;
+import br.com.occhi.suporte.records.DetalhesPedido;
+import br.com.occhi.suporte.records.PaginaPedidos;
+import br.com.occhi.suporte.records.ResumoPedido;
+
+/**
+ * Dados de exemplo compartilhados pelos benchmarks.
+ * 
+ * Os nomes e valores seguem os dados de exemplo do banco, para que o
+ * tamanho dos textos (e portanto de JSON e tokens) seja representativo.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+final class DadosBenchmark {
+
+	private static final String[] NOMES_PRODUTOS = {
+			"iPhone 14 Apple", "Fone Sony WH-1000XM4", "Notebook Dell XPS 13", "Smart TV Samsung 55\"",
+			"Kindle Paperwhite", "Cafeteira Keurig K-Elite", "Monitor Dell UltraSharp", "Teclado Corsair K95 RGB" };
+
+	private DadosBenchmark() {}
+
+	/**
+	 * Cria um pedido com usuário e produtos já carregados.
+	 * 
+	 * @param pedidoId identificador do pedido
+	 * @param quantidadeProdutos quantidade de produtos do pedido
+	 * @return pedido completo
+	 */
+	static Pedido pedido(long pedidoId, int quantidadeProdutos) {
+		Usuario usuario = new Usuario();
+		usuario.setUsuarioId(1000L);
+		usuario.setPrimeiroNome("Ana");
+		usuario.setUltimoNome("Silva");
+
+		List<Produto> produtos = new ArrayList<>(quantidadeProdutos);
+		for (int i = 0; i < quantidadeProdutos; i++) {
+			Produto produto = new Produto();
+			produto.setProdutoId(2000L + i);
+			produto.setNome(NOMES_PRODUTOS[i % NOMES_PRODUTOS.length]);
+			produto.setPreco(new BigDecimal("1099.99"));
+			produtos.add(produto);
+		}
+
+		Pedido pedido = new Pedido();
+		pedido.setPedidoId(pedidoId);
+		pedido.setUsuario(usuario);
+		pedido.setProdutos(produtos);
+		pedido.setStatus(StatusPedido.EM_ANDAMENTO);
+		pedido.setValorTotal(new BigDecimal("6198.00"));
+		pedido.setCriadoEm(LocalDateTime.of(2025, 1, 15, 10, 30, 12, 345_000_000));
+		return pedido;
+	}
+
+	/**
+	 * Cria os detalhes de um pedido, como retornados pelo PedidoService.
+	 * 
+	 * @param pedidoId identificador do pedido
+	 * @param quantidadeProdutos quantidade de produtos do pedido
+	 * @return detalhes do pedido
+	 */
+	static DetalhesPedido detalhesPedido(long pedidoId, int quantidadeProdutos) {
+		return new DetalhesPedido(pedidoId, 1000L, "Ana", "Silva",
+				IntStream.range(0, quantidadeProdutos).mapToObj(i -> NOMES_PRODUTOS[i % NOMES_PRODUTOS.length]).toList(),
+				StatusPedido.EM_ANDAMENTO, new BigDecimal("6198.00"), "2025-01-15T10:30:12.345");
+	}
+
+	/**
+	 * Cria uma lista de detalhes de pedidos com 2 produtos cada.
+	 * 
+	 * @param quantidade quantidade de pedidos
+	 * @return detalhes dos pedidos
+	 */
+	static List<DetalhesPedido> detalhesPedidos(int quantidade) {
+		return IntStream.range(0, quantidade).mapToObj(i -> detalhesPedido(3000L + i, 2)).toList();
+	}
+
+	/**
+	 * Cria uma página de resumos, como entregue pela ferramenta de listagem.
+	 * 
+	 * @param quantidade quantidade de pedidos na página
+	 * @return página de resumos com cursor
+	 */
+	static PaginaPedidos paginaPedidos(int quantidade) {
+		LocalDateTime criadoEm = LocalDateTime.of(2025, 1, 15, 10, 30, 12, 345_000_000);
+		List<ResumoPedido> resumos = IntStream.range(0, quantidade)
+				.mapToObj(i -> new ResumoPedido(3000L + i, StatusPedido.values()[i % 4], new BigDecimal("6198.00"), criadoEm.plusDays(i)))
+				.toList();
+		return new PaginaPedidos(resumos, "MjAyNS0wMS0yNVQxMDozMDoxMi4zNDV8MzAwOQ");
+	}
+}
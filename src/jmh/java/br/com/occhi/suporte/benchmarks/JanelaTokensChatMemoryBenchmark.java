@@ -0,0 +1,138 @@
+package br.com.occhi.suporte.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import br.com.occhi.suporte.memoria.CompactadorMemoria;
+import br.com.occhi.suporte.memoria.JanelaTokensChatMemory;
+import br.com.occhi.suporte.memoria.OuvinteEvicaoSessao;
+import br.com.occhi.suporte.memoria.RegistroMemoriasSessao;
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.memory.chat.TokenWindowChatMemory;
+import dev.langchain4j.model.Tokenizer;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.openai.OpenAiChatModelName;
+import dev.langchain4j.model.openai.OpenAiTokenizer;
+import dev.langchain4j.store.memory.chat.InMemoryChatMemoryStore;
+
+/**
+ * Compara o TokenWindowChatMemory do LangChain4j com o JanelaTokensChatMemory.
+ * 
+ * Cada operação simula um turno de conversa com chamada de ferramenta
+ * (pergunta, chamada de tool com DetalhesPedido, resposta), lendo as
+ * mensagens após cada escrita como faz o AiServices. O limite de tokens é
+ * o total do histórico inicial, de modo que cada turno provoca evicções
+ * com a janela sempre próxima do tamanho parametrizado.
+ * 
+ * Execução: mvn -Pbenchmark test-compile exec:exec -Djmh.args="JanelaTokensChatMemory -prof gc"
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JanelaTokensChatMemoryBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	public int tamanhoHistorico;
+
+	private final Tokenizer tokenizer = new OpenAiTokenizer(OpenAiChatModelName.GPT_4_O_MINI);
+
+	private List<ChatMessage> turno;
+
+	private ChatMemory tokenWindow;
+
+	private ChatMemory janelaTokens;
+
+	@Setup(Level.Iteration)
+	public void preparar() {
+		List<ChatMessage> historico = new ArrayList<>();
+		historico.add(SystemMessage.from("Seu nome é Robozinho e você é assistente de suporte ao cliente."));
+		for (int i = 0; historico.size() < tamanhoHistorico; i++) {
+			historico.addAll(turno(i));
+		}
+		historico = historico.subList(0, tamanhoHistorico);
+		int maxTokens = tokenizer.estimateTokenCountInMessages(historico);
+		turno = turno(tamanhoHistorico);
+
+		tokenWindow = TokenWindowChatMemory.builder()
+				.id("benchmark")
+				.maxTokens(maxTokens, tokenizer)
+				.chatMemoryStore(new InMemoryChatMemoryStore())
+				.build();
+		historico.forEach(tokenWindow::add);
+
+		RegistroMemoriasSessao registro = new RegistroMemoriasSessao(
+				new DefaultListableBeanFactory().getBeanProvider(OuvinteEvicaoSessao.class), 10, 30, 0);
+		janelaTokens = new JanelaTokensChatMemory("benchmark", maxTokens, tokenizer, new InMemoryChatMemoryStore(), registro,
+				compactacaoDesabilitada());
+		historico.forEach(janelaTokens::add);
+	}
+
+	@Benchmark
+	public List<ChatMessage> tokenWindowChatMemory() {
+		return executarTurno(tokenWindow);
+	}
+
+	@Benchmark
+	public List<ChatMessage> janelaTokensChatMemory() {
+		return executarTurno(janelaTokens);
+	}
+
+	private List<ChatMessage> executarTurno(ChatMemory memoria) {
+		List<ChatMessage> mensagens = null;
+		for (ChatMessage mensagem : turno) {
+			memoria.add(mensagem);
+			mensagens = memoria.messages();
+		}
+		return mensagens;
+	}
+
+	/**
+	 * Compactação desabilitada: o benchmark compara apenas as janelas de tokens.
+	 */
+	static CompactadorMemoria compactacaoDesabilitada() {
+		return new CompactadorMemoria(new DefaultListableBeanFactory().getBeanProvider(ChatLanguageModel.class), null, false, 0, 0);
+	}
+
+	private static List<ChatMessage> turno(int i) {
+		ToolExecutionRequest requisicao = ToolExecutionRequest.builder()
+				.id("chamada-" + i)
+				.name("obterDetalhesPedidoPorIdEUsuario")
+				.arguments("{\"pedidoId\": " + i + ", \"primeiroNome\": \"Ana\", \"ultimoNome\": \"Silva\"}")
+				.build();
+		return List.of(
+				UserMessage.from("Sou a Ana Silva, qual o status do pedido " + i + "?"),
+				AiMessage.from(requisicao),
+				ToolExecutionResultMessage.from(requisicao, "DetalhesPedido[pedidoId=" + i + ", usuarioId=1000, primeiroNome=Ana, "
+						+ "ultimoNome=Silva, nomesProdutos=[iPhone 14 Apple, Fone Sony WH-1000XM4], status=EM_ANDAMENTO, "
+						+ "valorTotal=6198.00, criadoEm=2025-01-15T10:30]"),
+				AiMessage.from("Ana, o pedido " + i + " está EM_ANDAMENTO com 2 produtos no valor de R$ 6.198,00."));
+	}
+}
@@ -0,0 +1,80 @@
+package br.com.occhi.suporte.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.occhi.suporte.entities.Pedido;
+import br.com.occhi.suporte.records.DetalhesPedido;
+import br.com.occhi.suporte.repositories.PedidoRepository;
+import br.com.occhi.suporte.services.PedidoService;
+
+/**
+ * Mede a conversão Pedido → DetalhesPedido feita pelo PedidoService.
+ * 
+ * O repositório é substituído por um proxy que devolve pedidos já
+ * carregados, de modo que o benchmark mede apenas o caminho em Java:
+ * stream dos produtos, toList e LocalDateTime.toString, além da montagem
+ * do lote (deduplicação e ordenação pelos IDs pedidos).
+ * 
+ * Execução: mvn -Pbenchmark test-compile exec:exec -Djmh.args="PedidoServiceBenchmark -prof gc"
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PedidoServiceBenchmark {
+
+	@Param({ "1", "10", "50" })
+	public int quantidadeProdutos;
+
+	private PedidoService pedidoService;
+
+	private List<Long> idsLote;
+
+	@Setup
+	public void preparar() {
+		Pedido pedido = DadosBenchmark.pedido(3000L, quantidadeProdutos);
+		idsLote = LongStream.range(3000L, 3000L + PedidoService.MAX_PEDIDOS_POR_LOTE).boxed().toList();
+		List<Pedido> lote = idsLote.stream().map(id -> DadosBenchmark.pedido(id, quantidadeProdutos)).toList();
+
+		PedidoRepository repositorio = (PedidoRepository) Proxy.newProxyInstance(
+				PedidoRepository.class.getClassLoader(),
+				new Class<?>[] { PedidoRepository.class },
+				(proxy, metodo, argumentos) -> switch (metodo.getName()) {
+					case "buscarDetalhesPedidoPorIdEUsuario" -> pedido;
+					case "buscarDetalhesPedidosPorIdsEUsuario" -> lote;
+					default -> throw new UnsupportedOperationException(metodo.getName());
+				});
+		pedidoService = new PedidoService(repositorio, evento -> {}, null, null);
+	}
+
+	@Benchmark
+	public DetalhesPedido detalhesPedido() {
+		return pedidoService.obterDetalhesPedidoPorIdEUsuario(3000L, "Ana", "Silva");
+	}
+
+	@Benchmark
+	public List<DetalhesPedido> detalhesPedidosEmLote() {
+		return pedidoService.obterDetalhesPedidosPorIdsEUsuario(idsLote, "Ana", "Silva");
+	}
+}
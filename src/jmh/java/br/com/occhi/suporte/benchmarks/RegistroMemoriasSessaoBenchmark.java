@@ -0,0 +1,92 @@
+package br.com.occhi.suporte.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import br.com.occhi.suporte.memoria.CompactadorMemoria;
+import br.com.occhi.suporte.memoria.JanelaTokensChatMemory;
+import br.com.occhi.suporte.memoria.OuvinteEvicaoSessao;
+import br.com.occhi.suporte.memoria.RegistroMemoriasSessao;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.Tokenizer;
+import dev.langchain4j.model.openai.OpenAiChatModelName;
+import dev.langchain4j.model.openai.OpenAiTokenizer;
+import dev.langchain4j.store.memory.chat.InMemoryChatMemoryStore;
+
+/**
+ * Mede o custo de adicionar mensagens com evicção de sessões.
+ * 
+ * Várias threads conversam em sessões aleatórias, em quantidade maior que
+ * o limite do RegistroMemoriasSessao: parte das operações encontra a
+ * janela no registro e parte precisa recarregá-la do armazenamento,
+ * provocando a evicção de outra sessão. Com orcamentoTokens maior que
+ * zero, o registro é limitado por peso (tokens retidos).
+ * 
+ * Execução: mvn -Pbenchmark test-compile exec:exec -Djmh.args="RegistroMemoriasSessao -prof gc"
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class RegistroMemoriasSessaoBenchmark {
+
+	private static final int MAX_SESSOES = 1_000;
+
+	@Param({ "1000", "10000" })
+	public int quantidadeSessoes;
+
+	@Param({ "0", "500000" })
+	public long orcamentoTokens;
+
+	private final Tokenizer tokenizer = new OpenAiTokenizer(OpenAiChatModelName.GPT_4_O_MINI);
+
+	private final List<ChatMessage> turno = List.of(
+			UserMessage.from("Sou a Ana Silva, qual o status do pedido 3000?"),
+			AiMessage.from("Ana, o pedido 3000 está EM_ANDAMENTO com 2 produtos no valor de R$ 6.198,00."));
+
+	private RegistroMemoriasSessao registro;
+
+	private InMemoryChatMemoryStore store;
+
+	private final CompactadorMemoria compactador = JanelaTokensChatMemoryBenchmark.compactacaoDesabilitada();
+
+	@Setup(Level.Iteration)
+	public void preparar() {
+		registro = new RegistroMemoriasSessao(
+				new DefaultListableBeanFactory().getBeanProvider(OuvinteEvicaoSessao.class), MAX_SESSOES, 30, orcamentoTokens);
+		store = new InMemoryChatMemoryStore();
+	}
+
+	@Benchmark
+	public int adicionarTurno() {
+		String sessaoId = "sessao-" + ThreadLocalRandom.current().nextInt(quantidadeSessoes);
+		JanelaTokensChatMemory memoria = new JanelaTokensChatMemory(sessaoId, 5000, tokenizer, store, registro, compactador);
+		turno.forEach(memoria::add);
+		return memoria.messages().size();
+	}
+}
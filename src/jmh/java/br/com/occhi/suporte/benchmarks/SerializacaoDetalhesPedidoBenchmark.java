@@ -0,0 +1,84 @@
+package br.com.occhi.suporte.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.occhi.suporte.records.DetalhesPedido;
+import dev.langchain4j.internal.Json;
+
+/**
+ * Mede a serialização de DetalhesPedido nos dois caminhos da aplicação.
+ * 
+ * - REST: Jackson, com o ObjectMapper configurado como no Spring Boot,
+ *   tanto em uma resposta inteira quanto na escrita incremental usada pela
+ *   listagem em streaming (JsonGenerator sobre um OutputStream descartável)
+ * - Ferramentas: o LangChain4j converte o retorno das tools em texto para
+ *   o modelo com {@link Json#toJson(Object)}
+ * 
+ * Execução: mvn -Pbenchmark test-compile exec:exec -Djmh.args="SerializacaoDetalhesPedido -prof gc"
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacaoDetalhesPedidoBenchmark {
+
+	@Param({ "1", "10", "50" })
+	public int quantidadePedidos;
+
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+	private List<DetalhesPedido> pedidos;
+
+	@Setup
+	public void preparar() {
+		pedidos = DadosBenchmark.detalhesPedidos(quantidadePedidos);
+	}
+
+	@Benchmark
+	public byte[] jacksonRest() throws IOException {
+		return objectMapper.writeValueAsBytes(quantidadePedidos == 1 ? pedidos.get(0) : pedidos);
+	}
+
+	@Benchmark
+	public void jacksonStreaming() throws IOException {
+		try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(OutputStream.nullOutputStream())) {
+			gerador.writeStartArray();
+			for (DetalhesPedido pedido : pedidos) {
+				gerador.writeObject(pedido);
+			}
+			gerador.writeEndArray();
+		}
+	}
+
+	// Json está depreciado, mas é o que o DefaultToolExecutor do LangChain4j 0.36 usa
+	@Benchmark
+	@SuppressWarnings("deprecation")
+	public String resultadoFerramenta() {
+		return Json.toJson(quantidadePedidos == 1 ? pedidos.get(0) : pedidos);
+	}
+}
@@ -0,0 +1,85 @@
+package br.com.occhi.suporte.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.internal.Json;
+import dev.langchain4j.model.Tokenizer;
+import dev.langchain4j.model.openai.OpenAiChatModelName;
+import dev.langchain4j.model.openai.OpenAiTokenizer;
+
+/**
+ * Mede o custo de tokenizar os resultados típicos das ferramentas.
+ * 
+ * Todo resultado de tool entra na memória da conversa e é tokenizado ao
+ * ser adicionado à janela de tokens. Os tipos medidos são:
+ * - detalhes: um DetalhesPedido (obterDetalhesPedidoPorIdEUsuario)
+ * - lote: 10 DetalhesPedido (obterDetalhesPedidosPorIdsEUsuario)
+ * - pagina: uma página de 10 resumos com cursor (listarPedidosPorUsuario)
+ * 
+ * O texto é o mesmo gerado pelo LangChain4j ({@link Json#toJson(Object)}).
+ * 
+ * Execução: mvn -Pbenchmark test-compile exec:exec -Djmh.args="TokenizacaoResultadoFerramenta -prof gc"
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenizacaoResultadoFerramentaBenchmark {
+
+	@Param({ "detalhes", "lote", "pagina" })
+	public String resultado;
+
+	private final Tokenizer tokenizer = new OpenAiTokenizer(OpenAiChatModelName.GPT_4_O_MINI);
+
+	private String texto;
+
+	private ToolExecutionResultMessage mensagem;
+
+	// Json está depreciado, mas é o que o DefaultToolExecutor do LangChain4j 0.36 usa
+	@Setup
+	@SuppressWarnings("deprecation")
+	public void preparar() {
+		texto = Json.toJson(switch (resultado) {
+			case "detalhes" -> DadosBenchmark.detalhesPedido(3000L, 2);
+			case "lote" -> DadosBenchmark.detalhesPedidos(10);
+			case "pagina" -> DadosBenchmark.paginaPedidos(10);
+			default -> throw new IllegalArgumentException(resultado);
+		});
+		ToolExecutionRequest requisicao = ToolExecutionRequest.builder()
+				.id("chamada-1")
+				.name("obterDetalhesPedidoPorIdEUsuario")
+				.arguments("{\"pedidoId\": 3000, \"primeiroNome\": \"Ana\", \"ultimoNome\": \"Silva\"}")
+				.build();
+		mensagem = ToolExecutionResultMessage.from(requisicao, texto);
+	}
+
+	@Benchmark
+	public int tokensTexto() {
+		return tokenizer.estimateTokenCountInText(texto);
+	}
+
+	@Benchmark
+	public int tokensMensagem() {
+		return tokenizer.estimateTokenCountInMessage(mensagem);
+	}
+}
@@ -0,0 +1,25 @@
+package br.com.occhi.suporte.config;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuração das tarefas agendadas da aplicação.
+ * 
+ * Habilita o processamento das anotações @Scheduled, utilizadas por
+ * rotinas periódicas de manutenção (ex: reconciliação dos contadores
+ * de pedidos com o banco de dados).
+ * 
+ * As tarefas podem ser desligadas com suporte.agendamento.enabled=false,
+ * por exemplo em testes que sobem o contexto completo sem banco de dados
+ * e não devem ficar tentando publicar o outbox ou reconciliar contadores.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "suporte.agendamento.enabled", matchIfMissing = true)
+public class AgendamentoConfiguration {
+}
@@ -1,20 +1,36 @@
 package br.com.occhi.suporte.config;
 import dev.langchain4j.memory.chat.ChatMemoryProvider;
-import dev.langchain4j.memory.chat.TokenWindowChatMemory;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import dev.langchain4j.model.embedding.EmbeddingModel;
 import dev.langchain4j.model.Tokenizer;
+import dev.langchain4j.service.AiServices;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import org.springframework.beans.BeanUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+
+import br.com.occhi.suporte.memoria.CompactadorMemoria;
+import br.com.occhi.suporte.memoria.JanelaTokensChatMemory;
+import br.com.occhi.suporte.memoria.MemoriasAssistente;
+import br.com.occhi.suporte.memoria.RegistroMemoriasSessao;
+import br.com.occhi.suporte.services.AssistenteSuporteVendas;
+import br.com.occhi.suporte.services.ExecucaoParalelaFerramentas;
+import br.com.occhi.suporte.services.PedidoTool;
 
 /**
  * Configuração do agente de IA para o assistente de suporte de vendas.
  * 
  * Esta classe configura os componentes necessários para o funcionamento
  * do assistente virtual baseado em LangChain4j, incluindo o gerenciamento
- * de memória das conversas.
+ * de memória das conversas e o registro das ferramentas.
  * 
  * A memória das conversas é implementada usando uma janela de tokens,
  * permitindo que o assistente mantenha contexto das interações anteriores
- * dentro de um limite de tokens definido.
+ * dentro de um limite de tokens definido. As mensagens são persistidas no
+ * banco de dados, preservando o histórico entre reinicializações.
  * 
  * @author Ailton Occhi
  * @version 1.0
@@ -22,6 +38,11 @@ import org.springframework.context.annotation.Configuration;
  */
 @Configuration
 public class AgentConfiguration {
+
+	/**
+	 * Modelo de embeddings local, presente apenas no build com o perfil Maven "similaridade".
+	 */
+	private static final String MODELO_EMBEDDING_LOCAL = "dev.langchain4j.model.embedding.onnx.allminilml6v2.AllMiniLmL6V2EmbeddingModel";
 	
 	/**
 	 * Configura o provedor de memória de chat para o assistente de IA.
@@ -34,16 +55,87 @@ public class AgentConfiguration {
 	 * 
 	 * A memória funciona como uma janela deslizante: quando o limite de tokens
 	 * é atingido, as mensagens mais antigas são removidas para dar espaço
-	 * às novas mensagens.
+	 * às novas mensagens. Cada mensagem é tokenizada uma única vez e o total
+	 * de tokens é mantido de forma incremental (JanelaTokensChatMemory).
+	 * 
+	 * Antes de chegar ao limite, os turnos mais antigos são substituídos por
+	 * um resumo gerado em segundo plano (CompactadorMemoria). O resumo e os
+	 * fatos confirmados pelas ferramentas (cliente e pedidos) continuam no
+	 * contexto, de modo que o assistente não precisa perguntar de novo.
+	 * 
+	 * As mensagens de cada sessão são mantidas no armazenamento durável
+	 * (tabela memorias_chat), gravado em segundo plano e em lote.
 	 * 
 	 * @param tokenizer tokenizador usado para contar tokens nas mensagens
+	 * @param chatMemoryStore armazenamento durável das mensagens das sessões
+	 * @param registroSessoes registro limitado das janelas mantidas em memória
+	 * @param compactador compactação dos turnos antigos em resumo
 	 * @return provedor de memória de chat configurado
 	 */
 	@Bean
-	ChatMemoryProvider chatMemoryProvider( Tokenizer tokenizer) {
-		return memoryId -> TokenWindowChatMemory.builder()
-				.id(memoryId)
-				.maxTokens(5000, tokenizer)
-				.build();
+	ChatMemoryProvider chatMemoryProvider( Tokenizer tokenizer, ChatMemoryStore chatMemoryStore,
+			RegistroMemoriasSessao registroSessoes, CompactadorMemoria compactador) {
+		return memoryId -> new JanelaTokensChatMemory(memoryId, 5000, tokenizer, chatMemoryStore, registroSessoes, compactador);
+	}
+
+	/**
+	 * Cria o assistente de suporte de vendas.
+	 * 
+	 * O assistente é montado explicitamente (e não pela anotação @AiService)
+	 * para registrar as ferramentas de PedidoTool com executores próprios:
+	 * quando o modelo pede várias leituras em uma mesma resposta, elas são
+	 * executadas em paralelo em virtual threads, e o turno espera apenas a
+	 * mais lenta. Os resultados continuam entrando na memória na ordem do
+	 * pedido, e ferramentas que alteram dados (cancelarPedido) seguem
+	 * executadas uma de cada vez, na ordem pedida.
+	 * 
+	 * As memórias que o serviço mantém por sessão são liberadas quando a
+	 * sessão sai do registro de memórias (MemoriasAssistente). Se a versão
+	 * do LangChain4j não permitir esse acesso, a criação do assistente
+	 * falha e a aplicação não sobe.
+	 * 
+	 * @param chatModel modelo de chat (síncrono)
+	 * @param streamingChatModel modelo de chat em streaming
+	 * @param chatMemoryProvider provedor de memória das sessões
+	 * @param pedidoTool ferramentas do assistente
+	 * @param execucaoFerramentas execução concorrente das ferramentas de leitura
+	 * @param memoriasAssistente liberação das memórias das sessões removidas
+	 * @return assistente de suporte de vendas
+	 */
+	@Bean
+	AssistenteSuporteVendas assistenteSuporteVendas(ChatLanguageModel chatModel, StreamingChatLanguageModel streamingChatModel,
+			ChatMemoryProvider chatMemoryProvider, PedidoTool pedidoTool, ExecucaoParalelaFerramentas execucaoFerramentas,
+			MemoriasAssistente memoriasAssistente) {
+		AiServices<AssistenteSuporteVendas> servico = AiServices.builder(AssistenteSuporteVendas.class)
+				.chatLanguageModel(chatModel)
+				.streamingChatLanguageModel(streamingChatModel)
+				.chatMemoryProvider(execucaoFerramentas.registrarLotes(chatMemoryProvider))
+				.tools(execucaoFerramentas.ferramentas(pedidoTool));
+		memoriasAssistente.vincular(servico);
+		return servico.build();
+	}
+
+	/**
+	 * Configura o modelo de embeddings local usado pelo cache de respostas.
+	 * 
+	 * O modelo all-MiniLM-L6-v2 roda em processo (ONNX), sem chamadas de rede,
+	 * e permite reconhecer perguntas frequentes escritas de formas diferentes.
+	 * Só é criado quando a busca por similaridade está habilitada.
+	 * 
+	 * O modelo (dezenas de MB) só é empacotado no build com o perfil Maven
+	 * "similaridade" (mvn -Psimilaridade package); sem ele, a aplicação não
+	 * sobe com a similaridade habilitada.
+	 * 
+	 * @return modelo de embeddings em processo
+	 * @throws IllegalStateException se o modelo não estiver no classpath
+	 */
+	@Bean
+	@ConditionalOnProperty(name = "suporte.chat.cache-respostas.similaridade.enabled", havingValue = "true")
+	EmbeddingModel modeloEmbeddingLocal() {
+		if (!ClassUtils.isPresent(MODELO_EMBEDDING_LOCAL, null)) {
+			throw new IllegalStateException("Similaridade do cache de respostas habilitada, mas o modelo de embeddings local "
+					+ "não está no classpath. Gere o build com o perfil Maven 'similaridade'.");
+		}
+		return (EmbeddingModel) BeanUtils.instantiateClass(ClassUtils.resolveClassName(MODELO_EMBEDDING_LOCAL, null));
 	}
 }
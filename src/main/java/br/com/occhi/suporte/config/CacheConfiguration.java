@@ -0,0 +1,28 @@
+package br.com.occhi.suporte.config;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração do cache das consultas agregadas de pedidos.
+ * 
+ * Habilita o suporte a cache do Spring, utilizado pelo PedidoService para
+ * evitar que as ferramentas do assistente executem agregações (MAX) sobre
+ * toda a tabela de pedidos a cada chamada.
+ * 
+ * O provedor (Caffeine), os nomes dos caches e seus limites são definidos
+ * em application.properties (spring.cache.*). A consistência após escritas
+ * é garantida pela invalidação orientada a eventos (PedidoAlteradoEvento).
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+	/**
+	 * Cache do valor do pedido mais caro (chave única).
+	 */
+	public static final String VALOR_PEDIDO_MAIS_CARO = "valorPedidoMaisCaro";
+}
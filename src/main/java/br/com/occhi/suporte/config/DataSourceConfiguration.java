@@ -0,0 +1,132 @@
+package br.com.occhi.suporte.config;
+import java.sql.SQLException;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import br.com.occhi.suporte.enums.CargaTrabalho;
+import br.com.occhi.suporte.services.ConsistenciaLeitura;
+import br.com.occhi.suporte.services.ContextoCargaTrabalho;
+
+/**
+ * Configuração dos pools de conexões da aplicação, isolados por carga de trabalho.
+ * 
+ * A API REST e o assistente de IA disputavam um único pool HikariCP: uma
+ * rajada de conversas podia ocupar todas as conexões e travar os endpoints
+ * /pedidos. Agora cada carga ({@link CargaTrabalho}) tem seu pool no primário:
+ * - api (spring.datasource.hikari.*): endpoints REST e tarefas em segundo plano
+ * - assistente (suporte.datasource.assistente.*): ferramentas do assistente e
+ *   memória de chat; mesma conexão do pool api, com tamanho e tempo de
+ *   espera próprios (padrão: 5 conexões e 2 segundos)
+ * 
+ * Cada pool tem timeout e métricas próprias (hikaricp_* com a tag pool).
+ * Com o pool do assistente esgotado, a ferramenta falha em poucos
+ * segundos e o modelo responde sem o dado, sem afetar a API REST.
+ * 
+ * O datasource principal (JPA, JdbcTemplate e Flyway) é um
+ * LazyConnectionDataSourceProxy sobre o roteador dos pools. Com réplica de
+ * leitura configurada ({@link ReplicaLeituraConfiguration}), as transações
+ * somente leitura são desviadas para os pools da réplica, separados pela
+ * mesma divisão de cargas.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@Configuration
+public class DataSourceConfiguration {
+
+	/**
+	 * Pool da API REST, configurado pelas propriedades spring.datasource.*.
+	 * 
+	 * @param propriedades propriedades spring.datasource
+	 * @return pool da carga api
+	 */
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	HikariDataSource dataSourceApi(DataSourceProperties propriedades) {
+		HikariDataSource pool = propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		pool.setPoolName(CargaTrabalho.API.getNomePool());
+		return pool;
+	}
+
+	/**
+	 * Pool do assistente de IA, com a conexão do pool api e o dimensionamento
+	 * das propriedades suporte.datasource.assistente.*.
+	 * 
+	 * @param api pool da carga api
+	 * @return pool da carga assistente
+	 * @throws SQLException se o pool api não puder ser acessado
+	 */
+	@Bean
+	@ConfigurationProperties("suporte.datasource.assistente")
+	HikariDataSource dataSourceAssistente(@Qualifier("dataSourceApi") DataSource api) throws SQLException {
+		HikariDataSource pool = copiarPool(api, CargaTrabalho.ASSISTENTE.getNomePool());
+		pool.setMaximumPoolSize(5);
+		pool.setConnectionTimeout(2000);
+		return pool;
+	}
+
+	/**
+	 * Roteador dos pools do primário por carga de trabalho.
+	 * 
+	 * @param api pool da carga api
+	 * @param assistente pool da carga assistente
+	 * @param contexto carga de trabalho da thread atual
+	 * @return datasource do primário
+	 */
+	@Bean
+	DataSource dataSourcePrimario(@Qualifier("dataSourceApi") DataSource api,
+			@Qualifier("dataSourceAssistente") DataSource assistente, ContextoCargaTrabalho contexto) {
+		return new RoteadorCargaTrabalhoDataSource(Map.of(CargaTrabalho.API, api, CargaTrabalho.ASSISTENTE, assistente), contexto);
+	}
+
+	/**
+	 * Datasource principal da aplicação (JPA, JdbcTemplate e Flyway).
+	 * 
+	 * @param primario datasource do primário
+	 * @param replica datasource da réplica, se configurada
+	 * @param monitor monitor do atraso da réplica, se configurada
+	 * @param consistencia leitura das próprias escritas por sessão
+	 * @return datasource que obtém a conexão física apenas no primeiro comando
+	 */
+	@Bean
+	@Primary
+	DataSource dataSource(@Qualifier("dataSourcePrimario") DataSource primario,
+			@Qualifier("dataSourceReplica") ObjectProvider<DataSource> replica, ObjectProvider<MonitorReplica> monitor,
+			ConsistenciaLeitura consistencia) {
+		LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primario);
+		DataSource dataSourceReplica = replica.getIfAvailable();
+		if (dataSourceReplica != null) {
+			dataSource.setReadOnlyDataSource(
+					new RoteadorLeituraDataSource(primario, dataSourceReplica, monitor.getObject(), consistencia));
+		}
+		return dataSource;
+	}
+
+	/**
+	 * Cria um pool com as mesmas configurações de conexão de outro pool.
+	 * 
+	 * @param origem pool de origem (ainda não iniciado)
+	 * @param nome nome do novo pool
+	 * @return novo pool, com a configuração copiada
+	 * @throws SQLException se o pool de origem não for um HikariDataSource
+	 */
+	static HikariDataSource copiarPool(DataSource origem, String nome) throws SQLException {
+		HikariDataSource pool = new HikariDataSource();
+		origem.unwrap(HikariDataSource.class).copyStateTo(pool);
+		pool.setPoolName(nome);
+		return pool;
+	}
+}
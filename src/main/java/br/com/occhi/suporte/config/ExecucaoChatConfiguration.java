@@ -0,0 +1,44 @@
+package br.com.occhi.suporte.config;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração do modo de execução das conversas com o assistente.
+ * 
+ * Por padrão, cada requisição ao /chat é processada na própria thread do
+ * Tomcat, que fica bloqueada durante toda a chamada à OpenAI e às tools.
+ * 
+ * Com a propriedade suporte.chat.virtual-threads.enabled=true, as conversas
+ * passam a ser executadas em virtual threads: a thread do Tomcat é liberada
+ * imediatamente (processamento assíncrono do Spring MVC) e milhares de
+ * conversas podem ficar em andamento sem esgotar o pool de threads usado
+ * pelos endpoints de /pedidos.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@Configuration
+public class ExecucaoChatConfiguration {
+
+	/**
+	 * Executor utilizado para processar as mensagens enviadas ao assistente.
+	 * 
+	 * - Virtual threads habilitadas: uma nova virtual thread por conversa
+	 * - Virtual threads desabilitadas: execução direta na thread da requisição
+	 * 
+	 * @param virtualThreads indica se as conversas devem rodar em virtual threads
+	 * @return executor das conversas com o assistente
+	 */
+	@Bean
+	Executor executorChat(@Value("${suporte.chat.virtual-threads.enabled:false}") boolean virtualThreads) {
+		if (virtualThreads) {
+			return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("chat-", 0).factory());
+		}
+		return Runnable::run;
+	}
+}
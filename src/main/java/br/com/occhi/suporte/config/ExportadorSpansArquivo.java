@@ -0,0 +1,126 @@
+package br.com.occhi.suporte.config;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * Exportador de spans para um arquivo local, no formato JSON Lines.
+ *
+ * Permite analisar traces sem um coletor OpenTelemetry (ex: testes de
+ * carga locais ou ambientes isolados). Cada linha do arquivo é um span,
+ * com IDs de trace, span e pai, nome, início, duração, status e atributos.
+ *
+ * É registrado ao lado do exportador OTLP (quando configurado) e recebe
+ * os mesmos lotes de spans do BatchSpanProcessor.
+ *
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+public class ExportadorSpansArquivo implements SpanExporter {
+
+	private static final Logger log = LoggerFactory.getLogger(ExportadorSpansArquivo.class);
+
+	/**
+	 * Escritor do arquivo, mantido aberto em modo de acréscimo.
+	 */
+	private final BufferedWriter escritor;
+
+	/**
+	 * Conversor JSON de cada span.
+	 */
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * Construtor que abre (ou cria) o arquivo de destino.
+	 *
+	 * @param arquivo caminho do arquivo de spans
+	 * @param objectMapper conversor JSON
+	 */
+	public ExportadorSpansArquivo(Path arquivo, ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+		try {
+			if (arquivo.getParent() != null) {
+				Files.createDirectories(arquivo.getParent());
+			}
+			this.escritor = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8,
+					StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Não foi possível abrir o arquivo de spans " + arquivo, e);
+		}
+	}
+
+	@Override
+	public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+		try {
+			for (SpanData span : spans) {
+				escritor.write(objectMapper.writeValueAsString(converter(span)));
+				escritor.newLine();
+			}
+			escritor.flush();
+			return CompletableResultCode.ofSuccess();
+		} catch (IOException e) {
+			log.warn("Falha ao exportar spans para arquivo: {}", e.getMessage());
+			return CompletableResultCode.ofFailure();
+		}
+	}
+
+	@Override
+	public synchronized CompletableResultCode flush() {
+		try {
+			escritor.flush();
+			return CompletableResultCode.ofSuccess();
+		} catch (IOException e) {
+			return CompletableResultCode.ofFailure();
+		}
+	}
+
+	@Override
+	public synchronized CompletableResultCode shutdown() {
+		try {
+			escritor.close();
+			return CompletableResultCode.ofSuccess();
+		} catch (IOException e) {
+			return CompletableResultCode.ofFailure();
+		}
+	}
+
+	/**
+	 * Converte um span na estrutura gravada em cada linha do arquivo.
+	 *
+	 * @param span span finalizado
+	 * @return mapa ordenado com os campos do span
+	 */
+	private Map<String, Object> converter(SpanData span) {
+		Map<String, Object> atributos = new LinkedHashMap<>();
+		span.getAttributes().forEach((chave, valor) -> atributos.put(chave.getKey(), valor));
+
+		Map<String, Object> linha = new LinkedHashMap<>();
+		linha.put("traceId", span.getTraceId());
+		linha.put("spanId", span.getSpanId());
+		linha.put("parentSpanId", span.getParentSpanContext().isValid() ? span.getParentSpanId() : null);
+		linha.put("nome", span.getName());
+		linha.put("tipo", span.getKind().name());
+		linha.put("inicioEpochNanos", span.getStartEpochNanos());
+		linha.put("duracaoMs", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000_000.0);
+		linha.put("status", span.getStatus().getStatusCode().name());
+		linha.put("atributos", atributos);
+		return linha;
+	}
+}
@@ -0,0 +1,203 @@
+package br.com.occhi.suporte.config;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import br.com.occhi.suporte.entities.Pedido;
+import br.com.occhi.suporte.entities.Produto;
+import br.com.occhi.suporte.enums.IntencaoChat;
+import br.com.occhi.suporte.memoria.CompactadorMemoria;
+import br.com.occhi.suporte.memoria.RegistroMemoriasSessao;
+import br.com.occhi.suporte.repositories.ProdutoRepository;
+import br.com.occhi.suporte.services.BulkheadLlm;
+import br.com.occhi.suporte.services.CacheRespostasAssistente;
+import br.com.occhi.suporte.services.ExecucaoParalelaFerramentas;
+import br.com.occhi.suporte.services.MetricasAssistente;
+import br.com.occhi.suporte.services.ModeloChatMedido;
+import br.com.occhi.suporte.services.ModeloChatStreamingMedido;
+import br.com.occhi.suporte.services.ProdutoService;
+import br.com.occhi.suporte.services.RastreamentoAssistente;
+import br.com.occhi.suporte.services.RoteadorIntencoes;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Configuração das métricas da aplicação (Actuator + Micrometer).
+ *
+ * As métricas são expostas no formato Prometheus em /actuator/prometheus.
+ * Esta classe:
+ * - Envolve os modelos de chat do LangChain4j com decoradores que medem
+ *   a latência de cada chamada ao LLM e o tempo até o primeiro token,
+ *   abrindo também um span por chamada
+ * - Publica como gauges e contadores o estado já mantido pelos
+ *   componentes do chat (bulkhead, registro de sessões, compactação e cache de respostas),
+ *   lido apenas no momento da coleta
+ * - Publica os acertos e falhas do cache de segundo nível do Hibernate
+ *
+ * As métricas de ferramentas, tokens e turnos são registradas por
+ * {@link MetricasAssistente}.
+ *
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@Configuration
+public class MetricasConfiguration {
+
+	/**
+	 * Decora os modelos de chat criados pelo starter do LangChain4j.
+	 *
+	 * O método é estático para que o pós-processador seja registrado antes
+	 * dos demais beans; métricas e rastreamento são resolvidos apenas quando
+	 * um modelo é criado.
+	 *
+	 * @param metricas provedor das métricas do assistente
+	 * @param rastreamento provedor do rastreamento das conversas
+	 * @return pós-processador que envolve os modelos de chat
+	 */
+	@Bean
+	static BeanPostProcessor medicaoModelosChat(ObjectProvider<MetricasAssistente> metricas,
+			ObjectProvider<RastreamentoAssistente> rastreamento) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String nome) throws BeansException {
+				if (bean instanceof ChatLanguageModel modelo) {
+					return new ModeloChatMedido(modelo, metricas.getObject(), rastreamento.getObject());
+				}
+				if (bean instanceof StreamingChatLanguageModel modelo) {
+					return new ModeloChatStreamingMedido(modelo, metricas.getObject(), rastreamento.getObject());
+				}
+				return bean;
+			}
+		};
+	}
+
+	/**
+	 * Registra as métricas de estado do chat.
+	 *
+	 * - suporte.llm.bulkhead.*: chamadas em execução, em fila, admitidas e rejeitadas
+	 * - suporte.chat.sessoes.*: sessões em memória, tokens retidos e evicções
+	 * - suporte.chat.memoria.compactacoes / tokens.compactados: turnos antigos substituídos por resumo
+	 * - suporte.chat.cache.respostas.*: acertos (exatos e semelhantes) e falhas
+	 * - suporte.chat.ferramentas.paralelas.*: trechos de leituras executados em paralelo e ferramentas antecipadas
+	 * - suporte.chat.roteador.*: mensagens respondidas sem o LLM (por intenção) e encaminhadas ao assistente
+	 *
+	 * @param bulkheadLlm bulkhead das chamadas ao LLM
+	 * @param registroSessoes registro das memórias de sessão
+	 * @param cacheRespostas cache de respostas do assistente
+	 * @param compactador compactação das memórias de chat
+	 * @param execucaoFerramentas execução concorrente das ferramentas de leitura
+	 * @param roteadorIntencoes roteador das intenções simples
+	 * @return binder das métricas de estado
+	 */
+	@Bean
+	MeterBinder metricasEstadoChat(BulkheadLlm bulkheadLlm, RegistroMemoriasSessao registroSessoes,
+			CacheRespostasAssistente cacheRespostas, CompactadorMemoria compactador,
+			ExecucaoParalelaFerramentas execucaoFerramentas, RoteadorIntencoes roteadorIntencoes) {
+		return registry -> {
+			Gauge.builder("suporte.llm.bulkhead.em.execucao", bulkheadLlm, b -> b.estatisticas().emExecucao())
+					.description("Chamadas ao LLM em execução")
+					.register(registry);
+			Gauge.builder("suporte.llm.bulkhead.em.fila", bulkheadLlm, b -> b.estatisticas().emFila())
+					.description("Chamadas ao LLM aguardando vaga no bulkhead")
+					.register(registry);
+			FunctionCounter.builder("suporte.llm.bulkhead.admitidas", bulkheadLlm, b -> b.estatisticas().admitidas())
+					.description("Chamadas ao LLM admitidas pelo bulkhead")
+					.register(registry);
+			FunctionCounter.builder("suporte.llm.bulkhead.rejeitadas", bulkheadLlm, b -> b.estatisticas().rejeitadas())
+					.description("Chamadas ao LLM rejeitadas por fila cheia ou tempo de espera")
+					.register(registry);
+
+			Gauge.builder("suporte.chat.sessoes.ativas", registroSessoes, r -> r.estatisticas().sessoesAtivas())
+					.description("Sessões de chat mantidas em memória")
+					.register(registry);
+			Gauge.builder("suporte.chat.sessoes.tokens", registroSessoes, RegistroMemoriasSessao::tokensEmMemoria)
+					.description("Total de tokens retidos pelas memórias de sessão")
+					.baseUnit("tokens")
+					.register(registry);
+			FunctionCounter.builder("suporte.chat.sessoes.evicoes", registroSessoes, r -> r.estatisticas().evicoes())
+					.description("Sessões removidas da memória por tamanho, orçamento ou inatividade")
+					.register(registry);
+			FunctionCounter.builder("suporte.chat.memoria.compactacoes", compactador, c -> c.estatisticas().concluidas())
+					.description("Compactações de memória de chat (turnos antigos substituídos por resumo)")
+					.tag("resultado", "sucesso")
+					.register(registry);
+			FunctionCounter.builder("suporte.chat.memoria.compactacoes", compactador, c -> c.estatisticas().falhas())
+					.description("Compactações de memória de chat (turnos antigos substituídos por resumo)")
+					.tag("resultado", "erro")
+					.register(registry);
+			FunctionCounter.builder("suporte.chat.memoria.tokens.compactados", compactador, c -> c.estatisticas().tokensRemovidos())
+					.description("Tokens de mensagens substituídas por resumos")
+					.baseUnit("tokens")
+					.register(registry);
+
+			FunctionCounter.builder("suporte.chat.cache.respostas.acertos", cacheRespostas, c -> c.estatisticas().acertosExatos())
+					.description("Perguntas respondidas pelo cache de respostas")
+					.tag("tipo", "exato")
+					.register(registry);
+			FunctionCounter.builder("suporte.chat.cache.respostas.acertos", cacheRespostas, c -> c.estatisticas().acertosSemelhantes())
+					.description("Perguntas respondidas pelo cache de respostas")
+					.tag("tipo", "semelhante")
+					.register(registry);
+			FunctionCounter.builder("suporte.chat.cache.respostas.falhas", cacheRespostas, c -> c.estatisticas().falhas())
+					.description("Perguntas elegíveis que precisaram chamar o LLM")
+					.register(registry);
+
+			FunctionCounter.builder("suporte.chat.ferramentas.paralelas.trechos", execucaoFerramentas,
+					e -> e.estatisticas().trechosParalelos())
+					.description("Trechos de ferramentas de leitura de uma mesma resposta executados em paralelo")
+					.register(registry);
+			FunctionCounter.builder("suporte.chat.ferramentas.paralelas.antecipadas", execucaoFerramentas,
+					e -> e.estatisticas().ferramentasAntecipadas())
+					.description("Ferramentas de leitura iniciadas em paralelo com a primeira do trecho")
+					.register(registry);
+
+			for (IntencaoChat intencao : IntencaoChat.values()) {
+				FunctionCounter.builder("suporte.chat.roteador.respondidas", roteadorIntencoes, r -> r.respondidas(intencao))
+						.description("Mensagens respondidas pelo roteador de intenções, sem chamar o LLM")
+						.tag("intencao", intencao.getNome())
+						.register(registry);
+			}
+			FunctionCounter.builder("suporte.chat.roteador.encaminhadas", roteadorIntencoes, RoteadorIntencoes::encaminhadas)
+					.description("Mensagens não reconhecidas pelo roteador de intenções, encaminhadas ao assistente")
+					.register(registry);
+		};
+	}
+
+	/**
+	 * Registra as métricas do cache de segundo nível (produtos).
+	 *
+	 * - suporte.cache.segundo.nivel.acertos: leituras atendidas pelo cache
+	 * - suporte.cache.segundo.nivel.falhas: leituras que precisaram ir ao banco
+	 * - suporte.cache.segundo.nivel.insercoes: itens colocados no cache
+	 *
+	 * Todas com a tag regiao (produtos, pedidos-produtos, consultas-produtos).
+	 *
+	 * @param produtoService serviço do catálogo, que lê as estatísticas do Hibernate
+	 * @return binder das métricas do cache de segundo nível
+	 */
+	@Bean
+	MeterBinder metricasCacheSegundoNivel(ProdutoService produtoService) {
+		return registry -> {
+			for (String regiao : new String[] { Produto.REGIAO_CACHE, Pedido.REGIAO_CACHE_PRODUTOS, ProdutoRepository.REGIAO_CONSULTAS }) {
+				FunctionCounter.builder("suporte.cache.segundo.nivel.acertos", produtoService, p -> p.estatisticasRegiao(regiao).acertos())
+						.description("Leituras atendidas pelo cache de segundo nível")
+						.tag("regiao", regiao)
+						.register(registry);
+				FunctionCounter.builder("suporte.cache.segundo.nivel.falhas", produtoService, p -> p.estatisticasRegiao(regiao).falhas())
+						.description("Leituras que não encontraram o item no cache de segundo nível")
+						.tag("regiao", regiao)
+						.register(registry);
+				FunctionCounter.builder("suporte.cache.segundo.nivel.insercoes", produtoService, p -> p.estatisticasRegiao(regiao).insercoes())
+						.description("Itens colocados no cache de segundo nível")
+						.tag("regiao", regiao)
+						.register(registry);
+			}
+		};
+	}
+}
@@ -0,0 +1,149 @@
+package br.com.occhi.suporte.config;
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Acompanha o atraso de replicação da réplica de leitura.
+ * 
+ * Periodicamente consulta, na réplica, há quanto tempo a última transação
+ * do primário foi aplicada. A réplica só atende leituras enquanto estiver
+ * acessível e com atraso dentro do limite configurado; fora disso, as
+ * leituras voltam ao primário até a réplica se recuperar.
+ * 
+ * Se a réplica já aplicou tudo o que recebeu, o atraso é zero, mesmo que
+ * o primário esteja sem escritas há muito tempo. Um banco que não está em
+ * recuperação (ex: primário usado como réplica em testes) também tem
+ * atraso zero.
+ * 
+ * O atraso medido é publicado na métrica suporte.datasource.replica.atraso
+ * (-1 enquanto a réplica estiver inacessível).
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+public class MonitorReplica implements MeterBinder {
+
+	private static final Logger log = LoggerFactory.getLogger(MonitorReplica.class);
+
+	private static final String SQL_ATRASO = """
+			SELECT CASE
+				WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+				ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+			END
+			""";
+
+	/**
+	 * Acesso JDBC à réplica.
+	 */
+	private final JdbcTemplate replica;
+
+	/**
+	 * Atraso máximo tolerado em milissegundos.
+	 */
+	private final long maxAtrasoMs;
+
+	/**
+	 * Último atraso medido em milissegundos, ou -1 se a réplica estiver inacessível.
+	 */
+	private volatile long atrasoMs = -1;
+
+	/**
+	 * Construtor do monitor.
+	 * 
+	 * @param replica datasource da réplica
+	 * @param maxAtrasoMs atraso máximo tolerado em milissegundos
+	 */
+	public MonitorReplica(DataSource replica, long maxAtrasoMs) {
+		this.replica = new JdbcTemplate(replica);
+		this.maxAtrasoMs = maxAtrasoMs;
+	}
+
+	/**
+	 * Mede o atraso atual da réplica.
+	 */
+	@Scheduled(fixedDelayString = "${suporte.datasource.replica.intervalo-verificacao-ms:500}")
+	public void verificar() {
+		try {
+			Number atraso = replica.queryForObject(SQL_ATRASO, Number.class);
+			atualizar(atraso == null ? 0 : atraso.longValue());
+		} catch (RuntimeException e) {
+			atualizar(-1);
+		}
+	}
+
+	/**
+	 * Marca a réplica como inacessível após uma falha ao obter conexão.
+	 * 
+	 * As leituras seguintes vão para o primário até a próxima verificação
+	 * bem-sucedida.
+	 * 
+	 * @param erro falha ao obter conexão da réplica
+	 */
+	public void registrarFalha(Exception erro) {
+		log.debug("Falha ao obter conexão da réplica: {}", erro.getMessage());
+		atualizar(-1);
+	}
+
+	/**
+	 * Indica se a réplica pode atender leituras.
+	 * 
+	 * @return true se a réplica está acessível e com atraso dentro do limite
+	 */
+	public boolean replicaUtilizavel() {
+		return utilizavel(atrasoMs);
+	}
+
+	/**
+	 * Retorna o último atraso medido.
+	 * 
+	 * @return atraso em milissegundos, ou -1 se a réplica estiver inacessível
+	 */
+	public long atrasoMs() {
+		return atrasoMs;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("suporte.datasource.replica.atraso", this, MonitorReplica::atrasoMs)
+				.description("Atraso de replicação da réplica de leitura em milissegundos (-1 se inacessível)")
+				.baseUnit("milliseconds")
+				.register(registry);
+	}
+
+	/**
+	 * Atualiza o atraso medido, registrando em log as mudanças de disponibilidade.
+	 * 
+	 * @param atraso novo atraso em milissegundos, ou -1 se a réplica estiver inacessível
+	 */
+	private synchronized void atualizar(long atraso) {
+		long anterior = atrasoMs;
+		atrasoMs = atraso;
+		if (utilizavel(anterior) != utilizavel(atraso)) {
+			if (utilizavel(atraso)) {
+				log.info("Réplica de leitura disponível (atraso {} ms); leituras voltam para a réplica", atraso);
+			} else {
+				log.warn("Réplica de leitura indisponível ou atrasada (atraso {} ms, limite {} ms); leituras vão para o primário",
+						atraso, maxAtrasoMs);
+			}
+		}
+	}
+
+	/**
+	 * Verifica se um atraso medido permite usar a réplica.
+	 * 
+	 * @param atraso atraso em milissegundos, ou -1
+	 * @return true se a réplica está acessível e dentro do limite
+	 */
+	private boolean utilizavel(long atraso) {
+		return atraso >= 0 && atraso <= maxAtrasoMs;
+	}
+}
@@ -0,0 +1,56 @@
+package br.com.occhi.suporte.config;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.occhi.suporte.outbox.DestinoEventos;
+import br.com.occhi.suporte.outbox.DestinoEventosArquivo;
+import br.com.occhi.suporte.outbox.DestinoEventosLog;
+
+/**
+ * Configuração dos destinos dos eventos publicados pelo outbox de pedidos.
+ * 
+ * Os eventos são entregues a todos os beans {@link DestinoEventos}:
+ * - Arquivo local: criado quando suporte.outbox.arquivo é informado
+ * - Log: criado quando nenhum outro destino é configurado
+ * 
+ * Integrações com sistemas externos (filas, webhooks) são adicionadas
+ * registrando novos beans {@link DestinoEventos}.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@Configuration
+public class OutboxConfiguration {
+
+	/**
+	 * Destino de eventos em arquivo local (JSON Lines).
+	 * 
+	 * @param arquivo caminho do arquivo de eventos
+	 * @param objectMapper conversor JSON configurado pelo Spring Boot
+	 * @return destino de eventos em arquivo
+	 */
+	@Bean
+	@ConditionalOnProperty(name = "suporte.outbox.arquivo")
+	DestinoEventos destinoEventosArquivo(@Value("${suporte.outbox.arquivo}") Path arquivo, ObjectMapper objectMapper) {
+		return new DestinoEventosArquivo(arquivo, objectMapper);
+	}
+
+	/**
+	 * Destino de eventos padrão, que registra os eventos no log.
+	 * 
+	 * @return destino de eventos em log
+	 */
+	@Bean
+	@ConditionalOnMissingBean(DestinoEventos.class)
+	DestinoEventos destinoEventosLog() {
+		return new DestinoEventosLog();
+	}
+}
@@ -0,0 +1,43 @@
+package br.com.occhi.suporte.config;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * Configuração do rastreamento distribuído (Micrometer Tracing + OpenTelemetry).
+ *
+ * Os spans das requisições HTTP, dos turnos de chat, das chamadas ao LLM,
+ * das ferramentas e das consultas JDBC são exportados por todos os beans
+ * {@link SpanExporter} presentes no contexto:
+ * - OTLP: criado pelo Spring Boot quando management.otlp.tracing.endpoint é informado
+ * - Arquivo local: criado por esta classe quando suporte.tracing.arquivo é informado
+ *
+ * Em testes, um InMemorySpanExporter pode ser registrado da mesma forma.
+ *
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@Configuration
+public class RastreamentoConfiguration {
+
+	/**
+	 * Exportador de spans para arquivo local (JSON Lines).
+	 *
+	 * @param arquivo caminho do arquivo de spans
+	 * @param objectMapper conversor JSON configurado pelo Spring Boot
+	 * @return exportador de spans para arquivo
+	 */
+	@Bean
+	@ConditionalOnProperty(name = "suporte.tracing.arquivo")
+	SpanExporter exportadorSpansArquivo(@Value("${suporte.tracing.arquivo}") Path arquivo, ObjectMapper objectMapper) {
+		return new ExportadorSpansArquivo(arquivo, objectMapper);
+	}
+}
@@ -0,0 +1,112 @@
+package br.com.occhi.suporte.config;
+import java.sql.SQLException;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import br.com.occhi.suporte.enums.CargaTrabalho;
+import br.com.occhi.suporte.services.ContextoCargaTrabalho;
+
+/**
+ * Configuração do roteamento de leituras para uma réplica do banco.
+ * 
+ * Habilitada quando suporte.datasource.replica.jdbc-url é informado. Cria
+ * os pools HikariCP da réplica, um por carga de trabalho, que o datasource
+ * principal ({@link DataSourceConfiguration}) combina com os do primário:
+ * - Primário (spring.datasource.*): escritas, transações de leitura e
+ *   escrita e tudo o que roda fora de transação
+ * - Réplica (suporte.datasource.replica.*): transações
+ *   {@code @Transactional(readOnly = true)}, como as consultas de
+ *   detalhes, listagens e contagens do PedidoService e do PedidoController
+ * 
+ * O datasource principal é um LazyConnectionDataSourceProxy: a conexão
+ * física só é obtida no primeiro comando, quando já se sabe se a
+ * transação é somente leitura. Toda a transação usa a mesma conexão,
+ * então uma transação que escreve e depois lê permanece no primário.
+ * 
+ * Sem réplica configurada, todas as transações usam os pools do primário.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@Configuration
+@ConditionalOnProperty(name = "suporte.datasource.replica.jdbc-url")
+public class ReplicaLeituraConfiguration {
+
+	/**
+	 * Pool da réplica para a API REST, configurado pelas propriedades suporte.datasource.replica.*.
+	 * 
+	 * O tempo de espera por conexão padrão é curto (1 segundo): uma réplica
+	 * fora do ar deve levar rapidamente as leituras ao primário, e não
+	 * segurar as requisições pelos 30 segundos padrão do HikariCP.
+	 * 
+	 * @return pool da réplica da carga api
+	 */
+	@Bean
+	@ConfigurationProperties("suporte.datasource.replica")
+	HikariDataSource dataSourceReplicaApi() {
+		HikariDataSource replica = new HikariDataSource();
+		replica.setPoolName("replica-" + CargaTrabalho.API.getNomePool());
+		replica.setReadOnly(true);
+		replica.setConnectionTimeout(1000);
+		return replica;
+	}
+
+	/**
+	 * Pool da réplica para o assistente, com a conexão da réplica e o
+	 * tamanho do pool do assistente no primário.
+	 * 
+	 * @param replicaApi pool da réplica da carga api
+	 * @param assistente pool do assistente no primário
+	 * @return pool da réplica da carga assistente
+	 * @throws SQLException se os pools de origem não puderem ser acessados
+	 */
+	@Bean
+	HikariDataSource dataSourceReplicaAssistente(@Qualifier("dataSourceReplicaApi") DataSource replicaApi,
+			@Qualifier("dataSourceAssistente") DataSource assistente) throws SQLException {
+		HikariDataSource replica = DataSourceConfiguration.copiarPool(replicaApi, "replica-" + CargaTrabalho.ASSISTENTE.getNomePool());
+		HikariDataSource poolAssistente = assistente.unwrap(HikariDataSource.class);
+		replica.setMaximumPoolSize(poolAssistente.getMaximumPoolSize());
+		if (poolAssistente.getMinimumIdle() >= 0) {
+			replica.setMinimumIdle(poolAssistente.getMinimumIdle());
+		}
+		return replica;
+	}
+
+	/**
+	 * Roteador dos pools da réplica por carga de trabalho.
+	 * 
+	 * @param api pool da réplica da carga api
+	 * @param assistente pool da réplica da carga assistente
+	 * @param contexto carga de trabalho da thread atual
+	 * @return datasource da réplica
+	 */
+	@Bean
+	DataSource dataSourceReplica(@Qualifier("dataSourceReplicaApi") DataSource api,
+			@Qualifier("dataSourceReplicaAssistente") DataSource assistente, ContextoCargaTrabalho contexto) {
+		return new RoteadorCargaTrabalhoDataSource(Map.of(CargaTrabalho.API, api, CargaTrabalho.ASSISTENTE, assistente), contexto);
+	}
+
+	/**
+	 * Monitor do atraso de replicação.
+	 * 
+	 * @param replica datasource da réplica
+	 * @param maxAtrasoMs atraso máximo tolerado em milissegundos
+	 * @return monitor da réplica
+	 */
+	@Bean
+	MonitorReplica monitorReplica(@Qualifier("dataSourceReplica") DataSource replica,
+			@Value("${suporte.datasource.replica.max-atraso-ms:1000}") long maxAtrasoMs) {
+		return new MonitorReplica(replica, maxAtrasoMs);
+	}
+}
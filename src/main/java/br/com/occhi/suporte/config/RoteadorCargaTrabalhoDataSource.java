@@ -0,0 +1,45 @@
+package br.com.occhi.suporte.config;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import br.com.occhi.suporte.enums.CargaTrabalho;
+import br.com.occhi.suporte.services.ContextoCargaTrabalho;
+
+/**
+ * Datasource que entrega a cada carga de trabalho uma conexão do seu próprio pool.
+ * 
+ * A carga é lida do {@link ContextoCargaTrabalho} no momento em que a
+ * conexão física é obtida. Com pools separados, a espera por conexão, o
+ * timeout e a saturação de uma carga não afetam a outra.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+public class RoteadorCargaTrabalhoDataSource extends AbstractRoutingDataSource {
+
+	private final ContextoCargaTrabalho contexto;
+
+	/**
+	 * Construtor do roteador.
+	 * 
+	 * @param pools pool de conexões de cada carga de trabalho
+	 * @param contexto carga de trabalho da thread atual
+	 */
+	public RoteadorCargaTrabalhoDataSource(Map<CargaTrabalho, DataSource> pools, ContextoCargaTrabalho contexto) {
+		this.contexto = contexto;
+		setTargetDataSources(new HashMap<>(pools));
+		setDefaultTargetDataSource(pools.get(CargaTrabalho.API));
+		setLenientFallback(false);
+		afterPropertiesSet();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		return contexto.atual();
+	}
+}
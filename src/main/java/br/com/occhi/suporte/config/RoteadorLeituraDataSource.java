@@ -0,0 +1,99 @@
+package br.com.occhi.suporte.config;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import br.com.occhi.suporte.services.ConsistenciaLeitura;
+
+/**
+ * Datasource das transações somente leitura, que escolhe entre réplica e primário.
+ * 
+ * A cada conexão obtida, as leituras vão para a réplica, exceto quando:
+ * - A réplica está inacessível ou com atraso acima do limite ({@link MonitorReplica})
+ * - A leitura pertence a uma sessão de chat que acabou de escrever ({@link ConsistenciaLeitura})
+ * 
+ * Se a réplica falhar ao entregar uma conexão antes da próxima verificação
+ * do monitor, a falha é registrada no monitor e a leitura segue no primário,
+ * sem erro para o cliente. Já o esgotamento do pool da réplica de uma carga
+ * de trabalho (todas as conexões em uso, sem falha de conexão) é devolvido
+ * ao chamador: a réplica está saudável e a carga deve falhar rápido, sem
+ * ocupar também o pool do primário.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+public class RoteadorLeituraDataSource extends AbstractDataSource {
+
+	private final DataSource primario;
+
+	private final DataSource replica;
+
+	private final MonitorReplica monitor;
+
+	private final ConsistenciaLeitura consistencia;
+
+	/**
+	 * Construtor do roteador.
+	 * 
+	 * @param primario datasource do primário
+	 * @param replica datasource da réplica
+	 * @param monitor monitor do atraso da réplica
+	 * @param consistencia leitura das próprias escritas por sessão
+	 */
+	public RoteadorLeituraDataSource(DataSource primario, DataSource replica, MonitorReplica monitor,
+			ConsistenciaLeitura consistencia) {
+		this.primario = primario;
+		this.replica = replica;
+		this.monitor = monitor;
+		this.consistencia = consistencia;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return obterConexao(DataSource::getConnection);
+	}
+
+	@Override
+	public Connection getConnection(String usuario, String senha) throws SQLException {
+		return obterConexao(dataSource -> dataSource.getConnection(usuario, senha));
+	}
+
+	/**
+	 * Obtém a conexão da réplica ou do primário, conforme as regras da classe.
+	 * 
+	 * @param conexao forma de obter a conexão do datasource escolhido
+	 * @return conexão da réplica, ou do primário quando a réplica não pode atender
+	 * @throws SQLException se o primário falhar ou o pool da réplica estiver esgotado
+	 */
+	private Connection obterConexao(ObtencaoConexao conexao) throws SQLException {
+		if (consistencia.exigePrimario() || !monitor.replicaUtilizavel()) {
+			return conexao.obter(primario);
+		}
+		try {
+			return conexao.obter(replica);
+		} catch (SQLTransientConnectionException e) {
+			if (e.getCause() == null) {
+				throw e;
+			}
+			monitor.registrarFalha(e);
+			return conexao.obter(primario);
+		} catch (SQLException e) {
+			monitor.registrarFalha(e);
+			return conexao.obter(primario);
+		}
+	}
+
+	/**
+	 * Obtenção de uma conexão de um datasource, com ou sem credenciais.
+	 */
+	@FunctionalInterface
+	private interface ObtencaoConexao {
+
+		Connection obter(DataSource dataSource) throws SQLException;
+	}
+}
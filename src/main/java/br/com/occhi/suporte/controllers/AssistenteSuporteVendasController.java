@@ -1,10 +1,41 @@
 package br.com.occhi.suporte.controllers;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import br.com.occhi.suporte.memoria.RegistroMemoriasSessao;
+import br.com.occhi.suporte.records.EstatisticasBulkhead;
+import br.com.occhi.suporte.records.EstatisticasCacheRespostas;
+import br.com.occhi.suporte.records.EstatisticasSessoes;
 import br.com.occhi.suporte.services.AssistenteSuporteVendas;
+import br.com.occhi.suporte.services.BulkheadLlm;
+import br.com.occhi.suporte.services.CacheRespostasAssistente;
+import br.com.occhi.suporte.services.MetricasAssistente;
+import br.com.occhi.suporte.services.RastreamentoAssistente;
+import br.com.occhi.suporte.services.RoteadorIntencoes;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.output.FinishReason;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+import dev.langchain4j.service.TokenStream;
 import dev.langchain4j.service.Result;
+import dev.langchain4j.service.tool.ToolExecution;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 
 /**
  * Controller REST responsável pela comunicação com o assistente virtual de suporte.
@@ -25,20 +56,92 @@ import dev.langchain4j.service.Result;
  */
 @RestController
 public class AssistenteSuporteVendasController {
+
+	private static final Logger log = LoggerFactory.getLogger(AssistenteSuporteVendasController.class);
+
+	/**
+	 * Mensagem do evento erro do streaming; o detalhe da falha fica apenas no log.
+	 */
+	private static final String MENSAGEM_ERRO_STREAM = "Não foi possível concluir a resposta. Tente novamente em instantes.";
 	
 	/**
 	 * Serviço do assistente de suporte de vendas.
 	 * Injetado automaticamente pelo Spring Boot.
 	 */
 	private final AssistenteSuporteVendas assistentesuporteVendas;
+
+	/**
+	 * Bulkhead que limita a concorrência das chamadas ao modelo de linguagem.
+	 */
+	private final BulkheadLlm bulkheadLlm;
+
+	/**
+	 * Executor das conversas (virtual threads ou thread da requisição).
+	 */
+	private final Executor executorChat;
+
+	/**
+	 * Registro limitado das memórias de sessão mantidas em memória.
+	 */
+	private final RegistroMemoriasSessao registroSessoes;
+
+	/**
+	 * Cache de respostas para perguntas frequentes.
+	 */
+	private final CacheRespostasAssistente cacheRespostas;
+
+	/**
+	 * Roteador das intenções simples respondidas sem o LLM.
+	 */
+	private final RoteadorIntencoes roteadorIntencoes;
+
+	/**
+	 * Métricas de tokens e ferramentas por turno de conversa.
+	 */
+	private final MetricasAssistente metricas;
+
+	/**
+	 * Rastreamento (spans) dos turnos de conversa.
+	 */
+	private final RastreamentoAssistente rastreamento;
+
+	/**
+	 * Tempo máximo, em milissegundos, que uma conexão SSE de streaming
+	 * permanece aberta aguardando a conclusão da resposta do assistente.
+	 */
+	private final long timeoutStreamMs;
 	
 	/**
 	 * Construtor para injeção de dependência.
 	 * 
 	 * @param assistentesuporteVendas instância do serviço do assistente de IA
+	 * @param bulkheadLlm bulkhead de concorrência das chamadas ao LLM
+	 * @param executorChat executor utilizado para processar as conversas
+	 * @param registroSessoes registro das memórias de sessão em memória
+	 * @param cacheRespostas cache de respostas para perguntas frequentes
+	 * @param roteadorIntencoes roteador das intenções simples respondidas sem o LLM
+	 * @param metricas métricas de tokens e ferramentas por turno
+	 * @param rastreamento rastreamento dos turnos de conversa
+	 * @param timeoutStreamMs tempo máximo da conexão de streaming em milissegundos
 	 */
-	public AssistenteSuporteVendasController( AssistenteSuporteVendas assistentesuporteVendas ) {
+	public AssistenteSuporteVendasController( AssistenteSuporteVendas assistentesuporteVendas,
+			BulkheadLlm bulkheadLlm,
+			@Qualifier("executorChat") Executor executorChat,
+			RegistroMemoriasSessao registroSessoes,
+			CacheRespostasAssistente cacheRespostas,
+			RoteadorIntencoes roteadorIntencoes,
+			MetricasAssistente metricas,
+			RastreamentoAssistente rastreamento,
+			@Value("${suporte.chat.stream.timeout-ms:120000}") long timeoutStreamMs ) {
 		this.assistentesuporteVendas = assistentesuporteVendas;
+		this.bulkheadLlm = bulkheadLlm;
+		this.executorChat = executorChat;
+		this.registroSessoes = registroSessoes;
+		this.cacheRespostas = cacheRespostas;
+		this.roteadorIntencoes = roteadorIntencoes;
+		this.metricas = metricas;
+		this.rastreamento = rastreamento;
+		this.timeoutStreamMs = timeoutStreamMs;
 	}
 
 	/**
@@ -48,6 +151,20 @@ public class AssistenteSuporteVendasController {
 	 * e recebam respostas processadas pela IA. Cada sessão mantém seu próprio
 	 * contexto de conversa.
 	 * 
+	 * A chamada ao assistente é executada no executor de conversas (virtual
+	 * threads quando habilitadas) e protegida pelo bulkhead do LLM. Quando
+	 * a fila do bulkhead está cheia ou o tempo de espera esgota, a resposta
+	 * é HTTP 503. Perguntas frequentes no primeiro turno da sessão podem ser
+	 * respondidas diretamente pelo cache de respostas, sem chamar o LLM.
+	 * 
+	 * Antes de tudo, intenções simples (ex: "quantos pedidos estão
+	 * cancelados?") são respondidas pelo roteador de intenções direto do
+	 * serviço de pedidos, em milissegundos e sem ocupar o bulkhead.
+	 * 
+	 * Cada turno gera um span "chat" com o ID da sessão e os tokens
+	 * consumidos, pai dos spans das chamadas ao LLM, das ferramentas e
+	 * das consultas SQL executadas durante a resposta.
+	 * 
 	 * Exemplos de uso:
 	 * - GET /chat?sessionId=user123&message=Qual o status do meu pedido 456?
 	 * - GET /chat?sessionId=user123&message=Quero cancelar meu pedido
@@ -57,8 +174,315 @@ public class AssistenteSuporteVendasController {
 	 * @return resposta processada pelo assistente de IA
 	 */
 	@GetMapping("/chat")
-	public String chat(@RequestParam String sessionId, @RequestParam String message) {
-		Result<String> result = assistentesuporteVendas.answer(sessionId, message);
-		return result.content();
+	public CompletableFuture<String> chat(@RequestParam String sessionId, @RequestParam String message) {
+		Span turno = rastreamento.iniciarTurno(MetricasAssistente.MODO_SINCRONO, sessionId);
+		return CompletableFuture.supplyAsync(() -> rastreamento.executarTurno(turno, () -> roteadorIntencoes.responder(sessionId, message,
+				() -> cacheRespostas.responder(sessionId, message,
+						() -> registrarTurno(turno, bulkheadLlm.executar(() -> assistentesuporteVendas.answer(sessionId, message)))))),
+				executorChat);
+	}
+
+	/**
+	 * Registra nas métricas e no span do turno o consumo de uma resposta síncrona.
+	 * 
+	 * @param turno span do turno
+	 * @param result resultado completo da chamada ao assistente
+	 * @return o mesmo resultado recebido
+	 */
+	private Result<String> registrarTurno(Span turno, Result<String> result) {
+		rastreamento.registrarUso(turno, result.tokenUsage());
+		return metricas.registrarTurno(result);
+	}
+
+	/**
+	 * Retorna as estatísticas do bulkhead de chamadas ao LLM.
+	 * 
+	 * Permite acompanhar a profundidade da fila, o tempo de espera e a
+	 * quantidade de chamadas rejeitadas por sobrecarga.
+	 * 
+	 * Exemplo de uso:
+	 * - GET /chat/bulkhead
+	 * 
+	 * @return estatísticas atuais do bulkhead
+	 */
+	@GetMapping("/chat/bulkhead")
+	public EstatisticasBulkhead estatisticasBulkhead() {
+		return bulkheadLlm.estatisticas();
+	}
+
+	/**
+	 * Retorna as estatísticas do registro de memórias de sessão.
+	 * 
+	 * Permite acompanhar quantas sessões estão no heap, o total de tokens
+	 * retidos e os contadores de acerto, falha e evicção.
+	 * 
+	 * Exemplo de uso:
+	 * - GET /chat/sessoes
+	 * 
+	 * @return estatísticas atuais do registro de sessões
+	 */
+	@GetMapping("/chat/sessoes")
+	public EstatisticasSessoes estatisticasSessoes() {
+		return registroSessoes.estatisticas();
+	}
+
+	/**
+	 * Retorna as estatísticas do cache de respostas do assistente.
+	 * 
+	 * Permite medir quantas chamadas ao LLM foram economizadas pelas
+	 * perguntas frequentes respondidas diretamente do cache.
+	 * 
+	 * Exemplo de uso:
+	 * - GET /chat/cache-respostas
+	 * 
+	 * @return estatísticas atuais do cache de respostas
+	 */
+	@GetMapping("/chat/cache-respostas")
+	public EstatisticasCacheRespostas estatisticasCacheRespostas() {
+		return cacheRespostas.estatisticas();
+	}
+
+	/**
+	 * Endpoint para conversar com o assistente virtual em modo streaming.
+	 * 
+	 * Diferente de {@link #chat(String, String)}, este endpoint não aguarda
+	 * a resposta completa do modelo: os tokens são enviados ao cliente via
+	 * Server-Sent Events assim que são gerados, reduzindo o tempo até o
+	 * primeiro byte de vários segundos para poucos milissegundos.
+	 * 
+	 * Eventos emitidos:
+	 * - token: trecho parcial da resposta do assistente
+	 * - ferramenta: execução concluída de uma tool (nome, argumentos e resultado)
+	 * - fim: resposta completa com o uso de tokens e o motivo de término
+	 * - erro: falha durante a geração da resposta (mensagem genérica; o
+	 *   detalhe fica no log)
+	 * 
+	 * Intenções simples reconhecidas pelo roteador de intenções não chamam
+	 * o modelo: a resposta do roteador é enviada como um único evento token,
+	 * seguido do evento fim (sem consumo de tokens). O cache de respostas
+	 * não é usado neste modo.
+	 * 
+	 * A memória da sessão e as chamadas às ferramentas de pedidos funcionam
+	 * da mesma forma que no modo síncrono. A vaga no bulkhead do LLM e o
+	 * span "chat" do turno são mantidos até o término (ou erro) da resposta.
+	 * Se o cliente desconectar ou o tempo máximo da conexão esgotar antes
+	 * disso, a vaga é devolvida na hora e os eventos seguintes deixam de ser
+	 * enviados; a geração termina em segundo plano e atualiza a memória.
+	 * 
+	 * Exemplo de uso:
+	 * - GET /chat/stream?sessionId=user123&message=Qual o pedido mais caro?
+	 * 
+	 * @param sessionId identificador único da sessão do usuário para manter contexto
+	 * @param message mensagem/pergunta do usuário para o assistente
+	 * @return emissor SSE que entrega a resposta incrementalmente
+	 */
+	@GetMapping(value = "/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter chatStream(@RequestParam String sessionId, @RequestParam String message) {
+		SseEmitter emitter = new SseEmitter(timeoutStreamMs);
+		ConexaoStream conexao = new ConexaoStream(emitter, bulkheadLlm);
+		emitter.onTimeout(conexao::encerrar);
+		emitter.onError(erro -> conexao.encerrar());
+		emitter.onCompletion(conexao::encerrar);
+		Span turno = rastreamento.iniciarTurno(MetricasAssistente.MODO_STREAMING, sessionId);
+		executorChat.execute(() -> iniciarStream(conexao, turno, sessionId, message));
+		return emitter;
+	}
+
+	/**
+	 * Responde pelo roteador de intenções ou, se a mensagem não for
+	 * reconhecida, aguarda a vaga no bulkhead do LLM e inicia a geração em
+	 * streaming.
+	 * 
+	 * Executado no executor de conversas: com virtual threads habilitadas,
+	 * a espera na fila do bulkhead não ocupa a thread do Tomcat. Se a vaga
+	 * não for obtida, o emissor é encerrado com o erro, respondido como
+	 * HTTP 503. Se o cliente desconectar durante a espera, a vaga obtida é
+	 * devolvida sem chamar o modelo.
+	 * 
+	 * @param conexao conexão SSE da requisição
+	 * @param turno span do turno
+	 * @param sessionId identificador da sessão
+	 * @param message mensagem do usuário
+	 */
+	private void iniciarStream(ConexaoStream conexao, Span turno, String sessionId, String message) {
+		SseEmitter emitter = conexao.emitter;
+		String respostaDireta;
+		try (Tracer.SpanInScope escopo = rastreamento.escopo(turno)) {
+			respostaDireta = roteadorIntencoes.responderDireto(sessionId, message);
+		} catch (RuntimeException e) {
+			turno.error(e);
+			turno.end();
+			emitter.completeWithError(e);
+			return;
+		}
+		if (respostaDireta != null) {
+			turno.end();
+			enviar(conexao, "token", respostaDireta);
+			enviar(conexao, "fim", descreverConclusao(Response.from(AiMessage.from(respostaDireta), new TokenUsage(0, 0), FinishReason.STOP)));
+			emitter.complete();
+			return;
+		}
+
+		try {
+			bulkheadLlm.adquirir();
+		} catch (RuntimeException e) {
+			turno.error(e);
+			turno.end();
+			emitter.completeWithError(e);
+			return;
+		}
+		if (!conexao.vagaAdquirida()) {
+			turno.end();
+			return;
+		}
+		AtomicInteger ferramentasExecutadas = new AtomicInteger();
+
+		try (Tracer.SpanInScope escopo = rastreamento.escopo(turno)) {
+			TokenStream stream = assistentesuporteVendas.answerStream(sessionId, message);
+			stream.onNext(token -> enviar(conexao, "token", token))
+					.onToolExecuted(execucao -> {
+						ferramentasExecutadas.incrementAndGet();
+						enviar(conexao, "ferramenta", descreverFerramenta(execucao));
+					})
+					.onComplete(resposta -> {
+						conexao.liberarVaga();
+						metricas.registrarTurno(MetricasAssistente.MODO_STREAMING, resposta.tokenUsage(), ferramentasExecutadas.get());
+						rastreamento.registrarUso(turno, resposta.tokenUsage());
+						turno.end();
+						enviar(conexao, "fim", descreverConclusao(resposta));
+						emitter.complete();
+					})
+					.onError(erro -> {
+						conexao.liberarVaga();
+						log.warn("Falha na resposta em streaming da sessão {}", sessionId, erro);
+						turno.error(erro);
+						turno.end();
+						enviar(conexao, "erro", MENSAGEM_ERRO_STREAM);
+						emitter.completeWithError(erro);
+					})
+					.start();
+		} catch (RuntimeException e) {
+			conexao.liberarVaga();
+			turno.error(e);
+			turno.end();
+			emitter.completeWithError(e);
+		}
+	}
+
+	/**
+	 * Envia um evento nomeado ao cliente SSE.
+	 * 
+	 * Depois que a conexão é encerrada (cliente desconectado, tempo máximo
+	 * esgotado ou falha de envio), os eventos são descartados: a geração em
+	 * andamento não é interrompida e segue atualizando a memória.
+	 * 
+	 * @param conexao conexão SSE da requisição
+	 * @param nome nome do evento
+	 * @param dados conteúdo do evento
+	 */
+	private void enviar(ConexaoStream conexao, String nome, Object dados) {
+		if (conexao.encerrada()) {
+			return;
+		}
+		try {
+			conexao.emitter.send(SseEmitter.event().name(nome).data(dados));
+		} catch (IOException | IllegalStateException e) {
+			conexao.encerrar();
+			conexao.emitter.completeWithError(e);
+		}
+	}
+
+	/**
+	 * Conexão SSE de um /chat/stream e a vaga do bulkhead que ela ocupa.
+	 * 
+	 * A vaga é devolvida uma única vez: ao fim da geração ou, antes disso,
+	 * quando a conexão é encerrada pelo cliente, pelo tempo máximo do
+	 * emissor ou por falha de envio (callbacks onCompletion, onTimeout e
+	 * onError do SseEmitter). Uma vaga obtida depois do encerramento é
+	 * devolvida na hora.
+	 */
+	private static final class ConexaoStream {
+
+		private final SseEmitter emitter;
+
+		private final BulkheadLlm bulkheadLlm;
+
+		private final AtomicBoolean encerrada = new AtomicBoolean();
+
+		private final AtomicBoolean vagaLiberada = new AtomicBoolean();
+
+		private volatile boolean vagaOcupada;
+
+		private ConexaoStream(SseEmitter emitter, BulkheadLlm bulkheadLlm) {
+			this.emitter = emitter;
+			this.bulkheadLlm = bulkheadLlm;
+		}
+
+		/**
+		 * Registra a vaga obtida no bulkhead.
+		 * 
+		 * @return false se a conexão já foi encerrada (a vaga é devolvida)
+		 */
+		boolean vagaAdquirida() {
+			vagaOcupada = true;
+			if (encerrada.get()) {
+				liberarVaga();
+				return false;
+			}
+			return true;
+		}
+
+		/**
+		 * Marca a conexão como encerrada e devolve a vaga, se ocupada.
+		 */
+		void encerrar() {
+			encerrada.set(true);
+			liberarVaga();
+		}
+
+		boolean encerrada() {
+			return encerrada.get();
+		}
+
+		/**
+		 * Devolve a vaga ao bulkhead, uma única vez.
+		 */
+		void liberarVaga() {
+			if (vagaOcupada && vagaLiberada.compareAndSet(false, true)) {
+				bulkheadLlm.liberar();
+			}
+		}
+	}
+
+	/**
+	 * Monta o conteúdo do evento de execução de ferramenta.
+	 * 
+	 * @param execucao execução de tool notificada pelo TokenStream
+	 * @return mapa com nome, argumentos e resultado da ferramenta
+	 */
+	private Map<String, Object> descreverFerramenta(ToolExecution execucao) {
+		Map<String, Object> dados = new LinkedHashMap<>();
+		dados.put("nome", execucao.request().name());
+		dados.put("argumentos", execucao.request().arguments());
+		dados.put("resultado", execucao.result());
+		return dados;
+	}
+
+	/**
+	 * Monta o conteúdo do evento final com o uso de tokens da resposta.
+	 * 
+	 * @param resposta resposta completa gerada pelo modelo
+	 * @return mapa com o motivo de término e a contagem de tokens
+	 */
+	private Map<String, Object> descreverConclusao(Response<AiMessage> resposta) {
+		Map<String, Object> dados = new LinkedHashMap<>();
+		dados.put("motivoTermino", resposta.finishReason());
+		TokenUsage uso = resposta.tokenUsage();
+		if (uso != null) {
+			dados.put("tokensEntrada", uso.inputTokenCount());
+			dados.put("tokensSaida", uso.outputTokenCount());
+			dados.put("tokensTotal", uso.totalTokenCount());
+		}
+		return dados;
 	}
 }
\ No newline at end of file
@@ -1,13 +1,34 @@
 package br.com.occhi.suporte.controllers;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import br.com.occhi.suporte.exceptions.AcessoOperacaoNegadoException;
+import br.com.occhi.suporte.records.CursorPedido;
 import br.com.occhi.suporte.records.DetalhesPedido;
+import br.com.occhi.suporte.records.ResultadoCancelamento;
+import br.com.occhi.suporte.records.SolicitacaoCancelamentoLote;
 import br.com.occhi.suporte.services.PedidoService;
+import jakarta.servlet.http.HttpServletRequest;
 
 /**
  * Controller REST para operações relacionadas a pedidos.
@@ -19,6 +40,9 @@ import br.com.occhi.suporte.services.PedidoService;
  * Funcionalidades disponíveis:
  * - Consultar quantidade de pedidos por usuário
  * - Obter detalhes completos de um pedido específico
+ * - Obter detalhes de vários pedidos de uma só vez
+ * - Listar todos os pedidos de um usuário em streaming
+ * - Cancelar pedidos em lote, com o resultado de cada pedido em streaming
  * - Validação de acesso baseada em dados do usuário
  * 
  * @author Ailton Occhi
@@ -28,20 +52,45 @@ import br.com.occhi.suporte.services.PedidoService;
 @RestController
 @RequestMapping("/pedidos")
 public class PedidoController {
-	
+
+	private static final Logger log = LoggerFactory.getLogger(PedidoController.class);
+
 	/**
 	 * Serviço de pedidos para processamento da lógica de negócio.
 	 * Injetado automaticamente pelo Spring Boot.
 	 */
 	private final PedidoService pedidoService;
 
+	/**
+	 * Conversor JSON usado na escrita incremental das listagens.
+	 */
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * Verificação do token das operações administrativas.
+	 */
+	private final VerificadorTokenOperacao verificadorTokenOperacao;
+
+	/**
+	 * Tempo máximo da resposta do cancelamento em lote, em milissegundos.
+	 */
+	private final long timeoutCancelamentoLoteMs;
+
 	/**
 	 * Construtor para injeção de dependência.
 	 * 
 	 * @param pedidoService instância do serviço de pedidos
+	 * @param objectMapper conversor JSON configurado pelo Spring Boot
+	 * @param verificadorTokenOperacao verificação do token das operações administrativas
+	 * @param timeoutCancelamentoLoteMs tempo máximo da resposta do cancelamento em lote
 	 */
-	public PedidoController(PedidoService pedidoService) {
+	public PedidoController(PedidoService pedidoService, ObjectMapper objectMapper,
+			VerificadorTokenOperacao verificadorTokenOperacao,
+			@Value("${suporte.pedidos.cancelamento-lote.timeout-ms:600000}") long timeoutCancelamentoLoteMs) {
 		this.pedidoService = pedidoService;
+		this.objectMapper = objectMapper;
+		this.verificadorTokenOperacao = verificadorTokenOperacao;
+		this.timeoutCancelamentoLoteMs = timeoutCancelamentoLoteMs;
 	}
 
 	/**
@@ -85,4 +134,138 @@ public class PedidoController {
 	public ResponseEntity<DetalhesPedido> buscarDetalhesPedido(@PathVariable Long pedidoId, @RequestParam String primeiroNome, @RequestParam String ultimoNome){
 		return ResponseEntity.ok(pedidoService.obterDetalhesPedidoPorIdEUsuario(pedidoId, primeiroNome, ultimoNome));
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Busca os detalhes completos de vários pedidos de um mesmo usuário.
+	 * 
+	 * Versão em lote do endpoint de detalhes: todos os pedidos são carregados
+	 * em uma única consulta, e os produtos vêm do cache de segundo nível (ou
+	 * de uma consulta em lote, com o cache frio). Pedidos inexistentes ou que não pertençam ao
+	 * usuário informado são omitidos da resposta. São aceitos no máximo
+	 * 50 pedidos por requisição (acima disso a resposta é HTTP 400).
+	 * 
+	 * Exemplo de uso:
+	 * - GET /pedidos/detalhes?ids=1,2,3&primeiroNome=João&ultimoNome=Silva
+	 * 
+	 * @param ids IDs dos pedidos no sistema
+	 * @param primeiroNome primeiro nome do usuário proprietário dos pedidos
+	 * @param ultimoNome último nome do usuário proprietário dos pedidos
+	 * @return ResponseEntity contendo os detalhes dos pedidos encontrados
+	 */
+	@GetMapping("/detalhes")
+	public ResponseEntity<List<DetalhesPedido>> buscarDetalhesPedidos(@RequestParam List<Long> ids, @RequestParam String primeiroNome, @RequestParam String ultimoNome){
+		return ResponseEntity.ok(pedidoService.obterDetalhesPedidosPorIdsEUsuario(ids, primeiroNome, ultimoNome));
+	}
+
+	/**
+	 * Lista todos os pedidos de um usuário, com seus produtos, em streaming.
+	 * 
+	 * A resposta é um array JSON escrito incrementalmente conforme os
+	 * pedidos são lidos do banco em lotes, do mais antigo ao mais recente.
+	 * O uso de memória é constante, mesmo para usuários com dezenas de
+	 * milhares de pedidos. Pedidos sem data de criação não são listados.
+	 * 
+	 * O parâmetro opcional cursor (o mesmo devolvido pela ferramenta de
+	 * listagem do assistente) retoma a listagem logo após o pedido indicado.
+	 * Ele é validado antes do início da resposta (HTTP 400 se inválido).
+	 * 
+	 * Exemplos de uso:
+	 * - GET /pedidos/usuario/123?primeiroNome=João&ultimoNome=Silva
+	 * - GET /pedidos/usuario/123?primeiroNome=João&ultimoNome=Silva&cursor={cursor}
+	 * 
+	 * @param usuarioId ID único do usuário no sistema
+	 * @param primeiroNome primeiro nome do usuário proprietário dos pedidos
+	 * @param ultimoNome último nome do usuário proprietário dos pedidos
+	 * @param cursor posição a partir da qual continuar a listagem (opcional)
+	 * @return ResponseEntity com o corpo JSON escrito em streaming
+	 */
+	@GetMapping("/usuario/{usuarioId}")
+	public ResponseEntity<StreamingResponseBody> listarPedidosPorUsuario(@PathVariable Long usuarioId, @RequestParam String primeiroNome,
+			@RequestParam String ultimoNome, @RequestParam(required = false) String cursor){
+		CursorPedido apos = CursorPedido.decodificar(cursor);
+		StreamingResponseBody corpo = saida -> {
+			try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+				gerador.writeStartArray();
+				pedidoService.percorrerPedidosPorUsuario(usuarioId, primeiroNome, ultimoNome, apos, pedido -> {
+					try {
+						gerador.writeObject(pedido);
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+				gerador.writeEndArray();
+			}
+		};
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(corpo);
+	}
+
+	/**
+	 * Cancela pedidos em lote, para uso da operação.
+	 * 
+	 * O endpoint fica desabilitado (HTTP 403) até que a propriedade
+	 * suporte.operacoes.token seja informada, e exige o mesmo token no
+	 * cabeçalho X-Token-Operacao ({@link VerificadorTokenOperacao}).
+	 * 
+	 * Os pedidos são informados por identificadores (até 10.000) ou por um
+	 * filtro de status e intervalo de criação [criadoDe, criadoAte) que
+	 * atinja no máximo 10.000 pedidos. Eles são cancelados em transações
+	 * curtas de até 200 pedidos, cada uma com um único UPDATE condicional,
+	 * sem validação de usuário.
+	 * 
+	 * A resposta é um array JSON com o resultado de cada pedido (CANCELADO,
+	 * JA_CANCELADO, NAO_CANCELAVEL ou NAO_ENCONTRADO), escrito e enviado ao
+	 * final de cada lote: o cliente acompanha o progresso de solicitações
+	 * grandes conforme os lotes são confirmados. A solicitação é validada
+	 * antes do início da resposta (HTTP 400 se inválida). Se um lote falhar,
+	 * o array termina com um elemento {"erro": "..."}, e os lotes anteriores
+	 * permanecem cancelados.
+	 * 
+	 * A resposta tem tempo máximo próprio
+	 * (suporte.pedidos.cancelamento-lote.timeout-ms), independente do limite
+	 * das demais respostas assíncronas.
+	 * 
+	 * Exemplos de uso:
+	 * - POST /pedidos/cancelamentos {"pedidoIds": [3000, 3002]}
+	 * - POST /pedidos/cancelamentos {"status": "NOVO", "criadoDe": "2025-01-01T00:00:00", "criadoAte": "2025-02-01T00:00:00"}
+	 * 
+	 * @param token token de operação enviado no cabeçalho X-Token-Operacao
+	 * @param solicitacao pedidos ou filtro a cancelar
+	 * @param requisicao requisição HTTP, usada para definir o tempo máximo da resposta
+	 * @return ResponseEntity com o corpo JSON escrito em streaming
+	 * @throws AcessoOperacaoNegadoException se o endpoint estiver desabilitado ou o token não conferir
+	 */
+	@PostMapping("/cancelamentos")
+	public ResponseEntity<StreamingResponseBody> cancelarPedidosEmLote(
+			@RequestHeader(name = VerificadorTokenOperacao.CABECALHO_TOKEN_OPERACAO, required = false) String token,
+			@RequestBody SolicitacaoCancelamentoLote solicitacao, HttpServletRequest requisicao){
+		verificadorTokenOperacao.verificar(token);
+		pedidoService.validarCancelamentoEmLote(solicitacao);
+		WebAsyncUtils.getAsyncManager(requisicao).getAsyncWebRequest().setTimeout(timeoutCancelamentoLoteMs);
+		StreamingResponseBody corpo = saida -> {
+			try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+				gerador.writeStartArray();
+				try {
+					pedidoService.cancelarPedidosEmLote(solicitacao, resultados -> {
+						try {
+							for (ResultadoCancelamento resultado : resultados) {
+								gerador.writeObject(resultado);
+							}
+							gerador.flush();
+						} catch (IOException e) {
+							throw new UncheckedIOException(e);
+						}
+					});
+				} catch (UncheckedIOException e) {
+					throw e;
+				} catch (RuntimeException e) {
+					log.error("Falha no cancelamento em lote; os lotes anteriores permanecem cancelados", e);
+					gerador.writeStartObject();
+					gerador.writeStringField("erro", "Falha ao cancelar um lote de pedidos. Os lotes anteriores permanecem cancelados.");
+					gerador.writeEndObject();
+				}
+				gerador.writeEndArray();
+			}
+		};
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(corpo);
+	}
+}
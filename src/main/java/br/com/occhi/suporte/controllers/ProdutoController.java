@@ -0,0 +1,122 @@
+package br.com.occhi.suporte.controllers;
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.occhi.suporte.exceptions.AcessoOperacaoNegadoException;
+import br.com.occhi.suporte.records.EstatisticasRegiaoCache;
+import br.com.occhi.suporte.records.ResumoProduto;
+import br.com.occhi.suporte.services.ProdutoService;
+
+/**
+ * Controller REST para o catálogo de produtos e o seu cache.
+ * 
+ * Funcionalidades disponíveis:
+ * - Buscar produtos pelo nome
+ * - Consultar as estatísticas do cache de segundo nível
+ * - Invalidar o cache de um produto ou do catálogo inteiro, após
+ *   alterações feitas fora da aplicação (cargas, scripts SQL); a
+ *   invalidação é uma operação administrativa e exige o cabeçalho
+ *   X-Token-Operacao ({@link VerificadorTokenOperacao})
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@RestController
+@RequestMapping("/produtos")
+public class ProdutoController {
+
+	/**
+	 * Serviço do catálogo de produtos.
+	 */
+	private final ProdutoService produtoService;
+
+	/**
+	 * Verificação do token das operações administrativas.
+	 */
+	private final VerificadorTokenOperacao verificadorTokenOperacao;
+
+	/**
+	 * Construtor para injeção de dependência.
+	 * 
+	 * @param produtoService serviço do catálogo de produtos
+	 * @param verificadorTokenOperacao verificação do token das operações administrativas
+	 */
+	public ProdutoController(ProdutoService produtoService, VerificadorTokenOperacao verificadorTokenOperacao) {
+		this.produtoService = produtoService;
+		this.verificadorTokenOperacao = verificadorTokenOperacao;
+	}
+
+	/**
+	 * Busca produtos do catálogo pelo nome.
+	 * 
+	 * Exemplo de uso:
+	 * - GET /produtos?nome=notebook
+	 * 
+	 * @param nome trecho do nome do produto
+	 * @return ResponseEntity contendo até 10 produtos, ordenados por nome
+	 */
+	@GetMapping
+	public ResponseEntity<List<ResumoProduto>> buscarProdutosPorNome(@RequestParam String nome) {
+		return ResponseEntity.ok(produtoService.buscarProdutosPorNome(nome));
+	}
+
+	/**
+	 * Retorna as estatísticas de cada região do cache de segundo nível.
+	 * 
+	 * Exemplo de uso:
+	 * - GET /produtos/cache
+	 * 
+	 * @return ResponseEntity contendo acertos, falhas, inserções e taxa de acerto por região
+	 */
+	@GetMapping("/cache")
+	public ResponseEntity<List<EstatisticasRegiaoCache>> estatisticasCache() {
+		return ResponseEntity.ok(produtoService.estatisticasCache());
+	}
+
+	/**
+	 * Invalida todo o catálogo no cache de segundo nível.
+	 * 
+	 * Exemplo de uso:
+	 * - DELETE /produtos/cache (cabeçalho X-Token-Operacao)
+	 * 
+	 * @param token token de operação enviado no cabeçalho X-Token-Operacao
+	 * @return ResponseEntity sem conteúdo (HTTP 204)
+	 * @throws AcessoOperacaoNegadoException se as operações administrativas estiverem desabilitadas ou o token não conferir
+	 */
+	@DeleteMapping("/cache")
+	public ResponseEntity<Void> invalidarCatalogo(
+			@RequestHeader(name = VerificadorTokenOperacao.CABECALHO_TOKEN_OPERACAO, required = false) String token) {
+		verificadorTokenOperacao.verificar(token);
+		produtoService.invalidarCatalogo();
+		return ResponseEntity.noContent().build();
+	}
+
+	/**
+	 * Invalida um produto no cache de segundo nível.
+	 * 
+	 * Exemplo de uso:
+	 * - DELETE /produtos/42/cache (cabeçalho X-Token-Operacao)
+	 * 
+	 * @param token token de operação enviado no cabeçalho X-Token-Operacao
+	 * @param produtoId ID único do produto alterado
+	 * @return ResponseEntity sem conteúdo (HTTP 204)
+	 * @throws AcessoOperacaoNegadoException se as operações administrativas estiverem desabilitadas ou o token não conferir
+	 */
+	@DeleteMapping("/{produtoId}/cache")
+	public ResponseEntity<Void> invalidarProduto(
+			@RequestHeader(name = VerificadorTokenOperacao.CABECALHO_TOKEN_OPERACAO, required = false) String token,
+			@PathVariable Long produtoId) {
+		verificadorTokenOperacao.verificar(token);
+		produtoService.invalidarProduto(produtoId);
+		return ResponseEntity.noContent().build();
+	}
+}
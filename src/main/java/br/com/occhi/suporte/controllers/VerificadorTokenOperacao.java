@@ -0,0 +1,65 @@
+package br.com.occhi.suporte.controllers;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.com.occhi.suporte.exceptions.AcessoOperacaoNegadoException;
+
+/**
+ * Verifica o token das operações administrativas da API.
+ * 
+ * As operações administrativas (cancelamento em lote de pedidos e
+ * invalidação do cache do catálogo) exigem o token configurado em
+ * suporte.operacoes.token no cabeçalho X-Token-Operacao. Sem token
+ * configurado, essas operações ficam desabilitadas (HTTP 403).
+ * 
+ * A propriedade antiga suporte.pedidos.cancelamento-lote.token continua
+ * aceita quando a nova não é informada.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class VerificadorTokenOperacao {
+
+	/**
+	 * Cabeçalho com o token das operações administrativas.
+	 */
+	public static final String CABECALHO_TOKEN_OPERACAO = "X-Token-Operacao";
+
+	/**
+	 * Token exigido pelas operações administrativas, em bytes (vazio: desabilitadas).
+	 */
+	private final byte[] tokenOperacao;
+
+	/**
+	 * Construtor para injeção de dependência.
+	 * 
+	 * @param tokenOperacao token exigido pelas operações administrativas (vazio: desabilitadas)
+	 */
+	public VerificadorTokenOperacao(
+			@Value("${suporte.operacoes.token:${suporte.pedidos.cancelamento-lote.token:}}") String tokenOperacao) {
+		this.tokenOperacao = tokenOperacao.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Verifica o token enviado em uma operação administrativa.
+	 * 
+	 * A comparação tem tempo constante, para não revelar o token por
+	 * diferença de tempo de resposta.
+	 * 
+	 * @param token token enviado no cabeçalho X-Token-Operacao
+	 * @throws AcessoOperacaoNegadoException se as operações estiverem desabilitadas ou o token não conferir
+	 */
+	public void verificar(String token) {
+		if (tokenOperacao.length == 0) {
+			throw new AcessoOperacaoNegadoException("Operações administrativas desabilitadas.");
+		}
+		if (token == null || !MessageDigest.isEqual(tokenOperacao, token.getBytes(StandardCharsets.UTF_8))) {
+			throw new AcessoOperacaoNegadoException("Token de operação inválido.");
+		}
+	}
+}
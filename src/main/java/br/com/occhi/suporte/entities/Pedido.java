@@ -3,6 +3,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import br.com.occhi.suporte.enums.StatusPedido;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -16,6 +20,7 @@ import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -32,6 +37,10 @@ import lombok.ToString;
  * - ManyToOne com Usuario: cada pedido pertence a um usuário
  * - ManyToMany com Produto: um pedido pode conter múltiplos produtos
  * 
+ * Alterações concorrentes são detectadas por versionamento otimista
+ * (campo versao): uma gravação baseada em uma leitura desatualizada
+ * falha em vez de sobrescrever a alteração mais recente.
+ * 
  * A entidade utiliza Lombok para geração automática de getters, setters,
  * toString, equals e hashCode.
  * 
@@ -45,6 +54,11 @@ import lombok.ToString;
 @Table(name = "pedidos")
 public class Pedido {
 
+	/**
+	 * Região do cache de segundo nível da coleção de produtos dos pedidos.
+	 */
+	public static final String REGIAO_CACHE_PRODUTOS = "pedidos-produtos";
+
 	/**
 	 * Construtor padrão necessário para o JPA.
 	 */
@@ -90,9 +104,17 @@ public class Pedido {
 	 * 
 	 * A tabela intermediária "pedidos_produtos" é criada automaticamente
 	 * para mapear essa relação.
+	 * 
+	 * Os itens de um pedido não mudam após a criação: a coleção fica no
+	 * cache de segundo nível (região {@value #REGIAO_CACHE_PRODUTOS}) e,
+	 * junto com o cache de Produto, dispensa a leitura de pedidos_produtos
+	 * e produtos ao montar os detalhes. Coleções fora do cache são
+	 * carregadas em lote (até 50 pedidos por consulta).
 	 */
 	@Getter @Setter
 	@ManyToMany
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Pedido.REGIAO_CACHE_PRODUTOS)
+	@BatchSize(size = 50)
 	@JoinTable(
 			name = "pedidos_produtos",
 			joinColumns = @JoinColumn(name = "pedido_id"),
@@ -123,4 +145,15 @@ public class Pedido {
 	@Column(name = "valor_total")
 	private BigDecimal valorTotal;
 
+	/**
+	 * Versão do pedido para controle de concorrência otimista.
+	 * 
+	 * Incrementada pelo Hibernate a cada atualização da entidade e pelas
+	 * atualizações condicionais do PedidoRepository (ex: cancelamento).
+	 */
+	@Getter
+	@Version
+	@Column(name = "versao", nullable = false)
+	private Long versao;
+
 }
\ No newline at end of file
@@ -2,6 +2,11 @@ package br.com.occhi.suporte.entities;
 import java.math.BigDecimal;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -26,16 +31,30 @@ import lombok.ToString;
  * A entidade utiliza Lombok para geração automática de getters, setters,
  * toString, equals e hashCode.
  * 
+ * Produtos são dados de catálogo, quase estáticos, lidos a cada montagem
+ * de DetalhesPedido. Por isso ficam no cache de segundo nível do Hibernate
+ * (região {@value #REGIAO_CACHE}): alterações feitas pelo JPA atualizam o
+ * cache automaticamente; alterações externas ao catálogo devem ser
+ * seguidas de uma invalidação (ProdutoService).
+ * 
  * @author Ailton Occhi
  * @version 1.0
  * @since 2025
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Produto.REGIAO_CACHE)
+@BatchSize(size = 50)
 @ToString
 @EqualsAndHashCode
 @Table(name = "produtos")
 public class Produto {
 
+	/**
+	 * Região do cache de segundo nível das entidades Produto.
+	 */
+	public static final String REGIAO_CACHE = "produtos";
+
 	/**
 	 * Construtor padrão necessário para o JPA.
 	 */
@@ -0,0 +1,43 @@
+package br.com.occhi.suporte.enums;
+
+/**
+ * Enumeração que define as cargas de trabalho que acessam o banco de dados.
+ * 
+ * Cada carga tem seus próprios pools de conexões, dimensionados de forma
+ * independente: uma rajada de conversas com o assistente não consome as
+ * conexões da API REST, e vice-versa.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+public enum CargaTrabalho {
+
+	/**
+	 * Endpoints REST de pedidos e tarefas em segundo plano (carga padrão).
+	 */
+	API("api"),
+
+	/**
+	 * Ferramentas do assistente de IA e persistência das memórias de chat.
+	 */
+	ASSISTENTE("assistente");
+
+	/**
+	 * Nome do pool de conexões da carga (usado nas métricas do HikariCP).
+	 */
+	private final String nomePool;
+
+	CargaTrabalho(String nomePool) {
+		this.nomePool = nomePool;
+	}
+
+	/**
+	 * Retorna o nome do pool de conexões da carga.
+	 * 
+	 * @return nome do pool no primário (na réplica, prefixado por "replica-")
+	 */
+	public String getNomePool() {
+		return nomePool;
+	}
+}
@@ -0,0 +1,48 @@
+package br.com.occhi.suporte.enums;
+
+/**
+ * Enumeração que define as intenções simples respondidas sem o modelo de linguagem.
+ *
+ * Cada intenção corresponde a uma única consulta ao PedidoService e a uma
+ * resposta em formato fixo. Perguntas que não se encaixam exatamente em
+ * uma destas intenções seguem para o assistente de IA.
+ *
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+public enum IntencaoChat {
+
+	/**
+	 * Quantidade de pedidos de um usuário (ex: "quantos pedidos o usuário 1005 tem?").
+	 */
+	QUANTIDADE_PEDIDOS_USUARIO("quantidade_pedidos_usuario"),
+
+	/**
+	 * Quantidade de pedidos em um status (ex: "quantos pedidos estão cancelados?").
+	 */
+	QUANTIDADE_PEDIDOS_STATUS("quantidade_pedidos_status"),
+
+	/**
+	 * Valor do pedido mais caro (ex: "qual o valor do pedido mais caro?").
+	 */
+	VALOR_PEDIDO_MAIS_CARO("valor_pedido_mais_caro");
+
+	/**
+	 * Nome da intenção usado nas métricas.
+	 */
+	private final String nome;
+
+	IntencaoChat(String nome) {
+		this.nome = nome;
+	}
+
+	/**
+	 * Retorna o nome da intenção usado nas métricas.
+	 *
+	 * @return nome em minúsculas
+	 */
+	public String getNome() {
+		return nome;
+	}
+}
@@ -0,0 +1,35 @@
+package br.com.occhi.suporte.enums;
+
+/**
+ * Enumeração que define os possíveis resultados de uma solicitação de cancelamento.
+ * 
+ * Permite que o assistente (e demais chamadores) diferenciem um cancelamento
+ * efetivado das situações em que nada foi alterado, respondendo ao cliente
+ * de forma adequada a cada caso.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+public enum SituacaoCancelamento {
+
+	/**
+	 * O pedido foi cancelado por esta solicitação.
+	 */
+	CANCELADO,
+
+	/**
+	 * O pedido já estava cancelado; nenhuma alteração foi feita.
+	 */
+	JA_CANCELADO,
+
+	/**
+	 * O pedido está em um status que não permite cancelamento (ex: CONCLUIDO).
+	 */
+	NAO_CANCELAVEL,
+
+	/**
+	 * O pedido não existe ou não pertence ao usuário informado.
+	 */
+	NAO_ENCONTRADO
+}
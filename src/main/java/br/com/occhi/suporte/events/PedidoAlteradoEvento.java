@@ -0,0 +1,32 @@
+package br.com.occhi.suporte.events;
+import br.com.occhi.suporte.enums.StatusPedido;
+
+/**
+ * Evento de domínio publicado sempre que um pedido é alterado.
+ * 
+ * Todo caminho de escrita sobre pedidos (ex: cancelarPedido) deve publicar
+ * este evento, permitindo que outros componentes reajam à mudança sem
+ * acoplamento direto com o serviço que a realizou, por exemplo:
+ * - Invalidar caches de consultas agregadas
+ * - Atualizar contadores mantidos em memória
+ * 
+ * Os ouvintes são executados após o commit da transação que originou a
+ * alteração (ou imediatamente, se não houver transação ativa).
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ * 
+ * @param pedidoId identificador do pedido alterado
+ * @param usuarioId identificador do usuário proprietário do pedido
+ * @param statusAnterior status do pedido antes da alteração (null para pedidos novos)
+ * @param statusAtual status do pedido após a alteração
+ * @param valorAlterado indica se o valor total do pedido foi criado ou alterado
+ */
+public record PedidoAlteradoEvento(
+		Long pedidoId,
+		Long usuarioId,
+		StatusPedido statusAnterior,
+		StatusPedido statusAtual,
+		boolean valorAlterado
+) {}
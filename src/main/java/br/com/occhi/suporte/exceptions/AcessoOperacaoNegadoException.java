@@ -0,0 +1,32 @@
+package br.com.occhi.suporte.exceptions;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando uma operação administrativa é chamada sem
+ * autorização.
+ * 
+ * Isso ocorre quando:
+ * - A operação não foi habilitada na configuração (token não informado)
+ * - O token de operação enviado na requisição está ausente ou não confere
+ * 
+ * A exceção é mapeada para HTTP 403 (Forbidden).
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@ResponseStatus(HttpStatus.FORBIDDEN)
+public class AcessoOperacaoNegadoException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Cria a exceção com a mensagem informada.
+	 * 
+	 * @param mensagem descrição do motivo da recusa
+	 */
+	public AcessoOperacaoNegadoException(String mensagem) {
+		super(mensagem);
+	}
+}
@@ -0,0 +1,34 @@
+package br.com.occhi.suporte.exceptions;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando uma chamada ao modelo de linguagem não consegue
+ * ser admitida pelo bulkhead de concorrência.
+ * 
+ * Isso ocorre quando:
+ * - A fila de espera do bulkhead já atingiu o tamanho máximo configurado
+ * - O tempo máximo de espera na fila expirou antes de uma vaga ser liberada
+ * 
+ * A exceção é mapeada para HTTP 503 (Service Unavailable), sinalizando ao
+ * cliente que o serviço está temporariamente sobrecarregado e que a
+ * requisição pode ser repetida mais tarde.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class BulkheadCheioException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Cria a exceção com a mensagem informada.
+	 * 
+	 * @param mensagem descrição do motivo da rejeição
+	 */
+	public BulkheadCheioException(String mensagem) {
+		super(mensagem);
+	}
+}
@@ -0,0 +1,31 @@
+package br.com.occhi.suporte.exceptions;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando o cursor de uma listagem paginada não é válido.
+ * 
+ * O cursor é um texto opaco gerado pela própria aplicação; esta exceção
+ * indica que ele foi alterado ou truncado pelo cliente.
+ * 
+ * A exceção é mapeada para HTTP 400 (Bad Request). Quando lançada por uma
+ * ferramenta, sua mensagem é repassada ao assistente de IA.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class CursorInvalidoException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Cria a exceção para o cursor informado.
+	 * 
+	 * @param cursor cursor recebido
+	 */
+	public CursorInvalidoException(String cursor) {
+		super("Cursor de paginação inválido: " + cursor + ". Reinicie a listagem sem cursor.");
+	}
+}
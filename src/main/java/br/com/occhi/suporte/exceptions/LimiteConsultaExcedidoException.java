@@ -0,0 +1,32 @@
+package br.com.occhi.suporte.exceptions;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando uma consulta em lote excede a quantidade máxima
+ * de itens permitida.
+ * 
+ * Limitar o tamanho dos lotes mantém as consultas IN e as respostas
+ * enviadas ao assistente com tamanho previsível.
+ * 
+ * A exceção é mapeada para HTTP 400 (Bad Request). Quando lançada por uma
+ * ferramenta, sua mensagem é repassada ao assistente de IA.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class LimiteConsultaExcedidoException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Cria a exceção com a mensagem informada.
+	 * 
+	 * @param mensagem descrição do limite excedido
+	 */
+	public LimiteConsultaExcedidoException(String mensagem) {
+		super(mensagem);
+	}
+}
@@ -0,0 +1,31 @@
+package br.com.occhi.suporte.exceptions;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando uma solicitação de cancelamento em lote não é válida.
+ * 
+ * A solicitação deve informar ou uma lista de pedidos, ou um filtro
+ * completo (status e intervalo de datas de criação), nunca os dois.
+ * 
+ * A exceção é mapeada para HTTP 400 (Bad Request) e é lançada antes do
+ * início da resposta, sem que nenhum pedido seja alterado.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class SolicitacaoCancelamentoInvalidaException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Cria a exceção com a mensagem informada.
+	 * 
+	 * @param mensagem descrição do problema da solicitação
+	 */
+	public SolicitacaoCancelamentoInvalidaException(String mensagem) {
+		super(mensagem);
+	}
+}
@@ -0,0 +1,225 @@
+package br.com.occhi.suporte.memoria;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.com.occhi.suporte.records.EstatisticasCompactacao;
+import br.com.occhi.suporte.services.BulkheadLlm;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Compactação das memórias de chat: substitui turnos antigos por um resumo.
+ *
+ * Sem compactação, a janela de tokens descarta as mensagens mais antigas
+ * quando o limite é atingido, e com elas o nome do cliente e o ID do
+ * pedido; o modelo volta a perguntar, gerando turnos (e idas ao LLM)
+ * extras. Com a compactação:
+ * 1. Quando a janela passa de limiar-tokens, as mensagens anteriores aos
+ *    últimos tokens-recentes (cortadas no início de um turno) são separadas
+ * 2. Um resumo dessas mensagens é gerado pelo modelo em segundo plano,
+ *    fora do caminho da requisição
+ * 3. Ao final, as mensagens resumidas são substituídas pelo resumo no
+ *    {@link ContextoSessao}, junto com os fatos confirmados pelas ferramentas
+ *
+ * Assim, cada turno envia ao modelo um prompt menor, que continua sabendo
+ * quem é o cliente. Enquanto o resumo não fica pronto a conversa segue
+ * normalmente; o limite da janela continua valendo como proteção.
+ *
+ * A geração do resumo passa pelo {@link BulkheadLlm}, disputando vagas com
+ * as conversas. Uma falha apenas cancela a compactação, que é tentada de
+ * novo na próxima mensagem da sessão.
+ *
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class CompactadorMemoria {
+
+	private static final Logger log = LoggerFactory.getLogger(CompactadorMemoria.class);
+
+	/**
+	 * Instruções para a geração do resumo.
+	 */
+	static final String INSTRUCOES_RESUMO = """
+			Você resume conversas de suporte ao cliente do sistema de pedidos "Venda Fácil".
+			Escreva em português, em no máximo 120 palavras, um resumo que permita continuar o atendimento:
+			- o que o cliente pediu e o que já foi respondido ou feito (ex: cancelamentos)
+			- pendências e a próxima ação esperada
+			- nomes, IDs de pedidos e valores exatamente como aparecem na conversa
+			Incorpore o resumo anterior, se houver. Não invente informações. Responda apenas com o resumo.
+			""";
+
+	/**
+	 * Modelo de chat, resolvido apenas na primeira compactação.
+	 */
+	private final ObjectProvider<ChatLanguageModel> modelo;
+
+	/**
+	 * Bulkhead das chamadas ao LLM.
+	 */
+	private final BulkheadLlm bulkheadLlm;
+
+	/**
+	 * Indica se a compactação está habilitada.
+	 */
+	private final boolean habilitada;
+
+	/**
+	 * Total de tokens da janela a partir do qual a sessão é compactada.
+	 */
+	private final int limiarTokens;
+
+	/**
+	 * Tokens das mensagens mais recentes mantidas sem resumo.
+	 */
+	private final int tokensRecentes;
+
+	/**
+	 * Executor das gerações de resumo (uma virtual thread por compactação).
+	 */
+	private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+			Thread.ofVirtual().name("memoria-compactacao-", 0).factory());
+
+	/**
+	 * Contadores de compactações e de tokens removidos das janelas.
+	 */
+	private final LongAdder concluidas = new LongAdder();
+	private final LongAdder falhas = new LongAdder();
+	private final LongAdder tokensRemovidos = new LongAdder();
+
+	/**
+	 * Construtor com os limites da compactação.
+	 *
+	 * @param modelo provedor do modelo de chat usado para gerar os resumos
+	 * @param bulkheadLlm bulkhead das chamadas ao LLM
+	 * @param habilitada indica se a compactação está habilitada
+	 * @param limiarTokens total de tokens da janela que dispara a compactação
+	 * @param tokensRecentes tokens das mensagens recentes mantidas sem resumo
+	 */
+	public CompactadorMemoria(ObjectProvider<ChatLanguageModel> modelo, BulkheadLlm bulkheadLlm,
+			@Value("${suporte.chat.memoria.compactacao.enabled:true}") boolean habilitada,
+			@Value("${suporte.chat.memoria.compactacao.limiar-tokens:2500}") int limiarTokens,
+			@Value("${suporte.chat.memoria.compactacao.tokens-recentes:1000}") int tokensRecentes) {
+		this.modelo = modelo;
+		this.bulkheadLlm = bulkheadLlm;
+		this.habilitada = habilitada;
+		this.limiarTokens = limiarTokens;
+		this.tokensRecentes = tokensRecentes;
+	}
+
+	/**
+	 * Inicia a compactação da janela em segundo plano, se ela passou do limiar.
+	 *
+	 * Retorna imediatamente; há no máximo uma compactação por janela.
+	 *
+	 * @param sessaoId identificador da sessão (apenas para log)
+	 * @param janela janela de mensagens da sessão
+	 * @param aoConcluir ação executada após a compactação (ex: persistir a janela)
+	 */
+	public void avaliar(String sessaoId, JanelaTokens janela, Runnable aoConcluir) {
+		if (!habilitada || janela.totalTokens() < limiarTokens) {
+			return;
+		}
+		JanelaTokens.Compactacao compactacao = janela.iniciarCompactacao(tokensRecentes);
+		if (compactacao == null) {
+			return;
+		}
+		try {
+			executor.execute(() -> compactar(sessaoId, janela, compactacao, aoConcluir));
+		} catch (RejectedExecutionException e) {
+			janela.cancelarCompactacao(compactacao);
+		}
+	}
+
+	/**
+	 * Retorna um retrato dos contadores de compactação.
+	 *
+	 * @return compactações concluídas, falhas e tokens removidos das janelas
+	 */
+	public EstatisticasCompactacao estatisticas() {
+		return new EstatisticasCompactacao(concluidas.sum(), falhas.sum(), tokensRemovidos.sum());
+	}
+
+	/**
+	 * Aguarda as compactações em andamento no encerramento da aplicação.
+	 */
+	@PreDestroy
+	public void encerrar() {
+		executor.close();
+	}
+
+	/**
+	 * Gera o resumo e o aplica à janela.
+	 *
+	 * @param sessaoId identificador da sessão
+	 * @param janela janela de mensagens da sessão
+	 * @param compactacao compactação iniciada
+	 * @param aoConcluir ação executada após a compactação
+	 */
+	private void compactar(String sessaoId, JanelaTokens janela, JanelaTokens.Compactacao compactacao, Runnable aoConcluir) {
+		String resumo;
+		try {
+			resumo = bulkheadLlm.executar(() -> modelo.getObject().generate(List.of(
+					SystemMessage.from(INSTRUCOES_RESUMO),
+					UserMessage.from(transcrever(compactacao))))
+					.content().text());
+		} catch (RuntimeException e) {
+			janela.cancelarCompactacao(compactacao);
+			falhas.increment();
+			log.warn("Falha ao resumir a sessão {}; nova tentativa na próxima mensagem: {}", sessaoId, e.getMessage());
+			return;
+		}
+
+		int removidos = janela.concluirCompactacao(compactacao, resumo);
+		if (removidos > 0) {
+			concluidas.increment();
+			tokensRemovidos.add(removidos);
+			aoConcluir.run();
+		}
+	}
+
+	/**
+	 * Transcreve o resumo anterior e as mensagens a resumir em texto simples.
+	 *
+	 * @param compactacao compactação iniciada
+	 * @return transcrição enviada ao modelo
+	 */
+	static String transcrever(JanelaTokens.Compactacao compactacao) {
+		StringBuilder texto = new StringBuilder();
+		if (compactacao.resumoAnterior() != null) {
+			texto.append("Resumo anterior:\n").append(compactacao.resumoAnterior()).append("\n\n");
+		}
+		texto.append("Conversa a resumir:\n");
+		for (ChatMessage mensagem : compactacao.mensagens()) {
+			if (mensagem instanceof UserMessage usuario && usuario.hasSingleText()) {
+				texto.append("Cliente: ").append(usuario.singleText()).append('\n');
+			} else if (mensagem instanceof AiMessage ai) {
+				if (ai.text() != null) {
+					texto.append("Assistente: ").append(ai.text()).append('\n');
+				}
+				if (ai.hasToolExecutionRequests()) {
+					ai.toolExecutionRequests().forEach(requisicao -> texto.append("Assistente chamou ")
+							.append(requisicao.name()).append(' ').append(requisicao.arguments()).append('\n'));
+				}
+			} else if (mensagem instanceof ToolExecutionResultMessage resultado) {
+				texto.append("Resultado de ").append(resultado.toolName()).append(": ").append(resultado.text()).append('\n');
+			}
+		}
+		return texto.toString();
+	}
+}
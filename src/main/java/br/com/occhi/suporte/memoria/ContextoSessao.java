@@ -0,0 +1,284 @@
+package br.com.occhi.suporte.memoria;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+
+/**
+ * Contexto fixo de uma sessão compactada: resumo das mensagens antigas e
+ * fatos confirmados pelas ferramentas.
+ *
+ * Quando mensagens antigas saem da janela (por compactação ou pelo limite
+ * de tokens), o assistente deixaria de saber quem é o cliente e de quais
+ * pedidos se trata, e voltaria a perguntar. Este contexto é enviado ao
+ * modelo logo após a mensagem de sistema e preserva:
+ * - O resumo da conversa gerado pelo {@link CompactadorMemoria}
+ * - Os fatos extraídos dos resultados das ferramentas (cliente e pedidos
+ *   consultados), que nunca passam pelo resumo e portanto não são
+ *   reescritos nem inventados pelo modelo
+ *
+ * O contexto é representado por uma {@link UserMessage} com o nome
+ * {@value #NOME_MENSAGEM}, cujo texto traz um JSON. Dessa forma ele é
+ * persistido junto com as demais mensagens da sessão e reconstruído ao
+ * recarregar a janela do banco.
+ *
+ * Instâncias não são thread-safe; o acesso é protegido pela {@link JanelaTokens}.
+ *
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+public final class ContextoSessao {
+
+	/**
+	 * Nome da mensagem que carrega o contexto da sessão.
+	 */
+	public static final String NOME_MENSAGEM = "contexto_sessao";
+
+	/**
+	 * Quantidade máxima de pedidos mantidos nos fatos (os mais recentes).
+	 */
+	static final int MAX_PEDIDOS = 20;
+
+	private static final String CABECALHO = "Contexto da conversa até aqui (mensagens anteriores resumidas pelo sistema; "
+			+ "os fatos confirmados vieram das ferramentas e podem ser usados sem perguntar de novo):\n";
+
+	/**
+	 * Campos dos resultados de ferramentas mantidos para cada pedido, na
+	 * ordem em que aparecem no contexto (mantida fixa para que o prompt
+	 * não mude de uma execução para outra).
+	 */
+	private static final List<Map.Entry<String, String>> CAMPOS_PEDIDO = List.of(
+			Map.entry("status", "status"),
+			Map.entry("statusAtual", "status"),
+			Map.entry("valorTotal", "valorTotal"),
+			Map.entry("criadoEm", "criadoEm"),
+			Map.entry("nomesProdutos", "produtos"));
+
+	/**
+	 * Conversor JSON; valores decimais são mantidos como no resultado (ex: 6198.00).
+	 */
+	private static final ObjectMapper JSON = new ObjectMapper().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+	/**
+	 * Resumo das mensagens compactadas, ou null se ainda não houve compactação.
+	 */
+	private String resumo;
+
+	/**
+	 * Cliente identificado pelas ferramentas (usuarioId, primeiroNome, ultimoNome).
+	 */
+	private ObjectNode cliente;
+
+	/**
+	 * Pedidos consultados pelas ferramentas, do menos para o mais recente.
+	 */
+	private final ObjectNode pedidos = JSON.createObjectNode();
+
+	/**
+	 * Indica se a mensagem pertence ao contexto da sessão.
+	 *
+	 * @param mensagem mensagem do chat
+	 * @return true se for a mensagem de contexto
+	 */
+	public static boolean ehContexto(ChatMessage mensagem) {
+		return mensagem instanceof UserMessage usuario && NOME_MENSAGEM.equals(usuario.name());
+	}
+
+	/**
+	 * Reconstrói o contexto a partir da mensagem persistida.
+	 *
+	 * Uma mensagem ilegível resulta em um contexto vazio: a conversa
+	 * continua, apenas sem o resumo anterior.
+	 *
+	 * @param mensagem mensagem de contexto
+	 * @return contexto da sessão
+	 */
+	public static ContextoSessao de(UserMessage mensagem) {
+		ContextoSessao contexto = new ContextoSessao();
+		String texto = mensagem.singleText();
+		int inicio = texto.indexOf('{');
+		if (inicio < 0) {
+			return contexto;
+		}
+		try {
+			JsonNode raiz = JSON.readTree(texto.substring(inicio));
+			if (raiz.hasNonNull("resumo")) {
+				contexto.resumo = raiz.get("resumo").asText();
+			}
+			JsonNode fatos = raiz.path("fatosConfirmados");
+			if (fatos.get("cliente") instanceof ObjectNode cliente) {
+				contexto.cliente = cliente;
+			}
+			if (fatos.get("pedidos") instanceof ObjectNode pedidos) {
+				contexto.pedidos.setAll(pedidos);
+			}
+		} catch (JsonProcessingException e) {
+			// contexto ilegível: segue vazio
+		}
+		return contexto;
+	}
+
+	/**
+	 * Extrai fatos do resultado de uma ferramenta.
+	 *
+	 * O resultado é o JSON do retorno da ferramenta. São reconhecidos, em
+	 * qualquer nível do JSON:
+	 * - Objetos com primeiroNome e ultimoNome: identificam o cliente
+	 * - Objetos com pedidoId: status, valor, data e produtos do pedido
+	 *
+	 * Resultados que não são JSON (ex: mensagens de erro) são ignorados.
+	 *
+	 * @param resultado resultado da execução da ferramenta
+	 * @return true se algum fato foi registrado ou alterado
+	 */
+	public boolean registrarResultadoFerramenta(ToolExecutionResultMessage resultado) {
+		String texto = resultado.text();
+		if (texto == null || texto.isBlank() || !(texto.strip().startsWith("{") || texto.strip().startsWith("["))) {
+			return false;
+		}
+		try {
+			return registrarFatos(JSON.readTree(texto));
+		} catch (JsonProcessingException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Substitui o resumo das mensagens compactadas.
+	 *
+	 * @param resumo novo resumo, que já incorpora o anterior
+	 */
+	public void definirResumo(String resumo) {
+		this.resumo = resumo == null || resumo.isBlank() ? null : resumo.strip();
+	}
+
+	/**
+	 * Retorna o resumo atual.
+	 *
+	 * @return resumo das mensagens compactadas, ou null
+	 */
+	public String resumo() {
+		return resumo;
+	}
+
+	/**
+	 * Indica se há fatos confirmados.
+	 *
+	 * @return true se o cliente ou algum pedido foi identificado
+	 */
+	public boolean possuiFatos() {
+		return cliente != null || !pedidos.isEmpty();
+	}
+
+	/**
+	 * Indica se o contexto está vazio (sem resumo e sem fatos).
+	 *
+	 * @return true se não há nada a enviar ao modelo
+	 */
+	public boolean vazio() {
+		return resumo == null && !possuiFatos();
+	}
+
+	/**
+	 * Gera a mensagem enviada ao modelo e persistida com a sessão.
+	 *
+	 * @return mensagem de contexto
+	 */
+	public UserMessage mensagem() {
+		ObjectNode raiz = JSON.createObjectNode();
+		if (resumo != null) {
+			raiz.put("resumo", resumo);
+		}
+		ObjectNode fatos = raiz.putObject("fatosConfirmados");
+		if (cliente != null) {
+			fatos.set("cliente", cliente);
+		}
+		if (!pedidos.isEmpty()) {
+			fatos.set("pedidos", pedidos);
+		}
+		return UserMessage.from(NOME_MENSAGEM, CABECALHO + raiz);
+	}
+
+	/**
+	 * Percorre um nó do JSON registrando os fatos encontrados.
+	 *
+	 * @param no nó do resultado da ferramenta
+	 * @return true se algum fato foi registrado ou alterado
+	 */
+	private boolean registrarFatos(JsonNode no) {
+		boolean alterado = false;
+		if (no.isArray()) {
+			for (JsonNode item : no) {
+				alterado |= registrarFatos(item);
+			}
+			return alterado;
+		}
+		if (!no.isObject()) {
+			return false;
+		}
+
+		if (no.hasNonNull("primeiroNome") && no.hasNonNull("ultimoNome")) {
+			ObjectNode novoCliente = JSON.createObjectNode();
+			if (no.hasNonNull("usuarioId")) {
+				novoCliente.set("usuarioId", no.get("usuarioId"));
+			}
+			novoCliente.set("primeiroNome", no.get("primeiroNome"));
+			novoCliente.set("ultimoNome", no.get("ultimoNome"));
+			if (!novoCliente.equals(cliente)) {
+				cliente = novoCliente;
+				alterado = true;
+			}
+		}
+
+		if (no.hasNonNull("pedidoId")) {
+			alterado |= registrarPedido(no);
+		}
+
+		for (Iterator<JsonNode> filhos = no.elements(); filhos.hasNext();) {
+			JsonNode filho = filhos.next();
+			if (filho.isContainerNode()) {
+				alterado |= registrarFatos(filho);
+			}
+		}
+		return alterado;
+	}
+
+	/**
+	 * Registra (ou atualiza) os dados de um pedido, mantendo-o como o mais recente.
+	 *
+	 * @param no objeto com o pedidoId
+	 * @return true se o pedido foi registrado ou alterado
+	 */
+	private boolean registrarPedido(JsonNode no) {
+		String pedidoId = no.get("pedidoId").asText();
+		ObjectNode anterior = pedidos.get(pedidoId) instanceof ObjectNode existente ? existente : null;
+		ObjectNode pedido = anterior == null ? JSON.createObjectNode() : anterior.deepCopy();
+		for (Map.Entry<String, String> campo : CAMPOS_PEDIDO) {
+			if (no.hasNonNull(campo.getKey())) {
+				pedido.set(campo.getValue(), no.get(campo.getKey()));
+			}
+		}
+
+		boolean alterado = !pedido.equals(anterior);
+		pedidos.remove(pedidoId);
+		pedidos.set(pedidoId, pedido);
+		if (pedidos.size() > MAX_PEDIDOS) {
+			List<String> excedentes = pedidos.properties().stream()
+					.limit(pedidos.size() - MAX_PEDIDOS)
+					.map(Map.Entry::getKey)
+					.toList();
+			pedidos.remove(excedentes);
+		}
+		return alterado;
+	}
+}
@@ -0,0 +1,399 @@
+package br.com.occhi.suporte.memoria;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.Tokenizer;
+
+/**
+ * Janela deslizante de mensagens com contagem incremental de tokens.
+ * 
+ * Cada mensagem é tokenizada uma única vez, no momento em que entra na
+ * janela, e a contagem fica armazenada junto com ela. O total de tokens é
+ * mantido de forma incremental, de modo que adicionar e remover mensagens
+ * não exige recontar todo o histórico (como faz o TokenWindowChatMemory).
+ * 
+ * As regras de evicção reproduzem as do TokenWindowChatMemory:
+ * - As mensagens mais antigas são removidas primeiro
+ * - A mensagem de sistema no início da janela nunca é removida
+ * - Ao remover uma AiMessage com chamadas de ferramentas, os respectivos
+ *   ToolExecutionResultMessage também são removidos
+ * - Uma nova mensagem de sistema diferente substitui a anterior
+ * 
+ * Além da janela deslizante, a janela suporta compactação: as mensagens
+ * mais antigas podem ser substituídas por um resumo (ver
+ * {@link CompactadorMemoria}). O resumo e os fatos confirmados pelas
+ * ferramentas formam o {@link ContextoSessao}, enviado logo após a
+ * mensagem de sistema sempre que parte do histórico já saiu da janela,
+ * seja por compactação ou por evicção.
+ * 
+ * Instâncias são thread-safe.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+public final class JanelaTokens {
+
+	/**
+	 * Mensagem acompanhada da sua contagem de tokens.
+	 * 
+	 * @param mensagem mensagem do chat
+	 * @param tokens quantidade de tokens da mensagem
+	 */
+	private record MensagemContada(ChatMessage mensagem, int tokens) {}
+
+	/**
+	 * Compactação em andamento: mensagens antigas que serão substituídas pelo resumo.
+	 * 
+	 * @param geracao geração da janela no início da compactação
+	 * @param mensagens mensagens a resumir, em ordem
+	 * @param resumoAnterior resumo atual, a ser incorporado ao novo (pode ser null)
+	 */
+	public record Compactacao(long geracao, List<ChatMessage> mensagens, String resumoAnterior) {}
+
+	private final Deque<MensagemContada> mensagens = new ArrayDeque<>();
+
+	private final int maxTokens;
+
+	private final Tokenizer tokenizer;
+
+	/**
+	 * Tokens fixos adicionados pelo tokenizador a qualquer lista de mensagens
+	 * (ex: tokens de preparação da resposta no tokenizador da OpenAI).
+	 */
+	private final int tokensFixos;
+
+	/**
+	 * Soma dos tokens de todas as mensagens da janela.
+	 */
+	private int totalTokens;
+
+	/**
+	 * Mensagem de sistema atual, se houver.
+	 */
+	private MensagemContada sistema;
+
+	/**
+	 * Resumo e fatos confirmados da sessão.
+	 */
+	private ContextoSessao contexto = new ContextoSessao();
+
+	/**
+	 * Mensagem de contexto enviada ao modelo, ou null enquanto não for necessária.
+	 */
+	private MensagemContada mensagemContexto;
+
+	/**
+	 * Indica se alguma mensagem já saiu da janela (compactação ou evicção).
+	 */
+	private boolean historicoReduzido;
+
+	/**
+	 * Compactação em andamento, se houver; no máximo uma por janela.
+	 */
+	private Compactacao compactacao;
+
+	/**
+	 * Incrementada a cada limpeza, invalida compactações iniciadas antes dela.
+	 */
+	private long geracao;
+
+	/**
+	 * Cria uma janela a partir de um histórico existente.
+	 * 
+	 * @param historico mensagens já persistidas da sessão, em ordem
+	 * @param maxTokens limite de tokens da janela
+	 * @param tokenizer tokenizador usado para contar os tokens de cada mensagem
+	 */
+	public JanelaTokens(List<ChatMessage> historico, int maxTokens, Tokenizer tokenizer) {
+		this.maxTokens = maxTokens;
+		this.tokenizer = tokenizer;
+		this.tokensFixos = tokenizer.estimateTokenCountInMessages(List.of());
+		for (ChatMessage mensagem : historico) {
+			if (ContextoSessao.ehContexto(mensagem)) {
+				contexto = ContextoSessao.de((UserMessage) mensagem);
+				historicoReduzido = true;
+				continue;
+			}
+			if (mensagem instanceof ToolExecutionResultMessage resultado) {
+				contexto.registrarResultadoFerramenta(resultado);
+			}
+			MensagemContada contada = contar(mensagem);
+			if (mensagem instanceof SystemMessage) {
+				sistema = contada;
+			}
+			mensagens.addLast(contada);
+			totalTokens += contada.tokens();
+		}
+		atualizarContexto();
+		garantirCapacidade();
+	}
+
+	/**
+	 * Adiciona uma mensagem à janela, removendo as mais antigas se necessário.
+	 * 
+	 * @param mensagem mensagem a ser adicionada
+	 */
+	public synchronized void adicionar(ChatMessage mensagem) {
+		if (ContextoSessao.ehContexto(mensagem)) {
+			return;
+		}
+		if (mensagem instanceof SystemMessage) {
+			if (sistema != null && sistema.mensagem().equals(mensagem)) {
+				return;
+			}
+			if (sistema != null) {
+				mensagens.remove(sistema);
+				totalTokens -= sistema.tokens();
+			}
+		}
+
+		MensagemContada contada = contar(mensagem);
+		if (mensagem instanceof SystemMessage) {
+			sistema = contada;
+		}
+		mensagens.addLast(contada);
+		totalTokens += contada.tokens();
+		if (mensagem instanceof ToolExecutionResultMessage resultado && contexto.registrarResultadoFerramenta(resultado)) {
+			atualizarContexto();
+		}
+		garantirCapacidade();
+	}
+
+	/**
+	 * Retorna uma cópia das mensagens da janela, em ordem.
+	 * 
+	 * A mensagem de contexto, quando presente, vem logo após a mensagem de
+	 * sistema (ou no início, se não houver mensagem de sistema).
+	 * 
+	 * @return lista mutável com as mensagens atuais
+	 */
+	public synchronized List<ChatMessage> mensagens() {
+		List<ChatMessage> copia = new ArrayList<>(mensagens.size() + 1);
+		boolean contextoPendente = mensagemContexto != null;
+		for (MensagemContada contada : mensagens) {
+			if (contextoPendente && !(contada.mensagem() instanceof SystemMessage && copia.isEmpty())) {
+				copia.add(mensagemContexto.mensagem());
+				contextoPendente = false;
+			}
+			copia.add(contada.mensagem());
+		}
+		if (contextoPendente) {
+			copia.add(mensagemContexto.mensagem());
+		}
+		return copia;
+	}
+
+	/**
+	 * Remove todas as mensagens da janela, inclusive o contexto da sessão.
+	 */
+	public synchronized void limpar() {
+		mensagens.clear();
+		sistema = null;
+		totalTokens = 0;
+		contexto = new ContextoSessao();
+		mensagemContexto = null;
+		historicoReduzido = false;
+		compactacao = null;
+		geracao++;
+	}
+
+	/**
+	 * Inicia a compactação das mensagens mais antigas.
+	 * 
+	 * As mensagens a resumir vão do início da janela até o último turno
+	 * (mensagem do usuário) a partir do qual o restante cabe em
+	 * tokensRecentes. O corte é sempre no início de um turno, de modo que
+	 * chamadas de ferramentas e seus resultados nunca são separados; o
+	 * último turno é sempre mantido.
+	 * 
+	 * @param tokensRecentes tokens das mensagens recentes mantidas sem resumo
+	 * @return compactação iniciada, ou null se já houver uma em andamento ou nada a resumir
+	 */
+	public synchronized Compactacao iniciarCompactacao(int tokensRecentes) {
+		if (compactacao != null) {
+			return null;
+		}
+		List<MensagemContada> candidatas = new ArrayList<>(mensagens.size());
+		for (MensagemContada contada : mensagens) {
+			if (!(contada.mensagem() instanceof SystemMessage)) {
+				candidatas.add(contada);
+			}
+		}
+
+		int corte = -1;
+		int tokensMantidos = 0;
+		for (int i = candidatas.size() - 1; i > 0; i--) {
+			tokensMantidos += candidatas.get(i).tokens();
+			if (candidatas.get(i).mensagem() instanceof UserMessage) {
+				if (corte < 0 || tokensMantidos <= tokensRecentes) {
+					corte = i;
+				}
+				if (tokensMantidos > tokensRecentes) {
+					break;
+				}
+			}
+		}
+		if (corte <= 0) {
+			return null;
+		}
+
+		List<ChatMessage> antigas = new ArrayList<>(corte);
+		for (int i = 0; i < corte; i++) {
+			antigas.add(candidatas.get(i).mensagem());
+		}
+		compactacao = new Compactacao(geracao, List.copyOf(antigas), contexto.resumo());
+		return compactacao;
+	}
+
+	/**
+	 * Conclui a compactação, substituindo as mensagens resumidas pelo resumo.
+	 * 
+	 * Mensagens da compactação que já tenham saído da janela (evicção
+	 * durante a geração do resumo) são ignoradas. Uma compactação iniciada
+	 * antes de uma limpeza da janela é descartada.
+	 * 
+	 * @param concluida compactação retornada por {@link #iniciarCompactacao(int)}
+	 * @param resumo resumo das mensagens, que já incorpora o resumo anterior
+	 * @return tokens de mensagens removidos da janela
+	 */
+	public synchronized int concluirCompactacao(Compactacao concluida, String resumo) {
+		if (compactacao != concluida) {
+			return 0;
+		}
+		compactacao = null;
+		if (concluida.geracao() != geracao) {
+			return 0;
+		}
+
+		int removidos = 0;
+		for (ChatMessage antiga : concluida.mensagens()) {
+			MensagemContada primeira = primeiraSemSistema();
+			if (primeira != null && primeira.mensagem() == antiga) {
+				mensagens.remove(primeira);
+				totalTokens -= primeira.tokens();
+				removidos += primeira.tokens();
+			}
+		}
+		contexto.definirResumo(resumo);
+		historicoReduzido = true;
+		atualizarContexto();
+		garantirCapacidade();
+		return removidos;
+	}
+
+	/**
+	 * Cancela a compactação em andamento (ex: falha ao gerar o resumo),
+	 * permitindo uma nova tentativa.
+	 * 
+	 * @param cancelada compactação a cancelar
+	 */
+	public synchronized void cancelarCompactacao(Compactacao cancelada) {
+		if (compactacao == cancelada) {
+			compactacao = null;
+		}
+	}
+
+	/**
+	 * Retorna o total de tokens da janela, no mesmo critério de
+	 * {@link Tokenizer#estimateTokenCountInMessages(Iterable)}.
+	 * 
+	 * @return total de tokens das mensagens atuais
+	 */
+	public synchronized int totalTokens() {
+		return totalTokens + tokensFixos;
+	}
+
+	/**
+	 * Remove mensagens do início da janela até que o total caiba no limite.
+	 * 
+	 * Cada remoção é O(1); a mensagem de sistema no início é preservada.
+	 * A primeira remoção passa a exigir a mensagem de contexto, se houver
+	 * fatos confirmados, cujos tokens também entram no limite.
+	 */
+	private void garantirCapacidade() {
+		removerExcedentes();
+		if (!historicoReduzido || mensagemContexto != null || contexto.vazio()) {
+			return;
+		}
+		atualizarContexto();
+		removerExcedentes();
+	}
+
+	/**
+	 * Remove mensagens do início da janela até que o total caiba no limite.
+	 */
+	private void removerExcedentes() {
+		while (totalTokens + tokensFixos > maxTokens && !mensagens.isEmpty()) {
+			MensagemContada inicioSistema = null;
+			if (mensagens.peekFirst().mensagem() instanceof SystemMessage) {
+				inicioSistema = mensagens.pollFirst();
+				if (mensagens.isEmpty()) {
+					mensagens.addFirst(inicioSistema);
+					return;
+				}
+			}
+
+			MensagemContada removida = mensagens.pollFirst();
+			totalTokens -= removida.tokens();
+			historicoReduzido = true;
+			if (removida.mensagem() instanceof AiMessage ai && ai.hasToolExecutionRequests()) {
+				while (!mensagens.isEmpty() && mensagens.peekFirst().mensagem() instanceof ToolExecutionResultMessage) {
+					totalTokens -= mensagens.pollFirst().tokens();
+				}
+			}
+
+			if (inicioSistema != null) {
+				mensagens.addFirst(inicioSistema);
+			}
+		}
+	}
+
+	/**
+	 * Atualiza a mensagem de contexto após mudanças no resumo ou nos fatos.
+	 * 
+	 * O contexto só é enviado depois que parte do histórico saiu da janela;
+	 * antes disso, os fatos ainda estão nas próprias mensagens.
+	 */
+	private void atualizarContexto() {
+		if (mensagemContexto != null) {
+			totalTokens -= mensagemContexto.tokens();
+			mensagemContexto = null;
+		}
+		if (historicoReduzido && !contexto.vazio()) {
+			mensagemContexto = contar(contexto.mensagem());
+			totalTokens += mensagemContexto.tokens();
+		}
+	}
+
+	/**
+	 * Retorna a primeira mensagem da janela que não é de sistema.
+	 * 
+	 * @return primeira mensagem sem ser de sistema, ou null se não houver
+	 */
+	private MensagemContada primeiraSemSistema() {
+		for (MensagemContada contada : mensagens) {
+			if (!(contada.mensagem() instanceof SystemMessage)) {
+				return contada;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Tokeniza uma mensagem, uma única vez.
+	 * 
+	 * @param mensagem mensagem a ser contada
+	 * @return mensagem acompanhada da sua contagem de tokens
+	 */
+	private MensagemContada contar(ChatMessage mensagem) {
+		return new MensagemContada(mensagem, tokenizer.estimateTokenCountInMessage(mensagem));
+	}
+}
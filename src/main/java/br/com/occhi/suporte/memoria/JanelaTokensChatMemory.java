@@ -0,0 +1,132 @@
+package br.com.occhi.suporte.memoria;
+import java.util.List;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.model.Tokenizer;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+
+/**
+ * Memória de chat com janela de tokens e contagem incremental.
+ * 
+ * Substitui o TokenWindowChatMemory do LangChain4j mantendo o mesmo
+ * comportamento de janela deslizante, mas sem recontar os tokens de todo o
+ * histórico a cada leitura ou escrita: cada mensagem é tokenizada uma única
+ * vez e a evicção é O(1) amortizada (ver {@link JanelaTokens}).
+ * 
+ * Esta classe é apenas um identificador leve da sessão. A janela em si fica
+ * no {@link RegistroMemoriasSessao}, que limita o consumo de heap, e é
+ * carregada do {@link ChatMemoryStore} quando não estiver em memória.
+ * 
+ * Após cada mensagem, o {@link CompactadorMemoria} avalia se os turnos
+ * mais antigos devem ser substituídos por um resumo; a compactação roda em
+ * segundo plano e a janela compactada é persistida ao final.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+public class JanelaTokensChatMemory implements ChatMemory {
+
+	private final String id;
+
+	private final int maxTokens;
+
+	private final Tokenizer tokenizer;
+
+	private final ChatMemoryStore store;
+
+	private final RegistroMemoriasSessao registroSessoes;
+
+	private final CompactadorMemoria compactador;
+
+	/**
+	 * Cria a memória de uma sessão.
+	 * 
+	 * @param id identificador da sessão (memoryId)
+	 * @param maxTokens limite de tokens da janela
+	 * @param tokenizer tokenizador usado para contar tokens nas mensagens
+	 * @param store armazenamento durável das mensagens
+	 * @param registroSessoes registro limitado das janelas mantidas em memória
+	 * @param compactador compactação dos turnos antigos em resumo
+	 */
+	public JanelaTokensChatMemory(Object id, int maxTokens, Tokenizer tokenizer, ChatMemoryStore store,
+			RegistroMemoriasSessao registroSessoes, CompactadorMemoria compactador) {
+		this.id = String.valueOf(id);
+		this.maxTokens = maxTokens;
+		this.tokenizer = tokenizer;
+		this.store = store;
+		this.registroSessoes = registroSessoes;
+		this.compactador = compactador;
+	}
+
+	@Override
+	public Object id() {
+		return id;
+	}
+
+	/**
+	 * Adiciona uma mensagem à janela, agenda sua persistência e avalia a compactação.
+	 * 
+	 * @param message mensagem a ser adicionada
+	 */
+	@Override
+	public void add(ChatMessage message) {
+		JanelaTokens janela = janela();
+		List<ChatMessage> mensagens;
+		synchronized (janela) {
+			janela.adicionar(message);
+			mensagens = janela.mensagens();
+		}
+		store.updateMessages(id, mensagens);
+		registroSessoes.registrar(id, janela);
+		compactador.avaliar(id, janela, () -> persistirCompactada(janela));
+	}
+
+	/**
+	 * Retorna as mensagens atuais da janela, sem retokenizar o histórico.
+	 * 
+	 * @return mensagens da sessão dentro do limite de tokens
+	 */
+	@Override
+	public List<ChatMessage> messages() {
+		return janela().mensagens();
+	}
+
+	/**
+	 * Remove todas as mensagens da sessão, em memória e no armazenamento.
+	 */
+	@Override
+	public void clear() {
+		janela().limpar();
+		store.deleteMessages(id);
+	}
+
+	/**
+	 * Persiste a janela após uma compactação concluída em segundo plano.
+	 * 
+	 * Se a sessão saiu da memória (ou foi recarregada) durante a geração do
+	 * resumo, a janela compactada é descartada para não sobrescrever um
+	 * estado mais recente.
+	 * 
+	 * @param janela janela compactada
+	 */
+	private void persistirCompactada(JanelaTokens janela) {
+		synchronized (janela) {
+			if (!registroSessoes.ativa(id, janela)) {
+				return;
+			}
+			store.updateMessages(id, janela.mensagens());
+		}
+		registroSessoes.registrar(id, janela);
+	}
+
+	/**
+	 * Obtém a janela da sessão, carregando-a do armazenamento se necessário.
+	 * 
+	 * @return janela de tokens da sessão
+	 */
+	private JanelaTokens janela() {
+		return registroSessoes.obter(id, sessaoId -> new JanelaTokens(store.getMessages(sessaoId), maxTokens, tokenizer));
+	}
+}
@@ -0,0 +1,291 @@
+package br.com.occhi.suporte.memoria;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import br.com.occhi.suporte.enums.CargaTrabalho;
+import br.com.occhi.suporte.services.ContextoCargaTrabalho;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.ChatMessageDeserializer;
+import dev.langchain4j.data.message.ChatMessageSerializer;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Armazenamento durável das conversas do assistente no PostgreSQL.
+ * 
+ * Implementa o {@link ChatMemoryStore} do LangChain4j persistindo as mensagens
+ * de cada sessão na tabela "memorias_chat", de forma que o histórico das
+ * conversas sobreviva a reinicializações e deploys da aplicação.
+ * 
+ * Para não adicionar uma escrita síncrona no banco à latência do chat:
+ * - Escrita em segundo plano (write-behind): cada updateMessages apenas
+ *   registra o estado mais recente da sessão em um buffer de pendências
+ * - Coalescência: várias atualizações da mesma sessão entre dois flushes
+ *   resultam em uma única escrita
+ * - Lote: o flush grava todas as sessões pendentes em um único batch JDBC,
+ *   disparado por tempo ou quando o buffer atinge o tamanho configurado
+ * 
+ * A leitura é feita apenas quando a janela da sessão não está em memória:
+ * as sessões ativas ficam no {@link RegistroMemoriasSessao} (read-through),
+ * evitando uma consulta ao banco a cada turno da conversa.
+ * 
+ * No encerramento da aplicação, as pendências são gravadas antes do shutdown.
+ * 
+ * Leituras e gravações usam o pool de conexões do assistente
+ * ({@link CargaTrabalho#ASSISTENTE}), isolado do pool da API REST.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class MemoriaChatJdbcStore implements ChatMemoryStore, OuvinteEvicaoSessao {
+
+	private static final Logger log = LoggerFactory.getLogger(MemoriaChatJdbcStore.class);
+
+	private static final String SQL_BUSCAR = "SELECT mensagens FROM memorias_chat WHERE memoria_id = ?";
+
+	private static final String SQL_GRAVAR = """
+			INSERT INTO memorias_chat (memoria_id, mensagens, atualizado_em) VALUES (?, ?, ?)
+			ON CONFLICT (memoria_id) DO UPDATE SET mensagens = EXCLUDED.mensagens, atualizado_em = EXCLUDED.atualizado_em
+			""";
+
+	private static final String SQL_EXCLUIR = "DELETE FROM memorias_chat WHERE memoria_id = ?";
+
+	/**
+	 * Marcador de pendência indicando que a memória da sessão deve ser excluída.
+	 * Comparado por identidade, nunca se confunde com uma lista vazia legítima.
+	 */
+	private static final List<ChatMessage> EXCLUSAO = Collections.unmodifiableList(new ArrayList<>());
+
+	private final JdbcTemplate jdbcTemplate;
+
+	/**
+	 * Carga de trabalho dos acessos ao banco, que usam o pool do assistente.
+	 */
+	private final ContextoCargaTrabalho cargaTrabalho;
+
+	/**
+	 * Estado mais recente ainda não gravado de cada sessão.
+	 */
+	private final Map<String, List<ChatMessage>> pendentes = new ConcurrentHashMap<>();
+
+	/**
+	 * Quantidade de sessões pendentes que antecipa o flush.
+	 */
+	private final int tamanhoLote;
+
+	/**
+	 * Executor dedicado aos flushes periódicos e antecipados.
+	 */
+	private final ScheduledExecutorService executorFlush;
+
+	/**
+	 * Evita agendar vários flushes antecipados simultaneamente.
+	 */
+	private final AtomicBoolean flushAgendado = new AtomicBoolean();
+
+	/**
+	 * Construtor com as configurações de escrita em lote.
+	 * 
+	 * @param jdbcTemplate acesso JDBC ao datasource da aplicação
+	 * @param cargaTrabalho carga de trabalho da thread atual
+	 * @param tamanhoLote quantidade de sessões pendentes que dispara um flush imediato
+	 * @param intervaloFlushMs intervalo entre flushes periódicos em milissegundos
+	 */
+	public MemoriaChatJdbcStore(JdbcTemplate jdbcTemplate, ContextoCargaTrabalho cargaTrabalho,
+			@Value("${suporte.chat.memoria.lote:100}") int tamanhoLote,
+			@Value("${suporte.chat.memoria.intervalo-flush-ms:1000}") long intervaloFlushMs) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.cargaTrabalho = cargaTrabalho;
+		this.tamanhoLote = tamanhoLote;
+		this.executorFlush = Executors.newSingleThreadScheduledExecutor(
+				Thread.ofPlatform().name("memoria-chat-flush").daemon(true).factory());
+		this.executorFlush.scheduleWithFixedDelay(this::flushSeguro, intervaloFlushMs, intervaloFlushMs, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Retorna as mensagens de uma sessão.
+	 * 
+	 * A busca considera primeiro as pendências ainda não gravadas e, em
+	 * seguida, o banco de dados.
+	 * 
+	 * @param memoryId identificador da sessão
+	 * @return mensagens da sessão, ou lista vazia se não houver histórico
+	 */
+	@Override
+	public List<ChatMessage> getMessages(Object memoryId) {
+		String id = String.valueOf(memoryId);
+
+		List<ChatMessage> pendente = pendentes.get(id);
+		if (pendente != null) {
+			return pendente == EXCLUSAO ? new ArrayList<>() : new ArrayList<>(pendente);
+		}
+
+		return buscarNoBanco(id);
+	}
+
+	/**
+	 * Atualiza as mensagens de uma sessão.
+	 * 
+	 * A gravação no banco é adiada para o próximo flush; apenas o buffer de
+	 * pendências é atualizado no caminho da requisição.
+	 * 
+	 * @param memoryId identificador da sessão
+	 * @param messages estado completo e atual das mensagens da sessão
+	 */
+	@Override
+	public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+		String id = String.valueOf(memoryId);
+		pendentes.put(id, List.copyOf(messages));
+		antecipaFlushSeNecessario();
+	}
+
+	/**
+	 * Remove as mensagens de uma sessão.
+	 * 
+	 * @param memoryId identificador da sessão
+	 */
+	@Override
+	public void deleteMessages(Object memoryId) {
+		String id = String.valueOf(memoryId);
+		pendentes.put(id, EXCLUSAO);
+		antecipaFlushSeNecessario();
+	}
+
+	/**
+	 * Antecipa a gravação de uma sessão removida do registro de memórias.
+	 * 
+	 * Se a sessão ainda tiver alterações pendentes, um flush é agendado
+	 * imediatamente para que o histórico chegue ao banco antes do próximo ciclo.
+	 * 
+	 * @param sessaoId identificador da sessão removida
+	 * @param mensagens mensagens que estavam em memória
+	 */
+	@Override
+	public void sessaoRemovida(String sessaoId, List<ChatMessage> mensagens) {
+		if (pendentes.containsKey(sessaoId)) {
+			agendarFlush();
+		}
+	}
+
+	/**
+	 * Grava todas as pendências no banco de dados em lote.
+	 * 
+	 * Cada sessão é retirada do buffer de forma atômica; em caso de falha,
+	 * as pendências retornam ao buffer, exceto quando a sessão já recebeu
+	 * uma atualização mais recente nesse intervalo.
+	 */
+	public synchronized void flush() {
+		if (pendentes.isEmpty()) {
+			return;
+		}
+
+		Map<String, List<ChatMessage>> lote = new LinkedHashMap<>();
+		for (String id : pendentes.keySet()) {
+			List<ChatMessage> mensagens = pendentes.remove(id);
+			if (mensagens != null) {
+				lote.put(id, mensagens);
+			}
+		}
+
+		List<Object[]> gravacoes = new ArrayList<>();
+		List<Object[]> exclusoes = new ArrayList<>();
+		Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+		lote.forEach((id, mensagens) -> {
+			if (mensagens == EXCLUSAO) {
+				exclusoes.add(new Object[] { id });
+			} else {
+				gravacoes.add(new Object[] { id, ChatMessageSerializer.messagesToJson(mensagens), agora });
+			}
+		});
+
+		try {
+			cargaTrabalho.executar(CargaTrabalho.ASSISTENTE, () -> {
+				if (!gravacoes.isEmpty()) {
+					jdbcTemplate.batchUpdate(SQL_GRAVAR, gravacoes);
+				}
+				if (!exclusoes.isEmpty()) {
+					jdbcTemplate.batchUpdate(SQL_EXCLUIR, exclusoes);
+				}
+			});
+		} catch (DataAccessException e) {
+			lote.forEach(pendentes::putIfAbsent);
+			throw e;
+		}
+	}
+
+	/**
+	 * Grava as pendências restantes e encerra o executor no shutdown.
+	 */
+	@PreDestroy
+	public void encerrar() {
+		executorFlush.shutdown();
+		flushSeguro();
+	}
+
+	/**
+	 * Executa o flush registrando (sem propagar) eventuais falhas, para que
+	 * o agendamento periódico continue ativo.
+	 */
+	private void flushSeguro() {
+		try {
+			flush();
+		} catch (RuntimeException e) {
+			log.warn("Falha ao gravar {} memórias de chat pendentes; nova tentativa no próximo ciclo: {}",
+					pendentes.size(), e.getMessage());
+		} finally {
+			flushAgendado.set(false);
+		}
+	}
+
+	/**
+	 * Agenda um flush imediato quando o buffer atinge o tamanho do lote.
+	 */
+	private void antecipaFlushSeNecessario() {
+		if (pendentes.size() >= tamanhoLote) {
+			agendarFlush();
+		}
+	}
+
+	/**
+	 * Agenda um flush imediato, caso nenhum já esteja agendado.
+	 */
+	private void agendarFlush() {
+		if (!executorFlush.isShutdown() && flushAgendado.compareAndSet(false, true)) {
+			executorFlush.execute(this::flushSeguro);
+		}
+	}
+
+	/**
+	 * Busca as mensagens de uma sessão diretamente no banco de dados.
+	 * 
+	 * @param id identificador da sessão
+	 * @return mensagens persistidas, ou lista vazia se não houver registro
+	 */
+	private List<ChatMessage> buscarNoBanco(String id) {
+		List<String> resultado = cargaTrabalho.executar(CargaTrabalho.ASSISTENTE,
+				() -> jdbcTemplate.queryForList(SQL_BUSCAR, String.class, id));
+		if (resultado.isEmpty()) {
+			return new ArrayList<>();
+		}
+		return new ArrayList<>(ChatMessageDeserializer.messagesFromJson(resultado.get(0)));
+	}
+}
@@ -0,0 +1,99 @@
+package br.com.occhi.suporte.memoria;
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.service.AiServiceContext;
+import dev.langchain4j.service.AiServices;
+
+/**
+ * Libera as memórias que o serviço de IA mantém para as sessões removidas.
+ *
+ * O LangChain4j 0.36 guarda, dentro do serviço de IA, uma instância de
+ * {@link ChatMemory} por memoryId e nunca a descarta. Cada instância é só
+ * um identificador leve ({@link JanelaTokensChatMemory}), mas o mapa cresce
+ * com cada sessionId novo, e clientes com sessionIds aleatórios fariam o
+ * heap crescer sem limite.
+ *
+ * Esta classe obtém o mapa de memórias do serviço (campo público do
+ * {@link AiServiceContext}, acessível apenas por reflexão a partir do
+ * builder) e remove a entrada da sessão sempre que o
+ * {@link RegistroMemoriasSessao} a remove por evicção. No próximo acesso,
+ * o serviço pede uma nova memória ao provedor, que recarrega a janela do
+ * banco de dados.
+ *
+ * O LangChain4j 0.36 não oferece outro acesso a esse mapa: o contexto é
+ * protegido e a implementação do serviço é interna à biblioteca. Se uma
+ * nova versão mudar esse arranjo, {@link #vincular} falha na criação do
+ * assistente, impedindo a aplicação de subir, e o MemoriasAssistenteTest
+ * acusa a mudança no build.
+ *
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class MemoriasAssistente implements OuvinteEvicaoSessao {
+
+	/**
+	 * Campo de {@link AiServices} com o contexto do serviço em construção.
+	 */
+	static final String CAMPO_CONTEXTO = "context";
+
+	/**
+	 * Memórias do serviço de IA, por memoryId.
+	 */
+	private volatile Map<Object, ChatMemory> memorias = Map.of();
+
+	/**
+	 * Vincula o mapa de memórias do serviço de IA.
+	 *
+	 * Deve ser chamado depois de configurar o provedor de memória, que é o
+	 * momento em que o LangChain4j cria o mapa.
+	 *
+	 * @param servico builder do serviço de IA
+	 * @throws IllegalStateException se a versão do LangChain4j não expuser o contexto do serviço,
+	 *         ou se o provedor de memória ainda não tiver sido configurado
+	 */
+	public void vincular(AiServices<?> servico) {
+		AiServiceContext contexto;
+		try {
+			Field campo = AiServices.class.getDeclaredField(CAMPO_CONTEXTO);
+			campo.setAccessible(true);
+			contexto = (AiServiceContext) campo.get(servico);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			throw new IllegalStateException("Não foi possível acessar o campo AiServices." + CAMPO_CONTEXTO
+					+ " do LangChain4j; a liberação das memórias das sessões depende dele e deve ser revista"
+					+ " ao atualizar a biblioteca", e);
+		}
+		if (contexto == null || contexto.chatMemories == null) {
+			throw new IllegalStateException(
+					"O serviço de IA não possui mapa de memórias; vincule depois de configurar o chatMemoryProvider");
+		}
+		this.memorias = contexto.chatMemories;
+	}
+
+	/**
+	 * Retorna quantas sessões possuem memória no serviço de IA.
+	 *
+	 * @return quantidade de memórias mantidas pelo serviço
+	 */
+	public int quantidade() {
+		return memorias.size();
+	}
+
+	/**
+	 * Remove a memória da sessão removida do registro.
+	 *
+	 * @param sessaoId identificador da sessão removida
+	 * @param mensagens mensagens que estavam em memória
+	 */
+	@Override
+	public void sessaoRemovida(String sessaoId, List<ChatMessage> mensagens) {
+		memorias.remove(sessaoId);
+	}
+}
@@ -0,0 +1,29 @@
+package br.com.occhi.suporte.memoria;
+import java.util.List;
+
+import dev.langchain4j.data.message.ChatMessage;
+
+/**
+ * Gancho notificado quando uma sessão é removida do registro de memórias.
+ * 
+ * Permite que componentes reajam à evicção de uma sessão (por tamanho,
+ * orçamento de tokens ou tempo de inatividade), por exemplo gravando o
+ * histórico em um armazenamento durável antes que ele deixe o heap.
+ * 
+ * Todos os beans que implementam esta interface são notificados
+ * automaticamente pelo {@link RegistroMemoriasSessao}.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+public interface OuvinteEvicaoSessao {
+
+	/**
+	 * Chamado após a evicção de uma sessão do registro.
+	 * 
+	 * @param sessaoId identificador da sessão removida
+	 * @param mensagens últimas mensagens mantidas em memória para a sessão
+	 */
+	void sessaoRemovida(String sessaoId, List<ChatMessage> mensagens);
+}
@@ -0,0 +1,176 @@
+package br.com.occhi.suporte.memoria;
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import br.com.occhi.suporte.records.EstatisticasSessoes;
+
+/**
+ * Registro limitado das memórias de sessão mantidas no heap.
+ * 
+ * Guarda as janelas de mensagens ({@link JanelaTokens}) das conversas mais
+ * ativas em um cache Caffeine
+ * (política W-TinyLFU), evitando que clientes com sessionIds aleatórios
+ * façam o consumo de memória crescer sem limite.
+ * 
+ * Limites aplicados:
+ * - Quantidade máxima de sessões em memória
+ * - Tempo máximo de inatividade (TTL) de cada sessão
+ * - Orçamento opcional do total de tokens retidos por todas as sessões
+ * 
+ * O peso de cada sessão é o total de tokens da sua janela, mantido de forma
+ * incremental. Quando o orçamento de tokens está habilitado, cada sessão pesa no mínimo
+ * orçamento / máximo de sessões, garantindo que o limite de quantidade
+ * continue sendo respeitado.
+ * 
+ * Sessões removidas por evicção são repassadas aos beans
+ * {@link OuvinteEvicaoSessao}, e voltam a ser carregadas do banco de dados
+ * no próximo acesso.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class RegistroMemoriasSessao {
+
+	/**
+	 * Cache das janelas de mensagens de cada sessão.
+	 */
+	private final Cache<String, JanelaTokens> sessoes;
+
+	/**
+	 * Ouvintes de evicção, resolvidos apenas no momento da notificação.
+	 */
+	private final ObjectProvider<OuvinteEvicaoSessao> ouvintes;
+
+	/**
+	 * Construtor com os limites do registro.
+	 * 
+	 * @param ouvintes ouvintes notificados na evicção de sessões
+	 * @param maxSessoes quantidade máxima de sessões mantidas em memória
+	 * @param ttlInatividadeMinutos tempo de inatividade após o qual a sessão é removida
+	 * @param maxTokensTotal orçamento total de tokens em memória (0 desabilita)
+	 */
+	public RegistroMemoriasSessao(ObjectProvider<OuvinteEvicaoSessao> ouvintes,
+			@Value("${suporte.chat.sessoes.max-sessoes:10000}") long maxSessoes,
+			@Value("${suporte.chat.sessoes.ttl-inatividade-minutos:30}") long ttlInatividadeMinutos,
+			@Value("${suporte.chat.sessoes.max-tokens-total:0}") long maxTokensTotal) {
+		this.ouvintes = ouvintes;
+
+		Caffeine<String, JanelaTokens> builder = Caffeine.newBuilder()
+				.expireAfterAccess(Duration.ofMinutes(ttlInatividadeMinutos))
+				.recordStats()
+				.removalListener(this::notificarRemocao);
+
+		if (maxTokensTotal > 0) {
+			int pesoMinimo = (int) Math.max(1, maxTokensTotal / maxSessoes);
+			builder.maximumWeight(maxTokensTotal)
+					.weigher((String id, JanelaTokens janela) -> Math.max(pesoMinimo, janela.totalTokens()));
+		} else {
+			builder.maximumSize(maxSessoes);
+		}
+
+		this.sessoes = builder.build();
+	}
+
+	/**
+	 * Obtém a janela de uma sessão, carregando-a caso não esteja em memória.
+	 * 
+	 * @param sessaoId identificador da sessão
+	 * @param carregador função que carrega a janela a partir do armazenamento durável
+	 * @return janela de mensagens da sessão
+	 */
+	public JanelaTokens obter(String sessaoId, Function<String, JanelaTokens> carregador) {
+		return sessoes.get(sessaoId, carregador);
+	}
+
+	/**
+	 * Registra a janela de uma sessão, atualizando seu peso após alterações.
+	 * 
+	 * @param sessaoId identificador da sessão
+	 * @param janela janela de mensagens da sessão
+	 */
+	public void registrar(String sessaoId, JanelaTokens janela) {
+		sessoes.put(sessaoId, janela);
+	}
+
+	/**
+	 * Indica se a janela ainda é a mantida em memória para a sessão.
+	 * 
+	 * Não conta como acesso: não altera as estatísticas nem o tempo de inatividade.
+	 * 
+	 * @param sessaoId identificador da sessão
+	 * @param janela janela de mensagens obtida anteriormente
+	 * @return true se a sessão ainda estiver em memória com a mesma janela
+	 */
+	public boolean ativa(String sessaoId, JanelaTokens janela) {
+		return sessoes.policy().getIfPresentQuietly(sessaoId) == janela;
+	}
+
+	/**
+	 * Remove explicitamente uma sessão, sem notificar os ouvintes de evicção.
+	 * 
+	 * @param sessaoId identificador da sessão
+	 */
+	public void remover(String sessaoId) {
+		sessoes.invalidate(sessaoId);
+	}
+
+	/**
+	 * Retorna um retrato do estado atual do registro.
+	 * 
+	 * @return quantidade de sessões, tokens retidos e contadores de acerto, falha e evicção
+	 */
+	public EstatisticasSessoes estatisticas() {
+		CacheStats stats = sessoes.stats();
+		long tokensRetidos = sessoes.policy().eviction()
+				.map(evicao -> evicao.weightedSize().orElse(-1L))
+				.orElse(-1L);
+		return new EstatisticasSessoes(
+				sessoes.estimatedSize(),
+				tokensRetidos,
+				stats.hitCount(),
+				stats.missCount(),
+				stats.evictionCount());
+	}
+
+	/**
+	 * Soma os tokens de todas as janelas mantidas em memória.
+	 *
+	 * Diferente de {@link #estatisticas()}, funciona mesmo com o orçamento
+	 * de tokens desabilitado, percorrendo as sessões presentes no registro.
+	 *
+	 * @return total de tokens retidos pelas sessões em memória
+	 */
+	public long tokensEmMemoria() {
+		long total = 0;
+		for (JanelaTokens janela : sessoes.asMap().values()) {
+			total += janela.totalTokens();
+		}
+		return total;
+	}
+
+	/**
+	 * Repassa aos ouvintes as sessões removidas por evicção (tamanho,
+	 * orçamento de tokens ou inatividade).
+	 * 
+	 * @param sessaoId identificador da sessão
+	 * @param janela janela que estava em memória
+	 * @param causa motivo da remoção
+	 */
+	private void notificarRemocao(String sessaoId, JanelaTokens janela, RemovalCause causa) {
+		if (sessaoId == null || janela == null || !causa.wasEvicted()) {
+			return;
+		}
+		ouvintes.orderedStream().forEach(ouvinte -> ouvinte.sessaoRemovida(sessaoId, janela.mensagens()));
+	}
+}
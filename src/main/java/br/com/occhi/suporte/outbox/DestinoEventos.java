@@ -0,0 +1,30 @@
+package br.com.occhi.suporte.outbox;
+import java.util.List;
+
+import br.com.occhi.suporte.records.EventoOutbox;
+
+/**
+ * Destino dos eventos de pedidos publicados a partir do outbox.
+ * 
+ * Ponto de extensão para integrar sistemas externos (filas, webhooks,
+ * arquivos) sem adicionar latência às alterações de pedidos: a entrega
+ * é feita em segundo plano pelo {@link PublicadorOutbox}.
+ * 
+ * Todos os beans que implementam esta interface recebem os eventos. Um
+ * lote só é removido do outbox quando todos os destinos o aceitam; se
+ * algum lançar uma exceção, o lote inteiro é entregue novamente no
+ * próximo ciclo, inclusive aos destinos que já o haviam recebido.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+public interface DestinoEventos {
+
+	/**
+	 * Entrega um lote de eventos, em ordem crescente de eventoId.
+	 * 
+	 * @param eventos eventos do lote
+	 */
+	void publicar(List<EventoOutbox> eventos);
+}
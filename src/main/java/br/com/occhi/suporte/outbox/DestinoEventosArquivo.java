@@ -0,0 +1,83 @@
+package br.com.occhi.suporte.outbox;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.occhi.suporte.records.EventoOutbox;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Destino de eventos que grava cada evento em um arquivo local, no formato JSON Lines.
+ * 
+ * Útil em testes e ambientes sem integração externa: cada linha do
+ * arquivo é um {@link EventoOutbox}. O lote é gravado e descarregado no
+ * disco antes de ser confirmado ao outbox.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+public class DestinoEventosArquivo implements DestinoEventos {
+
+	/**
+	 * Escritor do arquivo, mantido aberto em modo de acréscimo.
+	 */
+	private final BufferedWriter escritor;
+
+	/**
+	 * Conversor JSON de cada evento.
+	 */
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * Construtor que abre (ou cria) o arquivo de destino.
+	 * 
+	 * @param arquivo caminho do arquivo de eventos
+	 * @param objectMapper conversor JSON
+	 */
+	public DestinoEventosArquivo(Path arquivo, ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+		try {
+			if (arquivo.getParent() != null) {
+				Files.createDirectories(arquivo.getParent());
+			}
+			this.escritor = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8,
+					StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Não foi possível abrir o arquivo de eventos " + arquivo, e);
+		}
+	}
+
+	@Override
+	public synchronized void publicar(List<EventoOutbox> eventos) {
+		try {
+			for (EventoOutbox evento : eventos) {
+				escritor.write(objectMapper.writeValueAsString(evento));
+				escritor.newLine();
+			}
+			escritor.flush();
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Falha ao converter evento do outbox", e);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Falha ao gravar eventos do outbox", e);
+		}
+	}
+
+	/**
+	 * Fecha o arquivo no encerramento da aplicação.
+	 * 
+	 * @throws IOException se o arquivo não puder ser fechado
+	 */
+	@PreDestroy
+	public synchronized void fechar() throws IOException {
+		escritor.close();
+	}
+}
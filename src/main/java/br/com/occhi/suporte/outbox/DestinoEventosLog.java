@@ -0,0 +1,28 @@
+package br.com.occhi.suporte.outbox;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import br.com.occhi.suporte.records.EventoOutbox;
+
+/**
+ * Destino de eventos que apenas registra cada evento no log da aplicação.
+ * 
+ * É o destino padrão, usado enquanto nenhuma integração é configurada.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+public class DestinoEventosLog implements DestinoEventos {
+
+	private static final Logger log = LoggerFactory.getLogger(DestinoEventosLog.class);
+
+	@Override
+	public void publicar(List<EventoOutbox> eventos) {
+		for (EventoOutbox evento : eventos) {
+			log.info("Evento {} ({}) do pedido {}: {}", evento.eventoId(), evento.tipo(), evento.pedidoId(), evento.payload());
+		}
+	}
+}
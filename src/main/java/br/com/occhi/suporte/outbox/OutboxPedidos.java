@@ -0,0 +1,64 @@
+package br.com.occhi.suporte.outbox;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.occhi.suporte.events.PedidoAlteradoEvento;
+
+/**
+ * Grava os eventos de alteração de pedidos no outbox transacional.
+ * 
+ * Diferente dos ouvintes de cache e contadores, que rodam após o commit,
+ * este ouvinte roda de forma síncrona dentro da transação que alterou o
+ * pedido: a linha do outbox é confirmada (ou desfeita) junto com a
+ * alteração. Assim nenhum evento é perdido em uma queda da aplicação, e
+ * nenhum evento é publicado para uma alteração que não foi confirmada.
+ * 
+ * A gravação é um único INSERT; a entrega aos sistemas externos fica a
+ * cargo do {@link PublicadorOutbox}, fora do caminho da requisição.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class OutboxPedidos {
+
+	private static final String SQL_GRAVAR = "INSERT INTO outbox_pedidos (tipo, pedido_id, payload, criado_em) VALUES (?, ?, ?, ?)";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * Construtor para injeção de dependência.
+	 * 
+	 * @param jdbcTemplate acesso JDBC ao datasource da aplicação
+	 * @param objectMapper conversor JSON configurado pelo Spring Boot
+	 */
+	public OutboxPedidos(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Grava o evento no outbox, na transação corrente.
+	 * 
+	 * @param evento evento de alteração do pedido
+	 */
+	@EventListener
+	public void pedidoAlterado(PedidoAlteradoEvento evento) {
+		try {
+			jdbcTemplate.update(SQL_GRAVAR, PedidoAlteradoEvento.class.getSimpleName(), evento.pedidoId(),
+					objectMapper.writeValueAsString(evento), Timestamp.valueOf(LocalDateTime.now()));
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Falha ao converter evento do pedido " + evento.pedidoId(), e);
+		}
+	}
+}
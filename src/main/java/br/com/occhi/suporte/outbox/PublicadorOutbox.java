@@ -0,0 +1,202 @@
+package br.com.occhi.suporte.outbox;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.occhi.suporte.records.EventoOutbox;
+
+/**
+ * Publica em segundo plano os eventos gravados no outbox de pedidos.
+ * 
+ * Periodicamente, drena o outbox em lotes:
+ * 1. Lê até "lote" eventos pendentes, em ordem de eventoId, bloqueando
+ *    as linhas com FOR UPDATE SKIP LOCKED
+ * 2. Entrega o lote a todos os {@link DestinoEventos} registrados
+ * 3. Remove as linhas entregues e confirma a transação
+ * 
+ * Com SKIP LOCKED, várias instâncias da aplicação podem publicar ao mesmo
+ * tempo sem entregar o mesmo lote duas vezes nem esperar umas pelas
+ * outras. Se um destino falhar, a transação é desfeita e o lote volta a
+ * ficar pendente para o próximo ciclo (entrega "ao menos uma vez").
+ * 
+ * As alterações de pedidos apenas inserem linhas no outbox e nunca
+ * disputam bloqueios com o publicador.
+ * 
+ * Enquanto o banco ou a tabela estiverem indisponíveis, o ciclo agendado
+ * espera cada vez mais entre as tentativas (o dobro a cada falha, até
+ * suporte.outbox.max-espera-falha-ms) e registra no log apenas a primeira
+ * falha e a recuperação, em vez de um aviso por ciclo.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class PublicadorOutbox {
+
+	private static final Logger log = LoggerFactory.getLogger(PublicadorOutbox.class);
+
+	private static final String SQL_BUSCAR_PENDENTES = """
+			SELECT evento_id, tipo, pedido_id, payload, criado_em FROM outbox_pedidos
+			ORDER BY evento_id
+			LIMIT ?
+			FOR UPDATE SKIP LOCKED
+			""";
+
+	private static final String SQL_EXCLUIR = "DELETE FROM outbox_pedidos WHERE evento_id = ?";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final TransactionTemplate transacao;
+
+	/**
+	 * Destinos que recebem os eventos.
+	 */
+	private final ObjectProvider<DestinoEventos> destinos;
+
+	/**
+	 * Quantidade máxima de eventos por lote.
+	 */
+	private final int tamanhoLote;
+
+	/**
+	 * Intervalo entre ciclos, em milissegundos; base da espera após falhas.
+	 */
+	private final long intervaloMs;
+
+	/**
+	 * Espera máxima entre tentativas após falhas consecutivas, em milissegundos.
+	 */
+	private final long maxEsperaFalhaMs;
+
+	/**
+	 * Quantidade de ciclos agendados consecutivos que falharam.
+	 */
+	private int falhasConsecutivas;
+
+	/**
+	 * Instante (System.nanoTime) a partir do qual o próximo ciclo pode ser executado.
+	 */
+	private long proximaTentativaNanos;
+
+	/**
+	 * Construtor para injeção de dependência.
+	 * 
+	 * @param jdbcTemplate acesso JDBC ao datasource da aplicação
+	 * @param transactionManager gerenciador de transações
+	 * @param destinos destinos dos eventos
+	 * @param tamanhoLote quantidade máxima de eventos entregues por lote
+	 * @param intervaloMs intervalo entre ciclos de publicação
+	 * @param maxEsperaFalhaMs espera máxima entre tentativas após falhas consecutivas
+	 */
+	public PublicadorOutbox(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+			ObjectProvider<DestinoEventos> destinos, @Value("${suporte.outbox.lote:100}") int tamanhoLote,
+			@Value("${suporte.outbox.intervalo-ms:1000}") long intervaloMs,
+			@Value("${suporte.outbox.max-espera-falha-ms:60000}") long maxEsperaFalhaMs) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transacao = new TransactionTemplate(transactionManager);
+		this.destinos = destinos;
+		this.tamanhoLote = tamanhoLote;
+		this.intervaloMs = intervaloMs;
+		this.maxEsperaFalhaMs = maxEsperaFalhaMs;
+	}
+
+	/**
+	 * Executa um ciclo de publicação, drenando os eventos pendentes.
+	 * 
+	 * Falhas interrompem o ciclo; os eventos não entregues são tentados
+	 * novamente depois da espera atual, que dobra a cada falha consecutiva
+	 * (limitada a maxEsperaFalhaMs) e volta ao intervalo normal após um
+	 * ciclo bem-sucedido. Apenas a primeira falha de uma sequência é
+	 * registrada como aviso; as seguintes ficam em nível debug.
+	 */
+	@Scheduled(initialDelayString = "${suporte.outbox.intervalo-ms:1000}",
+			fixedDelayString = "${suporte.outbox.intervalo-ms:1000}")
+	public synchronized void publicarPendentesAgendado() {
+		if (falhasConsecutivas > 0 && System.nanoTime() - proximaTentativaNanos < 0) {
+			return;
+		}
+		try {
+			publicarPendentes();
+		} catch (RuntimeException e) {
+			registrarFalha(e);
+			return;
+		}
+		if (falhasConsecutivas > 0) {
+			log.info("Publicação do outbox restabelecida após {} tentativas com falha", falhasConsecutivas);
+			falhasConsecutivas = 0;
+		}
+	}
+
+	/**
+	 * Registra a falha de um ciclo agendado e calcula a próxima tentativa.
+	 * 
+	 * @param erro falha do ciclo
+	 */
+	private void registrarFalha(RuntimeException erro) {
+		falhasConsecutivas++;
+		long esperaMs = Math.min(maxEsperaFalhaMs, intervaloMs << Math.min(falhasConsecutivas - 1, 20));
+		proximaTentativaNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(esperaMs);
+		if (falhasConsecutivas == 1) {
+			log.warn("Falha ao publicar eventos do outbox; novas tentativas com espera crescente até {} ms: {}",
+					maxEsperaFalhaMs, erro.getMessage());
+		} else {
+			log.debug("Falha {} ao publicar eventos do outbox; próxima tentativa em {} ms: {}",
+					falhasConsecutivas, esperaMs, erro.getMessage());
+		}
+	}
+
+	/**
+	 * Indica quantos ciclos agendados consecutivos falharam.
+	 * 
+	 * @return quantidade de falhas desde o último ciclo bem-sucedido
+	 */
+	public synchronized int falhasConsecutivas() {
+		return falhasConsecutivas;
+	}
+
+	/**
+	 * Publica todos os eventos pendentes, lote a lote.
+	 * 
+	 * @return quantidade de eventos publicados
+	 */
+	public int publicarPendentes() {
+		int publicados = 0;
+		int lote;
+		do {
+			lote = transacao.execute(status -> publicarLote());
+			publicados += lote;
+		} while (lote == tamanhoLote);
+		return publicados;
+	}
+
+	/**
+	 * Publica um lote de eventos na transação corrente.
+	 * 
+	 * @return quantidade de eventos publicados no lote
+	 */
+	private int publicarLote() {
+		List<EventoOutbox> eventos = jdbcTemplate.query(SQL_BUSCAR_PENDENTES, (rs, linha) -> new EventoOutbox(
+				rs.getLong("evento_id"),
+				rs.getString("tipo"),
+				rs.getLong("pedido_id"),
+				rs.getString("payload"),
+				rs.getTimestamp("criado_em").toLocalDateTime()), tamanhoLote);
+		if (eventos.isEmpty()) {
+			return 0;
+		}
+
+		destinos.orderedStream().forEach(destino -> destino.publicar(eventos));
+		jdbcTemplate.batchUpdate(SQL_EXCLUIR, eventos.stream().map(evento -> new Object[] { evento.eventoId() }).toList());
+		return eventos.size();
+	}
+}
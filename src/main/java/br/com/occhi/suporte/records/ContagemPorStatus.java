@@ -0,0 +1,17 @@
+package br.com.occhi.suporte.records;
+import br.com.occhi.suporte.enums.StatusPedido;
+
+/**
+ * Record com a quantidade de pedidos de um status.
+ * 
+ * Resultado da consulta agrupada por status, utilizada para inicializar e
+ * reconciliar os contadores de pedidos mantidos em memória.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ * 
+ * @param status status do pedido
+ * @param quantidade quantidade de pedidos com o status
+ */
+public record ContagemPorStatus(StatusPedido status, Long quantidade) {}
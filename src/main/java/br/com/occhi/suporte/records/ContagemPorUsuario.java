@@ -0,0 +1,16 @@
+package br.com.occhi.suporte.records;
+
+/**
+ * Record com a quantidade de pedidos de um usuário.
+ * 
+ * Resultado da consulta agrupada por usuário, utilizada para inicializar e
+ * reconciliar os contadores de pedidos mantidos em memória.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ * 
+ * @param usuarioId identificador do usuário
+ * @param quantidade quantidade de pedidos do usuário
+ */
+public record ContagemPorUsuario(Long usuarioId, Long quantidade) {}
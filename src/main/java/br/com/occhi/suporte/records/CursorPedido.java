@@ -0,0 +1,61 @@
+package br.com.occhi.suporte.records;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import br.com.occhi.suporte.exceptions.CursorInvalidoException;
+
+/**
+ * Record com a posição de continuação da listagem de pedidos.
+ * 
+ * A listagem é ordenada por (criado_em, pedido_id); o cursor guarda esse
+ * par do último pedido entregue. Para clientes e para o assistente de IA
+ * ele é um texto opaco (Base64 URL-safe), que deve ser devolvido como está.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ * 
+ * @param criadoEm data de criação do último pedido entregue
+ * @param pedidoId identificador do último pedido entregue
+ */
+public record CursorPedido(LocalDateTime criadoEm, Long pedidoId) {
+
+	/**
+	 * Separador entre a data e o identificador no texto do cursor.
+	 */
+	private static final String SEPARADOR = "|";
+
+	/**
+	 * Codifica o cursor como texto opaco.
+	 * 
+	 * @return cursor codificado
+	 */
+	public String codificar() {
+		String texto = criadoEm + SEPARADOR + pedidoId;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decodifica um cursor recebido de um cliente.
+	 * 
+	 * @param cursor cursor codificado, ou null/vazio para o início da listagem
+	 * @return posição decodificada, ou null para o início da listagem
+	 * @throws CursorInvalidoException se o cursor não puder ser decodificado
+	 */
+	public static CursorPedido decodificar(String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return null;
+		}
+		try {
+			String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			int separador = texto.lastIndexOf(SEPARADOR);
+			return new CursorPedido(
+					LocalDateTime.parse(texto.substring(0, separador)),
+					Long.valueOf(texto.substring(separador + 1)));
+		} catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+			throw new CursorInvalidoException(cursor);
+		}
+	}
+}
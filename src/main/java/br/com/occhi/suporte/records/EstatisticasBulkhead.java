@@ -0,0 +1,32 @@
+package br.com.occhi.suporte.records;
+
+/**
+ * Record que representa um retrato do estado do bulkhead de chamadas ao LLM.
+ * 
+ * Utilizado para monitorar a pressão sobre o provedor de IA, permitindo
+ * identificar filas crescentes, tempos de espera elevados e rejeições
+ * por sobrecarga.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ * 
+ * @param provedor nome do provedor de IA protegido pelo bulkhead
+ * @param maxConcorrencia quantidade máxima de chamadas simultâneas permitidas
+ * @param emExecucao quantidade de chamadas em execução no momento
+ * @param emFila quantidade de chamadas aguardando uma vaga no momento
+ * @param admitidas total de chamadas admitidas desde o início da aplicação
+ * @param rejeitadas total de chamadas rejeitadas (fila cheia ou timeout)
+ * @param esperaMediaMs tempo médio de espera na fila, em milissegundos
+ * @param esperaMaximaMs maior tempo de espera na fila observado, em milissegundos
+ */
+public record EstatisticasBulkhead(
+		String provedor,
+		int maxConcorrencia,
+		int emExecucao,
+		int emFila,
+		long admitidas,
+		long rejeitadas,
+		double esperaMediaMs,
+		double esperaMaximaMs
+) {}
@@ -0,0 +1,29 @@
+package br.com.occhi.suporte.records;
+
+/**
+ * Record que representa um retrato do cache de respostas do assistente.
+ * 
+ * Utilizado para medir quantas chamadas ao LLM estão sendo economizadas
+ * pelas perguntas frequentes respondidas diretamente do cache.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ * 
+ * @param habilitado indica se o cache de respostas está ativo
+ * @param respostasEmCache quantidade aproximada de respostas armazenadas
+ * @param acertosExatos respostas servidas pelo texto normalizado da pergunta
+ * @param acertosSemelhantes respostas servidas por similaridade de embeddings
+ * @param falhas perguntas elegíveis que precisaram chamar o LLM
+ * @param naoArmazenadas respostas descartadas por terem chamado ferramentas que alteram dados ou recebem os dados do cliente
+ * @param taxaAcerto proporção de perguntas elegíveis respondidas pelo cache (0 a 1)
+ */
+public record EstatisticasCacheRespostas(
+		boolean habilitado,
+		long respostasEmCache,
+		long acertosExatos,
+		long acertosSemelhantes,
+		long falhas,
+		long naoArmazenadas,
+		double taxaAcerto
+) {}
@@ -0,0 +1,22 @@
+package br.com.occhi.suporte.records;
+
+/**
+ * Record que representa um retrato dos contadores de compactação das memórias de chat.
+ *
+ * Utilizado para acompanhar quantas sessões tiveram turnos antigos
+ * substituídos por um resumo e quantos tokens deixaram de ser enviados
+ * ao modelo a cada turno.
+ *
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ *
+ * @param concluidas quantidade de compactações aplicadas às janelas
+ * @param falhas quantidade de compactações canceladas por falha ao gerar o resumo
+ * @param tokensRemovidos total de tokens de mensagens substituídas por resumos
+ */
+public record EstatisticasCompactacao(
+		long concluidas,
+		long falhas,
+		long tokensRemovidos
+) {}
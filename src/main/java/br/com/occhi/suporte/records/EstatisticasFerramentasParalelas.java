@@ -0,0 +1,20 @@
+package br.com.occhi.suporte.records;
+
+/**
+ * Record que representa um retrato dos contadores de execução concorrente das ferramentas.
+ *
+ * Utilizado para acompanhar com que frequência o modelo pede várias
+ * leituras em uma mesma resposta e quantas delas deixaram de esperar
+ * pelas anteriores.
+ *
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ *
+ * @param trechosParalelos trechos de leituras consecutivas executados em paralelo
+ * @param ferramentasAntecipadas ferramentas iniciadas em virtual threads junto com a primeira do trecho
+ */
+public record EstatisticasFerramentasParalelas(
+		long trechosParalelos,
+		long ferramentasAntecipadas
+) {}
@@ -0,0 +1,25 @@
+package br.com.occhi.suporte.records;
+
+/**
+ * Record que representa um retrato de uma região do cache de segundo nível do Hibernate.
+ * 
+ * Utilizado para medir quantas leituras de produtos e de itens de pedidos
+ * estão sendo atendidas pelo cache em vez do banco de dados.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ * 
+ * @param regiao nome da região do cache
+ * @param acertos leituras atendidas pelo cache
+ * @param falhas leituras que precisaram ir ao banco
+ * @param insercoes entradas gravadas no cache
+ * @param taxaAcerto proporção de leituras atendidas pelo cache (0 a 1)
+ */
+public record EstatisticasRegiaoCache(
+		String regiao,
+		long acertos,
+		long falhas,
+		long insercoes,
+		double taxaAcerto
+) {}
@@ -0,0 +1,25 @@
+package br.com.occhi.suporte.records;
+
+/**
+ * Record que representa um retrato do registro de memórias de sessão.
+ * 
+ * Utilizado para acompanhar o consumo de memória das conversas e a
+ * eficiência do cache de sessões mantido no heap.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ * 
+ * @param sessoesAtivas quantidade aproximada de sessões mantidas em memória
+ * @param tokensRetidos total de tokens retidos pelas sessões em memória, ou -1 se o orçamento de tokens estiver desabilitado
+ * @param acertos quantidade de leituras atendidas pelo registro
+ * @param falhas quantidade de leituras que precisaram ir ao banco de dados
+ * @param evicoes quantidade de sessões removidas por tamanho, orçamento ou inatividade
+ */
+public record EstatisticasSessoes(
+		long sessoesAtivas,
+		long tokensRetidos,
+		long acertos,
+		long falhas,
+		long evicoes
+) {}
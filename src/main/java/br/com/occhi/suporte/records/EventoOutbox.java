@@ -0,0 +1,27 @@
+package br.com.occhi.suporte.records;
+import java.time.LocalDateTime;
+
+/**
+ * Record que representa um evento gravado no outbox de pedidos.
+ * 
+ * É a unidade entregue aos destinos de eventos (sistemas externos). A
+ * entrega é "ao menos uma vez": o mesmo evento pode ser entregue mais de
+ * uma vez após falhas, e o eventoId permite descartar repetições.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ * 
+ * @param eventoId identificador único e crescente do evento
+ * @param tipo tipo do evento (ex: PedidoAlteradoEvento)
+ * @param pedidoId identificador do pedido alterado
+ * @param payload conteúdo do evento em JSON
+ * @param criadoEm momento em que o evento foi gravado
+ */
+public record EventoOutbox(
+		Long eventoId,
+		String tipo,
+		Long pedidoId,
+		String payload,
+		LocalDateTime criadoEm
+) {}
@@ -0,0 +1,25 @@
+package br.com.occhi.suporte.records;
+
+/**
+ * Record com a linha devolvida pela atualização condicional de cancelamento.
+ * 
+ * Resultado bruto da consulta nativa do PedidoRepository: informa o status
+ * encontrado no momento do cancelamento e se a atualização foi aplicada.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ * 
+ * @param pedidoId identificador do pedido
+ * @param usuarioId identificador do usuário proprietário
+ * @param statusAnterior status do pedido antes da solicitação (nome do enum StatusPedido)
+ * @param versao versão do pedido após a solicitação
+ * @param cancelado indica se o pedido foi cancelado por esta solicitação
+ */
+public record LinhaCancelamentoPedido(
+		Long pedidoId,
+		Long usuarioId,
+		String statusAnterior,
+		Long versao,
+		Boolean cancelado
+) {}
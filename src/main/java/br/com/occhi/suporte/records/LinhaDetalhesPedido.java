@@ -0,0 +1,39 @@
+package br.com.occhi.suporte.records;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import br.com.occhi.suporte.enums.StatusPedido;
+
+/**
+ * Record com uma linha da listagem de pedidos de um usuário.
+ * 
+ * Cada linha combina os dados de um pedido com o nome de um de seus
+ * produtos (null se o pedido não tiver produtos). As linhas de um mesmo
+ * pedido chegam consecutivas e são agrupadas em um DetalhesPedido.
+ * 
+ * Por ser uma projeção (e não uma entidade), as linhas não ficam retidas
+ * no contexto de persistência durante a leitura em streaming.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ * 
+ * @param pedidoId identificador do pedido
+ * @param usuarioId identificador do usuário
+ * @param primeiroNome primeiro nome do usuário
+ * @param ultimoNome último nome do usuário
+ * @param nomeProduto nome de um produto do pedido
+ * @param status status do pedido
+ * @param valorTotal valor total do pedido
+ * @param criadoEm data de criação do pedido
+ */
+public record LinhaDetalhesPedido(
+		Long pedidoId,
+		Long usuarioId,
+		String primeiroNome,
+		String ultimoNome,
+		String nomeProduto,
+		StatusPedido status,
+		BigDecimal valorTotal,
+		LocalDateTime criadoEm
+) {}
@@ -0,0 +1,21 @@
+package br.com.occhi.suporte.records;
+import java.util.List;
+
+/**
+ * Record com uma página da listagem de pedidos de um usuário.
+ * 
+ * A paginação é por chave (keyset): o cursor aponta para o último pedido
+ * da página, e a próxima página começa logo depois dele. O custo de cada
+ * página é o mesmo, não importa quantas já foram lidas.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ * 
+ * @param pedidos resumos dos pedidos da página, do mais antigo ao mais recente
+ * @param proximoCursor cursor da próxima página, ou null se esta for a última
+ */
+public record PaginaPedidos(
+		List<ResumoPedido> pedidos,
+		String proximoCursor
+) {}
@@ -0,0 +1,28 @@
+package br.com.occhi.suporte.records;
+import br.com.occhi.suporte.enums.SituacaoCancelamento;
+import br.com.occhi.suporte.enums.StatusPedido;
+
+/**
+ * Record que representa o resultado de uma solicitação de cancelamento de pedido.
+ * 
+ * Retornado pela ferramenta de cancelamento do assistente. Além da
+ * situação (cancelado, já cancelado, não cancelável ou não encontrado),
+ * informa o status antes e depois da solicitação e a versão do pedido.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ * 
+ * @param pedidoId identificador do pedido solicitado
+ * @param situacao resultado da solicitação
+ * @param statusAnterior status do pedido antes da solicitação (null se não encontrado)
+ * @param statusAtual status do pedido após a solicitação (null se não encontrado)
+ * @param versao versão do pedido após a solicitação (null se não encontrado)
+ */
+public record ResultadoCancelamento(
+		Long pedidoId,
+		SituacaoCancelamento situacao,
+		StatusPedido statusAnterior,
+		StatusPedido statusAtual,
+		Long versao
+) {}
@@ -0,0 +1,29 @@
+package br.com.occhi.suporte.records;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import br.com.occhi.suporte.enums.StatusPedido;
+
+/**
+ * Record com o resumo de um pedido.
+ * 
+ * Versão compacta de DetalhesPedido usada nas páginas entregues ao
+ * assistente de IA: omite os dados do usuário e os produtos para manter
+ * o contexto do modelo pequeno. Os detalhes completos podem ser obtidos
+ * depois pelas ferramentas de detalhes de pedido.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ * 
+ * @param pedidoId identificador do pedido
+ * @param status status do pedido
+ * @param valorTotal valor total do pedido
+ * @param criadoEm data de criação do pedido
+ */
+public record ResumoPedido(
+		Long pedidoId,
+		StatusPedido status,
+		BigDecimal valorTotal,
+		LocalDateTime criadoEm
+) {}
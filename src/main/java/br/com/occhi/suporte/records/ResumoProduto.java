@@ -0,0 +1,24 @@
+package br.com.occhi.suporte.records;
+import java.math.BigDecimal;
+
+/**
+ * Record com os dados de catálogo de um produto.
+ * 
+ * Entregue ao assistente de IA nas buscas de produtos, sem a lista de
+ * pedidos que contêm o produto.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ * 
+ * @param produtoId identificador do produto
+ * @param nome nome do produto
+ * @param descricao descrição do produto
+ * @param preco preço unitário do produto
+ */
+public record ResumoProduto(
+		Long produtoId,
+		String nome,
+		String descricao,
+		BigDecimal preco
+) {}
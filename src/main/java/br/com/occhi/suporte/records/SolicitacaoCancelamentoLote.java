@@ -0,0 +1,75 @@
+package br.com.occhi.suporte.records;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import br.com.occhi.suporte.enums.StatusPedido;
+import br.com.occhi.suporte.exceptions.LimiteConsultaExcedidoException;
+import br.com.occhi.suporte.exceptions.SolicitacaoCancelamentoInvalidaException;
+
+/**
+ * Record com uma solicitação de cancelamento de pedidos em lote.
+ * 
+ * Usada pela operação para cancelar muitos pedidos de uma vez (ex: falha
+ * de um fornecedor). Os pedidos podem ser informados de duas formas,
+ * mutuamente exclusivas:
+ * - Por identificadores (pedidoIds), até {@link #MAX_PEDIDOS} por solicitação
+ * - Por filtro: status e intervalo de criação [criadoDe, criadoAte)
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ * 
+ * @param pedidoIds identificadores dos pedidos a cancelar
+ * @param status status dos pedidos a cancelar (filtro)
+ * @param criadoDe início do intervalo de criação, inclusivo (filtro)
+ * @param criadoAte fim do intervalo de criação, exclusivo (filtro)
+ */
+public record SolicitacaoCancelamentoLote(
+		List<Long> pedidoIds,
+		StatusPedido status,
+		LocalDateTime criadoDe,
+		LocalDateTime criadoAte
+) {
+
+	/**
+	 * Quantidade máxima de identificadores em uma solicitação.
+	 */
+	public static final int MAX_PEDIDOS = 10_000;
+
+	/**
+	 * Indica se a solicitação seleciona os pedidos por filtro.
+	 * 
+	 * @return true se os pedidos são selecionados por status e datas
+	 */
+	public boolean porFiltro() {
+		return pedidoIds == null || pedidoIds.isEmpty();
+	}
+
+	/**
+	 * Valida a solicitação.
+	 * 
+	 * @throws SolicitacaoCancelamentoInvalidaException se a solicitação for incompleta ou ambígua
+	 * @throws LimiteConsultaExcedidoException se forem informados pedidos demais
+	 */
+	public void validar() {
+		boolean possuiFiltro = status != null || criadoDe != null || criadoAte != null;
+		if (!porFiltro()) {
+			if (possuiFiltro) {
+				throw new SolicitacaoCancelamentoInvalidaException(
+						"Informe os pedidos ou o filtro (status e datas), não os dois.");
+			}
+			if (pedidoIds.size() > MAX_PEDIDOS) {
+				throw new LimiteConsultaExcedidoException(
+						"É possível cancelar no máximo " + MAX_PEDIDOS + " pedidos por solicitação.");
+			}
+			return;
+		}
+		if (status == null || criadoDe == null || criadoAte == null) {
+			throw new SolicitacaoCancelamentoInvalidaException(
+					"Informe os pedidos ou o filtro completo: status, criadoDe e criadoAte.");
+		}
+		if (!criadoDe.isBefore(criadoAte)) {
+			throw new SolicitacaoCancelamentoInvalidaException("criadoDe deve ser anterior a criadoAte.");
+		}
+	}
+}
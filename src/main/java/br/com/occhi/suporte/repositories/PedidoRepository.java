@@ -1,12 +1,26 @@
 package br.com.occhi.suporte.repositories;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import br.com.occhi.suporte.entities.Pedido;
 import br.com.occhi.suporte.enums.StatusPedido;
+import br.com.occhi.suporte.records.ContagemPorStatus;
+import br.com.occhi.suporte.records.ContagemPorUsuario;
+import br.com.occhi.suporte.records.LinhaCancelamentoPedido;
+import br.com.occhi.suporte.records.LinhaDetalhesPedido;
+import br.com.occhi.suporte.records.ResumoPedido;
+import jakarta.persistence.QueryHint;
 
 /**
  * Repositório JPA para operações de acesso a dados da entidade Pedido.
@@ -22,6 +36,7 @@ import br.com.occhi.suporte.enums.StatusPedido;
  * - Consultas customizadas usando @Query com JPQL
  * - Métodos de contagem e agregação
  * - Consultas com validação de segurança
+ * - Atualização condicional (cancelamento) em uma única instrução
  * 
  * @author Ailton Occhi
  * @version 1.0
@@ -94,11 +109,296 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
 	 * - O pedido não pertencer ao usuário especificado
 	 * - O nome fornecido não coincidir com o proprietário
 	 * 
+	 * O usuário é carregado na mesma consulta (fetch join). Os produtos não
+	 * entram no join: vêm do cache de segundo nível (coleção
+	 * Pedido.produtos e entidades Produto) e só são lidos do banco, em
+	 * lote, quando ainda não estão em cache.
+	 * 
 	 * @param pedidoId identificador único do pedido
 	 * @param primeiroNome primeiro nome do usuário para validação
 	 * @param ultimoNome último nome do usuário para validação
-	 * @return entidade Pedido completa se as validações passarem, null caso contrário
+	 * @return entidade Pedido com o usuário carregado se as validações passarem, null caso contrário
 	 */
-	@Query("SELECT p FROM Pedido p WHERE p.pedidoId = :pedidoId AND p.usuario.primeiroNome = :primeiroNome AND p.usuario.ultimoNome = :ultimoNome")
+	@Query("""
+			SELECT p FROM Pedido p
+			JOIN FETCH p.usuario u
+			WHERE p.pedidoId = :pedidoId AND u.primeiroNome = :primeiroNome AND u.ultimoNome = :ultimoNome
+			""")
 	Pedido buscarDetalhesPedidoPorIdEUsuario(Long pedidoId, String primeiroNome, String ultimoNome);
-}
\ No newline at end of file
+
+	/**
+	 * Busca os detalhes de vários pedidos de um mesmo usuário em uma única consulta.
+	 * 
+	 * Versão em lote de {@link #buscarDetalhesPedidoPorIdEUsuario}: todos os
+	 * pedidos são filtrados por uma lista IN e carregados junto com o usuário
+	 * (fetch join), em uma única ida ao banco. As coleções de produtos fora
+	 * do cache de segundo nível são carregadas depois, todas em uma consulta.
+	 * 
+	 * Pedidos inexistentes ou que não pertençam ao usuário informado são
+	 * simplesmente omitidos do resultado.
+	 * 
+	 * @param pedidoIds identificadores dos pedidos
+	 * @param primeiroNome primeiro nome do usuário para validação
+	 * @param ultimoNome último nome do usuário para validação
+	 * @return pedidos encontrados, com o usuário carregado
+	 */
+	@Query("""
+			SELECT p FROM Pedido p
+			JOIN FETCH p.usuario u
+			WHERE p.pedidoId IN :pedidoIds AND u.primeiroNome = :primeiroNome AND u.ultimoNome = :ultimoNome
+			""")
+	List<Pedido> buscarDetalhesPedidosPorIdsEUsuario(Collection<Long> pedidoIds, String primeiroNome, String ultimoNome);
+
+	/**
+	 * Conta os pedidos agrupados por status em uma única consulta.
+	 * 
+	 * Utilizada para inicializar e reconciliar os contadores de pedidos
+	 * mantidos em memória.
+	 * 
+	 * @return quantidade de pedidos de cada status existente
+	 */
+	@Query("SELECT new br.com.occhi.suporte.records.ContagemPorStatus(p.status, COUNT(p)) FROM Pedido p GROUP BY p.status")
+	List<ContagemPorStatus> contarPedidosAgrupadosPorStatus();
+
+	/**
+	 * Conta os pedidos agrupados por usuário em uma única consulta.
+	 * 
+	 * Utilizada para inicializar e reconciliar os contadores de pedidos
+	 * mantidos em memória.
+	 * 
+	 * @return quantidade de pedidos de cada usuário que possui pedidos
+	 */
+	@Query("SELECT new br.com.occhi.suporte.records.ContagemPorUsuario(p.usuario.usuarioId, COUNT(p)) FROM Pedido p GROUP BY p.usuario.usuarioId")
+	List<ContagemPorUsuario> contarPedidosAgrupadosPorUsuario();
+
+	/**
+	 * Lê em streaming os pedidos de um usuário, com seus produtos.
+	 * 
+	 * Retorna uma linha por produto de cada pedido (ou uma linha com produto
+	 * null para pedidos sem produtos), ordenadas por (criado_em, pedido_id),
+	 * de forma que as linhas de um mesmo pedido chegam consecutivas.
+	 * 
+	 * As linhas são buscadas do banco em lotes (fetch size) conforme o Stream
+	 * é consumido, mantendo o uso de memória constante mesmo para usuários
+	 * com dezenas de milhares de pedidos. O Stream deve ser consumido e
+	 * fechado dentro de uma transação.
+	 * 
+	 * Pedidos sem data de criação não entram na listagem, pois não têm
+	 * posição na ordenação por chave.
+	 * 
+	 * @param usuarioId identificador do usuário
+	 * @param primeiroNome primeiro nome do usuário para validação
+	 * @param ultimoNome último nome do usuário para validação
+	 * @return linhas dos pedidos do usuário, na ordem da listagem
+	 */
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query("""
+			SELECT new br.com.occhi.suporte.records.LinhaDetalhesPedido(
+				p.pedidoId, p.usuario.usuarioId, p.usuario.primeiroNome, p.usuario.ultimoNome, pr.nome, p.status, p.valorTotal, p.criadoEm)
+			FROM Pedido p
+			LEFT JOIN p.produtos pr
+			WHERE p.usuario.usuarioId = :usuarioId AND p.usuario.primeiroNome = :primeiroNome AND p.usuario.ultimoNome = :ultimoNome
+				AND p.criadoEm IS NOT NULL
+			ORDER BY p.criadoEm, p.pedidoId
+			""")
+	Stream<LinhaDetalhesPedido> lerPedidosPorUsuario(Long usuarioId, String primeiroNome, String ultimoNome);
+
+	/**
+	 * Lê em streaming os pedidos de um usuário posteriores a uma posição.
+	 * 
+	 * Igual a {@link #lerPedidosPorUsuario}, mas começa logo depois do
+	 * pedido (criadoEm, pedidoId) informado, sem ler nem descartar as
+	 * linhas anteriores (paginação por chave).
+	 * 
+	 * @param usuarioId identificador do usuário
+	 * @param primeiroNome primeiro nome do usuário para validação
+	 * @param ultimoNome último nome do usuário para validação
+	 * @param criadoEm data de criação do último pedido já entregue
+	 * @param pedidoId identificador do último pedido já entregue
+	 * @return linhas dos pedidos seguintes, na ordem da listagem
+	 */
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query("""
+			SELECT new br.com.occhi.suporte.records.LinhaDetalhesPedido(
+				p.pedidoId, p.usuario.usuarioId, p.usuario.primeiroNome, p.usuario.ultimoNome, pr.nome, p.status, p.valorTotal, p.criadoEm)
+			FROM Pedido p
+			LEFT JOIN p.produtos pr
+			WHERE p.usuario.usuarioId = :usuarioId AND p.usuario.primeiroNome = :primeiroNome AND p.usuario.ultimoNome = :ultimoNome
+				AND (p.criadoEm > :criadoEm OR (p.criadoEm = :criadoEm AND p.pedidoId > :pedidoId))
+			ORDER BY p.criadoEm, p.pedidoId
+			""")
+	Stream<LinhaDetalhesPedido> lerPedidosPorUsuarioApos(Long usuarioId, String primeiroNome, String ultimoNome,
+			LocalDateTime criadoEm, Long pedidoId);
+
+	/**
+	 * Busca a primeira página de resumos dos pedidos de um usuário.
+	 * 
+	 * Os pedidos são ordenados por (criado_em, pedido_id), do mais antigo
+	 * ao mais recente. Pedidos sem data de criação não entram na listagem.
+	 * 
+	 * @param usuarioId identificador do usuário
+	 * @param primeiroNome primeiro nome do usuário para validação
+	 * @param ultimoNome último nome do usuário para validação
+	 * @param limite quantidade máxima de pedidos retornados
+	 * @return resumos dos primeiros pedidos do usuário
+	 */
+	@Query("""
+			SELECT new br.com.occhi.suporte.records.ResumoPedido(p.pedidoId, p.status, p.valorTotal, p.criadoEm)
+			FROM Pedido p
+			WHERE p.usuario.usuarioId = :usuarioId AND p.usuario.primeiroNome = :primeiroNome AND p.usuario.ultimoNome = :ultimoNome
+				AND p.criadoEm IS NOT NULL
+			ORDER BY p.criadoEm, p.pedidoId
+			""")
+	List<ResumoPedido> buscarResumosPedidosPorUsuario(Long usuarioId, String primeiroNome, String ultimoNome, Limit limite);
+
+	/**
+	 * Busca a página de resumos dos pedidos de um usuário posteriores a uma posição.
+	 * 
+	 * Igual a {@link #buscarResumosPedidosPorUsuario}, mas começa logo depois
+	 * do pedido (criadoEm, pedidoId) informado. O custo é o mesmo para
+	 * qualquer página, ao contrário da paginação por OFFSET.
+	 * 
+	 * @param usuarioId identificador do usuário
+	 * @param primeiroNome primeiro nome do usuário para validação
+	 * @param ultimoNome último nome do usuário para validação
+	 * @param criadoEm data de criação do último pedido já entregue
+	 * @param pedidoId identificador do último pedido já entregue
+	 * @param limite quantidade máxima de pedidos retornados
+	 * @return resumos dos pedidos seguintes
+	 */
+	@Query("""
+			SELECT new br.com.occhi.suporte.records.ResumoPedido(p.pedidoId, p.status, p.valorTotal, p.criadoEm)
+			FROM Pedido p
+			WHERE p.usuario.usuarioId = :usuarioId AND p.usuario.primeiroNome = :primeiroNome AND p.usuario.ultimoNome = :ultimoNome
+				AND (p.criadoEm > :criadoEm OR (p.criadoEm = :criadoEm AND p.pedidoId > :pedidoId))
+			ORDER BY p.criadoEm, p.pedidoId
+			""")
+	List<ResumoPedido> buscarResumosPedidosPorUsuarioApos(Long usuarioId, String primeiroNome, String ultimoNome,
+			LocalDateTime criadoEm, Long pedidoId, Limit limite);
+
+	/**
+	 * Cancela um pedido com validação de usuário em uma única instrução SQL.
+	 * 
+	 * A consulta nativa (PostgreSQL) localiza o pedido do usuário e aplica
+	 * um UPDATE condicional, que só altera pedidos com status NOVO ou
+	 * EM_ANDAMENTO e incrementa a coluna de versão. O RETURNING devolve,
+	 * na mesma ida ao banco, o status anterior e se o cancelamento foi
+	 * aplicado.
+	 * 
+	 * O FOR UPDATE da primeira etapa bloqueia a linha apenas durante esta
+	 * instrução (o UPDATE bloquearia de qualquer forma) e garante que o
+	 * status anterior devolvido é o que o UPDATE avaliou: com dois
+	 * cancelamentos simultâneos, apenas um é aplicado e o outro enxerga o
+	 * pedido já CANCELADO.
+	 * 
+	 * Não é anotada com @Modifying porque devolve linhas (RETURNING); a
+	 * transação de escrita é declarada explicitamente, já que os métodos
+	 * de consulta herdam transações somente leitura.
+	 * 
+	 * @param pedidoId identificador único do pedido
+	 * @param primeiroNome primeiro nome do usuário para validação
+	 * @param ultimoNome último nome do usuário para validação
+	 * @return linha com o resultado, ou null se o pedido não existir ou não pertencer ao usuário
+	 */
+	@Transactional
+	@Query(nativeQuery = true, value = """
+			WITH alvo AS (
+				SELECT p.pedido_id, p.usuario_id, p.status, p.versao
+				FROM pedidos p
+				JOIN usuarios u ON u.usuario_id = p.usuario_id
+				WHERE p.pedido_id = :pedidoId AND u.primeiro_nome = :primeiroNome AND u.ultimo_nome = :ultimoNome
+				FOR UPDATE OF p
+			), cancelado AS (
+				UPDATE pedidos p SET status = 'CANCELADO', versao = p.versao + 1
+				FROM alvo a
+				WHERE p.pedido_id = a.pedido_id AND p.status IN ('NOVO', 'EM_ANDAMENTO')
+				RETURNING p.pedido_id, p.versao
+			)
+			SELECT CAST(a.pedido_id AS BIGINT) AS "pedidoId", CAST(a.usuario_id AS BIGINT) AS "usuarioId", a.status AS "statusAnterior",
+				COALESCE(c.versao, a.versao) AS "versao", (c.pedido_id IS NOT NULL) AS "cancelado"
+			FROM alvo a
+			LEFT JOIN cancelado c ON c.pedido_id = a.pedido_id
+			""")
+	LinhaCancelamentoPedido cancelarPedidoSeCancelavel(Long pedidoId, String primeiroNome, String ultimoNome);
+
+	/**
+	 * Cancela vários pedidos em uma única instrução SQL.
+	 * 
+	 * Versão em lote de {@link #cancelarPedidoSeCancelavel}, usada pelo
+	 * cancelamento em lote da operação (sem validação de usuário): um único
+	 * UPDATE condicional cancela todos os pedidos NOVO ou EM_ANDAMENTO da
+	 * lista e devolve uma linha por pedido encontrado.
+	 * 
+	 * As linhas são bloqueadas em ordem de pedido_id, evitando deadlocks
+	 * entre lotes concorrentes, e apenas durante a transação do lote.
+	 * Pedidos inexistentes são omitidos do resultado.
+	 * 
+	 * @param pedidoIds identificadores dos pedidos do lote
+	 * @return uma linha por pedido encontrado, com o resultado do cancelamento
+	 */
+	@Transactional
+	@Query(nativeQuery = true, value = """
+			WITH alvo AS (
+				SELECT p.pedido_id, p.usuario_id, p.status, p.versao
+				FROM pedidos p
+				WHERE p.pedido_id IN (:pedidoIds)
+				ORDER BY p.pedido_id
+				FOR UPDATE
+			), cancelado AS (
+				UPDATE pedidos p SET status = 'CANCELADO', versao = p.versao + 1
+				FROM alvo a
+				WHERE p.pedido_id = a.pedido_id AND p.status IN ('NOVO', 'EM_ANDAMENTO')
+				RETURNING p.pedido_id, p.versao
+			)
+			SELECT CAST(a.pedido_id AS BIGINT) AS "pedidoId", CAST(a.usuario_id AS BIGINT) AS "usuarioId", a.status AS "statusAnterior",
+				COALESCE(c.versao, a.versao) AS "versao", (c.pedido_id IS NOT NULL) AS "cancelado"
+			FROM alvo a
+			LEFT JOIN cancelado c ON c.pedido_id = a.pedido_id
+			""")
+	List<LinhaCancelamentoPedido> cancelarPedidosSeCancelaveis(Collection<Long> pedidoIds);
+
+	/**
+	 * Busca a próxima página de identificadores de pedidos de um status,
+	 * criados em um intervalo.
+	 * 
+	 * Usada pelo cancelamento em lote por filtro: os pedidos são percorridos
+	 * em ordem de pedido_id, a partir do último identificador já processado
+	 * (paginação por chave), de forma que cada lote é lido e cancelado em
+	 * sua própria transação.
+	 * 
+	 * @param status status dos pedidos
+	 * @param criadoDe início do intervalo de criação (inclusivo)
+	 * @param criadoAte fim do intervalo de criação (exclusivo)
+	 * @param pedidoId último identificador já processado (0 para o início)
+	 * @param limite quantidade máxima de identificadores retornados
+	 * @return identificadores dos pedidos seguintes, em ordem crescente
+	 */
+	@Query("""
+			SELECT p.pedidoId FROM Pedido p
+			WHERE p.status = :status AND p.criadoEm >= :criadoDe AND p.criadoEm < :criadoAte AND p.pedidoId > :pedidoId
+			ORDER BY p.pedidoId
+			""")
+	List<Long> buscarIdsPedidosPorStatusECriacaoApos(StatusPedido status, LocalDateTime criadoDe, LocalDateTime criadoAte,
+			Long pedidoId, Limit limite);
+
+	/**
+	 * Conta os pedidos de um status criados em um intervalo.
+	 * 
+	 * Usada para recusar, antes de qualquer alteração, cancelamentos em lote
+	 * por filtro que atingiriam mais pedidos do que o permitido.
+	 * 
+	 * @param status status dos pedidos
+	 * @param criadoDe início do intervalo de criação (inclusivo)
+	 * @param criadoAte fim do intervalo de criação (exclusivo)
+	 * @return quantidade de pedidos que atendem ao filtro
+	 */
+	@Query("""
+			SELECT COUNT(p) FROM Pedido p
+			WHERE p.status = :status AND p.criadoEm >= :criadoDe AND p.criadoEm < :criadoAte
+			""")
+	long contarPedidosPorStatusECriacao(StatusPedido status, LocalDateTime criadoDe, LocalDateTime criadoAte);
+}
@@ -0,0 +1,51 @@
+package br.com.occhi.suporte.repositories;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import br.com.occhi.suporte.entities.Produto;
+import jakarta.persistence.QueryHint;
+
+/**
+ * Repositório JPA para consultas ao catálogo de produtos.
+ * 
+ * As consultas de produtos são cacheáveis: o resultado (identificadores
+ * dos produtos) fica na região {@value #REGIAO_CONSULTAS} do cache de
+ * consultas do Hibernate, e as entidades na região do cache de segundo
+ * nível de Produto. O Hibernate descarta os resultados em cache sempre
+ * que a tabela produtos é alterada pelo JPA.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@Repository
+public interface ProdutoRepository extends JpaRepository<Produto, Long> {
+
+	/**
+	 * Região do cache de consultas de produtos.
+	 */
+	String REGIAO_CONSULTAS = "consultas-produtos";
+
+	/**
+	 * Busca produtos cujo nome contenha o termo informado, sem diferenciar maiúsculas.
+	 * 
+	 * @param termo trecho do nome do produto
+	 * @param limite quantidade máxima de produtos
+	 * @return produtos encontrados, ordenados por nome
+	 */
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = REGIAO_CONSULTAS) })
+	@Query("""
+			SELECT p FROM Produto p
+			WHERE LOWER(p.nome) LIKE LOWER(CONCAT('%', :termo, '%'))
+			ORDER BY p.nome, p.produtoId
+			""")
+	List<Produto> buscarProdutosPorNome(String termo, Limit limite);
+}
@@ -3,8 +3,8 @@ package br.com.occhi.suporte.services;
 import dev.langchain4j.service.MemoryId;
 import dev.langchain4j.service.Result;
 import dev.langchain4j.service.SystemMessage;
+import dev.langchain4j.service.TokenStream;
 import dev.langchain4j.service.UserMessage;
-import dev.langchain4j.service.spring.AiService;
 
 /**
  * Interface do serviço de IA para assistente de suporte de vendas.
@@ -25,12 +25,38 @@ import dev.langchain4j.service.spring.AiService;
  * - Manter conversas contextualizadas
  * - Validar identidade do usuário
  * 
+ * A implementação é criada pelo LangChain4j em AgentConfiguration, que
+ * registra as ferramentas de PedidoTool com execução concorrente das
+ * leituras pedidas em uma mesma resposta (ExecucaoParalelaFerramentas).
+ * 
  * @author Ailton Occhi
  * @version 1.0
  * @since 2025
  */
-@AiService
 public interface AssistenteSuporteVendas {
+
+	/**
+	 * Mensagem de sistema compartilhada pelos modos síncrono e streaming.
+	 * 
+	 * Define a personalidade e as regras do assistente em um único lugar,
+	 * garantindo que ambos os métodos se comportem exatamente da mesma forma.
+	 */
+	String MENSAGEM_SISTEMA = """
+			Seu nome é Robozinho e você é assistente de suporte ao cliente de um sistema de pedidos chamado "Venda Fácil".
+			Você é amigável, educado, profissional e conciso.
+
+			Regras que você deve seguir:
+
+			1. Antes de obter os detalhes do pedido ou cancelá-lo,
+			você deve se certificar de saber o nome, sobrenome e ID do pedido do usuário.
+
+			2. Responda apenas a perguntas relacionadas ao sistema de pedidos e seus serviços.
+			Se for perguntado algo não relacionado, explique gentilmente que você só pode ajudar com tópicos relacionados ao pedido.
+
+			3. Se não tiver certeza de algo, responda educadamente e informe ao cliente que você não tem essa informação.
+
+			Hoje é {{current_date}}.
+			     """;
 	
 	/**
 	 * Processa uma mensagem do usuário e retorna uma resposta do assistente.
@@ -61,21 +87,28 @@ public interface AssistenteSuporteVendas {
 	 * @param userMessage mensagem enviada pelo usuário
 	 * @return Result contendo a resposta processada pelo assistente de IA
 	 */
-	@SystemMessage("""
-			Seu nome é Robozinho e você é assistente de suporte ao cliente de um sistema de pedidos chamado "Venda Fácil".
-			Você é amigável, educado, profissional e conciso.
-
-			Regras que você deve seguir:
-
-			1. Antes de obter os detalhes do pedido ou cancelá-lo,
-			você deve se certificar de saber o nome, sobrenome e ID do pedido do usuário.
-
-			2. Responda apenas a perguntas relacionadas ao sistema de pedidos e seus serviços.
-			Se for perguntado algo não relacionado, explique gentilmente que você só pode ajudar com tópicos relacionados ao pedido.
-
-			3. Se não tiver certeza de algo, responda educadamente e informe ao cliente que você não tem essa informação.
-
-			Hoje é {{current_date}}.
-			     """)
+	@SystemMessage(MENSAGEM_SISTEMA)
 	Result<String> answer(@MemoryId String memoryId, @UserMessage String userMessage);
+
+	/**
+	 * Processa uma mensagem do usuário retornando a resposta token a token.
+	 * 
+	 * Variante em streaming de {@link #answer(String, String)}: utiliza o
+	 * modelo de chat em streaming da OpenAI e entrega os tokens parciais
+	 * conforme são gerados, reduzindo o tempo até o primeiro byte.
+	 * 
+	 * O fluxo retornado:
+	 * - Compartilha a mesma memória de conversa (@MemoryId) do modo síncrono
+	 * - Executa as ferramentas (tools) normalmente durante a geração
+	 * - Notifica cada execução de ferramenta via onToolExecuted
+	 * - Entrega a resposta final com o uso de tokens via onComplete
+	 * 
+	 * A geração só é iniciada quando {@link TokenStream#start()} é chamado.
+	 * 
+	 * @param memoryId identificador único da sessão para manter contexto da conversa
+	 * @param userMessage mensagem enviada pelo usuário
+	 * @return TokenStream para consumo incremental da resposta do assistente
+	 */
+	@SystemMessage(MENSAGEM_SISTEMA)
+	TokenStream answerStream(@MemoryId String memoryId, @UserMessage String userMessage);
 }
\ No newline at end of file
@@ -0,0 +1,191 @@
+package br.com.occhi.suporte.services;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.com.occhi.suporte.exceptions.BulkheadCheioException;
+import br.com.occhi.suporte.records.EstatisticasBulkhead;
+
+/**
+ * Bulkhead de concorrência para chamadas ao provedor de IA (OpenAI).
+ * 
+ * Limita a quantidade de chamadas simultâneas ao modelo de linguagem,
+ * mantendo uma fila de espera limitada para as chamadas excedentes.
+ * Dessa forma, um pico de conversas não consome todos os recursos da
+ * aplicação nem sobrecarrega o provedor.
+ * 
+ * Funcionamento:
+ * 1. Se houver vaga livre, a chamada é admitida imediatamente
+ * 2. Caso contrário, a chamada entra na fila (se houver espaço)
+ * 3. Na fila, aguarda uma vaga até o tempo máximo configurado
+ * 4. Fila cheia ou tempo esgotado resultam em BulkheadCheioException (HTTP 503)
+ * 
+ * O bulkhead também registra a profundidade da fila e o tempo de espera,
+ * expostos através de {@link #estatisticas()}.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class BulkheadLlm {
+
+	/**
+	 * Nome do provedor de IA protegido por este bulkhead.
+	 */
+	private static final String PROVEDOR = "openai";
+
+	/**
+	 * Vagas de execução simultânea disponíveis.
+	 */
+	private final Semaphore vagas;
+
+	/**
+	 * Quantidade máxima de chamadas simultâneas.
+	 */
+	private final int maxConcorrencia;
+
+	/**
+	 * Quantidade máxima de chamadas aguardando na fila.
+	 */
+	private final int maxFila;
+
+	/**
+	 * Tempo máximo de espera na fila, em nanossegundos.
+	 */
+	private final long timeoutFilaNanos;
+
+	/**
+	 * Quantidade de chamadas aguardando vaga no momento.
+	 */
+	private final AtomicInteger emFila = new AtomicInteger();
+
+	/**
+	 * Contadores de chamadas admitidas e rejeitadas.
+	 */
+	private final LongAdder admitidas = new LongAdder();
+	private final LongAdder rejeitadas = new LongAdder();
+
+	/**
+	 * Acumuladores de tempo de espera na fila, em nanossegundos.
+	 */
+	private final LongAdder esperaTotalNanos = new LongAdder();
+	private final AtomicLong esperaMaximaNanos = new AtomicLong();
+
+	/**
+	 * Construtor com os limites do bulkhead.
+	 * 
+	 * @param maxConcorrencia quantidade máxima de chamadas simultâneas ao LLM
+	 * @param maxFila quantidade máxima de chamadas aguardando vaga
+	 * @param timeoutFilaMs tempo máximo de espera na fila em milissegundos
+	 */
+	public BulkheadLlm(@Value("${suporte.llm.bulkhead.max-concorrencia:50}") int maxConcorrencia,
+			@Value("${suporte.llm.bulkhead.max-fila:500}") int maxFila,
+			@Value("${suporte.llm.bulkhead.timeout-fila-ms:10000}") long timeoutFilaMs) {
+		this.vagas = new Semaphore(maxConcorrencia, true);
+		this.maxConcorrencia = maxConcorrencia;
+		this.maxFila = maxFila;
+		this.timeoutFilaNanos = TimeUnit.MILLISECONDS.toNanos(timeoutFilaMs);
+	}
+
+	/**
+	 * Executa uma chamada ao LLM dentro dos limites do bulkhead.
+	 * 
+	 * A vaga é sempre liberada ao final da chamada, mesmo em caso de erro.
+	 * 
+	 * @param <T> tipo do retorno da chamada
+	 * @param chamada chamada ao modelo de linguagem
+	 * @return resultado da chamada
+	 * @throws BulkheadCheioException se a chamada não puder ser admitida
+	 */
+	public <T> T executar(Supplier<T> chamada) {
+		adquirir();
+		try {
+			return chamada.get();
+		} finally {
+			liberar();
+		}
+	}
+
+	/**
+	 * Adquire uma vaga de execução, aguardando na fila se necessário.
+	 * 
+	 * Utilizado diretamente por fluxos assíncronos (streaming), nos quais
+	 * a vaga deve ser liberada via {@link #liberar()} somente quando a
+	 * resposta terminar.
+	 * 
+	 * @throws BulkheadCheioException se a fila estiver cheia ou o tempo de espera esgotar
+	 */
+	public void adquirir() {
+		if (vagas.tryAcquire()) {
+			admitidas.increment();
+			return;
+		}
+
+		if (emFila.incrementAndGet() > maxFila) {
+			emFila.decrementAndGet();
+			rejeitadas.increment();
+			throw new BulkheadCheioException("Fila de chamadas ao assistente está cheia. Tente novamente em instantes.");
+		}
+
+		long inicio = System.nanoTime();
+		boolean adquirida;
+		try {
+			adquirida = vagas.tryAcquire(timeoutFilaNanos, TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			adquirida = false;
+		} finally {
+			emFila.decrementAndGet();
+			registrarEspera(System.nanoTime() - inicio);
+		}
+
+		if (!adquirida) {
+			rejeitadas.increment();
+			throw new BulkheadCheioException("Tempo de espera pelo assistente esgotado. Tente novamente em instantes.");
+		}
+		admitidas.increment();
+	}
+
+	/**
+	 * Libera uma vaga adquirida previamente via {@link #adquirir()}.
+	 */
+	public void liberar() {
+		vagas.release();
+	}
+
+	/**
+	 * Retorna um retrato do estado atual do bulkhead.
+	 * 
+	 * @return estatísticas de concorrência, fila e tempo de espera
+	 */
+	public EstatisticasBulkhead estatisticas() {
+		long totalAdmitidas = admitidas.sum();
+		double esperaMediaMs = totalAdmitidas == 0 ? 0 : esperaTotalNanos.sum() / 1_000_000.0 / totalAdmitidas;
+		return new EstatisticasBulkhead(
+				PROVEDOR,
+				maxConcorrencia,
+				maxConcorrencia - vagas.availablePermits(),
+				emFila.get(),
+				totalAdmitidas,
+				rejeitadas.sum(),
+				esperaMediaMs,
+				esperaMaximaNanos.get() / 1_000_000.0);
+	}
+
+	/**
+	 * Registra o tempo que uma chamada permaneceu na fila.
+	 * 
+	 * @param esperaNanos tempo de espera em nanossegundos
+	 */
+	private void registrarEspera(long esperaNanos) {
+		esperaTotalNanos.add(esperaNanos);
+		esperaMaximaNanos.accumulateAndGet(esperaNanos, Math::max);
+	}
+}
@@ -0,0 +1,292 @@
+package br.com.occhi.suporte.services;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.occhi.suporte.events.PedidoAlteradoEvento;
+import br.com.occhi.suporte.records.EstatisticasCacheRespostas;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.service.Result;
+import dev.langchain4j.store.embedding.CosineSimilarity;
+
+/**
+ * Cache de respostas do assistente para perguntas frequentes.
+ * 
+ * Boa parte das mensagens enviadas ao /chat são as mesmas poucas perguntas
+ * (ex: "quantos pedidos estão cancelados?"). Este cache evita uma ida e volta
+ * completa à OpenAI (e às ferramentas) para essas perguntas.
+ * 
+ * Regras de elegibilidade:
+ * - Apenas o primeiro turno da sessão, em que a resposta não depende do
+ *   histórico da conversa
+ * - A chave é o texto normalizado da pergunta (minúsculas, sem acentos,
+ *   pontuação e espaços extras)
+ * - Opcionalmente, perguntas semelhantes são encontradas por similaridade
+ *   de embeddings calculados por um modelo local (em processo). A pergunta
+ *   semelhante só é aceita se tiver os mesmos números e nomes próprios
+ *   (ex: "pedido 3000, sou Ana Silva" nunca responde "pedido 3001, sou
+ *   Bruno Costa")
+ * - Respostas que executaram ferramentas que alteram dados
+ *   ({@link PedidoTool#FERRAMENTAS_MUTANTES}) ou que recebem os dados do
+ *   cliente ({@link PedidoTool#FERRAMENTAS_DADOS_CLIENTE}, ex: detalhes de
+ *   um pedido) nunca são armazenadas
+ * - Respostas que consultaram as demais ferramentas (ex: quantidade de
+ *   pedidos por status, valor do pedido mais caro) são armazenadas e
+ *   removidas a cada {@link PedidoAlteradoEvento}. Os argumentos dessas
+ *   ferramentas vêm da própria pergunta, que é a chave do cache
+ * 
+ * As respostas expiram após o TTL configurado e o cache tem tamanho máximo.
+ * Respostas servidas pelo cache também são registradas na memória da sessão.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class CacheRespostasAssistente {
+
+	private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+
+	private static final Pattern NAO_ALFANUMERICOS = Pattern.compile("[^\\p{Alnum}]+");
+
+	/**
+	 * Palavras da mensagem original e fim de frase, usados para encontrar
+	 * os números e nomes próprios da pergunta.
+	 */
+	private static final Pattern PALAVRAS = Pattern.compile("[\\p{L}\\p{N}]+");
+	private static final Pattern FIM_FRASE = Pattern.compile("[.!?]");
+
+	private final boolean habilitado;
+
+	/**
+	 * Respostas armazenadas, pelo texto normalizado da pergunta.
+	 */
+	private final Cache<String, RespostaArmazenada> respostas;
+
+	/**
+	 * Modelo de embeddings local, presente apenas se a similaridade estiver habilitada.
+	 */
+	private final EmbeddingModel modeloEmbedding;
+
+	private final double similaridadeMinima;
+
+	private final MemoriaConversaService memoriaConversa;
+
+	private final LongAdder acertosExatos = new LongAdder();
+	private final LongAdder acertosSemelhantes = new LongAdder();
+	private final LongAdder falhas = new LongAdder();
+	private final LongAdder naoArmazenadas = new LongAdder();
+
+	/**
+	 * Construtor com as configurações do cache.
+	 * 
+	 * @param memoriaConversa serviço de registro dos turnos na memória da sessão
+	 * @param modeloEmbedding modelo de embeddings local (opcional)
+	 * @param habilitado indica se o cache de respostas está ativo
+	 * @param maxRespostas quantidade máxima de respostas armazenadas
+	 * @param ttlMinutos tempo de vida de cada resposta em minutos
+	 * @param similaridadeMinima similaridade de cosseno mínima para considerar duas perguntas equivalentes
+	 */
+	public CacheRespostasAssistente(MemoriaConversaService memoriaConversa,
+			@Qualifier("modeloEmbeddingLocal") ObjectProvider<EmbeddingModel> modeloEmbedding,
+			@Value("${suporte.chat.cache-respostas.enabled:false}") boolean habilitado,
+			@Value("${suporte.chat.cache-respostas.max-respostas:1000}") long maxRespostas,
+			@Value("${suporte.chat.cache-respostas.ttl-minutos:10}") long ttlMinutos,
+			@Value("${suporte.chat.cache-respostas.similaridade-minima:0.92}") double similaridadeMinima) {
+		this.memoriaConversa = memoriaConversa;
+		this.modeloEmbedding = modeloEmbedding.getIfAvailable();
+		this.habilitado = habilitado;
+		this.similaridadeMinima = similaridadeMinima;
+		this.respostas = Caffeine.newBuilder()
+				.maximumSize(maxRespostas)
+				.expireAfterWrite(Duration.ofMinutes(ttlMinutos))
+				.build();
+	}
+
+	/**
+	 * Responde a uma mensagem usando o cache quando possível.
+	 * 
+	 * @param sessionId identificador da sessão
+	 * @param mensagem mensagem enviada pelo usuário
+	 * @param chamadaLlm chamada ao assistente usada quando a resposta não está no cache
+	 * @return resposta do cache ou do assistente
+	 */
+	public String responder(String sessionId, String mensagem, Supplier<Result<String>> chamadaLlm) {
+		if (!habilitado || !memoriaConversa.primeiroTurno(sessionId)) {
+			return chamadaLlm.get().content();
+		}
+
+		String chave = normalizar(mensagem);
+		RespostaArmazenada armazenada = respostas.getIfPresent(chave);
+		if (armazenada != null) {
+			acertosExatos.increment();
+		}
+
+		Embedding embedding = null;
+		Set<String> identificadores = identificadores(mensagem);
+		if (armazenada == null && modeloEmbedding != null) {
+			embedding = modeloEmbedding.embed(chave).content();
+			armazenada = buscarSemelhante(embedding, identificadores);
+			if (armazenada != null) {
+				acertosSemelhantes.increment();
+			}
+		}
+
+		if (armazenada != null) {
+			memoriaConversa.registrarTurno(sessionId, mensagem, armazenada.resposta());
+			return armazenada.resposta();
+		}
+
+		falhas.increment();
+		Result<String> result = chamadaLlm.get();
+		armazenar(chave, embedding, identificadores, result);
+		return result.content();
+	}
+
+	/**
+	 * Remove as respostas que consultaram pedidos após a alteração de um pedido.
+	 * 
+	 * Executado após o commit, como a invalidação dos caches de consultas
+	 * agregadas ({@link InvalidacaoCachePedidos}).
+	 * 
+	 * @param evento evento de alteração do pedido
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void pedidoAlterado(PedidoAlteradoEvento evento) {
+		respostas.asMap().values().removeIf(RespostaArmazenada::consultouPedidos);
+	}
+
+	/**
+	 * Retorna as estatísticas de uso do cache.
+	 * 
+	 * @return acertos, falhas e taxa de acerto do cache de respostas
+	 */
+	public EstatisticasCacheRespostas estatisticas() {
+		long acertos = acertosExatos.sum() + acertosSemelhantes.sum();
+		long elegiveis = acertos + falhas.sum();
+		return new EstatisticasCacheRespostas(
+				habilitado,
+				respostas.estimatedSize(),
+				acertosExatos.sum(),
+				acertosSemelhantes.sum(),
+				falhas.sum(),
+				naoArmazenadas.sum(),
+				elegiveis == 0 ? 0 : (double) acertos / elegiveis);
+	}
+
+	/**
+	 * Normaliza o texto da pergunta para uso como chave do cache.
+	 * 
+	 * @param mensagem texto original da pergunta
+	 * @return texto em minúsculas, sem acentos, pontuação ou espaços extras
+	 */
+	static String normalizar(String mensagem) {
+		String semAcentos = ACENTOS.matcher(Normalizer.normalize(mensagem, Normalizer.Form.NFD)).replaceAll("");
+		return NAO_ALFANUMERICOS.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+	}
+
+	/**
+	 * Extrai os números e nomes próprios da pergunta original.
+	 * 
+	 * Nomes próprios são as palavras iniciadas por maiúscula fora do início
+	 * de uma frase. Duas perguntas só são consideradas semelhantes se estes
+	 * identificadores forem os mesmos.
+	 * 
+	 * @param mensagem texto original da pergunta
+	 * @return números e nomes próprios normalizados
+	 */
+	static Set<String> identificadores(String mensagem) {
+		Set<String> identificadores = new HashSet<>();
+		Matcher palavra = PALAVRAS.matcher(mensagem);
+		int fimAnterior = 0;
+		boolean inicioFrase = true;
+		while (palavra.find()) {
+			if (FIM_FRASE.matcher(mensagem.substring(fimAnterior, palavra.start())).find()) {
+				inicioFrase = true;
+			}
+			String texto = palavra.group();
+			boolean numero = texto.chars().anyMatch(Character::isDigit);
+			boolean nome = !inicioFrase && Character.isUpperCase(texto.codePointAt(0));
+			if (numero || nome) {
+				identificadores.add(normalizar(texto));
+			}
+			inicioFrase = false;
+			fimAnterior = palavra.end();
+		}
+		return identificadores;
+	}
+
+	/**
+	 * Armazena a resposta, exceto se alguma ferramenta que altera dados ou
+	 * que recebe os dados do cliente foi executada.
+	 * 
+	 * @param chave texto normalizado da pergunta
+	 * @param embedding embedding da pergunta, se calculado
+	 * @param identificadores números e nomes próprios da pergunta
+	 * @param result resultado completo da chamada ao assistente
+	 */
+	private void armazenar(String chave, Embedding embedding, Set<String> identificadores, Result<String> result) {
+		boolean consultouPedidos = result.toolExecutions() != null && !result.toolExecutions().isEmpty();
+		boolean doCliente = consultouPedidos && result.toolExecutions().stream()
+				.map(execucao -> execucao.request().name())
+				.anyMatch(nome -> PedidoTool.FERRAMENTAS_MUTANTES.contains(nome) || PedidoTool.FERRAMENTAS_DADOS_CLIENTE.contains(nome));
+		if (doCliente || result.content() == null) {
+			naoArmazenadas.increment();
+			return;
+		}
+
+		respostas.put(chave, new RespostaArmazenada(result.content(), consultouPedidos, embedding, identificadores));
+	}
+
+	/**
+	 * Busca a resposta da pergunta armazenada mais semelhante.
+	 * 
+	 * @param embedding embedding da pergunta atual
+	 * @param identificadores números e nomes próprios da pergunta atual
+	 * @return resposta da pergunta mais semelhante acima do limite mínimo e com os mesmos identificadores, ou null
+	 */
+	private RespostaArmazenada buscarSemelhante(Embedding embedding, Set<String> identificadores) {
+		RespostaArmazenada melhor = null;
+		double melhorSimilaridade = similaridadeMinima;
+		for (Map.Entry<String, RespostaArmazenada> entrada : respostas.asMap().entrySet()) {
+			RespostaArmazenada armazenada = entrada.getValue();
+			if (armazenada.embedding() == null || !armazenada.identificadores().equals(identificadores)) {
+				continue;
+			}
+			double similaridade = CosineSimilarity.between(embedding, armazenada.embedding());
+			if (similaridade >= melhorSimilaridade) {
+				melhorSimilaridade = similaridade;
+				melhor = armazenada;
+			}
+		}
+		return melhor;
+	}
+
+	/**
+	 * Resposta armazenada para uma pergunta.
+	 * 
+	 * @param resposta texto da resposta do assistente
+	 * @param consultouPedidos indica se a resposta usou ferramentas (removida quando um pedido muda)
+	 * @param embedding embedding da pergunta, se a similaridade estiver habilitada
+	 * @param identificadores números e nomes próprios da pergunta
+	 */
+	private record RespostaArmazenada(String resposta, boolean consultouPedidos, Embedding embedding,
+			Set<String> identificadores) {}
+}
@@ -0,0 +1,114 @@
+package br.com.occhi.suporte.services;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Garante leitura das próprias escritas para as sessões de chat.
+ * 
+ * Com a réplica de leitura habilitada, as transações somente leitura são
+ * atendidas pela réplica, que pode estar até alguns instantes atrás do
+ * primário. Para que o cliente não veja, logo após cancelar um pedido, o
+ * pedido ainda ativo:
+ * - A sessão que executou uma escrita é marcada por uma janela igual ao
+ *   atraso máximo tolerado da réplica mais o intervalo de verificação
+ * - Durante a janela, as leituras feitas pelas ferramentas dessa sessão
+ *   são direcionadas ao primário
+ * 
+ * As demais sessões continuam lendo da réplica. Sem réplica configurada,
+ * a marcação não tem efeito: todas as leituras já vão para o primário.
+ * 
+ * Rotinas que comparam o estado em memória com o banco (ex: reconciliação
+ * dos contadores de pedidos) usam {@link #executarNoPrimario} para que
+ * uma réplica atrasada não desfaça alterações recentes.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class ConsistenciaLeitura {
+
+	/**
+	 * Indica que a thread atual está executando leituras que devem ir ao primário.
+	 */
+	private static final ThreadLocal<Boolean> LEITURA_NO_PRIMARIO = new ThreadLocal<>();
+
+	/**
+	 * Sessões com escritas recentes, expiradas ao final da janela.
+	 */
+	private final Cache<String, Boolean> sessoesComEscrita;
+
+	/**
+	 * Construtor com a janela de leitura no primário.
+	 * 
+	 * @param maxAtrasoMs atraso máximo tolerado da réplica em milissegundos
+	 * @param intervaloVerificacaoMs intervalo de verificação do atraso da réplica em milissegundos
+	 */
+	public ConsistenciaLeitura(@Value("${suporte.datasource.replica.max-atraso-ms:1000}") long maxAtrasoMs,
+			@Value("${suporte.datasource.replica.intervalo-verificacao-ms:500}") long intervaloVerificacaoMs) {
+		this.sessoesComEscrita = Caffeine.newBuilder()
+				.expireAfterWrite(Duration.ofMillis(maxAtrasoMs + intervaloVerificacaoMs))
+				.build();
+	}
+
+	/**
+	 * Registra que a sessão acabou de executar uma escrita.
+	 * 
+	 * @param sessionId identificador da sessão de chat (ignorado se null)
+	 */
+	public void registrarEscrita(String sessionId) {
+		if (sessionId != null) {
+			sessoesComEscrita.put(sessionId, Boolean.TRUE);
+		}
+	}
+
+	/**
+	 * Executa as leituras de uma sessão, direcionando-as ao primário se a
+	 * sessão tiver escrito recentemente.
+	 * 
+	 * @param <T> tipo do retorno
+	 * @param sessionId identificador da sessão de chat (pode ser null)
+	 * @param execucao leituras a executar
+	 * @return resultado da execução
+	 */
+	public <T> T executarNaSessao(String sessionId, Supplier<T> execucao) {
+		if (sessionId == null || sessoesComEscrita.getIfPresent(sessionId) == null) {
+			return execucao.get();
+		}
+		return executarNoPrimario(execucao);
+	}
+
+	/**
+	 * Executa leituras sempre no primário, independentemente de sessão.
+	 * 
+	 * @param <T> tipo do retorno
+	 * @param execucao leituras a executar
+	 * @return resultado da execução
+	 */
+	public <T> T executarNoPrimario(Supplier<T> execucao) {
+		if (exigePrimario()) {
+			return execucao.get();
+		}
+		LEITURA_NO_PRIMARIO.set(Boolean.TRUE);
+		try {
+			return execucao.get();
+		} finally {
+			LEITURA_NO_PRIMARIO.remove();
+		}
+	}
+
+	/**
+	 * Indica se as leituras da thread atual devem ir ao primário.
+	 * 
+	 * @return true se a thread executa leituras de uma sessão com escrita recente
+	 */
+	public boolean exigePrimario() {
+		return LEITURA_NO_PRIMARIO.get() != null;
+	}
+}
@@ -0,0 +1,288 @@
+package br.com.occhi.suporte.services;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import br.com.occhi.suporte.enums.StatusPedido;
+import br.com.occhi.suporte.events.PedidoAlteradoEvento;
+import br.com.occhi.suporte.records.ContagemPorStatus;
+import br.com.occhi.suporte.records.ContagemPorUsuario;
+import br.com.occhi.suporte.repositories.PedidoRepository;
+
+/**
+ * Contadores de pedidos mantidos incrementalmente em memória.
+ * 
+ * Substitui as consultas COUNT sobre a tabela de pedidos, cujo custo cresce
+ * com o volume de dados, por leituras O(1) e sem alocação:
+ * - Quantidade por status: EnumMap de LongAdder
+ * - Quantidade por usuário: mapa concorrente de LongAdder
+ * 
+ * Ciclo de vida:
+ * 1. Inicialização: carregados uma única vez do banco quando a aplicação sobe
+ * 2. Atualização: ajustados a cada PedidoAlteradoEvento, após o commit
+ * 3. Reconciliação: comparados periodicamente com o banco, corrigindo
+ *    eventuais divergências (ex: alterações feitas fora da aplicação)
+ * 
+ * Cada contador registra quantos eventos já recebeu. A reconciliação só
+ * corrige um contador se nenhum evento o alterou entre a leitura do banco
+ * e o ajuste; caso contrário, a leitura pode não refletir esse evento e a
+ * correção fica para o próximo ciclo.
+ * 
+ * As contagens da reconciliação são sempre lidas do primário
+ * ({@link ConsistenciaLeitura#executarNoPrimario}): lidas de uma réplica
+ * atrasada, desfariam eventos já aplicados e confirmados no primário.
+ * 
+ * Enquanto não estiverem inicializados (ex: banco indisponível na
+ * subida), {@link #inicializado()} retorna false e o PedidoService consulta
+ * o banco diretamente.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class ContadoresPedidos {
+
+	private static final Logger log = LoggerFactory.getLogger(ContadoresPedidos.class);
+
+	private final PedidoRepository pedidoRepository;
+
+	private final ConsistenciaLeitura consistenciaLeitura;
+
+	private final Map<StatusPedido, Contador> porStatus = new EnumMap<>(StatusPedido.class);
+
+	private final Map<Long, Contador> porUsuario = new ConcurrentHashMap<>();
+
+	private volatile boolean inicializado;
+
+	/**
+	 * Construtor para injeção de dependência.
+	 * 
+	 * @param pedidoRepository repositório de pedidos usado na carga e reconciliação
+	 * @param consistenciaLeitura direcionamento das leituras da reconciliação ao primário
+	 */
+	public ContadoresPedidos(PedidoRepository pedidoRepository, ConsistenciaLeitura consistenciaLeitura) {
+		this.pedidoRepository = pedidoRepository;
+		this.consistenciaLeitura = consistenciaLeitura;
+		for (StatusPedido status : StatusPedido.values()) {
+			porStatus.put(status, new Contador());
+		}
+	}
+
+	/**
+	 * Indica se os contadores já foram carregados do banco de dados.
+	 * 
+	 * @return true se os contadores podem ser usados no lugar das consultas
+	 */
+	public boolean inicializado() {
+		return inicializado;
+	}
+
+	/**
+	 * Retorna a quantidade de pedidos com um status.
+	 * 
+	 * @param status status do pedido
+	 * @return quantidade de pedidos com o status (0 se o status for nulo)
+	 */
+	public int quantidadePorStatus(StatusPedido status) {
+		if (status == null) {
+			return 0;
+		}
+		return (int) porStatus.get(status).quantidade();
+	}
+
+	/**
+	 * Retorna a quantidade de pedidos de um usuário.
+	 * 
+	 * @param usuarioId identificador do usuário
+	 * @return quantidade de pedidos do usuário
+	 */
+	public int quantidadePorUsuario(Long usuarioId) {
+		Contador contador = usuarioId == null ? null : porUsuario.get(usuarioId);
+		return contador == null ? 0 : (int) contador.quantidade();
+	}
+
+	/**
+	 * Ajusta os contadores após a alteração de um pedido.
+	 * 
+	 * Executado somente após o commit da transação, para que os contadores
+	 * reflitam apenas alterações efetivadas.
+	 * 
+	 * @param evento evento de alteração do pedido
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void pedidoAlterado(PedidoAlteradoEvento evento) {
+		if (evento.statusAnterior() == evento.statusAtual()) {
+			return;
+		}
+		if (evento.statusAnterior() != null) {
+			porStatus.get(evento.statusAnterior()).aplicar(-1);
+		} else {
+			porUsuario.computeIfAbsent(evento.usuarioId(), id -> new Contador()).aplicar(1);
+		}
+		if (evento.statusAtual() != null) {
+			porStatus.get(evento.statusAtual()).aplicar(1);
+		}
+	}
+
+	/**
+	 * Carrega os contadores quando a aplicação termina de subir.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void inicializar() {
+		reconciliar();
+	}
+
+	/**
+	 * Compara os contadores com o banco de dados e corrige divergências.
+	 * 
+	 * Antes da leitura do banco, guarda quantos eventos cada contador já
+	 * recebeu. Um contador alterado por um evento durante a reconciliação
+	 * não é corrigido neste ciclo: a leitura pode ter sido feita antes do
+	 * commit desse evento, e a correção o desfaria. Na carga inicial, os
+	 * contadores só passam a ser usados quando todos forem corrigidos.
+	 * Falhas de acesso ao banco são registradas e tentadas no próximo ciclo.
+	 */
+	@Scheduled(initialDelayString = "${suporte.pedidos.contadores.reconciliacao-ms:300000}",
+			fixedDelayString = "${suporte.pedidos.contadores.reconciliacao-ms:300000}")
+	public void reconciliar() {
+		try {
+			Map<StatusPedido, Long> eventosStatus = new EnumMap<>(StatusPedido.class);
+			for (Map.Entry<StatusPedido, Contador> entrada : porStatus.entrySet()) {
+				eventosStatus.put(entrada.getKey(), entrada.getValue().eventos());
+			}
+			Map<Long, Long> eventosUsuarios = new HashMap<>();
+			for (Map.Entry<Long, Contador> entrada : porUsuario.entrySet()) {
+				eventosUsuarios.put(entrada.getKey(), entrada.getValue().eventos());
+			}
+
+			Map<StatusPedido, Long> statusBanco = new EnumMap<>(StatusPedido.class);
+			for (ContagemPorStatus contagem : consistenciaLeitura.executarNoPrimario(pedidoRepository::contarPedidosAgrupadosPorStatus)) {
+				if (contagem.status() != null) {
+					statusBanco.put(contagem.status(), contagem.quantidade());
+				}
+			}
+			Map<Long, Long> usuariosBanco = new HashMap<>();
+			List<ContagemPorUsuario> contagensUsuario = consistenciaLeitura.executarNoPrimario(pedidoRepository::contarPedidosAgrupadosPorUsuario);
+			for (ContagemPorUsuario contagem : contagensUsuario) {
+				usuariosBanco.put(contagem.usuarioId(), contagem.quantidade());
+			}
+
+			Reconciliacao reconciliacao = new Reconciliacao();
+			for (StatusPedido status : StatusPedido.values()) {
+				reconciliacao.ajustar(porStatus.get(status), statusBanco.getOrDefault(status, 0L), eventosStatus.get(status));
+			}
+			for (Map.Entry<Long, Long> entrada : usuariosBanco.entrySet()) {
+				reconciliacao.ajustar(porUsuario.computeIfAbsent(entrada.getKey(), id -> new Contador()), entrada.getValue(),
+						eventosUsuarios.getOrDefault(entrada.getKey(), 0L));
+			}
+			for (Map.Entry<Long, Contador> entrada : porUsuario.entrySet()) {
+				if (!usuariosBanco.containsKey(entrada.getKey())) {
+					reconciliacao.ajustar(entrada.getValue(), 0L, eventosUsuarios.getOrDefault(entrada.getKey(), 0L));
+				}
+			}
+
+			if (inicializado && reconciliacao.divergencias > 0) {
+				log.warn("Reconciliação dos contadores de pedidos corrigiu {} divergências", reconciliacao.divergencias);
+			}
+			if (reconciliacao.adiados > 0) {
+				log.debug("{} contadores de pedidos alterados durante a reconciliação serão conferidos no próximo ciclo",
+						reconciliacao.adiados);
+			}
+			if (reconciliacao.adiados == 0) {
+				inicializado = true;
+			}
+		} catch (DataAccessException | TransactionException e) {
+			log.warn("Não foi possível reconciliar os contadores de pedidos: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * Resultado dos ajustes de um ciclo de reconciliação.
+	 */
+	private static final class Reconciliacao {
+
+		private int divergencias;
+
+		private int adiados;
+
+		/**
+		 * Ajusta um contador para o valor esperado, se nenhum evento o
+		 * alterou desde a leitura do banco.
+		 * 
+		 * @param contador contador em memória
+		 * @param esperado valor obtido do banco de dados
+		 * @param eventosNaLeitura eventos recebidos pelo contador antes da leitura do banco
+		 */
+		void ajustar(Contador contador, long esperado, long eventosNaLeitura) {
+			switch (contador.ajustar(esperado, eventosNaLeitura)) {
+				case DIVERGENTE -> divergencias++;
+				case ALTERADO_DURANTE_LEITURA -> adiados++;
+				case CORRETO -> { }
+			}
+		}
+	}
+
+	/**
+	 * Resultado do ajuste de um contador.
+	 */
+	private enum Ajuste { CORRETO, DIVERGENTE, ALTERADO_DURANTE_LEITURA }
+
+	/**
+	 * Contador de pedidos com a quantidade de eventos já aplicados.
+	 * 
+	 * A leitura da quantidade não usa bloqueio; a aplicação de eventos e o
+	 * ajuste da reconciliação são serializados no próprio contador.
+	 */
+	private static final class Contador {
+
+		private final LongAdder quantidade = new LongAdder();
+
+		private long eventos;
+
+		long quantidade() {
+			return quantidade.sum();
+		}
+
+		synchronized long eventos() {
+			return eventos;
+		}
+
+		synchronized void aplicar(long variacao) {
+			eventos++;
+			quantidade.add(variacao);
+		}
+
+		/**
+		 * Ajusta a quantidade para o valor esperado.
+		 * 
+		 * @param esperado valor obtido do banco de dados
+		 * @param eventosNaLeitura eventos aplicados antes da leitura do banco
+		 * @return resultado do ajuste
+		 */
+		synchronized Ajuste ajustar(long esperado, long eventosNaLeitura) {
+			if (eventos != eventosNaLeitura) {
+				return Ajuste.ALTERADO_DURANTE_LEITURA;
+			}
+			long diferenca = esperado - quantidade.sum();
+			if (diferenca == 0) {
+				return Ajuste.CORRETO;
+			}
+			quantidade.add(diferenca);
+			return Ajuste.DIVERGENTE;
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package br.com.occhi.suporte.services;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import br.com.occhi.suporte.enums.CargaTrabalho;
+
+/**
+ * Identifica a carga de trabalho da thread atual para a escolha do pool de conexões.
+ * 
+ * O acesso ao banco é o mesmo (PedidoService, repositórios e JdbcTemplate)
+ * para a API REST e para o assistente; o que muda é a origem da chamada.
+ * As ferramentas do assistente e a memória de chat executam dentro de
+ * {@link #executar(CargaTrabalho, Supplier)} com {@link CargaTrabalho#ASSISTENTE};
+ * todo o restante usa a carga padrão {@link CargaTrabalho#API}.
+ * 
+ * A carga vale para as conexões obtidas na própria thread: o
+ * RoteadorCargaTrabalhoDataSource a consulta a cada conexão física.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class ContextoCargaTrabalho {
+
+	/**
+	 * Carga de trabalho da thread atual, ou null para a carga padrão.
+	 */
+	private static final ThreadLocal<CargaTrabalho> CARGA_ATUAL = new ThreadLocal<>();
+
+	/**
+	 * Executa uma ação com a carga de trabalho informada.
+	 * 
+	 * A carga anterior da thread é restaurada ao final, de modo que
+	 * chamadas aninhadas não alteram a carga de quem as chamou.
+	 * 
+	 * @param <T> tipo do retorno
+	 * @param carga carga de trabalho da ação
+	 * @param execucao ação que acessa o banco
+	 * @return resultado da ação
+	 */
+	public <T> T executar(CargaTrabalho carga, Supplier<T> execucao) {
+		CargaTrabalho anterior = CARGA_ATUAL.get();
+		CARGA_ATUAL.set(carga);
+		try {
+			return execucao.get();
+		} finally {
+			if (anterior == null) {
+				CARGA_ATUAL.remove();
+			} else {
+				CARGA_ATUAL.set(anterior);
+			}
+		}
+	}
+
+	/**
+	 * Executa uma ação sem retorno com a carga de trabalho informada.
+	 * 
+	 * @param carga carga de trabalho da ação
+	 * @param acao ação que acessa o banco
+	 */
+	public void executar(CargaTrabalho carga, Runnable acao) {
+		executar(carga, () -> {
+			acao.run();
+			return null;
+		});
+	}
+
+	/**
+	 * Retorna a carga de trabalho da thread atual.
+	 * 
+	 * @return carga de trabalho, ou {@link CargaTrabalho#API} se nenhuma foi definida
+	 */
+	public CargaTrabalho atual() {
+		CargaTrabalho carga = CARGA_ATUAL.get();
+		return carga == null ? CargaTrabalho.API : carga;
+	}
+}
@@ -0,0 +1,360 @@
+package br.com.occhi.suporte.services;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import br.com.occhi.suporte.records.EstatisticasFerramentasParalelas;
+import dev.langchain4j.agent.tool.Tool;
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.agent.tool.ToolSpecifications;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.memory.chat.ChatMemoryProvider;
+import dev.langchain4j.service.tool.DefaultToolExecutor;
+import dev.langchain4j.service.tool.ToolExecutor;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Execução concorrente das ferramentas de leitura pedidas em um mesmo turno.
+ *
+ * Quando o modelo pede várias ferramentas em uma única resposta (ex:
+ * detalhes de dois pedidos e a contagem por status), o LangChain4j as
+ * executa uma após a outra, e o turno espera a soma dos tempos. Com esta
+ * classe:
+ * 1. A resposta do modelo é registrada como um lote ao entrar na memória
+ *    da sessão, antes da execução das ferramentas
+ * 2. Ao executar a primeira ferramenta de um trecho contínuo de leituras,
+ *    as demais leituras do trecho são iniciadas em virtual threads
+ * 3. O LangChain4j segue consumindo os resultados na ordem do pedido, que
+ *    é a ordem em que entram na memória
+ *
+ * Assim, o turno passa a esperar apenas a ferramenta mais lenta do trecho.
+ *
+ * Ferramentas que alteram dados ({@link PedidoTool#FERRAMENTAS_MUTANTES})
+ * nunca são antecipadas: funcionam como barreira, executadas na thread do
+ * turno depois das leituras anteriores e antes das seguintes. Uma leitura
+ * pedida depois de um cancelamento enxerga o pedido já cancelado.
+ *
+ * O span do turno é propagado para as virtual threads; a carga de trabalho
+ * e a leitura das próprias escritas são definidas pela própria ferramenta.
+ *
+ * Um lote sai do registro ao executar sua última ferramenta ou na próxima
+ * resposta do modelo na sessão. Se o turno for interrompido no meio do
+ * lote (erro, cancelamento do cliente) e a sessão não voltar, o lote
+ * expira após suporte.chat.ferramentas.paralelas.ttl-lote-segundos.
+ *
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class ExecucaoParalelaFerramentas {
+
+	/**
+	 * Rastreamento das conversas, usado para propagar o span do turno.
+	 */
+	private final RastreamentoAssistente rastreamento;
+
+	/**
+	 * Indica se a execução concorrente está habilitada.
+	 */
+	private final boolean habilitada;
+
+	/**
+	 * Executores do LangChain4j para cada ferramenta, por nome.
+	 */
+	private final Map<String, ToolExecutor> executores = new ConcurrentHashMap<>();
+
+	/**
+	 * Lotes de ferramentas em execução, por sessão de chat, expirados se o
+	 * turno for interrompido antes da última ferramenta.
+	 */
+	private final Cache<Object, Lote> lotes;
+
+	/**
+	 * Executor das ferramentas antecipadas (uma virtual thread por ferramenta).
+	 */
+	private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+			Thread.ofVirtual().name("ferramenta-", 0).factory());
+
+	/**
+	 * Contadores de trechos executados em paralelo e de ferramentas antecipadas.
+	 */
+	private final LongAdder trechosParalelos = new LongAdder();
+	private final LongAdder ferramentasAntecipadas = new LongAdder();
+
+	/**
+	 * Construtor para injeção de dependência.
+	 *
+	 * @param rastreamento rastreamento das conversas
+	 * @param habilitada indica se a execução concorrente está habilitada
+	 * @param ttlLoteSegundos tempo máximo de um lote no registro, em segundos
+	 */
+	@Autowired
+	public ExecucaoParalelaFerramentas(RastreamentoAssistente rastreamento,
+			@Value("${suporte.chat.ferramentas.paralelas.enabled:true}") boolean habilitada,
+			@Value("${suporte.chat.ferramentas.paralelas.ttl-lote-segundos:60}") long ttlLoteSegundos) {
+		this(rastreamento, habilitada, Duration.ofSeconds(ttlLoteSegundos), Ticker.systemTicker());
+	}
+
+	/**
+	 * Construtor com o relógio usado na expiração dos lotes.
+	 *
+	 * @param rastreamento rastreamento das conversas
+	 * @param habilitada indica se a execução concorrente está habilitada
+	 * @param ttlLote tempo máximo de um lote no registro
+	 * @param relogio relógio da expiração dos lotes
+	 */
+	ExecucaoParalelaFerramentas(RastreamentoAssistente rastreamento, boolean habilitada, Duration ttlLote, Ticker relogio) {
+		this.rastreamento = rastreamento;
+		this.habilitada = habilitada;
+		this.lotes = Caffeine.newBuilder()
+				.expireAfterWrite(ttlLote)
+				.ticker(relogio)
+				.build();
+	}
+
+	/**
+	 * Cria as especificações e os executores das ferramentas de um objeto.
+	 *
+	 * Equivalente ao registro feito pelo LangChain4j para os beans com
+	 * métodos @Tool, com executores que consomem as leituras antecipadas.
+	 *
+	 * @param objetoFerramentas objeto com métodos anotados com @Tool
+	 * @return executores por especificação de ferramenta
+	 */
+	public Map<ToolSpecification, ToolExecutor> ferramentas(Object objetoFerramentas) {
+		Map<ToolSpecification, ToolExecutor> ferramentas = new LinkedHashMap<>();
+		for (Method metodo : objetoFerramentas.getClass().getDeclaredMethods()) {
+			if (metodo.isAnnotationPresent(Tool.class)) {
+				ToolSpecification especificacao = ToolSpecifications.toolSpecificationFrom(metodo);
+				ToolExecutor executorFerramenta = new DefaultToolExecutor(objetoFerramentas, metodo);
+				executores.put(especificacao.name(), executorFerramenta);
+				ferramentas.put(especificacao, (requisicao, memoryId) -> executar(executorFerramenta, requisicao, memoryId));
+			}
+		}
+		return ferramentas;
+	}
+
+	/**
+	 * Envolve o provedor de memória para registrar os lotes de ferramentas.
+	 *
+	 * O LangChain4j adiciona a resposta do modelo à memória antes de
+	 * executar as ferramentas pedidas; é nesse momento que o lote é conhecido.
+	 *
+	 * @param provedor provedor de memória de chat das sessões
+	 * @return provedor cujas memórias registram os lotes de ferramentas
+	 */
+	public ChatMemoryProvider registrarLotes(ChatMemoryProvider provedor) {
+		if (!habilitada) {
+			return provedor;
+		}
+		return memoryId -> new MemoriaComLotes(provedor.get(memoryId));
+	}
+
+	/**
+	 * Retorna um retrato dos contadores de execução concorrente.
+	 *
+	 * @return trechos executados em paralelo e ferramentas antecipadas
+	 */
+	public EstatisticasFerramentasParalelas estatisticas() {
+		return new EstatisticasFerramentasParalelas(trechosParalelos.sum(), ferramentasAntecipadas.sum());
+	}
+
+	/**
+	 * Retorna quantos lotes de ferramentas estão registrados.
+	 *
+	 * @return quantidade de sessões com lote em execução
+	 */
+	public long lotesPendentes() {
+		lotes.cleanUp();
+		return lotes.estimatedSize();
+	}
+
+	/**
+	 * Aguarda as ferramentas em andamento no encerramento da aplicação.
+	 */
+	@PreDestroy
+	public void encerrar() {
+		executor.close();
+	}
+
+	/**
+	 * Executa uma ferramenta pedida pelo modelo.
+	 *
+	 * Se a ferramenta já foi antecipada, aguarda e devolve o seu resultado.
+	 * Caso contrário, antecipa as leituras seguintes do mesmo trecho e a
+	 * executa na thread atual.
+	 *
+	 * @param executorFerramenta executor do LangChain4j para a ferramenta
+	 * @param requisicao requisição de execução feita pelo modelo
+	 * @param memoryId sessão de chat
+	 * @return resultado da ferramenta, como enviado ao modelo
+	 */
+	private String executar(ToolExecutor executorFerramenta, ToolExecutionRequest requisicao, Object memoryId) {
+		Lote lote = memoryId == null ? null : lotes.getIfPresent(memoryId);
+		if (lote == null) {
+			return executorFerramenta.execute(requisicao, memoryId);
+		}
+		int indice = lote.indice(requisicao);
+		if (indice < 0) {
+			return executorFerramenta.execute(requisicao, memoryId);
+		}
+		if (indice == lote.tamanho() - 1) {
+			lotes.asMap().remove(memoryId, lote);
+		}
+
+		CompletableFuture<String> antecipada = lote.antecipadas()[indice];
+		if (antecipada != null) {
+			return aguardar(antecipada);
+		}
+		if (!PedidoTool.FERRAMENTAS_MUTANTES.contains(requisicao.name())) {
+			antecipar(lote, indice, memoryId);
+		}
+		return executorFerramenta.execute(requisicao, memoryId);
+	}
+
+	/**
+	 * Inicia em virtual threads as leituras que seguem a requisição atual,
+	 * até a próxima ferramenta que altera dados ou o fim do lote.
+	 *
+	 * @param lote lote de ferramentas do turno
+	 * @param indice posição da requisição executada na thread atual
+	 * @param memoryId sessão de chat
+	 */
+	private void antecipar(Lote lote, int indice, Object memoryId) {
+		Span turno = rastreamento.spanAtual();
+		int antecipadas = 0;
+		for (int i = indice + 1; i < lote.tamanho(); i++) {
+			ToolExecutionRequest seguinte = lote.requisicoes().get(i);
+			ToolExecutor executorSeguinte = executores.get(seguinte.name());
+			if (executorSeguinte == null || PedidoTool.FERRAMENTAS_MUTANTES.contains(seguinte.name())) {
+				break;
+			}
+			lote.antecipadas()[i] = CompletableFuture.supplyAsync(() -> {
+				try (Tracer.SpanInScope escopo = rastreamento.escopo(turno)) {
+					return executorSeguinte.execute(seguinte, memoryId);
+				}
+			}, executor);
+			antecipadas++;
+		}
+		if (antecipadas > 0) {
+			trechosParalelos.increment();
+			ferramentasAntecipadas.add(antecipadas);
+		}
+	}
+
+	/**
+	 * Aguarda o resultado de uma ferramenta antecipada.
+	 *
+	 * Erros da ferramenta são propagados como se ela tivesse rodado na
+	 * thread do turno.
+	 *
+	 * @param antecipada execução antecipada
+	 * @return resultado da ferramenta
+	 */
+	private static String aguardar(CompletableFuture<String> antecipada) {
+		try {
+			return antecipada.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Execução da ferramenta interrompida", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException erro) {
+				throw erro;
+			}
+			if (e.getCause() instanceof Error erro) {
+				throw erro;
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	/**
+	 * Ferramentas pedidas pelo modelo em uma mesma resposta.
+	 *
+	 * @param requisicoes requisições na ordem do pedido
+	 * @param antecipadas execuções antecipadas, na posição de cada requisição
+	 */
+	private record Lote(List<ToolExecutionRequest> requisicoes, CompletableFuture<String>[] antecipadas) {
+
+		int tamanho() {
+			return requisicoes.size();
+		}
+
+		/**
+		 * Posição da requisição no lote, comparando pela identidade do objeto
+		 * (o LangChain4j executa as mesmas instâncias adicionadas à memória).
+		 */
+		int indice(ToolExecutionRequest requisicao) {
+			for (int i = 0; i < requisicoes.size(); i++) {
+				if (requisicoes.get(i) == requisicao) {
+					return i;
+				}
+			}
+			return -1;
+		}
+	}
+
+	/**
+	 * Memória de chat que registra o lote de cada resposta com ferramentas.
+	 */
+	private final class MemoriaComLotes implements ChatMemory {
+
+		private final ChatMemory memoria;
+
+		MemoriaComLotes(ChatMemory memoria) {
+			this.memoria = memoria;
+		}
+
+		@Override
+		public Object id() {
+			return memoria.id();
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void add(ChatMessage mensagem) {
+			if (mensagem instanceof AiMessage ai) {
+				if (ai.hasToolExecutionRequests() && ai.toolExecutionRequests().size() > 1) {
+					List<ToolExecutionRequest> requisicoes = List.copyOf(ai.toolExecutionRequests());
+					lotes.put(id(), new Lote(requisicoes, new CompletableFuture[requisicoes.size()]));
+				} else {
+					lotes.invalidate(id());
+				}
+			}
+			memoria.add(mensagem);
+		}
+
+		@Override
+		public List<ChatMessage> messages() {
+			return memoria.messages();
+		}
+
+		@Override
+		public void clear() {
+			lotes.invalidate(id());
+			memoria.clear();
+		}
+	}
+}
@@ -0,0 +1,51 @@
+package br.com.occhi.suporte.services;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import br.com.occhi.suporte.config.CacheConfiguration;
+import br.com.occhi.suporte.events.PedidoAlteradoEvento;
+
+/**
+ * Invalida os caches das consultas agregadas de pedidos após alterações.
+ * 
+ * Reage ao {@link PedidoAlteradoEvento} removendo apenas as entradas
+ * afetadas pela alteração: o valor do pedido mais caro só é invalidado
+ * quando o valor de algum pedido muda. As quantidades por status e por
+ * usuário são mantidas pelos {@link ContadoresPedidos}.
+ * 
+ * A invalidação ocorre após o commit, de forma que uma consulta concorrente
+ * não consiga repovoar o cache com o valor anterior à escrita.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class InvalidacaoCachePedidos {
+
+	private final CacheManager cacheManager;
+
+	/**
+	 * Construtor para injeção de dependência.
+	 * 
+	 * @param cacheManager gerenciador dos caches da aplicação
+	 */
+	public InvalidacaoCachePedidos(CacheManager cacheManager) {
+		this.cacheManager = cacheManager;
+	}
+
+	/**
+	 * Remove do cache as entradas afetadas pela alteração de um pedido.
+	 * 
+	 * @param evento evento de alteração do pedido
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void pedidoAlterado(PedidoAlteradoEvento evento) {
+		Cache maisCaro = cacheManager.getCache(CacheConfiguration.VALOR_PEDIDO_MAIS_CARO);
+		if (evento.valorAlterado() && maisCaro != null) {
+			maisCaro.clear();
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package br.com.occhi.suporte.services;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.memory.chat.ChatMemoryProvider;
+import dev.langchain4j.model.input.PromptTemplate;
+
+/**
+ * Serviço de acesso à memória das conversas fora do fluxo do AiServices.
+ * 
+ * Utilizado pelos atalhos que respondem ao usuário sem chamar o modelo de
+ * linguagem (ex: cache de respostas), garantindo que essas interações
+ * também fiquem registradas no histórico da sessão. Assim, as próximas
+ * mensagens enviadas ao LLM mantêm o contexto completo da conversa.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+public class MemoriaConversaService {
+
+	/**
+	 * Provedor das memórias de chat, o mesmo utilizado pelo assistente.
+	 */
+	private final ChatMemoryProvider chatMemoryProvider;
+
+	/**
+	 * Construtor para injeção de dependência.
+	 * 
+	 * @param chatMemoryProvider provedor das memórias de chat das sessões
+	 */
+	public MemoriaConversaService(ChatMemoryProvider chatMemoryProvider) {
+		this.chatMemoryProvider = chatMemoryProvider;
+	}
+
+	/**
+	 * Indica se a sessão ainda não possui nenhuma mensagem do usuário.
+	 * 
+	 * @param sessionId identificador da sessão
+	 * @return true se esta for a primeira interação da sessão
+	 */
+	public boolean primeiroTurno(String sessionId) {
+		return chatMemoryProvider.get(sessionId).messages().stream()
+				.noneMatch(UserMessage.class::isInstance);
+	}
+
+	/**
+	 * Registra na memória da sessão um turno respondido sem o LLM.
+	 * 
+	 * A mensagem de sistema é registrada da mesma forma que o AiServices
+	 * faria (mesmo template e variáveis), seguida da pergunta e da resposta.
+	 * 
+	 * @param sessionId identificador da sessão
+	 * @param pergunta mensagem enviada pelo usuário
+	 * @param resposta resposta entregue ao usuário
+	 */
+	public void registrarTurno(String sessionId, String pergunta, String resposta) {
+		ChatMemory memoria = chatMemoryProvider.get(sessionId);
+		memoria.add(PromptTemplate.from(AssistenteSuporteVendas.MENSAGEM_SISTEMA).apply(Map.of()).toSystemMessage());
+		memoria.add(UserMessage.from(pergunta));
+		memoria.add(AiMessage.from(resposta));
+	}
+}
@@ -0,0 +1,177 @@
+package br.com.occhi.suporte.services;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import dev.langchain4j.model.output.TokenUsage;
+import dev.langchain4j.service.Result;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Métricas do assistente de IA publicadas no Micrometer.
+ *
+ * Centraliza a instrumentação do caminho do /chat, permitindo saber onde
+ * o tempo de cada conversa é gasto e quanto cada turno custa em tokens:
+ *
+ * - suporte.ferramenta.execucao: tempo de cada ferramenta (tags ferramenta e resultado)
+ * - suporte.llm.chamada: latência de cada chamada ao modelo (tags modo e resultado)
+ * - suporte.llm.primeiro.token: tempo até o primeiro token das chamadas em streaming
+ * - suporte.llm.tokens: tokens de prompt e de resposta consumidos (tags modo e tipo)
+ * - suporte.chat.ferramentas.turno: quantidade de ferramentas executadas por turno
+ *
+ * Um turno pode envolver várias chamadas ao modelo (uma a cada rodada de
+ * ferramentas); por isso a latência é medida por chamada, enquanto tokens
+ * e ferramentas são contabilizados por turno.
+ *
+ * Os indicadores de estado (sessões, bulkhead e cache de respostas) são
+ * registrados em MetricasConfiguration.
+ *
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class MetricasAssistente {
+
+	/**
+	 * Modo das chamadas feitas pelo endpoint /chat.
+	 */
+	public static final String MODO_SINCRONO = "sincrono";
+
+	/**
+	 * Modo das chamadas feitas pelo endpoint /chat/stream.
+	 */
+	public static final String MODO_STREAMING = "streaming";
+
+	private static final String SUCESSO = "sucesso";
+
+	private static final String ERRO = "erro";
+
+	/**
+	 * Registro de métricas da aplicação.
+	 */
+	private final MeterRegistry registry;
+
+	/**
+	 * Tempo até o primeiro token das chamadas em streaming.
+	 */
+	private final Timer primeiroToken;
+
+	/**
+	 * Construtor para injeção de dependência.
+	 *
+	 * @param registry registro de métricas configurado pelo Spring Boot Actuator
+	 */
+	public MetricasAssistente(MeterRegistry registry) {
+		this.registry = registry;
+		this.primeiroToken = Timer.builder("suporte.llm.primeiro.token")
+				.description("Tempo até o primeiro token das chamadas ao LLM em streaming")
+				.register(registry);
+	}
+
+	/**
+	 * Executa uma ferramenta do assistente medindo seu tempo de execução.
+	 *
+	 * @param <T> tipo do retorno da ferramenta
+	 * @param ferramenta nome da ferramenta (o mesmo visto pelo modelo)
+	 * @param execucao chamada à ferramenta
+	 * @return resultado da ferramenta
+	 */
+	public <T> T medirFerramenta(String ferramenta, Supplier<T> execucao) {
+		long inicio = System.nanoTime();
+		String resultado = ERRO;
+		try {
+			T retorno = execucao.get();
+			resultado = SUCESSO;
+			return retorno;
+		} finally {
+			Timer.builder("suporte.ferramenta.execucao")
+					.description("Tempo de execução das ferramentas do assistente")
+					.tag("ferramenta", ferramenta)
+					.tag("resultado", resultado)
+					.register(registry)
+					.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	/**
+	 * Registra a duração de uma chamada ao modelo de linguagem.
+	 *
+	 * @param modo modo da chamada (sincrono ou streaming)
+	 * @param duracaoNanos duração total da chamada em nanossegundos
+	 * @param sucesso indica se a chamada terminou sem erro
+	 */
+	public void registrarChamadaLlm(String modo, long duracaoNanos, boolean sucesso) {
+		Timer.builder("suporte.llm.chamada")
+				.description("Latência das chamadas ao modelo de linguagem")
+				.tag("modo", modo)
+				.tag("resultado", sucesso ? SUCESSO : ERRO)
+				.register(registry)
+				.record(duracaoNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Registra o tempo até o primeiro token de uma chamada em streaming.
+	 *
+	 * @param duracaoNanos tempo entre o envio da requisição e o primeiro token, em nanossegundos
+	 */
+	public void registrarPrimeiroToken(long duracaoNanos) {
+		primeiroToken.record(duracaoNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Registra o consumo de um turno síncrono e devolve o próprio resultado.
+	 *
+	 * @param result resultado completo do turno
+	 * @return o mesmo resultado recebido
+	 */
+	public Result<String> registrarTurno(Result<String> result) {
+		int ferramentas = result.toolExecutions() == null ? 0 : result.toolExecutions().size();
+		registrarTurno(MODO_SINCRONO, result.tokenUsage(), ferramentas);
+		return result;
+	}
+
+	/**
+	 * Registra os tokens consumidos e as ferramentas executadas em um turno.
+	 *
+	 * @param modo modo do turno (sincrono ou streaming)
+	 * @param uso tokens consumidos pelo turno (todas as chamadas ao modelo), pode ser null
+	 * @param ferramentas quantidade de ferramentas executadas no turno
+	 */
+	public void registrarTurno(String modo, TokenUsage uso, int ferramentas) {
+		DistributionSummary.builder("suporte.chat.ferramentas.turno")
+				.description("Quantidade de ferramentas executadas por turno de conversa")
+				.tag("modo", modo)
+				.register(registry)
+				.record(ferramentas);
+
+		if (uso != null) {
+			contadorTokens(modo, "prompt").increment(valor(uso.inputTokenCount()));
+			contadorTokens(modo, "resposta").increment(valor(uso.outputTokenCount()));
+		}
+	}
+
+	/**
+	 * Obtém o contador de tokens de um modo e tipo.
+	 *
+	 * @param modo modo do turno
+	 * @param tipo prompt ou resposta
+	 * @return contador registrado
+	 */
+	private Counter contadorTokens(String modo, String tipo) {
+		return Counter.builder("suporte.llm.tokens")
+				.description("Tokens consumidos nas chamadas ao modelo de linguagem")
+				.baseUnit("tokens")
+				.tag("modo", modo)
+				.tag("tipo", tipo)
+				.register(registry);
+	}
+
+	private static double valor(Integer tokens) {
+		return tokens == null ? 0 : tokens;
+	}
+}
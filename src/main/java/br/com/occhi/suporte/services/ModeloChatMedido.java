@@ -0,0 +1,99 @@
+package br.com.occhi.suporte.services;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.output.Response;
+import io.micrometer.tracing.Span;
+
+/**
+ * Decorador do modelo de chat síncrono que mede e rastreia cada chamada.
+ *
+ * Envolve o modelo criado pelo starter do LangChain4j (que não aceita
+ * ouvintes via configuração), registrando em {@link MetricasAssistente}
+ * a duração e o resultado de cada ida ao provedor, inclusive as rodadas
+ * intermediárias de chamadas de ferramentas, e abrindo um span por
+ * chamada via {@link RastreamentoAssistente}.
+ *
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+public class ModeloChatMedido implements ChatLanguageModel {
+
+	/**
+	 * Modelo original, responsável pela chamada ao provedor.
+	 */
+	private final ChatLanguageModel modelo;
+
+	/**
+	 * Métricas do assistente.
+	 */
+	private final MetricasAssistente metricas;
+
+	/**
+	 * Rastreamento das conversas.
+	 */
+	private final RastreamentoAssistente rastreamento;
+
+	/**
+	 * Construtor do decorador.
+	 *
+	 * @param modelo modelo de chat original
+	 * @param metricas métricas do assistente
+	 * @param rastreamento rastreamento das conversas
+	 */
+	public ModeloChatMedido(ChatLanguageModel modelo, MetricasAssistente metricas, RastreamentoAssistente rastreamento) {
+		this.modelo = modelo;
+		this.metricas = metricas;
+		this.rastreamento = rastreamento;
+	}
+
+	@Override
+	public Response<AiMessage> generate(List<ChatMessage> mensagens) {
+		return medir(() -> modelo.generate(mensagens));
+	}
+
+	@Override
+	public Response<AiMessage> generate(List<ChatMessage> mensagens, List<ToolSpecification> ferramentas) {
+		return medir(() -> modelo.generate(mensagens, ferramentas));
+	}
+
+	@Override
+	public Response<AiMessage> generate(List<ChatMessage> mensagens, ToolSpecification ferramenta) {
+		return medir(() -> modelo.generate(mensagens, ferramenta));
+	}
+
+	@Override
+	public Set<Capability> supportedCapabilities() {
+		return modelo.supportedCapabilities();
+	}
+
+	/**
+	 * Executa a chamada ao modelo registrando sua duração e seu span.
+	 *
+	 * @param chamada chamada ao modelo original
+	 * @return resposta do modelo
+	 */
+	private Response<AiMessage> medir(Supplier<Response<AiMessage>> chamada) {
+		long inicio = System.nanoTime();
+		boolean sucesso = false;
+		Span span = rastreamento.iniciarChamadaLlm(MetricasAssistente.MODO_SINCRONO);
+		try {
+			Response<AiMessage> resposta = chamada.get();
+			sucesso = true;
+			rastreamento.concluirChamadaLlm(span, resposta);
+			return resposta;
+		} catch (RuntimeException e) {
+			rastreamento.falharChamadaLlm(span, e);
+			throw e;
+		} finally {
+			metricas.registrarChamadaLlm(MetricasAssistente.MODO_SINCRONO, System.nanoTime() - inicio, sucesso);
+		}
+	}
+}
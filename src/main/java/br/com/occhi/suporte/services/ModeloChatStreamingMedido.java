@@ -0,0 +1,113 @@
+package br.com.occhi.suporte.services;
+import java.util.List;
+
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.StreamingResponseHandler;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import dev.langchain4j.model.output.Response;
+import io.micrometer.tracing.Span;
+
+/**
+ * Decorador do modelo de chat em streaming que mede latência e tempo até o primeiro token.
+ *
+ * Para cada chamada ao provedor registra em {@link MetricasAssistente}:
+ * - o tempo até o primeiro token de texto (rodadas que apenas pedem
+ *   ferramentas não emitem tokens e não entram nesta medida)
+ * - a duração total até a conclusão ou o erro da chamada
+ *
+ * Cada chamada também gera um span. Como a conclusão chega em uma thread
+ * do cliente HTTP, o span do turno é devolvido ao escopo antes de repassar
+ * a resposta: as ferramentas e a próxima chamada ao modelo, executadas
+ * pelo LangChain4j dentro desse callback, continuam na mesma árvore.
+ *
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+public class ModeloChatStreamingMedido implements StreamingChatLanguageModel {
+
+	/**
+	 * Modelo original, responsável pela chamada ao provedor.
+	 */
+	private final StreamingChatLanguageModel modelo;
+
+	/**
+	 * Métricas do assistente.
+	 */
+	private final MetricasAssistente metricas;
+
+	/**
+	 * Rastreamento das conversas.
+	 */
+	private final RastreamentoAssistente rastreamento;
+
+	/**
+	 * Construtor do decorador.
+	 *
+	 * @param modelo modelo de chat em streaming original
+	 * @param metricas métricas do assistente
+	 * @param rastreamento rastreamento das conversas
+	 */
+	public ModeloChatStreamingMedido(StreamingChatLanguageModel modelo, MetricasAssistente metricas,
+			RastreamentoAssistente rastreamento) {
+		this.modelo = modelo;
+		this.metricas = metricas;
+		this.rastreamento = rastreamento;
+	}
+
+	@Override
+	public void generate(List<ChatMessage> mensagens, StreamingResponseHandler<AiMessage> handler) {
+		modelo.generate(mensagens, medir(handler));
+	}
+
+	@Override
+	public void generate(List<ChatMessage> mensagens, List<ToolSpecification> ferramentas, StreamingResponseHandler<AiMessage> handler) {
+		modelo.generate(mensagens, ferramentas, medir(handler));
+	}
+
+	@Override
+	public void generate(List<ChatMessage> mensagens, ToolSpecification ferramenta, StreamingResponseHandler<AiMessage> handler) {
+		modelo.generate(mensagens, ferramenta, medir(handler));
+	}
+
+	/**
+	 * Envolve o handler da chamada com a medição de tempos e o span da chamada.
+	 *
+	 * @param handler handler original da chamada
+	 * @return handler que registra as métricas e repassa os eventos
+	 */
+	private StreamingResponseHandler<AiMessage> medir(StreamingResponseHandler<AiMessage> handler) {
+		long inicio = System.nanoTime();
+		Span pai = rastreamento.spanAtual();
+		Span span = rastreamento.iniciarChamadaLlm(MetricasAssistente.MODO_STREAMING);
+		return new StreamingResponseHandler<>() {
+
+			private volatile boolean primeiroTokenRecebido;
+
+			@Override
+			public void onNext(String token) {
+				if (!primeiroTokenRecebido) {
+					primeiroTokenRecebido = true;
+					metricas.registrarPrimeiroToken(System.nanoTime() - inicio);
+				}
+				handler.onNext(token);
+			}
+
+			@Override
+			public void onComplete(Response<AiMessage> resposta) {
+				metricas.registrarChamadaLlm(MetricasAssistente.MODO_STREAMING, System.nanoTime() - inicio, true);
+				rastreamento.concluirChamadaLlm(span, resposta);
+				rastreamento.executarNoEscopo(pai, () -> handler.onComplete(resposta));
+			}
+
+			@Override
+			public void onError(Throwable erro) {
+				metricas.registrarChamadaLlm(MetricasAssistente.MODO_STREAMING, System.nanoTime() - inicio, false);
+				rastreamento.falharChamadaLlm(span, erro);
+				rastreamento.executarNoEscopo(pai, () -> handler.onError(erro));
+			}
+		};
+	}
+}
@@ -1,12 +1,45 @@
 package br.com.occhi.suporte.services;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import br.com.occhi.suporte.config.CacheConfiguration;
 import br.com.occhi.suporte.entities.Pedido;
 import br.com.occhi.suporte.entities.Produto;
+import br.com.occhi.suporte.enums.SituacaoCancelamento;
 import br.com.occhi.suporte.enums.StatusPedido;
+import br.com.occhi.suporte.events.PedidoAlteradoEvento;
+import br.com.occhi.suporte.exceptions.LimiteConsultaExcedidoException;
+import br.com.occhi.suporte.exceptions.SolicitacaoCancelamentoInvalidaException;
+import br.com.occhi.suporte.records.CursorPedido;
 import br.com.occhi.suporte.records.DetalhesPedido;
+import br.com.occhi.suporte.records.LinhaCancelamentoPedido;
+import br.com.occhi.suporte.records.LinhaDetalhesPedido;
+import br.com.occhi.suporte.records.PaginaPedidos;
+import br.com.occhi.suporte.records.ResultadoCancelamento;
+import br.com.occhi.suporte.records.ResumoPedido;
+import br.com.occhi.suporte.records.SolicitacaoCancelamentoLote;
 import br.com.occhi.suporte.repositories.PedidoRepository;
 
 /**
@@ -29,6 +62,16 @@ import br.com.occhi.suporte.repositories.PedidoRepository;
  */
 @Service
 public class PedidoService {
+
+	/**
+	 * Quantidade máxima de pedidos consultados em uma única chamada em lote.
+	 */
+	public static final int MAX_PEDIDOS_POR_LOTE = 50;
+
+	/**
+	 * Quantidade de pedidos cancelados em cada transação do cancelamento em lote.
+	 */
+	public static final int TAMANHO_LOTE_CANCELAMENTO = 200;
 	
 	/**
 	 * Repositório de pedidos para acesso aos dados.
@@ -36,13 +79,35 @@ public class PedidoService {
 	 */
 	private final PedidoRepository pedidoRepository;
 
+	/**
+	 * Publicador dos eventos de domínio de pedidos.
+	 */
+	private final ApplicationEventPublisher eventPublisher;
+
+	/**
+	 * Contadores de pedidos mantidos em memória.
+	 */
+	private final ContadoresPedidos contadoresPedidos;
+
+	/**
+	 * Transação de cada lote do cancelamento em lote.
+	 */
+	private final TransactionTemplate transacaoLote;
+
 	/**
 	 * Construtor para injeção de dependência.
 	 * 
 	 * @param pedidoRepository repositório de pedidos
+	 * @param eventPublisher publicador dos eventos de alteração de pedidos
+	 * @param contadoresPedidos contadores de pedidos por status e por usuário
+	 * @param transactionManager gerenciador de transações (cancelamento em lote)
 	 */
-	public PedidoService(PedidoRepository pedidoRepository) {
+	public PedidoService(PedidoRepository pedidoRepository, ApplicationEventPublisher eventPublisher,
+			ContadoresPedidos contadoresPedidos, PlatformTransactionManager transactionManager) {
 		this.pedidoRepository = pedidoRepository;
+		this.eventPublisher = eventPublisher;
+		this.contadoresPedidos = contadoresPedidos;
+		this.transacaoLote = new TransactionTemplate(transactionManager);
 	}
 
 	/**
@@ -53,10 +118,18 @@ public class PedidoService {
 	 * - Validar histórico de compras
 	 * - Análises de comportamento do cliente
 	 * 
+	 * A quantidade vem dos contadores em memória (O(1)); o banco só é
+	 * consultado enquanto os contadores não estiverem inicializados, em
+	 * transação somente leitura (réplica, quando configurada).
+	 * 
 	 * @param usuarioId identificador único do usuário
 	 * @return quantidade total de pedidos do usuário
 	 */
+	@Transactional(readOnly = true)
 	public Integer obterQuantidadePedidosPorUsuario(Long usuarioId) {
+		if (contadoresPedidos.inicializado()) {
+			return contadoresPedidos.quantidadePorUsuario(usuarioId);
+		}
 		return pedidoRepository.buscarQuantidadePedidosPorUsuario(usuarioId);
 	}
 
@@ -67,10 +140,18 @@ public class PedidoService {
 	 * dos pedidos no sistema, como pedidos pendentes, em andamento,
 	 * concluídos ou cancelados.
 	 * 
+	 * A quantidade vem dos contadores em memória (O(1)); o banco só é
+	 * consultado enquanto os contadores não estiverem inicializados, em
+	 * transação somente leitura (réplica, quando configurada).
+	 * 
 	 * @param status status do pedido para filtrar a contagem
 	 * @return quantidade de pedidos com o status especificado
 	 */
+	@Transactional(readOnly = true)
 	public Integer obterQuantidadePedidosPorStatus(StatusPedido status) {
+		if (contadoresPedidos.inicializado()) {
+			return contadoresPedidos.quantidadePorStatus(status);
+		}
 		return pedidoRepository.buscarQuantidadePedidosPorStatus(status);
 	}
 
@@ -80,8 +161,14 @@ public class PedidoService {
 	 * Útil para análises de vendas, relatórios gerenciais e
 	 * identificação de padrões de compra.
 	 * 
+	 * O resultado fica em cache e é invalidado quando o valor de algum
+	 * pedido é criado ou alterado (PedidoAlteradoEvento). Sem cache, a
+	 * consulta roda em transação somente leitura (réplica, quando configurada).
+	 * 
 	 * @return valor total do pedido mais caro, ou null se não houver pedidos
 	 */
+	@Transactional(readOnly = true)
+	@Cacheable(CacheConfiguration.VALOR_PEDIDO_MAIS_CARO)
 	public BigDecimal obterValorPedidoMaisCaro() {
 		return pedidoRepository.buscarValorPedidoMaisCaro();
 	}
@@ -94,16 +181,22 @@ public class PedidoService {
 	 * confirmar a propriedade do pedido.
 	 * 
 	 * O método:
-	 * 1. Busca o pedido usando validação de identidade
+	 * 1. Busca o pedido e o usuário em uma única consulta; os produtos vêm
+	 *    do cache de segundo nível ou, com o cache frio, de uma segunda
+	 *    consulta (coleção carregada em lote, @BatchSize)
 	 * 2. Converte a entidade Pedido em um DTO DetalhesPedido
 	 * 3. Extrai os nomes dos produtos para simplificar a resposta
 	 * 4. Formata a data de criação como string
 	 * 
+	 * Executado em uma transação somente leitura, sem depender do
+	 * open-in-view para acessar os relacionamentos.
+	 * 
 	 * @param pedidoId identificador único do pedido
 	 * @param primeiroNome primeiro nome do usuário para validação
 	 * @param ultimoNome último nome do usuário para validação
 	 * @return DetalhesPedido com informações completas, ou null se não encontrado
 	 */
+	@Transactional(readOnly = true)
 	public DetalhesPedido obterDetalhesPedidoPorIdEUsuario(Long pedidoId, String primeiroNome, String ultimoNome) {
 		Pedido pedido = pedidoRepository.buscarDetalhesPedidoPorIdEUsuario(pedidoId, primeiroNome, ultimoNome);
 
@@ -111,48 +204,331 @@ public class PedidoService {
 			return null;
 		}
 
-		return new DetalhesPedido(
-				pedido.getPedidoId(),
-				pedido.getUsuario().getUsuarioId(),
-				pedido.getUsuario().getPrimeiroNome(),
-				pedido.getUsuario().getUltimoNome(),
-				pedido.getProdutos().stream().map( Produto::getNome ).toList(),
-				pedido.getStatus(),
-				pedido.getValorTotal(),
-				pedido.getCriadoEm().toString());
+		return paraDetalhesPedido(pedido);
 	}
 
 	/**
-	 * Cancela um pedido específico com validação de usuário.
+	 * Obtém os detalhes de vários pedidos de um mesmo usuário de uma só vez.
 	 * 
-	 * Este método implementa a funcionalidade de cancelamento de pedidos
-	 * com as seguintes características:
+	 * Versão em lote de {@link #obterDetalhesPedidoPorIdEUsuario}: todos os
+	 * pedidos, com o usuário, são carregados em uma única consulta. Os
+	 * produtos vêm do cache de segundo nível; os pedidos fora do cache têm
+	 * os produtos lidos juntos, em uma consulta a cada 50 pedidos (@BatchSize).
+	 * Útil quando o cliente pergunta sobre vários pedidos na mesma mensagem.
 	 * 
-	 * 1. Validação de identidade: verifica nome e sobrenome do usuário
-	 * 2. Alteração de status: muda o status para CANCELADO
-	 * 3. Persistência: salva a alteração no banco de dados
-	 * 4. Retorno de dados: retorna os detalhes atualizados do pedido
+	 * O resultado segue a ordem dos identificadores informados (sem
+	 * repetições); pedidos inexistentes ou de outro usuário são omitidos.
+	 * 
+	 * @param pedidoIds identificadores dos pedidos (no máximo MAX_PEDIDOS_POR_LOTE)
+	 * @param primeiroNome primeiro nome do usuário para validação
+	 * @param ultimoNome último nome do usuário para validação
+	 * @return detalhes dos pedidos encontrados
+	 * @throws LimiteConsultaExcedidoException se forem informados pedidos demais
+	 */
+	@Transactional(readOnly = true)
+	public List<DetalhesPedido> obterDetalhesPedidosPorIdsEUsuario(List<Long> pedidoIds, String primeiroNome, String ultimoNome) {
+		Set<Long> ids = new LinkedHashSet<>(pedidoIds);
+		ids.remove(null);
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+		if (ids.size() > MAX_PEDIDOS_POR_LOTE) {
+			throw new LimiteConsultaExcedidoException(
+					"É possível consultar no máximo " + MAX_PEDIDOS_POR_LOTE + " pedidos por vez.");
+		}
+
+		Map<Long, Pedido> pedidos = pedidoRepository.buscarDetalhesPedidosPorIdsEUsuario(ids, primeiroNome, ultimoNome)
+				.stream()
+				.collect(Collectors.toMap(Pedido::getPedidoId, Function.identity()));
+
+		return ids.stream()
+				.map(pedidos::get)
+				.filter(Objects::nonNull)
+				.map(this::paraDetalhesPedido)
+				.toList();
+	}
+
+	/**
+	 * Percorre todos os pedidos de um usuário, com seus produtos, em streaming.
+	 * 
+	 * Os pedidos são lidos do banco em lotes (fetch size) e entregues ao
+	 * consumidor um a um, do mais antigo ao mais recente, sem carregar a
+	 * listagem inteira em memória. Cada pedido é montado a partir das suas
+	 * linhas consecutivas (uma por produto) assim que a última é lida.
+	 * 
+	 * O consumidor é chamado dentro da transação somente leitura, que fica
+	 * aberta até o fim da leitura.
+	 * 
+	 * @param usuarioId identificador do usuário
+	 * @param primeiroNome primeiro nome do usuário para validação
+	 * @param ultimoNome último nome do usuário para validação
+	 * @param apos posição a partir da qual continuar, ou null para o início
+	 * @param consumidor destino de cada pedido lido
+	 */
+	@Transactional(readOnly = true)
+	public void percorrerPedidosPorUsuario(Long usuarioId, String primeiroNome, String ultimoNome, CursorPedido apos,
+			Consumer<DetalhesPedido> consumidor) {
+		Stream<LinhaDetalhesPedido> linhas = apos == null
+				? pedidoRepository.lerPedidosPorUsuario(usuarioId, primeiroNome, ultimoNome)
+				: pedidoRepository.lerPedidosPorUsuarioApos(usuarioId, primeiroNome, ultimoNome, apos.criadoEm(), apos.pedidoId());
+
+		try (Stream<DetalhesPedido> pedidos = agruparPorPedido(linhas)) {
+			pedidos.forEach(consumidor);
+		}
+	}
+
+	/**
+	 * Lista uma página de resumos dos pedidos de um usuário.
+	 * 
+	 * Paginação por chave sobre (criado_em, pedido_id): cada página custa o
+	 * mesmo, independentemente de quantas páginas já foram lidas. Os resumos
+	 * trazem apenas ID, status, valor e data, mantendo pequeno o contexto do
+	 * assistente de IA.
+	 * 
+	 * @param usuarioId identificador do usuário
+	 * @param primeiroNome primeiro nome do usuário para validação
+	 * @param ultimoNome último nome do usuário para validação
+	 * @param cursor cursor devolvido pela página anterior, ou null para a primeira
+	 * @param tamanhoPagina quantidade máxima de pedidos na página
+	 * @return página de resumos com o cursor da próxima página (null na última)
+	 * @throws br.com.occhi.suporte.exceptions.CursorInvalidoException se o cursor for inválido
+	 */
+	@Transactional(readOnly = true)
+	public PaginaPedidos listarPedidosPorUsuario(Long usuarioId, String primeiroNome, String ultimoNome, String cursor,
+			int tamanhoPagina) {
+		CursorPedido apos = CursorPedido.decodificar(cursor);
+		Limit limite = Limit.of(tamanhoPagina + 1);
+		List<ResumoPedido> resumos = apos == null
+				? pedidoRepository.buscarResumosPedidosPorUsuario(usuarioId, primeiroNome, ultimoNome, limite)
+				: pedidoRepository.buscarResumosPedidosPorUsuarioApos(usuarioId, primeiroNome, ultimoNome,
+						apos.criadoEm(), apos.pedidoId(), limite);
+
+		if (resumos.size() <= tamanhoPagina) {
+			return new PaginaPedidos(resumos, null);
+		}
+
+		List<ResumoPedido> pagina = resumos.subList(0, tamanhoPagina);
+		ResumoPedido ultimo = pagina.get(tamanhoPagina - 1);
+		return new PaginaPedidos(List.copyOf(pagina), new CursorPedido(ultimo.criadoEm(), ultimo.pedidoId()).codificar());
+	}
+
+	/**
+	 * Cancela um pedido específico com validação de usuário.
+	 * 
+	 * O cancelamento é feito por uma única atualização condicional no banco
+	 * (ver {@link PedidoRepository#cancelarPedidoSeCancelavel}), sem carregar
+	 * a entidade: o status só muda se o pedido ainda estiver NOVO ou
+	 * EM_ANDAMENTO no momento do UPDATE, e a versão do pedido é incrementada.
+	 * Cancelamentos simultâneos, ou concorrentes com outra alteração de
+	 * status, não sobrescrevem um ao outro.
 	 * 
 	 * Regras de negócio:
 	 * - Só permite cancelar pedidos que pertençam ao usuário especificado
-	 * - Não valida se o pedido pode ser cancelado (ex: se já foi enviado)
+	 * - Só cancela pedidos com status NOVO ou EM_ANDAMENTO
+	 * - Pedidos já cancelados não são alterados (resultado JA_CANCELADO)
+	 * - Pedidos concluídos não são alterados (resultado NAO_CANCELAVEL)
 	 * - Mantém histórico completo do pedido após cancelamento
 	 * 
+	 * Um PedidoAlteradoEvento (caches e contadores) é publicado apenas
+	 * quando o cancelamento é efetivado.
+	 * 
 	 * @param pedidoId identificador único do pedido
 	 * @param primeiroNome primeiro nome do usuário para validação
 	 * @param ultimoNome último nome do usuário para validação
-	 * @return DetalhesPedido com status atualizado, ou null se não encontrado
+	 * @return resultado do cancelamento (nunca null)
 	 */
-	public DetalhesPedido cancelarPedido(Long pedidoId, String primeiroNome, String ultimoNome) {
-		Pedido pedido = pedidoRepository.buscarDetalhesPedidoPorIdEUsuario(pedidoId, primeiroNome, ultimoNome);
+	@Transactional
+	public ResultadoCancelamento cancelarPedido(Long pedidoId, String primeiroNome, String ultimoNome) {
+		LinhaCancelamentoPedido linha = pedidoRepository.cancelarPedidoSeCancelavel(pedidoId, primeiroNome, ultimoNome);
 
-		if(pedido == null){
-			return null;
+		return paraResultadoCancelamento(pedidoId, linha);
+	}
+
+	/**
+	 * Valida uma solicitação de cancelamento em lote antes de qualquer
+	 * alteração.
+	 * 
+	 * Além das regras da própria solicitação, recusa filtros que atingiriam
+	 * mais de {@link SolicitacaoCancelamentoLote#MAX_PEDIDOS} pedidos, o
+	 * mesmo limite do modo por identificadores.
+	 * 
+	 * @param solicitacao pedidos ou filtro a cancelar
+	 * @throws SolicitacaoCancelamentoInvalidaException se a solicitação for incompleta ou ambígua
+	 * @throws LimiteConsultaExcedidoException se a solicitação atingir pedidos demais
+	 */
+	public void validarCancelamentoEmLote(SolicitacaoCancelamentoLote solicitacao) {
+		solicitacao.validar();
+		if (solicitacao.porFiltro() && pedidoRepository.contarPedidosPorStatusECriacao(
+				solicitacao.status(), solicitacao.criadoDe(), solicitacao.criadoAte()) > SolicitacaoCancelamentoLote.MAX_PEDIDOS) {
+			throw new LimiteConsultaExcedidoException("O filtro atinge mais de " + SolicitacaoCancelamentoLote.MAX_PEDIDOS
+					+ " pedidos. Reduza o intervalo de criação.");
+		}
+	}
+
+	/**
+	 * Cancela pedidos em lote, em transações curtas de até
+	 * {@link #TAMANHO_LOTE_CANCELAMENTO} pedidos.
+	 * 
+	 * Usado pela operação para cancelar centenas de pedidos de uma vez (ex:
+	 * falha de um fornecedor), sem validação de usuário. Cada lote é
+	 * cancelado por um único UPDATE condicional (ver
+	 * {@link PedidoRepository#cancelarPedidosSeCancelaveis}) e confirmado
+	 * antes do próximo: os bloqueios duram apenas uma instrução, e o
+	 * cancelamento de pedidos pelo chat não fica esperando o lote inteiro.
+	 * 
+	 * Os pedidos são selecionados pelos identificadores informados ou, no
+	 * modo filtro, por status e intervalo de criação, percorridos em ordem
+	 * de pedido_id. As mesmas regras do cancelamento individual se aplicam
+	 * a cada pedido, e um PedidoAlteradoEvento é publicado para cada pedido
+	 * efetivamente cancelado.
+	 * 
+	 * O consumidor recebe os resultados de cada lote logo após o commit,
+	 * permitindo acompanhar o progresso de solicitações grandes. Se um lote
+	 * falhar, os lotes anteriores permanecem cancelados.
+	 * 
+	 * No modo filtro, no máximo {@link SolicitacaoCancelamentoLote#MAX_PEDIDOS}
+	 * pedidos são cancelados, mesmo que novos pedidos passem a atender ao
+	 * filtro durante a execução. A contagem prévia fica a cargo de
+	 * {@link #validarCancelamentoEmLote}.
+	 * 
+	 * @param solicitacao pedidos ou filtro a cancelar
+	 * @param aoConcluirLote consumidor dos resultados de cada lote, na ordem de processamento
+	 * @throws SolicitacaoCancelamentoInvalidaException se a solicitação for incompleta ou ambígua
+	 * @throws LimiteConsultaExcedidoException se forem informados pedidos demais
+	 */
+	public void cancelarPedidosEmLote(SolicitacaoCancelamentoLote solicitacao, Consumer<List<ResultadoCancelamento>> aoConcluirLote) {
+		solicitacao.validar();
+
+		if (!solicitacao.porFiltro()) {
+			List<Long> ids = new ArrayList<>(new LinkedHashSet<>(solicitacao.pedidoIds()));
+			ids.remove(null);
+			for (int inicio = 0; inicio < ids.size(); inicio += TAMANHO_LOTE_CANCELAMENTO) {
+				List<Long> lote = ids.subList(inicio, Math.min(inicio + TAMANHO_LOTE_CANCELAMENTO, ids.size()));
+				aoConcluirLote.accept(transacaoLote.execute(status -> cancelarLote(lote)));
+			}
+			return;
+		}
+
+		Long ultimoPedidoId = 0L;
+		int restantes = SolicitacaoCancelamentoLote.MAX_PEDIDOS;
+		int tamanho;
+		List<Long> lote;
+		do {
+			tamanho = Math.min(TAMANHO_LOTE_CANCELAMENTO, restantes);
+			lote = pedidoRepository.buscarIdsPedidosPorStatusECriacaoApos(solicitacao.status(), solicitacao.criadoDe(),
+					solicitacao.criadoAte(), ultimoPedidoId, Limit.of(tamanho));
+			if (lote.isEmpty()) {
+				return;
+			}
+			List<Long> ids = lote;
+			aoConcluirLote.accept(transacaoLote.execute(status -> cancelarLote(ids)));
+			ultimoPedidoId = lote.get(lote.size() - 1);
+			restantes -= lote.size();
+		} while (lote.size() == tamanho && restantes > 0);
+	}
+
+	/**
+	 * Cancela um lote de pedidos na transação corrente.
+	 * 
+	 * @param pedidoIds identificadores do lote
+	 * @return resultado de cada pedido, na ordem dos identificadores
+	 */
+	private List<ResultadoCancelamento> cancelarLote(List<Long> pedidoIds) {
+		Map<Long, LinhaCancelamentoPedido> linhas = pedidoRepository.cancelarPedidosSeCancelaveis(pedidoIds)
+				.stream()
+				.collect(Collectors.toMap(LinhaCancelamentoPedido::pedidoId, Function.identity()));
+
+		return pedidoIds.stream()
+				.map(pedidoId -> paraResultadoCancelamento(pedidoId, linhas.get(pedidoId)))
+				.toList();
+	}
+
+	/**
+	 * Converte a linha devolvida pela atualização condicional no resultado
+	 * do cancelamento, publicando o PedidoAlteradoEvento se o pedido foi
+	 * cancelado.
+	 * 
+	 * @param pedidoId identificador do pedido solicitado
+	 * @param linha linha devolvida pelo banco, ou null se o pedido não foi encontrado
+	 * @return resultado do cancelamento
+	 */
+	private ResultadoCancelamento paraResultadoCancelamento(Long pedidoId, LinhaCancelamentoPedido linha) {
+		if(linha == null){
+			return new ResultadoCancelamento(pedidoId, SituacaoCancelamento.NAO_ENCONTRADO, null, null, null);
 		}
 
-		pedido.setStatus(StatusPedido.CANCELADO);
-		pedidoRepository.save(pedido);
+		StatusPedido statusAnterior = linha.statusAnterior() != null ? StatusPedido.valueOf(linha.statusAnterior()) : null;
+		if (Boolean.TRUE.equals(linha.cancelado())) {
+			eventPublisher.publishEvent(new PedidoAlteradoEvento(
+					linha.pedidoId(), linha.usuarioId(), statusAnterior, StatusPedido.CANCELADO, false));
+			return new ResultadoCancelamento(linha.pedidoId(), SituacaoCancelamento.CANCELADO, statusAnterior,
+					StatusPedido.CANCELADO, linha.versao());
+		}
+
+		SituacaoCancelamento situacao = statusAnterior == StatusPedido.CANCELADO
+				? SituacaoCancelamento.JA_CANCELADO
+				: SituacaoCancelamento.NAO_CANCELAVEL;
+		return new ResultadoCancelamento(linha.pedidoId(), situacao, statusAnterior, statusAnterior, linha.versao());
+	}
 
+	/**
+	 * Agrupa as linhas consecutivas de cada pedido em um DetalhesPedido.
+	 * 
+	 * O agrupamento é preguiçoso: só as linhas do pedido corrente ficam em
+	 * memória. Fechar o Stream retornado fecha o Stream de linhas.
+	 * 
+	 * @param linhas linhas ordenadas por pedido (uma por produto)
+	 * @return detalhes dos pedidos, na mesma ordem das linhas
+	 */
+	private Stream<DetalhesPedido> agruparPorPedido(Stream<LinhaDetalhesPedido> linhas) {
+		Iterator<LinhaDetalhesPedido> iterador = linhas.iterator();
+		Iterator<DetalhesPedido> pedidos = new Iterator<>() {
+
+			private LinhaDetalhesPedido proxima = iterador.hasNext() ? iterador.next() : null;
+
+			@Override
+			public boolean hasNext() {
+				return proxima != null;
+			}
+
+			@Override
+			public DetalhesPedido next() {
+				if (proxima == null) {
+					throw new NoSuchElementException();
+				}
+				LinhaDetalhesPedido primeira = proxima;
+				List<String> nomesProdutos = new ArrayList<>();
+				do {
+					if (proxima.nomeProduto() != null) {
+						nomesProdutos.add(proxima.nomeProduto());
+					}
+					proxima = iterador.hasNext() ? iterador.next() : null;
+				} while (proxima != null && proxima.pedidoId().equals(primeira.pedidoId()));
+
+				return new DetalhesPedido(
+						primeira.pedidoId(),
+						primeira.usuarioId(),
+						primeira.primeiroNome(),
+						primeira.ultimoNome(),
+						List.copyOf(nomesProdutos),
+						primeira.status(),
+						primeira.valorTotal(),
+						primeira.criadoEm().toString());
+			}
+		};
+
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pedidos, Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(linhas::close);
+	}
+
+	/**
+	 * Converte a entidade Pedido (com usuário e produtos já carregados)
+	 * no DTO DetalhesPedido.
+	 * 
+	 * @param pedido pedido carregado com usuário e produtos
+	 * @return detalhes do pedido
+	 */
+	private DetalhesPedido paraDetalhesPedido(Pedido pedido) {
 		return new DetalhesPedido(
 				pedido.getPedidoId(),
 				pedido.getUsuario().getUsuarioId(),
@@ -1,11 +1,21 @@
 package br.com.occhi.suporte.services;
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
 
+import dev.langchain4j.agent.tool.P;
 import dev.langchain4j.agent.tool.Tool;
+import dev.langchain4j.agent.tool.ToolMemoryId;
 import org.springframework.stereotype.Component;
 
+import br.com.occhi.suporte.enums.CargaTrabalho;
+import br.com.occhi.suporte.enums.SituacaoCancelamento;
 import br.com.occhi.suporte.enums.StatusPedido;
 import br.com.occhi.suporte.records.DetalhesPedido;
+import br.com.occhi.suporte.records.PaginaPedidos;
+import br.com.occhi.suporte.records.ResultadoCancelamento;
+import br.com.occhi.suporte.records.ResumoProduto;
 
 /**
  * Classe que expõe ferramentas (tools) para o assistente de IA.
@@ -33,6 +43,29 @@ import br.com.occhi.suporte.records.DetalhesPedido;
  */
 @Component
 public class PedidoTool {
+
+	/**
+	 * Nomes das ferramentas que alteram dados no sistema.
+	 * 
+	 * Respostas que executaram alguma destas ferramentas não podem ser
+	 * reaproveitadas nem executadas fora de ordem.
+	 */
+	public static final Set<String> FERRAMENTAS_MUTANTES = Set.of("cancelarPedido");
+
+	/**
+	 * Nomes das ferramentas que recebem dados do cliente (primeiro e último
+	 * nome) para validar o acesso aos pedidos.
+	 * 
+	 * Respostas que executaram alguma destas ferramentas pertencem ao
+	 * cliente da conversa e não podem ser reaproveitadas para outra sessão.
+	 */
+	public static final Set<String> FERRAMENTAS_DADOS_CLIENTE = Set.of("obterDetalhesPedidoPorIdEUsuario",
+			"obterDetalhesPedidosPorIdsEUsuario", "listarPedidosPorUsuario", "cancelarPedido");
+
+	/**
+	 * Quantidade de pedidos por página entregue ao assistente.
+	 */
+	private static final int TAMANHO_PAGINA_ASSISTENTE = 10;
 	
 	/**
 	 * Serviço de pedidos para processamento da lógica de negócio.
@@ -40,13 +73,49 @@ public class PedidoTool {
 	 */
 	private final PedidoService pedidoService;
 
+	/**
+	 * Serviço do catálogo de produtos.
+	 */
+	private final ProdutoService produtoService;
+
+	/**
+	 * Métricas do assistente, usadas para medir o tempo de cada ferramenta.
+	 */
+	private final MetricasAssistente metricas;
+
+	/**
+	 * Rastreamento das conversas, que abre um span por execução de ferramenta.
+	 */
+	private final RastreamentoAssistente rastreamento;
+
+	/**
+	 * Leitura das próprias escritas por sessão, quando há réplica de leitura.
+	 */
+	private final ConsistenciaLeitura consistencia;
+
+	/**
+	 * Carga de trabalho das ferramentas, que usam o pool de conexões do assistente.
+	 */
+	private final ContextoCargaTrabalho cargaTrabalho;
+
 	/**
 	 * Construtor para injeção de dependência.
 	 * 
 	 * @param pedidoService instância do serviço de pedidos
+	 * @param produtoService serviço do catálogo de produtos
+	 * @param metricas métricas do assistente
+	 * @param rastreamento rastreamento das conversas
+	 * @param consistencia leitura das próprias escritas por sessão
+	 * @param cargaTrabalho carga de trabalho da thread atual
 	 */
-	public PedidoTool(PedidoService pedidoService) {
+	public PedidoTool(PedidoService pedidoService, ProdutoService produtoService, MetricasAssistente metricas,
+			RastreamentoAssistente rastreamento, ConsistenciaLeitura consistencia, ContextoCargaTrabalho cargaTrabalho) {
 		this.pedidoService = pedidoService;
+		this.produtoService = produtoService;
+		this.metricas = metricas;
+		this.rastreamento = rastreamento;
+		this.consistencia = consistencia;
+		this.cargaTrabalho = cargaTrabalho;
 	}
 
 	/**
@@ -66,7 +135,7 @@ public class PedidoTool {
 	 */
 	@Tool
 	public Integer obterQuantidadePedidosPorUsuario(Long usuarioId) {
-		return pedidoService.obterQuantidadePedidosPorUsuario(usuarioId);
+		return executar("obterQuantidadePedidosPorUsuario", () -> pedidoService.obterQuantidadePedidosPorUsuario(usuarioId), "usuarioId", usuarioId);
 	}
 
 	/**
@@ -86,7 +155,7 @@ public class PedidoTool {
 	 */
 	@Tool
 	public int obterQuantidadePedidosPorStatus(StatusPedido status) {
-		return pedidoService.obterQuantidadePedidosPorStatus(status);
+		return executar("obterQuantidadePedidosPorStatus", () -> pedidoService.obterQuantidadePedidosPorStatus(status), "status", status);
 	}
 
 	/**
@@ -103,7 +172,7 @@ public class PedidoTool {
 	 */
 	@Tool
 	public BigDecimal obterValorPedidoMaisCaro() {
-		return pedidoService.obterValorPedidoMaisCaro();
+		return executar("obterValorPedidoMaisCaro", pedidoService::obterValorPedidoMaisCaro);
 	}
 
 	/**
@@ -130,11 +199,82 @@ public class PedidoTool {
 	 * @param pedidoId identificador único do pedido
 	 * @param primeiroNome primeiro nome do usuário para validação
 	 * @param ultimoNome último nome do usuário para validação
+	 * @param sessionId sessão de chat (preenchida pelo LangChain4j, não exposta ao modelo)
 	 * @return detalhes completos do pedido ou null se não encontrado/autorizado
 	 */
 	@Tool
-	public DetalhesPedido obterDetalhesPedidoPorIdEUsuario(Long pedidoId, String primeiroNome, String ultimoNome) {
-		return pedidoService.obterDetalhesPedidoPorIdEUsuario(pedidoId, primeiroNome, ultimoNome);
+	public DetalhesPedido obterDetalhesPedidoPorIdEUsuario(Long pedidoId, String primeiroNome, String ultimoNome,
+			@ToolMemoryId String sessionId) {
+		return executar("obterDetalhesPedidoPorIdEUsuario",
+				() -> consistencia.executarNaSessao(sessionId, () -> pedidoService.obterDetalhesPedidoPorIdEUsuario(pedidoId, primeiroNome, ultimoNome)),
+				"pedidoId", pedidoId, "primeiroNome", primeiroNome, "ultimoNome", ultimoNome);
+	}
+
+	/**
+	 * Ferramenta para obter detalhes de vários pedidos de uma só vez.
+	 * 
+	 * Quando o cliente pergunta sobre mais de um pedido, esta ferramenta
+	 * resolve todos em uma única chamada (uma consulta para os pedidos e,
+	 * com o cache de produtos frio, uma para os produtos), evitando uma rodada de tool call para cada pedido.
+	 * 
+	 * Aplica a mesma validação de identidade da consulta individual:
+	 * pedidos que não pertencem ao usuário informado não são retornados.
+	 * 
+	 * @param pedidoIds identificadores dos pedidos (no máximo 50)
+	 * @param primeiroNome primeiro nome do usuário para validação
+	 * @param ultimoNome último nome do usuário para validação
+	 * @param sessionId sessão de chat (preenchida pelo LangChain4j, não exposta ao modelo)
+	 * @return detalhes dos pedidos encontrados e autorizados
+	 */
+	@Tool
+	public List<DetalhesPedido> obterDetalhesPedidosPorIdsEUsuario(List<Long> pedidoIds, String primeiroNome, String ultimoNome,
+			@ToolMemoryId String sessionId) {
+		return executar("obterDetalhesPedidosPorIdsEUsuario",
+				() -> consistencia.executarNaSessao(sessionId, () -> pedidoService.obterDetalhesPedidosPorIdsEUsuario(pedidoIds, primeiroNome, ultimoNome)),
+				"pedidoIds", pedidoIds, "primeiroNome", primeiroNome, "ultimoNome", ultimoNome);
+	}
+
+	/**
+	 * Ferramenta para listar os pedidos de um usuário, página a página.
+	 * 
+	 * Retorna uma página compacta (ID, status, valor e data de até 10
+	 * pedidos, do mais antigo ao mais recente) e um cursor de continuação.
+	 * Para obter a página seguinte, o assistente chama a ferramenta de novo
+	 * passando o cursor recebido; quando o cursor vem nulo, não há mais
+	 * pedidos. Assim o contexto do modelo não cresce com o histórico do
+	 * cliente.
+	 * 
+	 * @param usuarioId identificador único do usuário
+	 * @param primeiroNome primeiro nome do usuário para validação
+	 * @param ultimoNome último nome do usuário para validação
+	 * @param cursor cursor devolvido pela página anterior (vazio na primeira página)
+	 * @param sessionId sessão de chat (preenchida pelo LangChain4j, não exposta ao modelo)
+	 * @return página de resumos de pedidos com o cursor da próxima página
+	 */
+	@Tool
+	public PaginaPedidos listarPedidosPorUsuario(Long usuarioId, String primeiroNome, String ultimoNome,
+			@P(value = "cursor devolvido pela página anterior; omitir na primeira página", required = false) String cursor,
+			@ToolMemoryId String sessionId) {
+		return executar("listarPedidosPorUsuario",
+				() -> consistencia.executarNaSessao(sessionId,
+						() -> pedidoService.listarPedidosPorUsuario(usuarioId, primeiroNome, ultimoNome, cursor, TAMANHO_PAGINA_ASSISTENTE)),
+				"usuarioId", usuarioId, "primeiroNome", primeiroNome, "ultimoNome", ultimoNome, "cursor", cursor);
+	}
+
+	/**
+	 * Ferramenta para buscar produtos do catálogo pelo nome.
+	 * 
+	 * Permite que o assistente responda perguntas sobre produtos (preço,
+	 * descrição, disponibilidade no catálogo) sem depender de um pedido.
+	 * O catálogo muda pouco: as buscas são atendidas pelo cache de segundo
+	 * nível e raramente chegam ao banco.
+	 * 
+	 * @param termo trecho do nome do produto
+	 * @return até 10 produtos cujo nome contém o termo, ordenados por nome
+	 */
+	@Tool
+	public List<ResumoProduto> buscarProdutosPorNome(@P("trecho do nome do produto") String termo) {
+		return executar("buscarProdutosPorNome", () -> produtoService.buscarProdutosPorNome(termo), "termo", termo);
 	}
 
 	/**
@@ -147,22 +287,52 @@ public class PedidoTool {
 	 * Processo de cancelamento:
 	 * 1. Valida a identidade do usuário
 	 * 2. Localiza o pedido específico
-	 * 3. Altera o status para CANCELADO
-	 * 4. Persiste a alteração no banco
-	 * 5. Retorna os detalhes atualizados
+	 * 3. Altera o status para CANCELADO, se o pedido ainda puder ser cancelado
+	 * 4. Retorna a situação do cancelamento
 	 * 
 	 * Regras de negócio aplicadas:
 	 * - Só cancela pedidos do próprio usuário
+	 * - Só cancela pedidos com status NOVO ou EM_ANDAMENTO
 	 * - Mantém histórico completo após cancelamento
-	 * - Não valida se cancelamento é permitido (pode ser estendido)
+	 * 
+	 * A situação retornada permite responder ao cliente conforme o caso:
+	 * CANCELADO, JA_CANCELADO, NAO_CANCELAVEL ou NAO_ENCONTRADO.
+	 * 
+	 * Após um cancelamento, as leituras seguintes da mesma sessão vão ao
+	 * banco primário por alguns instantes (ver {@link ConsistenciaLeitura}).
 	 * 
 	 * @param pedidoId identificador único do pedido
 	 * @param primeiroNome primeiro nome do usuário para validação
 	 * @param ultimoNome último nome do usuário para validação
-	 * @return detalhes do pedido cancelado ou null se não encontrado/autorizado
+	 * @param sessionId sessão de chat (preenchida pelo LangChain4j, não exposta ao modelo)
+	 * @return resultado do cancelamento, com situação e status anterior e atual
 	 */
 	@Tool
-	public DetalhesPedido cancelarPedido(Long pedidoId, String primeiroNome, String ultimoNome) {
-		return pedidoService.cancelarPedido(pedidoId, primeiroNome, ultimoNome);
+	public ResultadoCancelamento cancelarPedido(Long pedidoId, String primeiroNome, String ultimoNome,
+			@ToolMemoryId String sessionId) {
+		return executar("cancelarPedido", () -> {
+			ResultadoCancelamento resultado = pedidoService.cancelarPedido(pedidoId, primeiroNome, ultimoNome);
+			if (resultado.situacao() == SituacaoCancelamento.CANCELADO) {
+				consistencia.registrarEscrita(sessionId);
+			}
+			return resultado;
+		}, "pedidoId", pedidoId, "primeiroNome", primeiroNome, "ultimoNome", ultimoNome);
+	}
+
+	/**
+	 * Executa uma ferramenta com medição de tempo e span próprio.
+	 * 
+	 * As consultas da ferramenta usam o pool de conexões do assistente
+	 * ({@link CargaTrabalho#ASSISTENTE}), isolado do pool da API REST.
+	 * 
+	 * @param <T> tipo do retorno da ferramenta
+	 * @param ferramenta nome da ferramenta
+	 * @param execucao chamada ao serviço de pedidos
+	 * @param argumentos pares nome/valor dos argumentos, registrados no span (dados pessoais redigidos)
+	 * @return resultado da ferramenta
+	 */
+	private <T> T executar(String ferramenta, Supplier<T> execucao, Object... argumentos) {
+		return rastreamento.rastrearFerramenta(ferramenta,
+				() -> metricas.medirFerramenta(ferramenta, () -> cargaTrabalho.executar(CargaTrabalho.ASSISTENTE, execucao)), argumentos);
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,150 @@
+package br.com.occhi.suporte.services;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.occhi.suporte.entities.Pedido;
+import br.com.occhi.suporte.entities.Produto;
+import br.com.occhi.suporte.records.EstatisticasRegiaoCache;
+import br.com.occhi.suporte.records.ResumoProduto;
+import br.com.occhi.suporte.repositories.ProdutoRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Serviço do catálogo de produtos e do seu cache de segundo nível.
+ * 
+ * Produtos mudam raramente e são lidos a cada detalhe de pedido. O
+ * Hibernate mantém em cache (JCache/Caffeine, regiões definidas em
+ * cache-hibernate.conf):
+ * - As entidades Produto ({@value Produto#REGIAO_CACHE})
+ * - Os produtos de cada pedido ({@value Pedido#REGIAO_CACHE_PRODUTOS})
+ * - Os resultados das buscas de produtos ({@value ProdutoRepository#REGIAO_CONSULTAS})
+ * 
+ * Alterações feitas pelo JPA atualizam o cache automaticamente. Para
+ * alterações do catálogo feitas fora da aplicação (cargas, scripts SQL),
+ * este serviço oferece a invalidação de um produto ou do catálogo inteiro,
+ * exposta em DELETE /produtos/cache.
+ * 
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+public class ProdutoService {
+
+	/**
+	 * Quantidade máxima de produtos retornados por busca.
+	 */
+	public static final int MAX_PRODUTOS_POR_BUSCA = 10;
+
+	/**
+	 * Regiões de entidades e coleções do cache de segundo nível.
+	 */
+	private static final List<String> REGIOES_DADOS = List.of(Produto.REGIAO_CACHE, Pedido.REGIAO_CACHE_PRODUTOS);
+
+	/**
+	 * Repositório de produtos.
+	 */
+	private final ProdutoRepository produtoRepository;
+
+	/**
+	 * Fábrica de sessões do Hibernate, dona do cache de segundo nível e das estatísticas.
+	 */
+	private final SessionFactory sessionFactory;
+
+	/**
+	 * Construtor para injeção de dependência.
+	 * 
+	 * @param produtoRepository repositório de produtos
+	 * @param entityManagerFactory fábrica de EntityManagers do JPA
+	 */
+	public ProdutoService(ProdutoRepository produtoRepository, EntityManagerFactory entityManagerFactory) {
+		this.produtoRepository = produtoRepository;
+		this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+	}
+
+	/**
+	 * Busca produtos do catálogo pelo nome.
+	 * 
+	 * A consulta é cacheável: buscas repetidas pelo mesmo termo não vão ao
+	 * banco enquanto o catálogo não for alterado.
+	 * 
+	 * @param termo trecho do nome do produto
+	 * @return até MAX_PRODUTOS_POR_BUSCA produtos, ordenados por nome (vazio se o termo for vazio)
+	 */
+	@Transactional(readOnly = true)
+	public List<ResumoProduto> buscarProdutosPorNome(String termo) {
+		if (termo == null || termo.isBlank()) {
+			return List.of();
+		}
+		return produtoRepository.buscarProdutosPorNome(termo.strip(), Limit.of(MAX_PRODUTOS_POR_BUSCA))
+				.stream()
+				.map(produto -> new ResumoProduto(produto.getProdutoId(), produto.getNome(), produto.getDescricao(), produto.getPreco()))
+				.toList();
+	}
+
+	/**
+	 * Remove um produto do cache de segundo nível após uma alteração externa.
+	 * 
+	 * Os resultados das buscas de produtos também são descartados, pois o
+	 * nome do produto pode ter mudado.
+	 * 
+	 * @param produtoId identificador do produto alterado
+	 */
+	public void invalidarProduto(Long produtoId) {
+		sessionFactory.getCache().evictEntityData(Produto.class, produtoId);
+		sessionFactory.getCache().evictQueryRegion(ProdutoRepository.REGIAO_CONSULTAS);
+	}
+
+	/**
+	 * Remove todo o catálogo do cache de segundo nível após uma carga externa.
+	 * 
+	 * Os produtos de cada pedido (identificadores) continuam em cache: os
+	 * itens de um pedido não mudam com o catálogo.
+	 */
+	public void invalidarCatalogo() {
+		sessionFactory.getCache().evictEntityData(Produto.class);
+		sessionFactory.getCache().evictQueryRegion(ProdutoRepository.REGIAO_CONSULTAS);
+	}
+
+	/**
+	 * Retorna as estatísticas das regiões do cache de segundo nível.
+	 * 
+	 * @return acertos, falhas e inserções de cada região
+	 */
+	public List<EstatisticasRegiaoCache> estatisticasCache() {
+		return List.of(
+				estatisticasRegiao(Produto.REGIAO_CACHE),
+				estatisticasRegiao(Pedido.REGIAO_CACHE_PRODUTOS),
+				estatisticasRegiao(ProdutoRepository.REGIAO_CONSULTAS));
+	}
+
+	/**
+	 * Retorna as estatísticas de uma região do cache de segundo nível.
+	 * 
+	 * Regiões ainda não utilizadas (ex: consultas antes da primeira busca)
+	 * ou com as estatísticas do Hibernate desabilitadas aparecem zeradas.
+	 * 
+	 * @param regiao nome da região
+	 * @return acertos, falhas e inserções da região
+	 */
+	public EstatisticasRegiaoCache estatisticasRegiao(String regiao) {
+		Statistics estatisticas = sessionFactory.getStatistics();
+		CacheRegionStatistics regiaoCache = REGIOES_DADOS.contains(regiao)
+				? estatisticas.getDomainDataRegionStatistics(regiao)
+				: estatisticas.getQueryRegionStatistics(regiao);
+		if (regiaoCache == null) {
+			return new EstatisticasRegiaoCache(regiao, 0, 0, 0, 0);
+		}
+		long acertos = regiaoCache.getHitCount();
+		long falhas = regiaoCache.getMissCount();
+		long leituras = acertos + falhas;
+		return new EstatisticasRegiaoCache(regiao, acertos, falhas, regiaoCache.getPutCount(),
+				leituras == 0 ? 0 : (double) acertos / leituras);
+	}
+}
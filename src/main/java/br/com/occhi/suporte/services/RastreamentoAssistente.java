@@ -0,0 +1,240 @@
+package br.com.occhi.suporte.services;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+
+/**
+ * Rastreamento distribuído (spans) das conversas com o assistente.
+ *
+ * Cada turno de conversa gera uma árvore de spans que mostra onde o tempo
+ * foi gasto:
+ *
+ * <pre>
+ * chat                      (sessao.id, tokens do turno)
+ * ├── llm                   (uma por ida ao modelo, com tokens e motivo de término)
+ * ├── ferramenta {nome}     (argumentos, com dados pessoais redigidos)
+ * │   └── query / connection (spans JDBC do datasource-micrometer)
+ * └── llm
+ * </pre>
+ *
+ * Os spans são criados pela API do Micrometer Tracing e exportados pelo
+ * OpenTelemetry (OTLP e, opcionalmente, arquivo local). Sem tracing
+ * configurado, o Tracer é um no-op e o custo é desprezível.
+ *
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class RastreamentoAssistente {
+
+	/**
+	 * Valor registrado no lugar de argumentos com dados pessoais.
+	 */
+	public static final String VALOR_REDIGIDO = "[redigido]";
+
+	/**
+	 * Argumentos de ferramentas que identificam o cliente e nunca são exportados.
+	 */
+	private static final Set<String> ARGUMENTOS_SENSIVEIS = Set.of("primeiroNome", "ultimoNome");
+
+	/**
+	 * Tracer configurado pelo Spring Boot Actuator.
+	 */
+	private final Tracer tracer;
+
+	/**
+	 * Construtor para injeção de dependência.
+	 *
+	 * @param tracer tracer do Micrometer Tracing
+	 */
+	public RastreamentoAssistente(Tracer tracer) {
+		this.tracer = tracer;
+	}
+
+	/**
+	 * Inicia o span de um turno de conversa, filho do span corrente (requisição HTTP).
+	 *
+	 * @param modo modo do turno (sincrono ou streaming)
+	 * @param sessionId identificador da sessão de chat
+	 * @return span iniciado, que deve ser encerrado ao final do turno
+	 */
+	public Span iniciarTurno(String modo, String sessionId) {
+		return tracer.nextSpan()
+				.name("chat")
+				.tag("chat.modo", modo)
+				.tag("sessao.id", sessionId)
+				.start();
+	}
+
+	/**
+	 * Executa o turno com o span em escopo, encerrando-o ao final.
+	 *
+	 * Permite que o turno rode em outra thread (executor de conversas)
+	 * mantendo a hierarquia dos spans filhos.
+	 *
+	 * @param <T> tipo do retorno do turno
+	 * @param turno span do turno
+	 * @param execucao processamento do turno
+	 * @return resultado do turno
+	 */
+	public <T> T executarTurno(Span turno, Supplier<T> execucao) {
+		try (Tracer.SpanInScope escopo = tracer.withSpan(turno)) {
+			return execucao.get();
+		} catch (RuntimeException e) {
+			turno.error(e);
+			throw e;
+		} finally {
+			turno.end();
+		}
+	}
+
+	/**
+	 * Coloca o span em escopo na thread atual, sem encerrá-lo.
+	 *
+	 * @param span span a colocar em escopo
+	 * @return escopo que deve ser fechado pelo chamador
+	 */
+	public Tracer.SpanInScope escopo(Span span) {
+		return tracer.withSpan(span);
+	}
+
+	/**
+	 * Executa uma ação com o span informado em escopo, sem encerrá-lo.
+	 *
+	 * Usado nos callbacks do streaming, que rodam em threads do cliente HTTP
+	 * e precisam devolver ao escopo o span do turno.
+	 *
+	 * @param span span a colocar em escopo (pode ser null)
+	 * @param acao ação a executar
+	 */
+	public void executarNoEscopo(Span span, Runnable acao) {
+		try (Tracer.SpanInScope escopo = tracer.withSpan(span)) {
+			acao.run();
+		}
+	}
+
+	/**
+	 * Retorna o span em escopo na thread atual.
+	 *
+	 * @return span corrente, ou null se não houver
+	 */
+	public Span spanAtual() {
+		return tracer.currentSpan();
+	}
+
+	/**
+	 * Registra no span o consumo de tokens.
+	 *
+	 * @param span span do turno ou da chamada ao LLM
+	 * @param uso tokens consumidos, pode ser null
+	 */
+	public void registrarUso(Span span, TokenUsage uso) {
+		if (uso == null) {
+			return;
+		}
+		if (uso.inputTokenCount() != null) {
+			span.tag("llm.tokens.prompt", uso.inputTokenCount());
+		}
+		if (uso.outputTokenCount() != null) {
+			span.tag("llm.tokens.resposta", uso.outputTokenCount());
+		}
+		if (uso.totalTokenCount() != null) {
+			span.tag("llm.tokens.total", uso.totalTokenCount());
+		}
+	}
+
+	/**
+	 * Inicia o span de uma ida ao modelo de linguagem, filho do span corrente.
+	 *
+	 * @param modo modo da chamada (sincrono ou streaming)
+	 * @return span iniciado
+	 */
+	public Span iniciarChamadaLlm(String modo) {
+		return tracer.nextSpan()
+				.name("llm")
+				.tag("llm.modo", modo)
+				.start();
+	}
+
+	/**
+	 * Encerra o span de uma chamada ao LLM com os dados da resposta.
+	 *
+	 * @param span span da chamada
+	 * @param resposta resposta do modelo
+	 */
+	public void concluirChamadaLlm(Span span, Response<AiMessage> resposta) {
+		if (resposta != null) {
+			registrarUso(span, resposta.tokenUsage());
+			if (resposta.finishReason() != null) {
+				span.tag("llm.motivo.termino", resposta.finishReason().name());
+			}
+			if (resposta.content() != null && resposta.content().hasToolExecutionRequests()) {
+				span.tag("llm.ferramentas.solicitadas", resposta.content().toolExecutionRequests().size());
+			}
+		}
+		span.end();
+	}
+
+	/**
+	 * Encerra o span de uma chamada ao LLM que terminou com erro.
+	 *
+	 * @param span span da chamada
+	 * @param erro erro da chamada
+	 */
+	public void falharChamadaLlm(Span span, Throwable erro) {
+		span.error(erro);
+		span.end();
+	}
+
+	/**
+	 * Executa uma ferramenta dentro de um span próprio.
+	 *
+	 * Os argumentos são informados em pares nome/valor e registrados como
+	 * atributos do span; nomes e sobrenomes de clientes são redigidos.
+	 * As consultas SQL da ferramenta aparecem como spans filhos.
+	 *
+	 * @param <T> tipo do retorno da ferramenta
+	 * @param ferramenta nome da ferramenta
+	 * @param execucao chamada à ferramenta
+	 * @param argumentos pares nome/valor dos argumentos
+	 * @return resultado da ferramenta
+	 */
+	public <T> T rastrearFerramenta(String ferramenta, Supplier<T> execucao, Object... argumentos) {
+		Span span = tracer.nextSpan().name("ferramenta " + ferramenta).tag("ferramenta.nome", ferramenta);
+		for (int i = 0; i + 1 < argumentos.length; i += 2) {
+			String nome = String.valueOf(argumentos[i]);
+			span.tag("ferramenta.argumento." + nome, redigir(nome, argumentos[i + 1]));
+		}
+		span.start();
+		try (Tracer.SpanInScope escopo = tracer.withSpan(span)) {
+			return execucao.get();
+		} catch (RuntimeException e) {
+			span.error(e);
+			throw e;
+		} finally {
+			span.end();
+		}
+	}
+
+	/**
+	 * Converte o valor de um argumento para registro no span.
+	 *
+	 * @param nome nome do argumento
+	 * @param valor valor recebido pela ferramenta
+	 * @return valor textual, ou {@link #VALOR_REDIGIDO} para dados pessoais
+	 */
+	static String redigir(String nome, Object valor) {
+		if (valor == null) {
+			return "null";
+		}
+		return ARGUMENTOS_SENSIVEIS.contains(nome) ? VALOR_REDIGIDO : String.valueOf(valor);
+	}
+}
@@ -0,0 +1,280 @@
+package br.com.occhi.suporte.services;
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.com.occhi.suporte.enums.CargaTrabalho;
+import br.com.occhi.suporte.enums.IntencaoChat;
+import br.com.occhi.suporte.enums.StatusPedido;
+
+/**
+ * Roteador de intenções simples, que responde sem chamar o modelo de linguagem.
+ *
+ * Muitas mensagens enviadas ao /chat correspondem a uma única consulta
+ * (ex: "quantos pedidos estão cancelados?"), mas pagam uma ou duas idas e
+ * voltas completas à OpenAI: uma para escolher a ferramenta e outra para
+ * redigir a resposta. Este roteador fica à frente do assistente e:
+ * 1. Normaliza a mensagem (minúsculas, sem acentos e pontuação)
+ * 2. Compara a mensagem inteira com a gramática de cada {@link IntencaoChat}
+ * 3. Se houver correspondência, consulta o {@link PedidoService} e responde
+ *    com um texto em formato fixo, em milissegundos
+ * 4. Caso contrário, encaminha a mensagem ao assistente, sem alteração
+ *
+ * A correspondência é sempre com a mensagem inteira: perguntas com mais de
+ * um assunto, com saudações ou com referências ao histórico da conversa
+ * ("e os meus?") seguem para o modelo. Na dúvida, o roteador não responde.
+ *
+ * As consultas usam o pool de conexões do assistente e leem as próprias
+ * escritas da sessão, como as ferramentas. O turno respondido é registrado
+ * na memória da sessão, e o modelo o vê nas mensagens seguintes.
+ *
+ * @author Ailton Occhi
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class RoteadorIntencoes {
+
+	/**
+	 * Início das perguntas de contagem ("quantos", "qual a quantidade de"...).
+	 */
+	private static final String CONTAGEM = "(?:quantos|qual (?:e )?(?:a |o )?(?:quantidade|numero|total) de)";
+
+	/**
+	 * Cortesias aceitas no início ou no fim da mensagem.
+	 */
+	private static final String CORTESIA = "(?:por favor|pf|pfv)";
+
+	private static final Pattern QUANTIDADE_PEDIDOS_USUARIO = gramatica(CONTAGEM
+			+ " pedidos(?: (?:tem|possui))?(?: (?:o|a|do|da))? (?:usuario|cliente)(?: (?:de )?(?:id|numero|codigo))? (\\d{1,18})"
+			+ "(?: (?:tem|possui|fez|realizou))?(?: no sistema)?");
+
+	private static final Pattern QUANTIDADE_PEDIDOS_STATUS = gramatica(CONTAGEM
+			+ " pedidos(?: (?:existem|ha|temos|estao|sao|com|o|status|no|de))*"
+			+ " (novos?|em andamento|concluidos?|cancelados?)"
+			+ "(?: (?:existem|ha|temos|no sistema|hoje|atualmente|agora))*");
+
+	private static final Pattern VALOR_PEDIDO_MAIS_CARO = gramatica(
+			"(?:qual (?:e )?)?(?:o )?(?:valor (?:do )?)?(?:pedido mais caro|maior pedido)"
+			+ "(?: (?:ja )?(?:registrado|feito|do sistema|no sistema))*");
+
+	/**
+	 * Formato dos valores em reais (ex: 10.176,97).
+	 */
+	private static final String FORMATO_VALOR = "#,##0.00";
+
+	private final PedidoService pedidoService;
+
+	private final ConsistenciaLeitura consistencia;
+
+	private final ContextoCargaTrabalho cargaTrabalho;
+
+	private final MemoriaConversaService memoriaConversa;
+
+	private final boolean habilitado;
+
+	/**
+	 * Mensagens respondidas por intenção e mensagens encaminhadas ao modelo.
+	 */
+	private final Map<IntencaoChat, LongAdder> respondidas = new EnumMap<>(IntencaoChat.class);
+	private final LongAdder encaminhadas = new LongAdder();
+
+	/**
+	 * Construtor para injeção de dependência.
+	 *
+	 * @param pedidoService serviço de pedidos que responde às intenções
+	 * @param consistencia leitura das próprias escritas por sessão
+	 * @param cargaTrabalho carga de trabalho da thread atual
+	 * @param memoriaConversa serviço de registro dos turnos na memória da sessão
+	 * @param habilitado indica se o roteador está ativo
+	 */
+	public RoteadorIntencoes(PedidoService pedidoService, ConsistenciaLeitura consistencia, ContextoCargaTrabalho cargaTrabalho,
+			MemoriaConversaService memoriaConversa,
+			@Value("${suporte.chat.roteador-intencoes.enabled:true}") boolean habilitado) {
+		this.pedidoService = pedidoService;
+		this.consistencia = consistencia;
+		this.cargaTrabalho = cargaTrabalho;
+		this.memoriaConversa = memoriaConversa;
+		this.habilitado = habilitado;
+		for (IntencaoChat intencao : IntencaoChat.values()) {
+			respondidas.put(intencao, new LongAdder());
+		}
+	}
+
+	/**
+	 * Responde à mensagem diretamente, se ela for uma intenção simples.
+	 *
+	 * @param sessionId identificador da sessão
+	 * @param mensagem mensagem enviada pelo usuário
+	 * @param assistente chamada ao assistente, usada quando a mensagem não é reconhecida
+	 * @return resposta do roteador ou do assistente
+	 */
+	public String responder(String sessionId, String mensagem, Supplier<String> assistente) {
+		String resposta = responderDireto(sessionId, mensagem);
+		return resposta != null ? resposta : assistente.get();
+	}
+
+	/**
+	 * Responde à mensagem se ela for uma intenção simples, sem chamar o assistente.
+	 * 
+	 * Usado pelo /chat/stream, que envia a resposta do roteador como um
+	 * único evento e só abre o streaming do modelo quando a mensagem não é
+	 * reconhecida.
+	 *
+	 * @param sessionId identificador da sessão
+	 * @param mensagem mensagem enviada pelo usuário
+	 * @return resposta do roteador, ou null se a mensagem deve seguir para o assistente
+	 */
+	public String responderDireto(String sessionId, String mensagem) {
+		Reconhecida reconhecida = habilitado ? reconhecer(mensagem) : null;
+		if (reconhecida == null) {
+			encaminhadas.increment();
+			return null;
+		}
+		String resposta = responderIntencao(sessionId, reconhecida);
+		memoriaConversa.registrarTurno(sessionId, mensagem, resposta);
+		return resposta;
+	}
+
+	/**
+	 * Retorna quantas mensagens foram respondidas com a intenção informada.
+	 *
+	 * @param intencao intenção simples
+	 * @return mensagens respondidas sem o modelo
+	 */
+	public long respondidas(IntencaoChat intencao) {
+		return respondidas.get(intencao).sum();
+	}
+
+	/**
+	 * Retorna quantas mensagens foram encaminhadas ao assistente.
+	 *
+	 * @return mensagens não reconhecidas como intenção simples
+	 */
+	public long encaminhadas() {
+		return encaminhadas.sum();
+	}
+
+	/**
+	 * Intenção reconhecida em uma mensagem, com os seus argumentos.
+	 *
+	 * @param intencao intenção simples
+	 * @param usuarioId usuário consultado (apenas em QUANTIDADE_PEDIDOS_USUARIO)
+	 * @param status status consultado (apenas em QUANTIDADE_PEDIDOS_STATUS)
+	 */
+	record Reconhecida(IntencaoChat intencao, Long usuarioId, StatusPedido status) {}
+
+	/**
+	 * Reconhece a intenção simples da mensagem.
+	 *
+	 * @param mensagem mensagem enviada pelo usuário
+	 * @return intenção e argumentos, ou null se a mensagem inteira não corresponder a nenhuma gramática
+	 */
+	static Reconhecida reconhecer(String mensagem) {
+		String texto = CacheRespostasAssistente.normalizar(mensagem);
+		Matcher usuario = QUANTIDADE_PEDIDOS_USUARIO.matcher(texto);
+		if (usuario.matches()) {
+			return new Reconhecida(IntencaoChat.QUANTIDADE_PEDIDOS_USUARIO, Long.valueOf(usuario.group(1)), null);
+		}
+		Matcher status = QUANTIDADE_PEDIDOS_STATUS.matcher(texto);
+		if (status.matches()) {
+			return new Reconhecida(IntencaoChat.QUANTIDADE_PEDIDOS_STATUS, null, status(status.group(1)));
+		}
+		if (VALOR_PEDIDO_MAIS_CARO.matcher(texto).matches()) {
+			return new Reconhecida(IntencaoChat.VALOR_PEDIDO_MAIS_CARO, null, null);
+		}
+		return null;
+	}
+
+	/**
+	 * Consulta o serviço de pedidos e monta a resposta da intenção.
+	 *
+	 * @param sessionId identificador da sessão
+	 * @param reconhecida intenção reconhecida e seus argumentos
+	 * @return resposta em formato fixo
+	 */
+	private String responderIntencao(String sessionId, Reconhecida reconhecida) {
+		IntencaoChat intencao = reconhecida.intencao();
+		return switch (intencao) {
+			case QUANTIDADE_PEDIDOS_USUARIO -> {
+				Long usuarioId = reconhecida.usuarioId();
+				int quantidade = consultar(intencao, sessionId, () -> pedidoService.obterQuantidadePedidosPorUsuario(usuarioId));
+				yield switch (quantidade) {
+					case 0 -> "O usuário " + usuarioId + " não possui pedidos registrados.";
+					case 1 -> "O usuário " + usuarioId + " possui 1 pedido registrado.";
+					default -> "O usuário " + usuarioId + " possui " + quantidade + " pedidos registrados.";
+				};
+			}
+			case QUANTIDADE_PEDIDOS_STATUS -> {
+				StatusPedido status = reconhecida.status();
+				int quantidade = consultar(intencao, sessionId, () -> pedidoService.obterQuantidadePedidosPorStatus(status));
+				yield switch (quantidade) {
+					case 0 -> "Não há pedidos com status " + status + " no momento.";
+					case 1 -> "Existe 1 pedido com status " + status + ".";
+					default -> "Existem " + quantidade + " pedidos com status " + status + ".";
+				};
+			}
+			case VALOR_PEDIDO_MAIS_CARO -> {
+				BigDecimal valor = consultar(intencao, sessionId, pedidoService::obterValorPedidoMaisCaro);
+				yield valor == null
+						? "Ainda não há pedidos registrados."
+						: "O pedido mais caro registrado é de R$ " + new DecimalFormat(FORMATO_VALOR,
+								DecimalFormatSymbols.getInstance(Locale.of("pt", "BR"))).format(valor) + ".";
+			}
+		};
+	}
+
+	/**
+	 * Executa a consulta da intenção como as ferramentas do assistente.
+	 *
+	 * @param <T> tipo do resultado
+	 * @param intencao intenção reconhecida
+	 * @param sessionId identificador da sessão
+	 * @param consulta consulta ao serviço de pedidos
+	 * @return resultado da consulta
+	 */
+	private <T> T consultar(IntencaoChat intencao, String sessionId, Supplier<T> consulta) {
+		T resultado = cargaTrabalho.executar(CargaTrabalho.ASSISTENTE, () -> consistencia.executarNaSessao(sessionId, consulta));
+		respondidas.get(intencao).increment();
+		return resultado;
+	}
+
+	/**
+	 * Converte o status escrito pelo usuário.
+	 *
+	 * @param texto status normalizado (ex: "cancelados", "em andamento")
+	 * @return status do pedido
+	 */
+	private static StatusPedido status(String texto) {
+		if (texto.startsWith("novo")) {
+			return StatusPedido.NOVO;
+		}
+		if (texto.startsWith("conclu")) {
+			return StatusPedido.CONCLUIDO;
+		}
+		if (texto.startsWith("cancel")) {
+			return StatusPedido.CANCELADO;
+		}
+		return StatusPedido.EM_ANDAMENTO;
+	}
+
+	/**
+	 * Compila a gramática de uma intenção, aceitando cortesias no início e no fim.
+	 *
+	 * @param expressao expressão da intenção sobre o texto normalizado
+	 * @return padrão que deve corresponder à mensagem inteira
+	 */
+	private static Pattern gramatica(String expressao) {
+		return Pattern.compile("(?:" + CORTESIA + " )?" + expressao + "(?: " + CORTESIA + ")?");
+	}
+}
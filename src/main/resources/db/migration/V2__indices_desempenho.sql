@@ -0,0 +1,19 @@
+-- Índices para as consultas do PedidoRepository.
+-- IF NOT EXISTS: bancos criados pelo antigo database.sql (baseline na versão 1) já podem ter
+-- idx_pedidos_usuario_criado_em.
+
+-- Validação de identidade por nome e sobrenome (detalhes, lote, cancelamento e listagem).
+CREATE INDEX IF NOT EXISTS idx_usuarios_nome ON usuarios (primeiro_nome, ultimo_nome);
+
+-- Pedidos de um usuário: contagem e listagem paginada por chave (criado_em, pedido_id).
+-- Também atende às buscas apenas por usuario_id (prefixo do índice).
+CREATE INDEX IF NOT EXISTS idx_pedidos_usuario_criado_em ON pedidos (usuario_id, criado_em, pedido_id);
+
+-- Contagem de pedidos por status.
+CREATE INDEX IF NOT EXISTS idx_pedidos_status ON pedidos (status);
+
+-- Valor do pedido mais caro (MAX lido direto do fim do índice).
+CREATE INDEX IF NOT EXISTS idx_pedidos_valor_total ON pedidos (valor_total);
+
+-- Produtos de um pedido (fetch join de Pedido.produtos).
+CREATE INDEX IF NOT EXISTS idx_pedidos_produtos_pedido ON pedidos_produtos (pedido_id, produto_id);
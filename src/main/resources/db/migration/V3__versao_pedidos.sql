@@ -0,0 +1,3 @@
+-- Versão dos pedidos para controle de concorrência otimista (@Version em Pedido).
+-- Pedidos existentes começam na versão 0; toda alteração de um pedido incrementa a versão.
+ALTER TABLE pedidos ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
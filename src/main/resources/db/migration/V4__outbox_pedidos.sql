@@ -0,0 +1,11 @@
+-- Outbox transacional dos eventos de pedidos.
+-- Cada alteração de pedido grava uma linha nesta tabela na mesma transação da alteração;
+-- o PublicadorOutbox lê as linhas em lotes (FOR UPDATE SKIP LOCKED), entrega aos destinos
+-- configurados e as remove. Linhas presentes são eventos ainda não entregues.
+CREATE TABLE outbox_pedidos (
+                        evento_id BIGSERIAL PRIMARY KEY,
+                        tipo VARCHAR(100) NOT NULL,
+                        pedido_id BIGINT NOT NULL,
+                        payload TEXT NOT NULL,
+                        criado_em TIMESTAMP NOT NULL
+);
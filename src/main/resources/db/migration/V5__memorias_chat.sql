@@ -0,0 +1,9 @@
+-- Memória persistente das sessões de chat (MemoriaChatJdbcStore).
+-- Fica fora do V1, que reproduz o script original: bancos criados por esse script
+-- são marcados como já estando na versão 1 e recebem a tabela por esta migração.
+-- IF NOT EXISTS: bancos que já receberam a tabela por uma versão anterior do script.
+CREATE TABLE IF NOT EXISTS memorias_chat (
+                        memoria_id VARCHAR(255) PRIMARY KEY,
+                        mensagens TEXT NOT NULL,
+                        atualizado_em TIMESTAMP NOT NULL
+);
@@ -0,0 +1,68 @@
+package br.com.occhi.suporte;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Base dos testes que precisam de um PostgreSQL real.
+ * 
+ * Consultas nativas do PostgreSQL (ex: CTE com UPDATE ... RETURNING) e
+ * planos de execução não podem ser verificados no H2. O banco usado é:
+ * - O informado em -Dsuporte.teste.postgres.url, que deve ser um banco
+ *   vazio dedicado aos testes (usuário e senha do application.properties,
+ *   ou -Dsuporte.teste.postgres.username e .password)
+ * - Senão, um contêiner Testcontainers, iniciado uma vez por execução
+ * 
+ * Sem nenhum dos dois (ex: máquina sem Docker), as classes anotadas com
+ * {@code @EnabledIf(BancoPostgresTeste.DISPONIVEL)} são ignoradas.
+ * O esquema é criado pelas migrações Flyway da aplicação.
+ */
+public abstract class BancoPostgresTeste {
+
+	/**
+	 * Condição de execução para {@code @EnabledIf}.
+	 */
+	public static final String DISPONIVEL = "br.com.occhi.suporte.BancoPostgresTeste#disponivel";
+
+	private static final String URL_EXTERNA = System.getProperty("suporte.teste.postgres.url");
+
+	private static PostgreSQLContainer<?> conteiner;
+
+	/**
+	 * Indica se há um PostgreSQL para os testes.
+	 * 
+	 * @return true se um banco externo foi informado ou o Docker está disponível
+	 */
+	public static boolean disponivel() {
+		return URL_EXTERNA != null || DockerClientFactory.instance().isDockerAvailable();
+	}
+
+	@DynamicPropertySource
+	static void banco(DynamicPropertyRegistry propriedades) {
+		propriedades.add("spring.flyway.enabled", () -> "true");
+		propriedades.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+		if (URL_EXTERNA != null) {
+			propriedades.add("spring.datasource.url", () -> URL_EXTERNA);
+			String usuario = System.getProperty("suporte.teste.postgres.username");
+			if (usuario != null) {
+				propriedades.add("spring.datasource.username", () -> usuario);
+				propriedades.add("spring.datasource.password", () -> System.getProperty("suporte.teste.postgres.password", ""));
+			}
+			return;
+		}
+		PostgreSQLContainer<?> postgres = iniciarConteiner();
+		propriedades.add("spring.datasource.url", postgres::getJdbcUrl);
+		propriedades.add("spring.datasource.username", postgres::getUsername);
+		propriedades.add("spring.datasource.password", postgres::getPassword);
+	}
+
+	private static synchronized PostgreSQLContainer<?> iniciarConteiner() {
+		if (conteiner == null) {
+			conteiner = new PostgreSQLContainer<>("postgres:16-alpine");
+			conteiner.start();
+		}
+		return conteiner;
+	}
+}
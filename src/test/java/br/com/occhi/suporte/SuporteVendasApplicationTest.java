@@ -3,7 +3,7 @@ package br.com.occhi.suporte;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = { "spring.flyway.enabled=false", "suporte.agendamento.enabled=false" })
 class SuporteVendasApplicationTest {
 
 	@Test
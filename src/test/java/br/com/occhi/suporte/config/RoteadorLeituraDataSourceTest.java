@@ -0,0 +1,158 @@
+package br.com.occhi.suporte.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+
+import br.com.occhi.suporte.enums.StatusPedido;
+import br.com.occhi.suporte.repositories.PedidoRepository;
+import br.com.occhi.suporte.services.ConsistenciaLeitura;
+import br.com.occhi.suporte.services.ContadoresPedidos;
+import br.com.occhi.suporte.services.PedidoService;
+
+class RoteadorLeituraDataSourceTest {
+
+	private final DataSource primario = mock(DataSource.class);
+
+	private final DataSource replica = mock(DataSource.class);
+
+	private final Connection conexaoPrimario = mock(Connection.class);
+
+	private final Connection conexaoReplica = mock(Connection.class);
+
+	private final MonitorReplica monitor = mock(MonitorReplica.class);
+
+	private final ConsistenciaLeitura consistencia = new ConsistenciaLeitura(1000, 500);
+
+	private final RoteadorLeituraDataSource roteador = new RoteadorLeituraDataSource(primario, replica, monitor, consistencia);
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		when(primario.getConnection()).thenReturn(conexaoPrimario);
+		when(replica.getConnection()).thenReturn(conexaoReplica);
+		when(monitor.replicaUtilizavel()).thenReturn(true);
+	}
+
+	@Test
+	void leDaReplicaQuandoEstaUtilizavel() throws SQLException {
+		assertThat(roteador.getConnection()).isSameAs(conexaoReplica);
+	}
+
+	@Test
+	void leDoPrimarioQuandoAReplicaEstaAtrasada() throws SQLException {
+		when(monitor.replicaUtilizavel()).thenReturn(false);
+
+		assertThat(roteador.getConnection()).isSameAs(conexaoPrimario);
+		verify(replica, never()).getConnection();
+	}
+
+	@Test
+	void sessaoQueEscreveuLeDoPrimarioEAsDemaisDaReplica() throws SQLException {
+		consistencia.registrarEscrita("sessao-1");
+
+		assertThat(consistencia.executarNaSessao("sessao-1", this::conexao)).isSameAs(conexaoPrimario);
+		assertThat(consistencia.executarNaSessao("sessao-2", this::conexao)).isSameAs(conexaoReplica);
+		assertThat(consistencia.executarNoPrimario(this::conexao)).isSameAs(conexaoPrimario);
+	}
+
+	@Test
+	void falhaDeConexaoDaReplicaVaiAoPrimarioERegistraNoMonitor() throws SQLException {
+		SQLException falha = new SQLTransientConnectionException("timeout", "08001", new SQLException("connection refused"));
+		when(replica.getConnection()).thenThrow(falha);
+
+		assertThat(roteador.getConnection()).isSameAs(conexaoPrimario);
+		verify(monitor).registrarFalha(falha);
+	}
+
+	@Test
+	void poolDaReplicaEsgotadoEDevolvidoAoChamador() throws SQLException {
+		when(replica.getConnection()).thenThrow(new SQLTransientConnectionException("pool esgotado"));
+
+		assertThatThrownBy(roteador::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+		verify(primario, never()).getConnection();
+		verify(monitor, never()).registrarFalha(any());
+	}
+
+	@Test
+	void credenciaisExplicitasSeguemAMesmaEscolha() throws SQLException {
+		Connection comCredenciais = mock(Connection.class);
+		when(replica.getConnection("leitor", "senha")).thenReturn(comCredenciais);
+
+		assertThat(roteador.getConnection("leitor", "senha")).isSameAs(comCredenciais);
+	}
+
+	@Test
+	void consultasDeQuantidadeEValorDoPedidoServiceLeemDaReplica() {
+		LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primario);
+		dataSource.setReadOnlyDataSource(roteador);
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+
+		List<Connection> conexoesUsadas = new CopyOnWriteArrayList<>();
+		PedidoRepository pedidoRepository = mock(PedidoRepository.class);
+		when(pedidoRepository.buscarQuantidadePedidosPorUsuario(anyLong())).thenAnswer(chamada -> {
+			conexoesUsadas.add(conexaoFisica(dataSource));
+			return 5;
+		});
+		when(pedidoRepository.buscarQuantidadePedidosPorStatus(any())).thenAnswer(chamada -> {
+			conexoesUsadas.add(conexaoFisica(dataSource));
+			return 3;
+		});
+		when(pedidoRepository.buscarValorPedidoMaisCaro()).thenAnswer(chamada -> {
+			conexoesUsadas.add(conexaoFisica(dataSource));
+			return BigDecimal.TEN;
+		});
+
+		ProxyFactory proxy = new ProxyFactory(new PedidoService(pedidoRepository, mock(ApplicationEventPublisher.class),
+				mock(ContadoresPedidos.class), transactionManager));
+		proxy.setProxyTargetClass(true);
+		proxy.addAdvice(new TransactionInterceptor((TransactionManager) transactionManager, new AnnotationTransactionAttributeSource()));
+		PedidoService pedidoService = (PedidoService) proxy.getProxy();
+
+		assertThat(pedidoService.obterQuantidadePedidosPorUsuario(1000L)).isEqualTo(5);
+		assertThat(pedidoService.obterQuantidadePedidosPorStatus(StatusPedido.NOVO)).isEqualTo(3);
+		assertThat(pedidoService.obterValorPedidoMaisCaro()).isEqualTo(BigDecimal.TEN);
+		assertThat(conexoesUsadas).containsExactly(conexaoReplica, conexaoReplica, conexaoReplica);
+	}
+
+	/**
+	 * Obtém a conexão física usada pela transação atual (o proxy da
+	 * LazyConnectionDataSourceProxy só a escolhe no primeiro uso).
+	 */
+	private static Connection conexaoFisica(DataSource dataSource) {
+		return ((ConnectionProxy) DataSourceUtils.getConnection(dataSource)).getTargetConnection();
+	}
+
+	private Connection conexao() {
+		try {
+			return roteador.getConnection();
+		} catch (SQLException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
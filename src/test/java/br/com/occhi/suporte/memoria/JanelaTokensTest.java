@@ -0,0 +1,153 @@
+package br.com.occhi.suporte.memoria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.memory.chat.TokenWindowChatMemory;
+import dev.langchain4j.model.Tokenizer;
+import dev.langchain4j.model.openai.OpenAiChatModelName;
+import dev.langchain4j.model.openai.OpenAiTokenizer;
+
+class JanelaTokensTest {
+
+	private final Tokenizer tokenizer = new OpenAiTokenizer(OpenAiChatModelName.GPT_4_O_MINI);
+
+	@Test
+	void mantemAsMesmasMensagensQueOTokenWindowChatMemory() {
+		Random random = new Random(42);
+		int maxTokens = 300;
+		TokenWindowChatMemory referencia = TokenWindowChatMemory.withMaxTokens(maxTokens, tokenizer);
+		JanelaTokens janela = new JanelaTokens(List.of(), maxTokens, tokenizer);
+
+		for (int i = 0; i < 500; i++) {
+			for (ChatMessage mensagem : proximaInteracao(random, i)) {
+				referencia.add(mensagem);
+				janela.adicionar(mensagem);
+				assertThat(janela.mensagens()).isEqualTo(referencia.messages());
+				assertThat(janela.totalTokens()).isEqualTo(tokenizer.estimateTokenCountInMessages(janela.mensagens()));
+			}
+		}
+	}
+
+	@Test
+	void recarregaHistoricoRespeitandoOLimite() {
+		List<ChatMessage> historico = new ArrayList<>();
+		historico.add(SystemMessage.from("Você é o Robozinho."));
+		for (int i = 0; i < 200; i++) {
+			historico.add(UserMessage.from("Pergunta número " + i));
+			historico.add(AiMessage.from("Resposta número " + i));
+		}
+
+		JanelaTokens janela = new JanelaTokens(historico, 500, tokenizer);
+		TokenWindowChatMemory referencia = TokenWindowChatMemory.withMaxTokens(500, tokenizer);
+		historico.forEach(referencia::add);
+
+		assertThat(janela.mensagens()).isEqualTo(referencia.messages());
+		assertThat(janela.mensagens().get(0)).isInstanceOf(SystemMessage.class);
+	}
+
+	@Test
+	void compactacaoSubstituiTurnosAntigosPeloResumoEFixaOsFatos() {
+		JanelaTokens janela = new JanelaTokens(List.of(), 5000, tokenizer);
+		janela.adicionar(SystemMessage.from("Você é o Robozinho."));
+		consultarPedido(janela, 3000);
+		for (int i = 0; i < 10; i++) {
+			janela.adicionar(UserMessage.from("Pergunta número " + i));
+			janela.adicionar(AiMessage.from("Resposta número " + i));
+		}
+
+		JanelaTokens.Compactacao compactacao = janela.iniciarCompactacao(60);
+		assertThat(compactacao.mensagens().get(0)).isEqualTo(UserMessage.from("Sou a Ana Silva, qual o status do pedido 3000?"));
+		assertThat(janela.iniciarCompactacao(60)).isNull();
+
+		janela.adicionar(UserMessage.from("Pergunta durante o resumo"));
+		int removidos = janela.concluirCompactacao(compactacao, "Ana Silva consultou o pedido 3000.");
+
+		List<ChatMessage> mensagens = janela.mensagens();
+		assertThat(removidos).isPositive();
+		assertThat(mensagens.get(0)).isInstanceOf(SystemMessage.class);
+		assertThat(ContextoSessao.ehContexto(mensagens.get(1))).isTrue();
+		assertThat(((UserMessage) mensagens.get(1)).singleText())
+				.contains("Ana Silva consultou o pedido 3000.", "\"primeiroNome\":\"Ana\"", "\"3000\":{\"status\":\"NOVO\"");
+		assertThat(mensagens.get(2)).isInstanceOf(UserMessage.class);
+		assertThat(mensagens).last().isEqualTo(UserMessage.from("Pergunta durante o resumo"));
+		assertThat(janela.totalTokens()).isEqualTo(tokenizer.estimateTokenCountInMessages(mensagens));
+
+		JanelaTokens recarregada = new JanelaTokens(mensagens, 5000, tokenizer);
+		assertThat(recarregada.mensagens()).isEqualTo(mensagens);
+		assertThat(recarregada.iniciarCompactacao(60).resumoAnterior()).isEqualTo("Ana Silva consultou o pedido 3000.");
+	}
+
+	@Test
+	void evicaoMantemOsFatosConfirmadosPelasFerramentas() {
+		JanelaTokens janela = new JanelaTokens(List.of(), 400, tokenizer);
+		consultarPedido(janela, 3000);
+		for (int i = 0; i < 30; i++) {
+			janela.adicionar(UserMessage.from("Pergunta número " + i));
+			janela.adicionar(AiMessage.from("Resposta número " + i));
+		}
+
+		List<ChatMessage> mensagens = janela.mensagens();
+		assertThat(ContextoSessao.ehContexto(mensagens.get(0))).isTrue();
+		assertThat(((UserMessage) mensagens.get(0)).singleText()).contains("\"ultimoNome\":\"Silva\"", "\"3000\"");
+		assertThat(mensagens).noneMatch(ToolExecutionResultMessage.class::isInstance);
+		assertThat(janela.totalTokens()).isEqualTo(tokenizer.estimateTokenCountInMessages(mensagens)).isLessThanOrEqualTo(400);
+	}
+
+	@Test
+	void compactacaoIniciadaAntesDaLimpezaEDescartada() {
+		JanelaTokens janela = new JanelaTokens(List.of(), 5000, tokenizer);
+		consultarPedido(janela, 3000);
+		janela.adicionar(UserMessage.from("Obrigado"));
+
+		JanelaTokens.Compactacao compactacao = janela.iniciarCompactacao(0);
+		janela.limpar();
+
+		assertThat(janela.concluirCompactacao(compactacao, "resumo antigo")).isZero();
+		assertThat(janela.mensagens()).isEmpty();
+	}
+
+	private void consultarPedido(JanelaTokens janela, long pedidoId) {
+		ToolExecutionRequest requisicao = ToolExecutionRequest.builder()
+				.id("chamada-" + pedidoId)
+				.name("obterDetalhesPedidoPorIdEUsuario")
+				.arguments("{\"pedidoId\": " + pedidoId + ", \"primeiroNome\": \"Ana\", \"ultimoNome\": \"Silva\"}")
+				.build();
+		janela.adicionar(UserMessage.from("Sou a Ana Silva, qual o status do pedido " + pedidoId + "?"));
+		janela.adicionar(AiMessage.from(requisicao));
+		janela.adicionar(ToolExecutionResultMessage.from(requisicao, "{\"pedidoId\": " + pedidoId + ", \"usuarioId\": 1000, "
+				+ "\"primeiroNome\": \"Ana\", \"ultimoNome\": \"Silva\", \"nomesProdutos\": [\"iPhone 14 Apple\"], "
+				+ "\"status\": \"NOVO\", \"valorTotal\": 4299.00, \"criadoEm\": \"2025-01-15T10:30\"}"));
+		janela.adicionar(AiMessage.from("Ana, o pedido " + pedidoId + " está com status NOVO."));
+	}
+
+	private List<ChatMessage> proximaInteracao(Random random, int i) {
+		List<ChatMessage> mensagens = new ArrayList<>();
+		if (i % 97 == 0) {
+			mensagens.add(SystemMessage.from("Você é o Robozinho. Hoje é dia " + (i / 97)));
+		}
+		mensagens.add(UserMessage.from("Qual o status do pedido " + random.nextInt(1000) + "?"));
+		if (random.nextBoolean()) {
+			ToolExecutionRequest requisicao = ToolExecutionRequest.builder()
+					.id("chamada-" + i)
+					.name("obterDetalhesPedidoPorIdEUsuario")
+					.arguments("{\"pedidoId\": " + i + "}")
+					.build();
+			mensagens.add(AiMessage.from(requisicao));
+			mensagens.add(ToolExecutionResultMessage.from(requisicao, "DetalhesPedido[pedidoId=" + i + ", status=NOVO]"));
+		}
+		mensagens.add(AiMessage.from("O pedido está com status NOVO.".repeat(1 + random.nextInt(3))));
+		return mensagens;
+	}
+}
@@ -0,0 +1,64 @@
+package br.com.occhi.suporte.memoria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.memory.chat.MessageWindowChatMemory;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.service.AiServiceContext;
+import dev.langchain4j.service.AiServices;
+import dev.langchain4j.service.MemoryId;
+import dev.langchain4j.service.UserMessage;
+
+class MemoriasAssistenteTest {
+
+	interface Assistente {
+		String responder(@MemoryId String sessionId, @UserMessage String mensagem);
+	}
+
+	@Test
+	void liberaAMemoriaDoServicoQuandoASessaoSaiDoRegistro() {
+		MemoriasAssistente memoriasAssistente = new MemoriasAssistente();
+		AiServices<Assistente> servico = AiServices.builder(Assistente.class)
+				.chatLanguageModel(mensagens -> Response.from(AiMessage.from("ok")))
+				.chatMemoryProvider(id -> MessageWindowChatMemory.builder().id(id).maxMessages(10).build());
+		memoriasAssistente.vincular(servico);
+		Assistente assistente = servico.build();
+
+		assistente.responder("sessao-1", "oi");
+		assistente.responder("sessao-2", "oi");
+		assertThat(memoriasAssistente.quantidade()).isEqualTo(2);
+
+		memoriasAssistente.sessaoRemovida("sessao-1", List.of());
+
+		assertThat(memoriasAssistente.quantidade()).isEqualTo(1);
+		assertThat(assistente.responder("sessao-1", "de novo")).isEqualTo("ok");
+		assertThat(memoriasAssistente.quantidade()).isEqualTo(2);
+	}
+
+	@Test
+	void contextoDoServicoMantemOCampoUsadoNaVinculacao() throws NoSuchFieldException {
+		assertThat(AiServices.class.getDeclaredField(MemoriasAssistente.CAMPO_CONTEXTO).getType())
+				.as("layout do AiServices mudou; revise MemoriasAssistente")
+				.isEqualTo(AiServiceContext.class);
+		assertThat(AiServiceContext.class.getField("chatMemories").getType())
+				.as("layout do AiServiceContext mudou; revise MemoriasAssistente")
+				.isEqualTo(Map.class);
+	}
+
+	@Test
+	void vinculacaoAntesDoProvedorDeMemoriaFalha() {
+		AiServices<Assistente> servico = AiServices.builder(Assistente.class)
+				.chatLanguageModel(mensagens -> Response.from(AiMessage.from("ok")));
+
+		assertThatThrownBy(() -> new MemoriasAssistente().vincular(servico))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("chatMemoryProvider");
+	}
+}
@@ -0,0 +1,117 @@
+package br.com.occhi.suporte.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.occhi.suporte.enums.StatusPedido;
+import br.com.occhi.suporte.events.PedidoAlteradoEvento;
+import br.com.occhi.suporte.records.EventoOutbox;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:outbox;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"suporte.outbox.lote=2",
+		"suporte.outbox.intervalo-ms=3600000" })
+@Import(PublicadorOutboxTest.DestinoEmMemoria.class)
+class PublicadorOutboxTest {
+
+	private static final List<List<EventoOutbox>> LOTES = new CopyOnWriteArrayList<>();
+
+	@TestConfiguration
+	static class DestinoEmMemoria {
+
+		@Bean
+		DestinoEventos destinoEmMemoria() {
+			return LOTES::add;
+		}
+	}
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PublicadorOutbox publicador;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.update("DELETE FROM outbox_pedidos");
+		LOTES.clear();
+	}
+
+	@Test
+	void eventosConfirmadosSaoPublicadosEmLotesERemovidos() {
+		transactionTemplate.executeWithoutResult(status -> {
+			for (long pedidoId = 3000; pedidoId < 3003; pedidoId++) {
+				eventPublisher.publishEvent(new PedidoAlteradoEvento(pedidoId, 1000L, StatusPedido.NOVO, StatusPedido.CANCELADO, false));
+			}
+		});
+		assertThat(LOTES).isEmpty();
+
+		assertThat(publicador.publicarPendentes()).isEqualTo(3);
+
+		assertThat(LOTES).hasSize(2);
+		assertThat(LOTES.stream().flatMap(List::stream)).extracting(EventoOutbox::pedidoId).containsExactly(3000L, 3001L, 3002L);
+		assertThat(LOTES.get(0).get(0).payload()).contains("\"statusAtual\":\"CANCELADO\"");
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_pedidos", Integer.class)).isZero();
+	}
+
+	@Test
+	void eventosDeTransacaoDesfeitaNaoSaoGravados() {
+		assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+			eventPublisher.publishEvent(new PedidoAlteradoEvento(3000L, 1000L, StatusPedido.NOVO, StatusPedido.CANCELADO, false));
+			throw new IllegalStateException("falha na alteração");
+		})).isInstanceOf(IllegalStateException.class);
+
+		assertThat(publicador.publicarPendentes()).isZero();
+		assertThat(LOTES).isEmpty();
+	}
+
+	@Test
+	void esperaCadaVezMaisEntreTentativasEnquantoOBancoFalha() {
+		JdbcTemplate indisponivel = mock(JdbcTemplate.class);
+		when(indisponivel.query(anyString(), ArgumentMatchers.<RowMapper<EventoOutbox>>any(), any(Object[].class)))
+				.thenThrow(new CannotGetJdbcConnectionException("banco indisponível"));
+		PublicadorOutbox semBanco = new PublicadorOutbox(indisponivel, mock(PlatformTransactionManager.class),
+				new StaticListableBeanFactory().getBeanProvider(DestinoEventos.class), 2, 3_600_000, 3_600_000);
+
+		semBanco.publicarPendentesAgendado();
+		semBanco.publicarPendentesAgendado();
+
+		assertThat(semBanco.falhasConsecutivas()).isEqualTo(1);
+		verify(indisponivel, times(1)).query(anyString(), ArgumentMatchers.<RowMapper<EventoOutbox>>any(), any(Object[].class));
+	}
+}
@@ -0,0 +1,170 @@
+package br.com.occhi.suporte.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.occhi.suporte.BancoPostgresTeste;
+import br.com.occhi.suporte.enums.SituacaoCancelamento;
+import br.com.occhi.suporte.enums.StatusPedido;
+import br.com.occhi.suporte.outbox.OutboxPedidos;
+import br.com.occhi.suporte.records.ResultadoCancelamento;
+import br.com.occhi.suporte.records.SolicitacaoCancelamentoLote;
+import br.com.occhi.suporte.services.ConsistenciaLeitura;
+import br.com.occhi.suporte.services.ContadoresPedidos;
+import br.com.occhi.suporte.services.PedidoService;
+
+/**
+ * Cancelamento condicional (CTE com FOR UPDATE, UPDATE ... RETURNING e
+ * LEFT JOIN) executado no PostgreSQL, que o H2 não interpreta.
+ * 
+ * Os testes rodam sem transação de teste: cada cancelamento confirma a
+ * própria transação, como em produção, e os pedidos criados são removidos
+ * ao final.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ PedidoService.class, ContadoresPedidos.class, ConsistenciaLeitura.class, OutboxPedidos.class })
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@EnabledIf(BancoPostgresTeste.DISPONIVEL)
+class PedidoRepositoryCancelamentoPostgresTest extends BancoPostgresTeste {
+
+	private static final long USUARIO_ID = 900_000L;
+
+	private static final long NOVO = 900_001L;
+	private static final long EM_ANDAMENTO = 900_002L;
+	private static final long CONCLUIDO = 900_003L;
+	private static final long CANCELADO = 900_004L;
+	private static final long INEXISTENTE = 900_099L;
+
+	@Autowired
+	private PedidoService pedidoService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.update("INSERT INTO usuarios (usuario_id, primeiro_nome, ultimo_nome) VALUES (?, 'Ana', 'Teste')", USUARIO_ID);
+		inserirPedido(NOVO, StatusPedido.NOVO);
+		inserirPedido(EM_ANDAMENTO, StatusPedido.EM_ANDAMENTO);
+		inserirPedido(CONCLUIDO, StatusPedido.CONCLUIDO);
+		inserirPedido(CANCELADO, StatusPedido.CANCELADO);
+	}
+
+	@AfterEach
+	void removerPedidos() {
+		jdbcTemplate.update("DELETE FROM pedidos WHERE usuario_id = ?", USUARIO_ID);
+		jdbcTemplate.update("DELETE FROM usuarios WHERE usuario_id = ?", USUARIO_ID);
+		jdbcTemplate.update("DELETE FROM outbox_pedidos WHERE pedido_id BETWEEN ? AND ?", NOVO, INEXISTENTE);
+	}
+
+	@Test
+	void cancelamentoEmLoteDevolveASituacaoEAVersaoDeCadaPedido() {
+		List<ResultadoCancelamento> resultados = new ArrayList<>();
+		pedidoService.cancelarPedidosEmLote(new SolicitacaoCancelamentoLote(
+				List.of(CONCLUIDO, NOVO, INEXISTENTE, CANCELADO, EM_ANDAMENTO), null, null, null), resultados::addAll);
+
+		assertThat(resultados).extracting(ResultadoCancelamento::pedidoId)
+				.containsExactly(CONCLUIDO, NOVO, INEXISTENTE, CANCELADO, EM_ANDAMENTO);
+		assertThat(resultados).extracting(ResultadoCancelamento::situacao).containsExactly(
+				SituacaoCancelamento.NAO_CANCELAVEL, SituacaoCancelamento.CANCELADO, SituacaoCancelamento.NAO_ENCONTRADO,
+				SituacaoCancelamento.JA_CANCELADO, SituacaoCancelamento.CANCELADO);
+		assertThat(resultados).extracting(ResultadoCancelamento::statusAnterior).containsExactly(
+				StatusPedido.CONCLUIDO, StatusPedido.NOVO, null, StatusPedido.CANCELADO, StatusPedido.EM_ANDAMENTO);
+		assertThat(resultados).extracting(ResultadoCancelamento::versao).containsExactly(0L, 1L, null, 0L, 1L);
+
+		assertThat(estadoPedido(NOVO)).containsEntry("status", "CANCELADO").containsEntry("versao", 1L);
+		assertThat(estadoPedido(EM_ANDAMENTO)).containsEntry("status", "CANCELADO").containsEntry("versao", 1L);
+		assertThat(estadoPedido(CONCLUIDO)).containsEntry("status", "CONCLUIDO").containsEntry("versao", 0L);
+		assertThat(estadoPedido(CANCELADO)).containsEntry("status", "CANCELADO").containsEntry("versao", 0L);
+	}
+
+	@Test
+	void cancelamentoIndividualValidaOUsuarioEIncrementaAVersaoUmaVez() {
+		assertThat(pedidoService.cancelarPedido(NOVO, "Carlos", "Teste").situacao()).isEqualTo(SituacaoCancelamento.NAO_ENCONTRADO);
+		assertThat(estadoPedido(NOVO)).containsEntry("status", "NOVO").containsEntry("versao", 0L);
+
+		ResultadoCancelamento primeiro = pedidoService.cancelarPedido(NOVO, "Ana", "Teste");
+		ResultadoCancelamento segundo = pedidoService.cancelarPedido(NOVO, "Ana", "Teste");
+
+		assertThat(primeiro.situacao()).isEqualTo(SituacaoCancelamento.CANCELADO);
+		assertThat(primeiro.versao()).isEqualTo(1L);
+		assertThat(segundo.situacao()).isEqualTo(SituacaoCancelamento.JA_CANCELADO);
+		assertThat(segundo.versao()).isEqualTo(1L);
+		assertThat(pedidoService.cancelarPedido(CONCLUIDO, "Ana", "Teste").situacao()).isEqualTo(SituacaoCancelamento.NAO_CANCELAVEL);
+	}
+
+	@Test
+	void doisCancelamentosSimultaneosAplicamApenasUm() throws Exception {
+		List<ResultadoCancelamento> resultados = new ArrayList<>();
+		try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+			// Bloqueia o pedido até os dois cancelamentos estarem esperando pela mesma linha
+			List<CompletableFuture<ResultadoCancelamento>> cancelamentos = transactionTemplate.execute(status -> {
+				jdbcTemplate.queryForObject("SELECT pedido_id FROM pedidos WHERE pedido_id = ? FOR UPDATE", Long.class, NOVO);
+				List<CompletableFuture<ResultadoCancelamento>> iniciados = List.of(
+						CompletableFuture.supplyAsync(() -> pedidoService.cancelarPedido(NOVO, "Ana", "Teste"), executor),
+						CompletableFuture.supplyAsync(() -> pedidoService.cancelarPedido(NOVO, "Ana", "Teste"), executor));
+				aguardarSessoesBloqueadas(2);
+				return iniciados;
+			});
+			for (CompletableFuture<ResultadoCancelamento> cancelamento : cancelamentos) {
+				resultados.add(cancelamento.get(10, TimeUnit.SECONDS));
+			}
+		}
+
+		assertThat(resultados).extracting(ResultadoCancelamento::situacao)
+				.containsExactlyInAnyOrder(SituacaoCancelamento.CANCELADO, SituacaoCancelamento.JA_CANCELADO);
+		assertThat(resultados).extracting(ResultadoCancelamento::versao).containsOnly(1L);
+		assertThat(estadoPedido(NOVO)).containsEntry("status", "CANCELADO").containsEntry("versao", 1L);
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_pedidos WHERE pedido_id = ?", Long.class, NOVO))
+				.isEqualTo(1L);
+	}
+
+	private void inserirPedido(long pedidoId, StatusPedido status) {
+		jdbcTemplate.update("INSERT INTO pedidos (pedido_id, usuario_id, criado_em, status, valor_total) VALUES (?, ?, now(), ?, 10)",
+				pedidoId, USUARIO_ID, status.name());
+	}
+
+	private Map<String, Object> estadoPedido(long pedidoId) {
+		return jdbcTemplate.queryForMap("SELECT status, versao FROM pedidos WHERE pedido_id = ?", pedidoId);
+	}
+
+	/**
+	 * Aguarda até que a quantidade informada de sessões esteja esperando por um bloqueio.
+	 */
+	private void aguardarSessoesBloqueadas(int quantidade) {
+		long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_stat_activity WHERE datname = current_database() "
+				+ "AND wait_event_type = 'Lock'", Integer.class) < quantidade) {
+			assertThat(System.nanoTime()).as("cancelamentos não chegaram ao bloqueio").isLessThan(limite);
+			Thread.onSpinWait();
+		}
+	}
+}
@@ -0,0 +1,147 @@
+package br.com.occhi.suporte.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.occhi.suporte.BancoPostgresTeste;
+import br.com.occhi.suporte.enums.StatusPedido;
+import br.com.occhi.suporte.records.LinhaDetalhesPedido;
+
+/**
+ * Confere no PostgreSQL os planos das consultas do PedidoRepository.
+ * 
+ * O PostgreSQL não indexa chaves estrangeiras sozinho: sem a migração V2,
+ * as consultas por usuario_id, status, valor_total e pedidos_produtos.pedido_id
+ * só têm a varredura completa disponível. Com enable_seqscan desligado, o
+ * planejador escolhe qualquer índice aplicável, mesmo com poucas linhas,
+ * e só usa Seq Scan quando nenhum índice atende à consulta.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=br.com.occhi.suporte.repositories.PedidoRepositoryPlanoExecucaoTest$CapturaSql")
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@EnabledIf(BancoPostgresTeste.DISPONIVEL)
+class PedidoRepositoryPlanoExecucaoPostgresTest extends BancoPostgresTeste {
+
+	private static final Long USUARIO_ID = 1000L;
+
+	private static final String PRIMEIRO_NOME = "Ana";
+
+	private static final String ULTIMO_NOME = "Silva";
+
+	private static final Long PEDIDO_ID = 3000L;
+
+	private static final LocalDateTime INICIO = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+	private static final LocalDateTime FIM = LocalDateTime.of(2100, 1, 1, 0, 0);
+
+	@Autowired
+	private PedidoRepository pedidoRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+		PedidoRepositoryPlanoExecucaoTest.CapturaSql.COMANDOS.clear();
+	}
+
+	@Test
+	void indicesDaMigracaoV2() {
+		assertThat(jdbcTemplate.queryForList("SELECT indexname FROM pg_indexes WHERE schemaname = current_schema()", String.class))
+				.containsAll(PedidoRepositoryPlanoExecucaoTest.INDICES_V2);
+	}
+
+	@Test
+	void buscarQuantidadePedidosPorUsuario() {
+		assertThat(pedidoRepository.buscarQuantidadePedidosPorUsuario(USUARIO_ID)).isPositive();
+		verificarSemVarredura(USUARIO_ID);
+	}
+
+	@Test
+	void buscarQuantidadePedidosPorStatus() {
+		assertThat(pedidoRepository.buscarQuantidadePedidosPorStatus(StatusPedido.CANCELADO)).isPositive();
+		verificarSemVarredura(StatusPedido.CANCELADO.name());
+	}
+
+	@Test
+	void buscarValorPedidoMaisCaro() {
+		assertThat(pedidoRepository.buscarValorPedidoMaisCaro()).isNotNull();
+		verificarSemVarredura();
+	}
+
+	@Test
+	void buscarDetalhesPedidoPorIdEUsuario() {
+		assertThat(pedidoRepository.buscarDetalhesPedidoPorIdEUsuario(PEDIDO_ID, PRIMEIRO_NOME, ULTIMO_NOME)).isNotNull();
+		verificarSemVarredura(PEDIDO_ID, PRIMEIRO_NOME, ULTIMO_NOME);
+	}
+
+	@Test
+	void lerPedidosPorUsuario() {
+		try (Stream<LinhaDetalhesPedido> linhas = pedidoRepository.lerPedidosPorUsuario(USUARIO_ID, PRIMEIRO_NOME, ULTIMO_NOME)) {
+			assertThat(linhas.count()).isPositive();
+		}
+		verificarSemVarredura(USUARIO_ID, PRIMEIRO_NOME, ULTIMO_NOME);
+	}
+
+	@Test
+	void lerPedidosPorUsuarioApos() {
+		try (Stream<LinhaDetalhesPedido> linhas = pedidoRepository.lerPedidosPorUsuarioApos(USUARIO_ID, PRIMEIRO_NOME, ULTIMO_NOME,
+				INICIO, 0L)) {
+			assertThat(linhas.count()).isPositive();
+		}
+		verificarSemVarredura(USUARIO_ID, PRIMEIRO_NOME, ULTIMO_NOME, INICIO, INICIO, 0L);
+	}
+
+	@Test
+	void buscarResumosPedidosPorUsuario() {
+		assertThat(pedidoRepository.buscarResumosPedidosPorUsuario(USUARIO_ID, PRIMEIRO_NOME, ULTIMO_NOME, Limit.of(2))).hasSize(2);
+		verificarSemVarredura(USUARIO_ID, PRIMEIRO_NOME, ULTIMO_NOME, 2);
+	}
+
+	@Test
+	void buscarResumosPedidosPorUsuarioApos() {
+		assertThat(pedidoRepository.buscarResumosPedidosPorUsuarioApos(USUARIO_ID, PRIMEIRO_NOME, ULTIMO_NOME, INICIO, 0L,
+				Limit.of(2))).hasSize(2);
+		verificarSemVarredura(USUARIO_ID, PRIMEIRO_NOME, ULTIMO_NOME, INICIO, INICIO, 0L, 2);
+	}
+
+	@Test
+	void buscarIdsPedidosPorStatusECriacaoApos() {
+		assertThat(pedidoRepository.buscarIdsPedidosPorStatusECriacaoApos(StatusPedido.NOVO, INICIO, FIM, 0L, Limit.of(200)))
+				.isNotEmpty().isSorted();
+		verificarSemVarredura(StatusPedido.NOVO.name(), INICIO, FIM, 0L, 200);
+	}
+
+	@Test
+	void contarPedidosPorStatusECriacao() {
+		assertThat(pedidoRepository.contarPedidosPorStatusECriacao(StatusPedido.NOVO, INICIO, FIM)).isPositive();
+		verificarSemVarredura(StatusPedido.NOVO.name(), INICIO, FIM);
+	}
+
+	/**
+	 * Verifica que a consulta executou um único comando SQL e que o plano
+	 * desse comando não lê nenhuma tabela por Seq Scan.
+	 * 
+	 * @param parametros valores dos parâmetros do comando, na ordem do SQL
+	 */
+	private void verificarSemVarredura(Object... parametros) {
+		List<String> comandos = PedidoRepositoryPlanoExecucaoTest.CapturaSql.COMANDOS;
+		assertThat(comandos).hasSize(1);
+
+		String plano = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + comandos.get(0), String.class, parametros));
+		assertThat(plano).as(plano).doesNotContain("Seq Scan");
+	}
+}
@@ -0,0 +1,200 @@
+package br.com.occhi.suporte.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.occhi.suporte.enums.StatusPedido;
+import br.com.occhi.suporte.records.LinhaDetalhesPedido;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Guarda o desempenho das consultas do PedidoRepository.
+ * 
+ * O esquema é criado pelas migrações Flyway da aplicação em um H2 no modo
+ * PostgreSQL e recebe uma massa sintética (db/massa-teste). Cada consulta
+ * deve executar um único comando SQL e nenhuma tabela do seu plano pode
+ * ser lida por varredura completa.
+ * 
+ * As contagens agrupadas usadas na reconciliação dos contadores leem a
+ * tabela inteira por definição e ficam fora da verificação de plano.
+ * 
+ * Diferente do PostgreSQL, o H2 cria índices automaticamente para as
+ * chaves estrangeiras; as consultas por usuario_id e pedido_id passariam
+ * aqui mesmo sem a migração V2. Por isso os índices da V2 também são
+ * verificados pelo nome, e os planos são conferidos no PostgreSQL pelo
+ * PedidoRepositoryPlanoExecucaoPostgresTest.
+ */
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:planos;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=none",
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector=br.com.occhi.suporte.repositories.PedidoRepositoryPlanoExecucaoTest$CapturaSql",
+		"spring.flyway.locations=classpath:db/migration,classpath:db/massa-teste" })
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+class PedidoRepositoryPlanoExecucaoTest {
+
+	static final List<String> INDICES_V2 = List.of("idx_usuarios_nome", "idx_pedidos_usuario_criado_em", "idx_pedidos_status",
+			"idx_pedidos_valor_total", "idx_pedidos_produtos_pedido");
+
+	private static final Long USUARIO_ID = 100042L;
+
+	private static final String PRIMEIRO_NOME = "Nome100042";
+
+	private static final String ULTIMO_NOME = "Sobrenome" + (100042 % 997);
+
+	private static final Long PEDIDO_ID = 1000042L;
+
+	@Autowired
+	private PedidoRepository pedidoRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		CapturaSql.COMANDOS.clear();
+	}
+
+	@Test
+	void indicesDaMigracaoV2() {
+		assertThat(jdbcTemplate.queryForList("SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES", String.class))
+				.containsAll(INDICES_V2);
+	}
+
+	@Test
+	void buscarQuantidadePedidosPorUsuario() {
+		assertThat(pedidoRepository.buscarQuantidadePedidosPorUsuario(USUARIO_ID)).isEqualTo(5);
+		verificarComandoUnicoSemVarredura(USUARIO_ID);
+	}
+
+	@Test
+	void buscarQuantidadePedidosPorStatus() {
+		assertThat(pedidoRepository.buscarQuantidadePedidosPorStatus(StatusPedido.CANCELADO)).isPositive();
+		verificarComandoUnicoSemVarredura(StatusPedido.CANCELADO.name());
+	}
+
+	@Test
+	void buscarValorPedidoMaisCaro() {
+		assertThat(pedidoRepository.buscarValorPedidoMaisCaro()).isNotNull();
+		verificarComandoUnicoSemVarredura();
+	}
+
+	@Test
+	void buscarDetalhesPedidoPorIdEUsuario() {
+		assertThat(pedidoRepository.buscarDetalhesPedidoPorIdEUsuario(PEDIDO_ID, PRIMEIRO_NOME, ULTIMO_NOME)).isNotNull();
+		verificarComandoUnicoSemVarredura(PEDIDO_ID, PRIMEIRO_NOME, ULTIMO_NOME);
+	}
+
+	@Test
+	void buscarDetalhesPedidosPorIdsEUsuario() {
+		List<Long> ids = List.of(PEDIDO_ID, PEDIDO_ID + 20000, PEDIDO_ID + 40000);
+		assertThat(pedidoRepository.buscarDetalhesPedidosPorIdsEUsuario(ids, PRIMEIRO_NOME, ULTIMO_NOME)).hasSize(3);
+		verificarComandoUnicoSemVarredura(ids.get(0), ids.get(1), ids.get(2), PRIMEIRO_NOME, ULTIMO_NOME);
+	}
+
+	@Test
+	void lerPedidosPorUsuario() {
+		try (Stream<LinhaDetalhesPedido> linhas = pedidoRepository.lerPedidosPorUsuario(USUARIO_ID, PRIMEIRO_NOME, ULTIMO_NOME)) {
+			assertThat(linhas.count()).isEqualTo(10);
+		}
+		verificarComandoUnicoSemVarredura(USUARIO_ID, PRIMEIRO_NOME, ULTIMO_NOME);
+	}
+
+	@Test
+	void lerPedidosPorUsuarioApos() {
+		LocalDateTime criadoEm = LocalDateTime.of(2024, 1, 1, 0, 0);
+		try (Stream<LinhaDetalhesPedido> linhas = pedidoRepository.lerPedidosPorUsuarioApos(USUARIO_ID, PRIMEIRO_NOME, ULTIMO_NOME,
+				criadoEm, 0L)) {
+			assertThat(linhas.count()).isEqualTo(10);
+		}
+		verificarComandoUnicoSemVarredura(USUARIO_ID, PRIMEIRO_NOME, ULTIMO_NOME, criadoEm, criadoEm, 0L);
+	}
+
+	@Test
+	void buscarResumosPedidosPorUsuario() {
+		assertThat(pedidoRepository.buscarResumosPedidosPorUsuario(USUARIO_ID, PRIMEIRO_NOME, ULTIMO_NOME, Limit.of(3))).hasSize(3);
+		verificarComandoUnicoSemVarredura(USUARIO_ID, PRIMEIRO_NOME, ULTIMO_NOME, 3);
+	}
+
+	@Test
+	void buscarResumosPedidosPorUsuarioApos() {
+		LocalDateTime criadoEm = LocalDateTime.of(2024, 1, 1, 0, 0);
+		assertThat(pedidoRepository.buscarResumosPedidosPorUsuarioApos(USUARIO_ID, PRIMEIRO_NOME, ULTIMO_NOME,
+				criadoEm, 0L, Limit.of(3))).hasSize(3);
+		verificarComandoUnicoSemVarredura(USUARIO_ID, PRIMEIRO_NOME, ULTIMO_NOME, criadoEm, criadoEm, 0L, 3);
+	}
+
+	@Test
+	void buscarIdsPedidosPorStatusECriacaoApos() {
+		LocalDateTime criadoDe = LocalDateTime.of(2037, 5, 1, 0, 0);
+		LocalDateTime criadoAte = LocalDateTime.of(2037, 6, 1, 0, 0);
+		assertThat(pedidoRepository.buscarIdsPedidosPorStatusECriacaoApos(StatusPedido.NOVO, criadoDe, criadoAte,
+				PEDIDO_ID, Limit.of(200))).hasSize(200).isSorted();
+		verificarComandoUnicoSemVarredura(StatusPedido.NOVO.name(), criadoDe, criadoAte, PEDIDO_ID, 200);
+	}
+
+	@Test
+	void contarPedidosPorStatusECriacao() {
+		LocalDateTime criadoDe = LocalDateTime.of(2037, 5, 1, 0, 0);
+		LocalDateTime criadoAte = LocalDateTime.of(2037, 6, 1, 0, 0);
+		assertThat(pedidoRepository.contarPedidosPorStatusECriacao(StatusPedido.NOVO, criadoDe, criadoAte)).isGreaterThan(200);
+		verificarComandoUnicoSemVarredura(StatusPedido.NOVO.name(), criadoDe, criadoAte);
+	}
+
+	/**
+	 * Verifica que a consulta executou um único comando SQL e que o plano
+	 * desse comando não lê nenhuma tabela por varredura completa.
+	 * 
+	 * @param parametros valores dos parâmetros do comando, na ordem do SQL
+	 */
+	private void verificarComandoUnicoSemVarredura(Object... parametros) {
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(CapturaSql.COMANDOS).hasSize(1);
+
+		String plano = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + CapturaSql.COMANDOS.get(0), String.class, parametros));
+		assertThat(plano).as(plano).doesNotContainIgnoringCase("tableScan");
+	}
+
+	/**
+	 * Guarda os comandos SQL gerados pelo Hibernate durante o teste.
+	 */
+	public static class CapturaSql implements StatementInspector {
+
+		private static final long serialVersionUID = 1L;
+
+		static final List<String> COMANDOS = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			COMANDOS.add(sql);
+			return sql;
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package br.com.occhi.suporte.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import br.com.occhi.suporte.enums.StatusPedido;
+import br.com.occhi.suporte.events.PedidoAlteradoEvento;
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.memory.chat.MessageWindowChatMemory;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.service.Result;
+import dev.langchain4j.service.tool.ToolExecution;
+
+class CacheRespostasAssistenteTest {
+
+	private final AtomicInteger chamadasLlm = new AtomicInteger();
+
+	/**
+	 * Modelo que considera idênticas todas as perguntas sobre cancelamento.
+	 */
+	private final EmbeddingModel porAssunto = new EmbeddingModel() {
+		@Override
+		public Response<List<Embedding>> embedAll(List<TextSegment> segmentos) {
+			return Response.from(segmentos.stream()
+					.map(segmento -> Embedding.from(segmento.text().contains("cancel") ? new float[] { 1f, 0f } : new float[] { 0f, 1f }))
+					.toList());
+		}
+	};
+
+	private final CacheRespostasAssistente cache = new CacheRespostasAssistente(
+			new MemoriaConversaService(id -> MessageWindowChatMemory.builder().id(id).maxMessages(10).build()),
+			new StaticListableBeanFactory(Map.of("modeloEmbeddingLocal", porAssunto)).getBeanProvider(EmbeddingModel.class),
+			true, 100, 10, 0.92);
+
+	@Test
+	void naoReaproveitaRespostaDePerguntaComOutrosNumerosOuNomes() {
+		cache.responder("s1", "Como cancelo o pedido 3000? Sou Ana Silva", () -> resposta("resposta da Ana"));
+
+		assertThat(cache.responder("s2", "Como cancelo o pedido 3001? Sou Bruno Costa", () -> resposta("resposta do Bruno")))
+				.isEqualTo("resposta do Bruno");
+		assertThat(cache.responder("s3", "como cancelar o pedido 3000, sou Ana Silva", () -> resposta("outra")))
+				.isEqualTo("resposta da Ana");
+		assertThat(chamadasLlm).hasValue(2);
+	}
+
+	@Test
+	void reaproveitaContagemPorStatusAteUmPedidoMudar() {
+		ToolExecution contagem = ferramenta("obterQuantidadePedidosPorStatus", "{\"status\": \"CANCELADO\"}");
+		cache.responder("s1", "Quantos pedidos estão cancelados?", () -> resposta("Há 6 pedidos cancelados.", contagem));
+
+		assertThat(cache.responder("s2", "quantos pedidos estao cancelados", () -> resposta("outra", contagem)))
+				.isEqualTo("Há 6 pedidos cancelados.");
+		assertThat(chamadasLlm).hasValue(1);
+
+		cache.pedidoAlterado(new PedidoAlteradoEvento(3000L, 1005L, StatusPedido.NOVO, StatusPedido.CANCELADO, false));
+
+		assertThat(cache.responder("s3", "Quantos pedidos estão cancelados?", () -> resposta("Há 7 pedidos cancelados.", contagem)))
+				.isEqualTo("Há 7 pedidos cancelados.");
+	}
+
+	@Test
+	void naoArmazenaRespostasDeFerramentasComDadosDoCliente() {
+		ToolExecution detalhes = ferramenta("obterDetalhesPedidoPorIdEUsuario", "{\"pedidoId\": 3000, \"primeiroNome\": \"Ana\"}");
+		cache.responder("s1", "detalhes do pedido 3000", () -> resposta("Pedido 3000: NOVO", detalhes));
+		cache.responder("s2", "detalhes do pedido 3000", () -> resposta("Pedido 3000: NOVO", detalhes));
+
+		assertThat(chamadasLlm).hasValue(2);
+		assertThat(cache.estatisticas().naoArmazenadas()).isEqualTo(2);
+	}
+
+	@Test
+	void removeRespostasQueConsultaramPedidosQuandoUmPedidoMuda() {
+		cache.responder("s1", "qual o pedido mais caro?", () -> resposta("R$ 100,00", ferramenta("obterValorPedidoMaisCaro", "{}")));
+		cache.responder("s2", "como funciona o cancelamento?", () -> resposta("Pelo chat."));
+
+		cache.pedidoAlterado(new PedidoAlteradoEvento(3000L, 1005L, StatusPedido.NOVO, StatusPedido.CANCELADO, false));
+
+		assertThat(cache.responder("s3", "qual o pedido mais caro?", () -> resposta("R$ 90,00"))).isEqualTo("R$ 90,00");
+		assertThat(cache.responder("s4", "como funciona o cancelamento?", () -> resposta("outra"))).isEqualTo("Pelo chat.");
+	}
+
+	@Test
+	void extraiNumerosENomesPropriosForaDoInicioDaFrase() {
+		assertThat(CacheRespostasAssistente.identificadores("Quero cancelar o pedido 3000. Sou a Ana Silva!"))
+				.containsExactlyInAnyOrder("3000", "ana", "silva");
+		assertThat(CacheRespostasAssistente.identificadores("Como cancelo um pedido?")).isEmpty();
+	}
+
+	private Result<String> resposta(String conteudo, ToolExecution... ferramentas) {
+		chamadasLlm.incrementAndGet();
+		return Result.<String>builder().content(conteudo).toolExecutions(List.of(ferramentas)).build();
+	}
+
+	private static ToolExecution ferramenta(String nome, String argumentos) {
+		return ToolExecution.builder()
+				.request(ToolExecutionRequest.builder().id("1").name(nome).arguments(argumentos).build())
+				.result("ok")
+				.build();
+	}
+}
@@ -0,0 +1,83 @@
+package br.com.occhi.suporte.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.occhi.suporte.enums.StatusPedido;
+import br.com.occhi.suporte.events.PedidoAlteradoEvento;
+import br.com.occhi.suporte.records.ContagemPorStatus;
+import br.com.occhi.suporte.records.ContagemPorUsuario;
+import br.com.occhi.suporte.repositories.PedidoRepository;
+
+class ContadoresPedidosTest {
+
+	private static final PedidoAlteradoEvento CANCELAMENTO =
+			new PedidoAlteradoEvento(3000L, 1005L, StatusPedido.NOVO, StatusPedido.CANCELADO, false);
+
+	private final PedidoRepository repositorio = mock(PedidoRepository.class);
+
+	private final ConsistenciaLeitura consistencia = new ConsistenciaLeitura(1000, 500);
+
+	private final ContadoresPedidos contadores = new ContadoresPedidos(repositorio, consistencia);
+
+	@Test
+	void naoDesfazEventoAplicadoEntreALeituraDoBancoEOAjuste() {
+		when(repositorio.contarPedidosAgrupadosPorStatus()).thenReturn(List.of(new ContagemPorStatus(StatusPedido.NOVO, 2L)));
+		when(repositorio.contarPedidosAgrupadosPorUsuario()).thenReturn(List.of(new ContagemPorUsuario(1005L, 2L)));
+		contadores.reconciliar();
+
+		// Leitura feita antes do commit do cancelamento, cujo evento chega antes do ajuste
+		when(repositorio.contarPedidosAgrupadosPorUsuario()).thenAnswer(invocacao -> {
+			contadores.pedidoAlterado(CANCELAMENTO);
+			return List.of(new ContagemPorUsuario(1005L, 2L));
+		});
+		contadores.reconciliar();
+
+		assertThat(contadores.quantidadePorStatus(StatusPedido.NOVO)).isEqualTo(1);
+		assertThat(contadores.quantidadePorStatus(StatusPedido.CANCELADO)).isEqualTo(1);
+
+		// No ciclo seguinte, sem eventos concorrentes, a leitura já inclui o cancelamento
+		when(repositorio.contarPedidosAgrupadosPorStatus()).thenReturn(List.of(
+				new ContagemPorStatus(StatusPedido.NOVO, 1L), new ContagemPorStatus(StatusPedido.CANCELADO, 1L)));
+		when(repositorio.contarPedidosAgrupadosPorUsuario()).thenReturn(List.of(new ContagemPorUsuario(1005L, 2L)));
+		contadores.reconciliar();
+
+		assertThat(contadores.quantidadePorStatus(StatusPedido.NOVO)).isEqualTo(1);
+		assertThat(contadores.quantidadePorStatus(StatusPedido.CANCELADO)).isEqualTo(1);
+	}
+
+	@Test
+	void corrigeDivergenciasSemEventosConcorrentes() {
+		when(repositorio.contarPedidosAgrupadosPorStatus()).thenReturn(List.of(new ContagemPorStatus(StatusPedido.CONCLUIDO, 4L)));
+		when(repositorio.contarPedidosAgrupadosPorUsuario()).thenReturn(List.of(new ContagemPorUsuario(1005L, 4L)));
+
+		contadores.reconciliar();
+
+		assertThat(contadores.inicializado()).isTrue();
+		assertThat(contadores.quantidadePorStatus(StatusPedido.CONCLUIDO)).isEqualTo(4);
+		assertThat(contadores.quantidadePorUsuario(1005L)).isEqualTo(4);
+		assertThat(contadores.quantidadePorStatus(null)).isZero();
+	}
+
+	@Test
+	void leAsContagensDoPrimario() {
+		when(repositorio.contarPedidosAgrupadosPorStatus()).thenAnswer(invocacao -> {
+			assertThat(consistencia.exigePrimario()).isTrue();
+			return List.of();
+		});
+		when(repositorio.contarPedidosAgrupadosPorUsuario()).thenAnswer(invocacao -> {
+			assertThat(consistencia.exigePrimario()).isTrue();
+			return List.of();
+		});
+
+		contadores.reconciliar();
+
+		assertThat(contadores.inicializado()).isTrue();
+		assertThat(consistencia.exigePrimario()).isFalse();
+	}
+}
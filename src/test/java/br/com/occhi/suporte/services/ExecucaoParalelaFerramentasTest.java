@@ -0,0 +1,107 @@
+package br.com.occhi.suporte.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import dev.langchain4j.agent.tool.Tool;
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.memory.chat.MessageWindowChatMemory;
+import dev.langchain4j.service.tool.ToolExecutor;
+import io.micrometer.tracing.Tracer;
+
+class ExecucaoParalelaFerramentasTest {
+
+	static class Ferramentas {
+
+		final List<String> eventos = Collections.synchronizedList(new ArrayList<>());
+		final CountDownLatch leiturasIniciais = new CountDownLatch(2);
+
+		@Tool
+		public String consultarPedido(String pedidoId) throws InterruptedException {
+			eventos.add("inicio " + pedidoId);
+			leiturasIniciais.countDown();
+			boolean simultaneas = leiturasIniciais.await(5, TimeUnit.SECONDS);
+			eventos.add("fim " + pedidoId);
+			return pedidoId + (simultaneas ? " simultanea" : " isolada");
+		}
+
+		@Tool
+		public String cancelarPedido(String pedidoId) {
+			eventos.add("cancelar " + pedidoId);
+			return pedidoId + " cancelado";
+		}
+	}
+
+	@Test
+	void executaLeiturasEmParaleloEMantemCancelamentoComoBarreira() {
+		ExecucaoParalelaFerramentas execucao = new ExecucaoParalelaFerramentas(new RastreamentoAssistente(Tracer.NOOP), true, 60);
+		Ferramentas ferramentas = new Ferramentas();
+		Map<String, ToolExecutor> executores = new HashMap<>();
+		for (Map.Entry<ToolSpecification, ToolExecutor> ferramenta : execucao.ferramentas(ferramentas).entrySet()) {
+			executores.put(ferramenta.getKey().name(), ferramenta.getValue());
+		}
+		ChatMemory memoria = execucao.registrarLotes(id -> MessageWindowChatMemory.builder().id(id).maxMessages(10).build())
+				.get("sessao");
+
+		List<ToolExecutionRequest> requisicoes = List.of(
+				requisicao("1", "consultarPedido", "3000"),
+				requisicao("2", "consultarPedido", "3001"),
+				requisicao("3", "cancelarPedido", "3000"),
+				requisicao("4", "consultarPedido", "3000"));
+		memoria.add(AiMessage.from(requisicoes));
+
+		List<String> resultados = new ArrayList<>();
+		for (ToolExecutionRequest requisicao : requisicoes) {
+			resultados.add(executores.get(requisicao.name()).execute(requisicao, "sessao"));
+		}
+
+		assertThat(resultados).containsExactly("3000 simultanea", "3001 simultanea", "3000 cancelado", "3000 simultanea");
+		List<String> eventos = ferramentas.eventos;
+		assertThat(eventos.indexOf("cancelar 3000"))
+				.isGreaterThan(eventos.indexOf("fim 3000"))
+				.isGreaterThan(eventos.indexOf("fim 3001"));
+		assertThat(eventos.lastIndexOf("inicio 3000")).isGreaterThan(eventos.indexOf("cancelar 3000"));
+		assertThat(execucao.estatisticas().trechosParalelos()).isEqualTo(1);
+		assertThat(execucao.estatisticas().ferramentasAntecipadas()).isEqualTo(1);
+		assertThat(execucao.lotesPendentes()).isZero();
+		execucao.encerrar();
+	}
+
+	@Test
+	void loteDeTurnoInterrompidoExpira() {
+		AtomicLong relogio = new AtomicLong();
+		ExecucaoParalelaFerramentas execucao = new ExecucaoParalelaFerramentas(new RastreamentoAssistente(Tracer.NOOP), true,
+				Duration.ofSeconds(60), relogio::get);
+		execucao.ferramentas(new Ferramentas());
+		ChatMemory memoria = execucao.registrarLotes(id -> MessageWindowChatMemory.builder().id(id).maxMessages(10).build())
+				.get("sessao");
+
+		memoria.add(AiMessage.from(List.of(
+				requisicao("1", "cancelarPedido", "3000"),
+				requisicao("2", "cancelarPedido", "3001"))));
+		assertThat(execucao.lotesPendentes()).isEqualTo(1);
+
+		relogio.addAndGet(Duration.ofSeconds(61).toNanos());
+
+		assertThat(execucao.lotesPendentes()).isZero();
+		execucao.encerrar();
+	}
+
+	private static ToolExecutionRequest requisicao(String id, String nome, String pedidoId) {
+		return ToolExecutionRequest.builder().id(id).name(nome).arguments("{\"pedidoId\": \"" + pedidoId + "\"}").build();
+	}
+}
@@ -0,0 +1,241 @@
+package br.com.occhi.suporte.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import br.com.occhi.suporte.entities.Pedido;
+import br.com.occhi.suporte.entities.Produto;
+import br.com.occhi.suporte.entities.Usuario;
+import br.com.occhi.suporte.enums.StatusPedido;
+import br.com.occhi.suporte.exceptions.LimiteConsultaExcedidoException;
+import br.com.occhi.suporte.exceptions.SolicitacaoCancelamentoInvalidaException;
+import br.com.occhi.suporte.records.CursorPedido;
+import br.com.occhi.suporte.records.DetalhesPedido;
+import br.com.occhi.suporte.records.PaginaPedidos;
+import br.com.occhi.suporte.records.ResumoPedido;
+import br.com.occhi.suporte.records.SolicitacaoCancelamentoLote;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest(properties = {
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"spring.flyway.enabled=false" })
+@Import({ PedidoService.class, ContadoresPedidos.class, ConsistenciaLeitura.class })
+class PedidoServiceTest {
+
+	@Autowired
+	private PedidoService pedidoService;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	private Long usuarioId;
+
+	private Long pedidoId;
+
+	private Long segundoPedidoId;
+
+	private final List<Long> produtoIds = new ArrayList<>();
+
+	/**
+	 * Indica se o teste confirmou a transação com os dados de teste.
+	 */
+	private boolean dadosConfirmados;
+
+	@BeforeEach
+	void setUp() {
+		Usuario usuario = new Usuario();
+		usuario.setPrimeiroNome("Ana");
+		usuario.setUltimoNome("Silva");
+		usuarioId = entityManager.persistAndGetId(usuario, Long.class);
+
+		Produto iphone = produto("iPhone 14 Apple", "4299.00");
+		Produto fone = produto("Fone Sony WH-1000XM4", "1899.00");
+
+		Pedido pedido = new Pedido();
+		pedido.setUsuario(usuario);
+		pedido.setProdutos(List.of(iphone, fone));
+		pedido.setStatus(StatusPedido.NOVO);
+		pedido.setValorTotal(new BigDecimal("6198.00"));
+		pedido.setCriadoEm(LocalDateTime.of(2025, 1, 15, 10, 30));
+		pedidoId = entityManager.persistAndGetId(pedido, Long.class);
+
+		Pedido segundoPedido = new Pedido();
+		segundoPedido.setUsuario(usuario);
+		segundoPedido.setProdutos(List.of(fone));
+		segundoPedido.setStatus(StatusPedido.EM_ANDAMENTO);
+		segundoPedido.setValorTotal(new BigDecimal("1899.00"));
+		segundoPedido.setCriadoEm(LocalDateTime.of(2025, 2, 1, 9, 0));
+		segundoPedidoId = entityManager.persistAndGetId(segundoPedido, Long.class);
+
+		entityManager.flush();
+		entityManager.clear();
+		entityManagerFactory.getCache().evictAll();
+
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void obterDetalhesPedidoLeProdutosDoCacheDeSegundoNivel() {
+		novaTransacao();
+		DetalhesPedido detalhes = pedidoService.obterDetalhesPedidoPorIdEUsuario(pedidoId, "Ana", "Silva");
+
+		assertThat(detalhes.primeiroNome()).isEqualTo("Ana");
+		assertThat(detalhes.nomesProdutos()).containsExactlyInAnyOrder("iPhone 14 Apple", "Fone Sony WH-1000XM4");
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+		novaTransacao();
+		DetalhesPedido emCache = pedidoService.obterDetalhesPedidoPorIdEUsuario(pedidoId, "Ana", "Silva");
+
+		assertThat(emCache).isEqualTo(detalhes);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+	}
+
+	@Test
+	void obterDetalhesPedidoDeOutroUsuarioRetornaNull() {
+		assertThat(pedidoService.obterDetalhesPedidoPorIdEUsuario(pedidoId, "Carlos", "Santos")).isNull();
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	void obterDetalhesPedidosEmLoteCarregaProdutosEmLoteEDepoisDoCache() {
+		novaTransacao();
+		List<DetalhesPedido> detalhes = pedidoService.obterDetalhesPedidosPorIdsEUsuario(
+				List.of(segundoPedidoId, pedidoId, 999L, pedidoId), "Ana", "Silva");
+
+		assertThat(detalhes).extracting(DetalhesPedido::pedidoId).containsExactly(segundoPedidoId, pedidoId);
+		assertThat(detalhes.get(1).nomesProdutos()).hasSize(2);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+		novaTransacao();
+		List<DetalhesPedido> emCache = pedidoService.obterDetalhesPedidosPorIdsEUsuario(
+				List.of(segundoPedidoId, pedidoId), "Ana", "Silva");
+
+		assertThat(emCache).isEqualTo(detalhes);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+	}
+
+	@Test
+	void obterDetalhesPedidosEmLoteAcimaDoLimiteLancaExcecao() {
+		List<Long> ids = LongStream.rangeClosed(1, PedidoService.MAX_PEDIDOS_POR_LOTE + 1).boxed().toList();
+
+		assertThatThrownBy(() -> pedidoService.obterDetalhesPedidosPorIdsEUsuario(ids, "Ana", "Silva"))
+				.isInstanceOf(LimiteConsultaExcedidoException.class);
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	@Test
+	void listarPedidosPorUsuarioPaginaComCursor() {
+		PaginaPedidos primeira = pedidoService.listarPedidosPorUsuario(usuarioId, "Ana", "Silva", null, 1);
+		PaginaPedidos segunda = pedidoService.listarPedidosPorUsuario(usuarioId, "Ana", "Silva", primeira.proximoCursor(), 1);
+
+		assertThat(primeira.pedidos()).extracting(ResumoPedido::pedidoId).containsExactly(pedidoId);
+		assertThat(primeira.proximoCursor()).isNotNull();
+		assertThat(segunda.pedidos()).extracting(ResumoPedido::pedidoId).containsExactly(segundoPedidoId);
+		assertThat(segunda.proximoCursor()).isNull();
+	}
+
+	@Test
+	void percorrerPedidosPorUsuarioAgrupaProdutosEmUmaUnicaConsulta() {
+		List<DetalhesPedido> pedidos = new ArrayList<>();
+		pedidoService.percorrerPedidosPorUsuario(usuarioId, "Ana", "Silva", null, pedidos::add);
+
+		assertThat(pedidos).extracting(DetalhesPedido::pedidoId).containsExactly(pedidoId, segundoPedidoId);
+		assertThat(pedidos.get(0).nomesProdutos()).containsExactlyInAnyOrder("iPhone 14 Apple", "Fone Sony WH-1000XM4");
+		assertThat(pedidos.get(1).nomesProdutos()).containsExactly("Fone Sony WH-1000XM4");
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+		pedidos.clear();
+		CursorPedido apos = new CursorPedido(LocalDateTime.of(2025, 1, 15, 10, 30), pedidoId);
+		pedidoService.percorrerPedidosPorUsuario(usuarioId, "Ana", "Silva", apos, pedidos::add);
+		assertThat(pedidos).extracting(DetalhesPedido::pedidoId).containsExactly(segundoPedidoId);
+	}
+
+	@Test
+	void cancelarPedidosEmLoteComSolicitacaoInvalidaNaoExecutaComandos() {
+		SolicitacaoCancelamentoLote ambigua = new SolicitacaoCancelamentoLote(List.of(pedidoId), StatusPedido.NOVO, null, null);
+		SolicitacaoCancelamentoLote incompleta = new SolicitacaoCancelamentoLote(null, StatusPedido.NOVO, LocalDateTime.of(2025, 1, 1, 0, 0), null);
+
+		assertThatThrownBy(() -> pedidoService.cancelarPedidosEmLote(ambigua, resultados -> {}))
+				.isInstanceOf(SolicitacaoCancelamentoInvalidaException.class);
+		assertThatThrownBy(() -> pedidoService.cancelarPedidosEmLote(incompleta, resultados -> {}))
+				.isInstanceOf(SolicitacaoCancelamentoInvalidaException.class);
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	/**
+	 * Remove os dados de teste confirmados por {@link #novaTransacao()}.
+	 * 
+	 * Sem isso, usuário, produtos e pedidos de cada teste do cache
+	 * permaneceriam no banco e no cache de segundo nível, compartilhados
+	 * com os testes seguintes do mesmo contexto.
+	 */
+	@AfterEach
+	void removerDadosConfirmados() {
+		if (!dadosConfirmados) {
+			return;
+		}
+		if (TestTransaction.isActive()) {
+			TestTransaction.end();
+		}
+		TestTransaction.start();
+		TestTransaction.flagForCommit();
+		EntityManager em = entityManager.getEntityManager();
+		em.remove(em.find(Pedido.class, pedidoId));
+		em.remove(em.find(Pedido.class, segundoPedidoId));
+		produtoIds.forEach(produtoId -> em.remove(em.find(Produto.class, produtoId)));
+		em.remove(em.find(Usuario.class, usuarioId));
+		TestTransaction.end();
+		entityManagerFactory.getCache().evictAll();
+	}
+
+	/**
+	 * Confirma a transação do teste e inicia outra.
+	 * 
+	 * O Hibernate não coloca no cache de segundo nível entidades inseridas
+	 * na transação corrente, e uma transação só lê do cache itens colocados
+	 * antes do seu início: os testes do cache separam carga e leitura.
+	 */
+	private void novaTransacao() {
+		dadosConfirmados = true;
+		TestTransaction.flagForCommit();
+		TestTransaction.end();
+		TestTransaction.start();
+		statistics.clear();
+	}
+
+	private Produto produto(String nome, String preco) {
+		Produto produto = new Produto();
+		produto.setNome(nome);
+		produto.setPreco(new BigDecimal(preco));
+		entityManager.persist(produto);
+		produtoIds.add(produto.getProdutoId());
+		return produto;
+	}
+}
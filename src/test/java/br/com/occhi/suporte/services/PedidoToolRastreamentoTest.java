@@ -0,0 +1,92 @@
+package br.com.occhi.suporte.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import br.com.occhi.suporte.records.DetalhesPedido;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:rastreamento;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect" })
+@AutoConfigureObservability(metrics = false)
+@Import(PedidoToolRastreamentoTest.ExportadorEmMemoria.class)
+class PedidoToolRastreamentoTest {
+
+	@TestConfiguration
+	static class ExportadorEmMemoria {
+
+		@Bean
+		InMemorySpanExporter exportadorEmMemoria() {
+			return InMemorySpanExporter.create();
+		}
+	}
+
+	@Autowired
+	private PedidoTool pedidoTool;
+
+	@Autowired
+	private Tracer tracer;
+
+	@Autowired
+	private SdkTracerProvider tracerProvider;
+
+	@Autowired
+	private InMemorySpanExporter exportador;
+
+	@BeforeEach
+	void setUp() {
+		tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+		exportador.reset();
+	}
+
+	@Test
+	void ferramentaGeraSpanComArgumentosRedigidosESpansJdbcFilhos() {
+		Span turno = tracer.nextSpan().name("chat").start();
+		DetalhesPedido detalhes;
+		try (Tracer.SpanInScope escopo = tracer.withSpan(turno)) {
+			detalhes = pedidoTool.obterDetalhesPedidoPorIdEUsuario(3000L, "Ana", "Silva", "sessao-rastreamento");
+		} finally {
+			turno.end();
+		}
+		tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+
+		assertThat(detalhes).isNotNull();
+		List<SpanData> spans = exportador.getFinishedSpanItems();
+		SpanData ferramenta = spans.stream()
+				.filter(span -> span.getName().equals("ferramenta obterDetalhesPedidoPorIdEUsuario"))
+				.findFirst()
+				.orElseThrow();
+
+		assertThat(ferramenta.getParentSpanId()).isEqualTo(turno.context().spanId());
+		assertThat(ferramenta.getAttributes().get(AttributeKey.stringKey("ferramenta.argumento.pedidoId"))).isEqualTo("3000");
+		assertThat(ferramenta.getAttributes().get(AttributeKey.stringKey("ferramenta.argumento.primeiroNome")))
+				.isEqualTo(RastreamentoAssistente.VALOR_REDIGIDO);
+		assertThat(ferramenta.getAttributes().get(AttributeKey.stringKey("ferramenta.argumento.ultimoNome")))
+				.isEqualTo(RastreamentoAssistente.VALOR_REDIGIDO);
+		assertThat(spans).filteredOn(span -> span.getParentSpanId().equals(ferramenta.getSpanId()))
+				.extracting(SpanData::getName)
+				.isNotEmpty()
+				.allMatch(nome -> nome.startsWith("connection") || nome.startsWith("query") || nome.startsWith("result-set"));
+		assertThat(spans).extracting(span -> span.getAttributes().toString()).noneMatch(atributos -> atributos.contains("Silva"));
+	}
+}
@@ -0,0 +1,85 @@
+package br.com.occhi.suporte.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import br.com.occhi.suporte.enums.IntencaoChat;
+import br.com.occhi.suporte.enums.StatusPedido;
+
+class RoteadorIntencoesTest {
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"Quantos pedidos o usuário 1005 tem?",
+			"quantos pedidos tem o cliente 1005",
+			"Qual a quantidade de pedidos do usuário de id 1005?",
+			"quantos pedidos o usuario 1005 possui, por favor?" })
+	void reconheceQuantidadeDePedidosDoUsuario(String mensagem) {
+		assertThat(RoteadorIntencoes.reconhecer(mensagem))
+				.isEqualTo(new RoteadorIntencoes.Reconhecida(IntencaoChat.QUANTIDADE_PEDIDOS_USUARIO, 1005L, null));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"Quantos pedidos estão cancelados?",
+			"quantos pedidos são CANCELADO?",
+			"Quantos pedidos com status CANCELADO existem?",
+			"qual o total de pedidos cancelados no sistema" })
+	void reconheceQuantidadeDePedidosPorStatus(String mensagem) {
+		assertThat(RoteadorIntencoes.reconhecer(mensagem))
+				.isEqualTo(new RoteadorIntencoes.Reconhecida(IntencaoChat.QUANTIDADE_PEDIDOS_STATUS, null, StatusPedido.CANCELADO));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "Quantos pedidos estão EM_ANDAMENTO?", "quantos pedidos em andamento" })
+	void reconheceStatusComMaisDeUmaPalavra(String mensagem) {
+		assertThat(RoteadorIntencoes.reconhecer(mensagem).status()).isEqualTo(StatusPedido.EM_ANDAMENTO);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "Qual o valor do pedido mais caro?", "pedido mais caro já registrado" })
+	void reconheceValorDoPedidoMaisCaro(String mensagem) {
+		assertThat(RoteadorIntencoes.reconhecer(mensagem).intencao()).isEqualTo(IntencaoChat.VALOR_PEDIDO_MAIS_CARO);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"Quantos pedidos cancelados eu tenho?",
+			"Oi! Quantos pedidos estão cancelados?",
+			"Quantos pedidos estão cancelados e como cancelo o pedido 3000?",
+			"quantos pedidos o usuário 1005 tem? sou a Ana Silva",
+			"e os meus?",
+			"Quero cancelar o pedido 3000, sou a Ana Silva",
+			"Qual o pedido mais caro da Ana?" })
+	void encaminhaAoAssistenteMensagensForaDaGramatica(String mensagem) {
+		assertThat(RoteadorIntencoes.reconhecer(mensagem)).isNull();
+	}
+
+	@Test
+	void respostaDiretaDispensaOAssistenteERegistraOTurnoNaMemoria() {
+		PedidoService pedidoService = mock(PedidoService.class);
+		MemoriaConversaService memoriaConversa = mock(MemoriaConversaService.class);
+		when(pedidoService.obterQuantidadePedidosPorStatus(StatusPedido.CANCELADO)).thenReturn(7);
+		RoteadorIntencoes roteador = new RoteadorIntencoes(pedidoService, new ConsistenciaLeitura(1000, 500),
+				new ContextoCargaTrabalho(), memoriaConversa, true);
+
+		assertThat(roteador.responderDireto("s1", "Quantos pedidos estão cancelados?"))
+				.isEqualTo("Existem 7 pedidos com status CANCELADO.");
+		verify(memoriaConversa).registrarTurno("s1", "Quantos pedidos estão cancelados?", "Existem 7 pedidos com status CANCELADO.");
+
+		assertThat(roteador.responderDireto("s1", "Quero cancelar o pedido 3000")).isNull();
+		assertThat(roteador.respondidas(IntencaoChat.QUANTIDADE_PEDIDOS_STATUS)).isEqualTo(1);
+		assertThat(roteador.encaminhadas()).isEqualTo(1);
+		verify(pedidoService, never()).obterQuantidadePedidosPorUsuario(any());
+		verify(memoriaConversa).registrarTurno(anyString(), anyString(), anyString());
+	}
+}
@@ -0,0 +1,20 @@
+-- Massa sintética para os testes de plano de execução (H2 em modo PostgreSQL).
+-- 20.000 usuários, 100.000 pedidos (5 por usuário) e 200.000 itens de pedido.
+
+INSERT INTO usuarios (usuario_id, primeiro_nome, ultimo_nome, email)
+SELECT X, 'Nome' || X, 'Sobrenome' || MOD(X, 997), 'usuario' || X || '@exemplo.com'
+FROM SYSTEM_RANGE(100000, 119999);
+
+INSERT INTO pedidos (pedido_id, usuario_id, criado_em, status, valor_total)
+SELECT X,
+	100000 + MOD(X, 20000),
+	TIMESTAMP '2024-01-01 00:00:00' + (X * INTERVAL '7' MINUTE),
+	CASE MOD(X, 4) WHEN 0 THEN 'NOVO' WHEN 1 THEN 'EM_ANDAMENTO' WHEN 2 THEN 'CONCLUIDO' ELSE 'CANCELADO' END,
+	MOD(X * 37, 100000) / 10.0
+FROM SYSTEM_RANGE(1000000, 1099999);
+
+INSERT INTO pedidos_produtos (pedido_produto_id, pedido_id, produto_id, quantidade)
+SELECT 1000000 + X, 1000000 + X / 2, 2000 + MOD(X, 50), 1 + MOD(X, 3)
+FROM SYSTEM_RANGE(0, 199999);
+
+ANALYZE;